@@ -0,0 +1,69 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+
+/**
+ * Positional view over the arguments of a single DSL command
+ * Command handlers read their arguments through this interface so that the same handler
+ * can execute a freshly tokenized line or any other source of already parsed arguments
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public interface CommandArguments {
+
+    /**
+     * Original text of the command
+     * @return
+     */
+    String getLine();
+
+    /**
+     * Number of tokens in the command, keywords included
+     * @return
+     */
+    int tokenCount();
+
+    /**
+     * Token at the given position as a String
+     * @param index
+     * @return
+     * @throws CommandException
+     */
+    String token(int index) throws CommandException;
+
+    /**
+     * Token at the given position as an int
+     * @param index
+     * @return
+     * @throws CommandException
+     */
+    int intToken(int index) throws CommandException;
+
+    /**
+     * Token at the given position as a double
+     * @param index
+     * @return
+     * @throws CommandException
+     */
+    double doubleToken(int index) throws CommandException;
+
+    /**
+     * Token at the given position resolved to an enumeration constant
+     * @param index
+     * @param type
+     * @return
+     * @throws CommandException
+     */
+    <E extends Enum<E>> E enumToken(int index, Class<E> type) throws CommandException;
+
+    /**
+     * Colon separated part of a location token such as store:aisle:shelf
+     * @param index
+     * @param part
+     * @return
+     * @throws CommandException
+     */
+    String part(int index, int part) throws CommandException;
+}
@@ -0,0 +1,17 @@
+package com.se310.store.command;
+
+/**
+ * Entry of the DSL dispatch table binding a command handler to the rule used to
+ * find the partition the command belongs to during parallel replay
+ *
+ * @param opcode    position of the command in the dispatch table, used by compiled scripts
+ * @param phrase    leading keywords of the command
+ * @param handler   handler executing the command
+ * @param partition rule resolving the partition key of the command
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public record CommandDefinition(int opcode, String phrase, CommandHandler handler, PartitionRule partition) {
+}
@@ -0,0 +1,23 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+import com.se310.store.model.StoreException;
+
+/**
+ * Command Pattern handler executing a single kind of DSL command
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@FunctionalInterface
+public interface CommandHandler {
+
+    /**
+     * Execute the command using already tokenized arguments
+     * @param arguments
+     * @throws CommandException
+     * @throws StoreException
+     */
+    void execute(CommandArguments arguments) throws CommandException, StoreException;
+}
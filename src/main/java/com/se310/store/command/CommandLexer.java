@@ -0,0 +1,316 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+
+import java.util.Arrays;
+
+/**
+ * Hand written, reusable tokenizer for the Store DSL
+ * Splits a command line into quoted and unquoted tokens and exposes
+ * colon separated parts of location tokens (store:aisle:shelf) without
+ * regular expressions and without allocating per token. Token text is
+ * only materialized as a String when a caller asks for it.
+ * Instances are not thread safe, each thread should use its own lexer.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandLexer implements CommandArguments {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final char QUOTE = '"';
+    private static final char PART_SEPARATOR = ':';
+
+    private String line = "";
+    private int count;
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    //Unquoted tokens that contain stray quotes need them stripped when materialized
+    private boolean[] strayQuotes = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Tokenize a single DSL line into the reusable token buffer. Tokens are separated by whitespace,
+     * quoted tokens may contain whitespace and are returned without the surrounding quotes
+     * @param line
+     * @return this lexer for chaining
+     */
+    public CommandLexer tokenize(String line) {
+        this.line = line;
+        this.count = 0;
+
+        int length = line.length();
+        int i = 0;
+        while (true) {
+            //Skip whitespace between tokens
+            while (i < length && Character.isWhitespace(line.charAt(i)))
+                i++;
+            if (i >= length)
+                break;
+
+            if (line.charAt(i) == QUOTE) {
+                //Quoted token runs to the closing quote or to the end of the line
+                int start = i + 1;
+                int end = line.indexOf(QUOTE, start);
+                if (end < 0)
+                    end = length;
+                add(start, end, false);
+                i = end + 1;
+            } else {
+                //Unquoted token runs to the next whitespace
+                int start = i;
+                boolean stray = false;
+                while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                    if (line.charAt(i) == QUOTE)
+                        stray = true;
+                    i++;
+                }
+                add(start, i, stray);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Getter method for the original line that was tokenized
+     * @return
+     */
+    @Override
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Number of tokens found on the current line
+     * @return
+     */
+    @Override
+    public int tokenCount() {
+        return count;
+    }
+
+    /**
+     * Materialize token as a String
+     * @param index
+     * @return
+     * @throws CommandException if the token does not exist
+     */
+    @Override
+    public String token(int index) throws CommandException {
+        checkIndex(index);
+        if (strayQuotes[index])
+            return stripQuotes(starts[index], ends[index]);
+        return line.substring(starts[index], ends[index]);
+    }
+
+    /**
+     * Case insensitive comparison of the token against a keyword without materializing the token
+     * @param index
+     * @param keyword
+     * @return
+     */
+    public boolean matches(int index, String keyword) {
+        if (index >= count || strayQuotes[index])
+            return false;
+        int length = ends[index] - starts[index];
+        return length == keyword.length() && line.regionMatches(true, starts[index], keyword, 0, length);
+    }
+
+    /**
+     * Whether the token was enclosed in quotes on the line
+     * @param index
+     * @return
+     */
+    boolean quoted(int index) {
+        return starts[index] > 0 && line.charAt(starts[index] - 1) == QUOTE && !strayQuotes[index];
+    }
+
+    /**
+     * Whether the token contains stray quotes that are stripped when it is materialized
+     * @param index
+     * @return
+     */
+    boolean strayQuotes(int index) {
+        return strayQuotes[index];
+    }
+
+    /**
+     * Case insensitive hash of the token, consistent with KeywordTrie hashing of lower case keywords
+     * @param index
+     * @return
+     */
+    int keywordHash(int index) {
+        int hash = 0;
+        for (int i = starts[index]; i < ends[index]; i++)
+            hash = 31 * hash + Character.toLowerCase(line.charAt(i));
+        return hash;
+    }
+
+    /**
+     * Parse token as an int without materializing the token
+     * @param index
+     * @return
+     * @throws CommandException if the token does not exist or is not a number
+     */
+    @Override
+    public int intToken(int index) throws CommandException {
+        checkIndex(index);
+        if (strayQuotes[index])
+            return parseInt(token(index));
+        int start = starts[index];
+        int end = ends[index];
+        boolean negative = false;
+        if (start < end && (line.charAt(start) == '-' || line.charAt(start) == '+')) {
+            negative = line.charAt(start) == '-';
+            start++;
+        }
+        if (start == end || end - start > 10)
+            throw new CommandException(line, "Invalid Number");
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9')
+                throw new CommandException(line, "Invalid Number");
+            value = value * 10 + (c - '0');
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+            throw new CommandException(line, "Invalid Number");
+        return (int) value;
+    }
+
+    private int parseInt(String value) throws CommandException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new CommandException(line, "Invalid Number");
+        }
+    }
+
+    /**
+     * Parse token as a double
+     * @param index
+     * @return
+     * @throws CommandException if the token does not exist or is not a number
+     */
+    @Override
+    public double doubleToken(int index) throws CommandException {
+        try {
+            return Double.parseDouble(token(index));
+        } catch (NumberFormatException e) {
+            throw new CommandException(line, "Invalid Number");
+        }
+    }
+
+    /**
+     * Resolve token to an enumeration constant by comparing names in place, equivalent to valueOf
+     * @param index
+     * @param type
+     * @return
+     * @throws CommandException if the token does not exist or does not name a constant
+     */
+    @Override
+    public <E extends Enum<E>> E enumToken(int index, Class<E> type) throws CommandException {
+        checkIndex(index);
+        if (strayQuotes[index])
+            return enumValue(token(index), type);
+        int start = starts[index];
+        int length = ends[index] - start;
+        for (E constant : EnumConstants.of(type)) {
+            String name = constant.name();
+            if (name.length() == length && line.regionMatches(start, name, 0, length))
+                return constant;
+        }
+        throw new CommandException(line, "Invalid Value");
+    }
+
+    private <E extends Enum<E>> E enumValue(String value, Class<E> type) throws CommandException {
+        for (E constant : EnumConstants.of(type)) {
+            if (constant.name().equals(value))
+                return constant;
+        }
+        throw new CommandException(line, "Invalid Value");
+    }
+
+    /**
+     * Number of colon separated parts in a location token such as store:aisle:shelf
+     * @param index
+     * @return
+     * @throws CommandException if the token does not exist
+     */
+    public int partCount(int index) throws CommandException {
+        checkIndex(index);
+        int parts = 1;
+        for (int i = starts[index]; i < ends[index]; i++) {
+            if (line.charAt(i) == PART_SEPARATOR)
+                parts++;
+        }
+        return parts;
+    }
+
+    /**
+     * Materialize a single colon separated part of a location token
+     * @param index
+     * @param part
+     * @return
+     * @throws CommandException if the token or the part does not exist
+     */
+    @Override
+    public String part(int index, int part) throws CommandException {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+
+        //Walk to the requested part
+        for (int p = 0; p < part; p++) {
+            int separator = indexOf(PART_SEPARATOR, start, end);
+            if (separator < 0)
+                throw new CommandException(line, "Invalid Location");
+            start = separator + 1;
+        }
+        int separator = indexOf(PART_SEPARATOR, start, end);
+        if (separator >= 0)
+            end = separator;
+
+        if (strayQuotes[index])
+            return stripQuotes(start, end);
+        return line.substring(start, end);
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line.charAt(i) == c)
+                return i;
+        }
+        return -1;
+    }
+
+    private String stripQuotes(int start, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c != QUOTE)
+                builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private void checkIndex(int index) throws CommandException {
+        if (index < 0 || index >= count)
+            throw new CommandException(line, "Missing Argument");
+    }
+
+    private void add(int start, int end, boolean stray) {
+        if (count == starts.length) {
+            int capacity = count * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            strayQuotes = Arrays.copyOf(strayQuotes, capacity);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        strayQuotes[count] = stray;
+        count++;
+    }
+}
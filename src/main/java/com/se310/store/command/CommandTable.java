@@ -0,0 +1,62 @@
+package com.se310.store.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dispatch table of the DSL commands
+ * Resolves the leading keywords of a tokenized line through a KeywordTrie and assigns every
+ * command a stable opcode in registration order so that compiled scripts can refer to it
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandTable {
+
+    private final KeywordTrie<CommandDefinition> keywords = new KeywordTrie<>();
+    private final List<CommandDefinition> definitions = new ArrayList<>();
+
+    /**
+     * Register a command
+     * @param phrase leading keywords of the command
+     * @param partition rule resolving the partition of the command for parallel replay
+     * @param handler
+     * @return definition of the registered command
+     */
+    public CommandDefinition register(String phrase, PartitionRule partition, CommandHandler handler) {
+        CommandDefinition definition = new CommandDefinition(definitions.size(), phrase, handler, partition);
+        keywords.put(phrase, definition);
+        definitions.add(definition);
+        return definition;
+    }
+
+    /**
+     * Resolve the command of a tokenized line
+     * @param tokens
+     * @return command definition or null if the command is not recognized
+     */
+    public CommandDefinition lookup(CommandLexer tokens) {
+        return keywords.lookup(tokens);
+    }
+
+    /**
+     * Resolve a command by its opcode
+     * @param opcode
+     * @return command definition or null if there is no such opcode
+     */
+    public CommandDefinition byOpcode(int opcode) {
+        return opcode >= 0 && opcode < definitions.size() ? definitions.get(opcode) : null;
+    }
+
+    /**
+     * Fingerprint of the opcode assignment, changes whenever commands are added, removed or reordered
+     * @return
+     */
+    public long fingerprint() {
+        long hash = 1125899906842597L;
+        for (CommandDefinition definition : definitions)
+            hash = 31 * hash + definition.phrase().hashCode();
+        return hash;
+    }
+}
@@ -0,0 +1,607 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary intermediate form of a DSL script
+ * Every command is stored as its opcode in the CommandTable and references into a table of
+ * interned strings. Numbers and enumeration constants are resolved once when the script is
+ * compiled, so executing a compiled script needs neither tokenizing nor valueOf lookups.
+ *
+ * Lines are not stored, a line is rebuilt from its tokens and the number of spaces between them
+ * when it is echoed. Only lines that the tokens do not reproduce, such as lines with tabs or stray
+ * quotes, keep their text. Every string is stored once, so the compiled form is smaller than the
+ * source.
+ *
+ * Layout: magic, version, command table fingerprint, source hash, names of the enumerations,
+ * string table (length and tag, text, enumeration), then the records as variable length ints
+ * (line number delta, opcode, token count and form of the line, spaces before every token or line
+ * text, tokens with their quoted and location flags and location parts).
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CompiledScript {
+
+    /**
+     * Receives every compiled command in script order
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * @param lineNumber line number in the source script
+         * @param command    command definition or null if the command was not recognized
+         * @param arguments  arguments of the command, only valid during the call
+         */
+        void visit(int lineNumber, CommandDefinition command, CommandArguments arguments);
+    }
+
+    private static final int MAGIC = 0x53444C43;
+    private static final short VERSION = 2;
+    private static final int UNRECOGNIZED = 0;
+
+    private static final byte TAG_TEXT = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_DOUBLE = 2;
+    private static final byte TAG_ENUM = 3;
+
+    //Flags of a token reference
+    private static final int QUOTED = 2;
+    private static final int LOCATION = 1;
+    private static final int FLAG_BITS = 2;
+
+    //Form of a line, tokens separated by single spaces, by the stored number of spaces or not
+    //reproduced by the tokens and stored as text
+    private static final int SPACED = 0;
+    private static final int GAPS = 1;
+    private static final int VERBATIM = 2;
+
+    private final long fingerprint;
+    private final byte[] sourceHash;
+    private final String[] strings;
+    private final byte[] tags;
+    private final int[] ints;
+    private final double[] doubles;
+    private final Enum<?>[] enums;
+    private final int[] code;
+    private final int recordCount;
+
+    private CompiledScript(long fingerprint, byte[] sourceHash, String[] strings, byte[] tags, int[] ints,
+                           double[] doubles, Enum<?>[] enums, int[] code, int recordCount) {
+        this.fingerprint = fingerprint;
+        this.sourceHash = sourceHash;
+        this.strings = strings;
+        this.tags = tags;
+        this.ints = ints;
+        this.doubles = doubles;
+        this.enums = enums;
+        this.code = code;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Getter method for the fingerprint of the command table the script was compiled against
+     * @return
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Getter method for the hash of the source the script was compiled from
+     * @return
+     */
+    public byte[] getSourceHash() {
+        return sourceHash.clone();
+    }
+
+    /**
+     * Number of commands in the script
+     * @return
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Visit every command of the script in order
+     * @param table command table the script was compiled against
+     * @param visitor
+     */
+    public void execute(CommandTable table, Visitor visitor) {
+        RecordArguments arguments = new RecordArguments();
+        int pc = 0;
+        int lineNumber = 0;
+        for (int r = 0; r < recordCount; r++) {
+            lineNumber += code[pc];
+            int opcode = code[pc + 1] - 1;
+            pc = arguments.position(pc + 2);
+            visitor.visit(lineNumber, opcode < 0 ? null : table.byOpcode(opcode), arguments);
+        }
+    }
+
+    /**
+     * Serialize the compiled script
+     * @param output
+     * @throws IOException
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(fingerprint);
+        data.writeByte(sourceHash.length);
+        data.write(sourceHash);
+
+        //Enumerations are numbered in the order they first resolve a string
+        Map<Class<?>, Integer> types = new LinkedHashMap<>();
+        for (int i = 0; i < strings.length; i++) {
+            if (tags[i] == TAG_ENUM)
+                types.putIfAbsent(enums[i].getDeclaringClass(), types.size());
+        }
+        writeVarInt(data, types.size());
+        for (Class<?> type : types.keySet())
+            writeString(data, type.getName());
+
+        //Numbers are parsed again from their text when the script is read
+        writeVarInt(data, strings.length);
+        for (int i = 0; i < strings.length; i++) {
+            byte[] text = strings[i].getBytes(StandardCharsets.UTF_8);
+            writeVarInt(data, text.length << FLAG_BITS | tags[i]);
+            data.write(text);
+            if (tags[i] == TAG_ENUM)
+                writeVarInt(data, types.get(enums[i].getDeclaringClass()));
+        }
+
+        writeVarInt(data, recordCount);
+        writeVarInt(data, code.length);
+        for (int value : code)
+            writeVarInt(data, value);
+        data.flush();
+    }
+
+    /**
+     * Read a compiled script written by {@link #writeTo(OutputStream)}
+     * @param input
+     * @param enumTypes enumerations that arguments may be resolved to
+     * @return compiled script or null if the input is not a compiled script of this version
+     * @throws IOException
+     */
+    public static CompiledScript readFrom(InputStream input, List<Class<? extends Enum<?>>> enumTypes)
+            throws IOException {
+        //Decoded from memory, reading the varints one byte at a time from the stream is slower than tokenizing
+        ByteBuffer data = ByteBuffer.wrap(input.readAllBytes());
+        try {
+            return read(data, enumTypes);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Compiled Script");
+        }
+    }
+
+    private static CompiledScript read(ByteBuffer data, List<Class<? extends Enum<?>>> enumTypes) {
+        if (data.getInt() != MAGIC || data.getShort() != VERSION)
+            return null;
+
+        long fingerprint = data.getLong();
+        byte[] sourceHash = new byte[Byte.toUnsignedInt(data.get())];
+        data.get(sourceHash);
+
+        Map<String, Class<? extends Enum<?>>> known = new HashMap<>();
+        for (Class<? extends Enum<?>> type : enumTypes)
+            known.put(type.getName(), type);
+        Class<?>[] types = new Class<?>[readVarInt(data)];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = known.get(readString(data, readVarInt(data)));
+            //Enumeration no longer known, the script has to be recompiled
+            if (types[i] == null)
+                return null;
+        }
+
+        int stringCount = readVarInt(data);
+        String[] strings = new String[stringCount];
+        byte[] tags = new byte[stringCount];
+        int[] ints = new int[stringCount];
+        double[] doubles = new double[stringCount];
+        Enum<?>[] enums = new Enum<?>[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int header = readVarInt(data);
+            strings[i] = readString(data, header >>> FLAG_BITS);
+            tags[i] = (byte) (header & (1 << FLAG_BITS) - 1);
+            try {
+                switch (tags[i]) {
+                    case TAG_INT -> ints[i] = Integer.parseInt(strings[i]);
+                    case TAG_DOUBLE -> doubles[i] = Double.parseDouble(strings[i]);
+                    case TAG_ENUM -> {
+                        int type = readVarInt(data);
+                        if (type >= types.length)
+                            return null;
+                        enums[i] = Compiler.constant(types[type], strings[i]);
+                        //Constant no longer defined, the script has to be recompiled
+                        if (enums[i] == null)
+                            return null;
+                    }
+                    default -> { }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        int recordCount = readVarInt(data);
+        int[] code = new int[readVarInt(data)];
+        for (int i = 0; i < code.length; i++)
+            code[i] = readVarInt(data);
+
+        return new CompiledScript(fingerprint, sourceHash, strings, tags, ints, doubles, enums, code, recordCount);
+    }
+
+    /**
+     * Incrementally compiles script lines into a CompiledScript
+     */
+    public static class Compiler {
+
+        private final CommandTable table;
+        private final List<Class<? extends Enum<?>>> enumTypes;
+        private final CommandLexer lexer = new CommandLexer();
+        private final Map<String, Integer> interned = new HashMap<>();
+        private String[] strings = new String[64];
+        private int stringCount;
+        private int[] code = new int[1024];
+        private int codeLength;
+        private int recordCount;
+        private int lastLineNumber;
+        private final StringBuilder rebuilt = new StringBuilder();
+        private int[] gaps = new int[16];
+
+        /**
+         * Constructor for the Compiler class
+         * @param table command table resolving opcodes
+         * @param enumTypes enumerations that arguments are resolved to when they name one of their constants
+         */
+        public Compiler(CommandTable table, List<Class<? extends Enum<?>>> enumTypes) {
+            this.table = table;
+            this.enumTypes = enumTypes;
+        }
+
+        /**
+         * Compile a single command line
+         * @param line
+         * @param lineNumber
+         */
+        public void add(String line, int lineNumber) {
+            lexer.tokenize(line);
+            CommandDefinition command = table.lookup(lexer);
+
+            emit(lineNumber - lastLineNumber);
+            lastLineNumber = lineNumber;
+            emit(command == null ? UNRECOGNIZED : command.opcode() + 1);
+
+            try {
+                int form = form(line);
+                emit(lexer.tokenCount() << 2 | form);
+                if (form == GAPS) {
+                    for (int i = 0; i < lexer.tokenCount(); i++)
+                        emit(gaps[i]);
+                } else if (form == VERBATIM) {
+                    emit(intern(line));
+                }
+
+                for (int i = 0; i < lexer.tokenCount(); i++) {
+                    int parts = lexer.partCount(i);
+                    emit(intern(lexer.token(i)) << FLAG_BITS | (lexer.quoted(i) ? QUOTED : 0)
+                            | (parts > 1 ? LOCATION : 0));
+                    if (parts > 1) {
+                        emit(parts);
+                        for (int p = 0; p < parts; p++)
+                            emit(intern(lexer.part(i, p)));
+                    }
+                }
+            } catch (CommandException e) {
+                //Cannot happen, every index is within the token count
+                throw new IllegalStateException(e);
+            }
+            recordCount++;
+        }
+
+        /**
+         * Count the spaces before every token of the tokenized line and check that the tokens
+         * and spaces rebuild the line the way a compiled script echoes it
+         * @param line
+         * @return form of the line
+         * @throws CommandException
+         */
+        private int form(String line) throws CommandException {
+            int count = lexer.tokenCount();
+            if (gaps.length < count)
+                gaps = new int[count];
+
+            boolean spaced = true;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                //Stray quotes are lost when the token is materialized
+                if (lexer.strayQuotes(i))
+                    return VERBATIM;
+                int gap = 0;
+                while (position < line.length() && line.charAt(position) == ' ') {
+                    gap++;
+                    position++;
+                }
+                gaps[i] = gap;
+                spaced &= gap == (i == 0 ? 0 : 1);
+                position += lexer.token(i).length() + (lexer.quoted(i) ? 2 : 0);
+            }
+
+            rebuilt.setLength(0);
+            for (int i = 0; i < count; i++)
+                append(rebuilt, gaps[i], lexer.token(i), lexer.quoted(i));
+            if (!rebuilt.toString().equals(line))
+                return VERBATIM;
+            return spaced ? SPACED : GAPS;
+        }
+
+        /**
+         * Finish compilation
+         * @param sourceHash hash of the compiled source
+         * @return
+         */
+        public CompiledScript build(byte[] sourceHash) {
+            byte[] tags = new byte[stringCount];
+            int[] ints = new int[stringCount];
+            double[] doubles = new double[stringCount];
+            Enum<?>[] enums = new Enum<?>[stringCount];
+
+            //Resolve numbers and enumeration constants once for every distinct string
+            for (int i = 0; i < stringCount; i++) {
+                String value = strings[i];
+                Enum<?> constant = resolveEnum(value);
+                if (constant != null) {
+                    tags[i] = TAG_ENUM;
+                    enums[i] = constant;
+                } else if (isInt(value)) {
+                    tags[i] = TAG_INT;
+                    ints[i] = Integer.parseInt(value);
+                } else if (isDouble(value)) {
+                    tags[i] = TAG_DOUBLE;
+                    doubles[i] = Double.parseDouble(value);
+                }
+            }
+
+            return new CompiledScript(table.fingerprint(), sourceHash.clone(), Arrays.copyOf(strings, stringCount),
+                    tags, ints, doubles, enums, Arrays.copyOf(code, codeLength), recordCount);
+        }
+
+        private Enum<?> resolveEnum(String value) {
+            for (Class<? extends Enum<?>> type : enumTypes) {
+                Enum<?> constant = constant(type, value);
+                if (constant != null)
+                    return constant;
+            }
+            return null;
+        }
+
+        private static Enum<?> constant(Class<?> type, String value) {
+            for (Object constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(value))
+                    return (Enum<?>) constant;
+            }
+            return null;
+        }
+
+        private static boolean isInt(String value) {
+            try {
+                Integer.parseInt(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static boolean isDouble(String value) {
+            if (value.isEmpty() || !(Character.isDigit(value.charAt(0)) || value.charAt(0) == '-'
+                    || value.charAt(0) == '.'))
+                return false;
+            try {
+                Double.parseDouble(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private int intern(String value) {
+            Integer index = interned.get(value);
+            if (index == null) {
+                if (stringCount == strings.length)
+                    strings = Arrays.copyOf(strings, stringCount * 2);
+                index = stringCount;
+                strings[stringCount++] = value;
+                interned.put(value, index);
+            }
+            return index;
+        }
+
+        private void emit(int value) {
+            if (codeLength == code.length)
+                code = Arrays.copyOf(code, codeLength * 2);
+            code[codeLength++] = value;
+        }
+    }
+
+    /**
+     * Arguments of the current record, reused for every record of the script
+     */
+    private class RecordArguments implements CommandArguments {
+
+        private int lineIndex;
+        private int gapOffset;
+        private String line;
+        private int tokenCount;
+        private int[] tokenOffsets = new int[16];
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * Position the view on the record body starting at the given offset
+         * @param offset
+         * @return offset of the next record
+         */
+        int position(int offset) {
+            int header = code[offset];
+            tokenCount = header >>> 2;
+            int form = header & 3;
+            int pc = offset + 1;
+            gapOffset = form == GAPS ? pc : -1;
+            if (form == GAPS)
+                pc += tokenCount;
+            lineIndex = form == VERBATIM ? code[pc++] : -1;
+            line = null;
+            if (tokenOffsets.length < tokenCount)
+                tokenOffsets = new int[tokenCount];
+
+            for (int i = 0; i < tokenCount; i++) {
+                tokenOffsets[i] = pc;
+                pc += (code[pc] & LOCATION) == 0 ? 1 : 2 + code[pc + 1];
+            }
+            return pc;
+        }
+
+        @Override
+        public String getLine() {
+            if (line == null)
+                line = lineIndex >= 0 ? strings[lineIndex] : rebuild();
+            return line;
+        }
+
+        private String rebuild() {
+            builder.setLength(0);
+            for (int i = 0; i < tokenCount; i++) {
+                int token = code[tokenOffsets[i]];
+                int gap = gapOffset >= 0 ? code[gapOffset + i] : i == 0 ? 0 : 1;
+                append(builder, gap, strings[token >>> FLAG_BITS], (token & QUOTED) != 0);
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public int tokenCount() {
+            return tokenCount;
+        }
+
+        @Override
+        public String token(int index) throws CommandException {
+            return strings[string(index)];
+        }
+
+        @Override
+        public int intToken(int index) throws CommandException {
+            int string = string(index);
+            if (tags[string] != TAG_INT)
+                throw new CommandException(getLine(), "Invalid Number");
+            return ints[string];
+        }
+
+        @Override
+        public double doubleToken(int index) throws CommandException {
+            int string = string(index);
+            if (tags[string] == TAG_INT)
+                return ints[string];
+            if (tags[string] == TAG_DOUBLE)
+                return doubles[string];
+
+            //Not resolved at compile time, fall back to parsing the text
+            try {
+                return Double.parseDouble(strings[string]);
+            } catch (NumberFormatException e) {
+                throw new CommandException(getLine(), "Invalid Number");
+            }
+        }
+
+        @Override
+        public <E extends Enum<E>> E enumToken(int index, Class<E> type) throws CommandException {
+            int string = string(index);
+            if (tags[string] == TAG_ENUM && enums[string].getDeclaringClass() == type)
+                return type.cast(enums[string]);
+
+            //Not resolved at compile time, fall back to a lookup by name
+            for (E constant : EnumConstants.of(type)) {
+                if (constant.name().equals(strings[string]))
+                    return constant;
+            }
+            throw new CommandException(getLine(), "Invalid Value");
+        }
+
+        @Override
+        public String part(int index, int part) throws CommandException {
+            int offset = tokenOffsets[checkIndex(index)];
+            int parts = (code[offset] & LOCATION) == 0 ? 1 : code[offset + 1];
+            if (part >= parts)
+                throw new CommandException(getLine(), "Invalid Location");
+            return strings[parts > 1 ? code[offset + 2 + part] : code[offset] >>> FLAG_BITS];
+        }
+
+        private int string(int index) throws CommandException {
+            return code[tokenOffsets[checkIndex(index)]] >>> FLAG_BITS;
+        }
+
+        private int checkIndex(int index) throws CommandException {
+            if (index < 0 || index >= tokenCount)
+                throw new CommandException(getLine(), "Missing Argument");
+            return index;
+        }
+    }
+
+    private static void append(StringBuilder builder, int gap, String token, boolean quoted) {
+        builder.repeat(' ', gap);
+        if (quoted)
+            builder.append('"').append(token).append('"');
+        else
+            builder.append(token);
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data, text.length);
+        data.write(text);
+    }
+
+    private static String readString(ByteBuffer data, int length) {
+        if (length > data.remaining())
+            throw new BufferUnderflowException();
+        String value = new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return value;
+    }
+
+    private static int readVarInt(ByteBuffer data) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = Byte.toUnsignedInt(data.get());
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.se310.store.command;
+
+/**
+ * Per enumeration cache of constants so that token resolution does not clone
+ * the values() array on every lookup
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+final class EnumConstants {
+
+    private static final ClassValue<Enum<?>[]> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Enum<?>[] computeValue(Class<?> type) {
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+
+    private EnumConstants() { }
+
+    /**
+     * Shared array of constants for the given enumeration, callers must not modify it
+     * @param type
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<E>> E[] of(Class<E> type) {
+        return (E[]) CONSTANTS.get(type);
+    }
+}
@@ -0,0 +1,115 @@
+package com.se310.store.command;
+
+/**
+ * Word level trie used to dispatch DSL commands on their leading keywords
+ * Every node keeps its child keywords in a small open addressing table keyed by a
+ * case insensitive hash, so resolving "define store" or "add_basket_item" costs one
+ * probe per keyword no matter how many commands are registered, and the tokens of
+ * the line are compared in place without lower casing or copying them.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class KeywordTrie<V> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private V value;
+    private String[] keywords = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private Object[] children = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Register value under a keyword phrase such as "define store". Keywords are matched
+     * case insensitively and a phrase may only be registered once
+     * @param phrase
+     * @param value
+     */
+    public void put(String phrase, V value) {
+        KeywordTrie<V> node = this;
+        for (String keyword : phrase.trim().split("\\s+"))
+            node = node.childFor(keyword.toLowerCase());
+
+        if (node.value != null)
+            throw new IllegalArgumentException("Duplicate Command: " + phrase);
+        node.value = value;
+    }
+
+    /**
+     * Resolve the longest registered phrase that prefixes the tokenized line
+     * @param tokens
+     * @return value registered for the phrase or null if the line does not start with a known phrase
+     */
+    public V lookup(CommandLexer tokens) {
+        KeywordTrie<V> node = this;
+        V match = null;
+        for (int i = 0; node != null; i++) {
+            if (node.value != null)
+                match = node.value;
+            node = i < tokens.tokenCount() ? node.child(tokens, i) : null;
+        }
+        return match;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeywordTrie<V> child(CommandLexer tokens, int index) {
+        if (size == 0)
+            return null;
+        int hash = tokens.keywordHash(index);
+        int mask = keywords.length - 1;
+        for (int slot = spread(hash) & mask; keywords[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && tokens.matches(index, keywords[slot]))
+                return (KeywordTrie<V>) children[slot];
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeywordTrie<V> childFor(String keyword) {
+        int hash = keyword.hashCode();
+        int mask = keywords.length - 1;
+        int slot = spread(hash) & mask;
+        for (; keywords[slot] != null; slot = (slot + 1) & mask) {
+            if (keywords[slot].equals(keyword))
+                return (KeywordTrie<V>) children[slot];
+        }
+
+        KeywordTrie<V> child = new KeywordTrie<>();
+        keywords[slot] = keyword;
+        hashes[slot] = hash;
+        children[slot] = child;
+
+        //Keep the table at most half full so probe sequences stay short
+        if (++size * 2 > keywords.length)
+            resize();
+        return child;
+    }
+
+    private void resize() {
+        String[] oldKeywords = keywords;
+        int[] oldHashes = hashes;
+        Object[] oldChildren = children;
+
+        keywords = new String[oldKeywords.length * 2];
+        hashes = new int[keywords.length];
+        children = new Object[keywords.length];
+        int mask = keywords.length - 1;
+
+        for (int i = 0; i < oldKeywords.length; i++) {
+            if (oldKeywords[i] == null)
+                continue;
+            int slot = spread(oldHashes[i]) & mask;
+            while (keywords[slot] != null)
+                slot = (slot + 1) & mask;
+            keywords[slot] = oldKeywords[i];
+            hashes[slot] = oldHashes[i];
+            children[slot] = oldChildren[i];
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,104 @@
+package com.se310.store.command;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks which Store owns inventories, customers, baskets and devices while a script is
+ * being partitioned for parallel replay. Ownership changes of commands running inside a
+ * partition take effect immediately, ownership changes of commands that have to run
+ * exclusively are kept pending until the command is known to have succeeded.
+ * Only used by the thread partitioning the script.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class PartitionOwners {
+
+    /**
+     * Kinds of entities owned by a single Store
+     */
+    public enum Kind {
+        inventory,
+        customer,
+        basket,
+        device
+    }
+
+    private final Map<Kind, Map<String, String>> owners = new EnumMap<>(Kind.class);
+    private Kind pendingKind;
+    private String pendingId;
+    private String pendingStore;
+
+    /**
+     * Constructor for the PartitionOwners class
+     */
+    public PartitionOwners() {
+        for (Kind kind : Kind.values())
+            owners.put(kind, new HashMap<>());
+    }
+
+    /**
+     * Store currently owning the entity
+     * @param kind
+     * @param id
+     * @return Store id or null if the owner is not known
+     */
+    public String ownerOf(Kind kind, String id) {
+        return owners.get(kind).get(id);
+    }
+
+    /**
+     * Claim an entity for a Store. If the entity is not owned by another Store the command
+     * stays inside the Store partition and the claim takes effect immediately, otherwise
+     * the command has to run exclusively and the claim waits for {@link #settle(boolean)}
+     * @param kind
+     * @param id
+     * @param storeId
+     * @return partition key or null if the command must run exclusively
+     */
+    public String claim(Kind kind, String id, String storeId) {
+        if (storeId == null)
+            return null;
+
+        String current = ownerOf(kind, id);
+        if (current == null || current.equals(storeId)) {
+            owners.get(kind).put(id, storeId);
+            return storeId;
+        }
+
+        pendingKind = kind;
+        pendingId = id;
+        pendingStore = storeId;
+        return null;
+    }
+
+    /**
+     * Claim an entity for a Store only once the command has run exclusively, used for
+     * commands that move entities between Stores
+     * @param kind
+     * @param id
+     * @param storeId
+     * @return always null, the command must run exclusively
+     */
+    public String claimExclusively(Kind kind, String id, String storeId) {
+        pendingKind = kind;
+        pendingId = id;
+        pendingStore = storeId;
+        return null;
+    }
+
+    /**
+     * Apply or drop the pending claim of the exclusively executed command
+     * @param succeeded
+     */
+    public void settle(boolean succeeded) {
+        if (succeeded && pendingKind != null)
+            owners.get(pendingKind).put(pendingId, pendingStore);
+        pendingKind = null;
+        pendingId = null;
+        pendingStore = null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+
+/**
+ * Rule resolving the partition a DSL command belongs to during parallel replay
+ * Commands are partitioned by the Store they touch. A rule returns the Store id of the
+ * partition or null when the command is global or crosses partitions, in which case
+ * replay runs it exclusively after every partition has caught up.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@FunctionalInterface
+public interface PartitionRule {
+
+    /**
+     * Rule for commands that touch global state such as products, customers and baskets
+     */
+    PartitionRule GLOBAL = (args, owners) -> null;
+
+    /**
+     * Resolve the partition key of a command
+     * @param args
+     * @param owners current ownership of entities by Store
+     * @return Store id of the partition or null if the command must run exclusively
+     * @throws CommandException
+     */
+    String route(CommandArguments args, PartitionOwners owners) throws CommandException;
+
+    /**
+     * Command addressed by a store:aisle[:shelf] location token
+     * @param locationIndex
+     * @return
+     */
+    static PartitionRule location(int locationIndex) {
+        return (args, owners) -> args.part(locationIndex, 0);
+    }
+
+    /**
+     * Command addressed by the id of an entity that is owned by a single Store
+     * @param kind
+     * @param idIndex
+     * @return
+     */
+    static PartitionRule owner(PartitionOwners.Kind kind, int idIndex) {
+        return (args, owners) -> owners.ownerOf(kind, args.token(idIndex));
+    }
+
+    /**
+     * Command defining an entity inside the Store given by another rule. The entity becomes
+     * owned by that Store, redefining an entity owned by another Store crosses partitions
+     * @param kind
+     * @param idIndex
+     * @param store
+     * @return
+     */
+    static PartitionRule defines(PartitionOwners.Kind kind, int idIndex, PartitionRule store) {
+        return (args, owners) -> owners.claim(kind, args.token(idIndex), store.route(args, owners));
+    }
+}
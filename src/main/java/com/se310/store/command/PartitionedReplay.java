@@ -0,0 +1,132 @@
+package com.se310.store.command;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Parallel replay of DSL commands partitioned by Store
+ * Every partition key is pinned to one worker, so commands of the same Store run in script
+ * order on a single thread while independent Stores run on separate cores. Commands that are
+ * global or cross partitions run exclusively on the calling thread once every worker has
+ * finished the commands submitted before them, which keeps the final state identical to
+ * serial execution.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class PartitionedReplay implements AutoCloseable {
+
+    /**
+     * Executes a single script line with the lexer owned by the executing thread
+     */
+    @FunctionalInterface
+    public interface LineTask {
+
+        /**
+         * @param lexer      lexer owned by the executing thread
+         * @param line       command text
+         * @param lineNumber line number in the script
+         * @return true if the command succeeded
+         */
+        boolean run(CommandLexer lexer, String line, int lineNumber);
+    }
+
+    //Upper bound of queued commands per worker so that replay of large scripts keeps memory flat
+    private static final int QUEUED_PER_WORKER = 4096;
+
+    private final LineTask task;
+    private final ExecutorService[] workers;
+    private final CommandLexer[] lexers;
+    private final CommandLexer exclusiveLexer = new CommandLexer();
+    private final Semaphore queued;
+
+    /**
+     * Constructor for the PartitionedReplay class
+     * @param workerCount number of worker threads
+     * @param task        executes a single line
+     */
+    public PartitionedReplay(int workerCount, LineTask task) {
+        if (workerCount < 1)
+            throw new IllegalArgumentException("Worker Count Must Be Positive");
+
+        this.task = task;
+        this.workers = new ExecutorService[workerCount];
+        this.lexers = new CommandLexer[workerCount];
+        this.queued = new Semaphore(workerCount * QUEUED_PER_WORKER);
+
+        for (int i = 0; i < workerCount; i++) {
+            String name = "replay-worker-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+            lexers[i] = new CommandLexer();
+        }
+    }
+
+    /**
+     * Queue a command on the worker owning the partition
+     * @param partitionKey
+     * @param line
+     * @param lineNumber
+     */
+    public void submit(String partitionKey, String line, int lineNumber) {
+        int worker = Math.floorMod(partitionKey.hashCode(), workers.length);
+        CommandLexer lexer = lexers[worker];
+
+        queued.acquireUninterruptibly();
+        workers[worker].execute(() -> {
+            try {
+                task.run(lexer, line, lineNumber);
+            } finally {
+                queued.release();
+            }
+        });
+    }
+
+    /**
+     * Run a global or cross partition command on the calling thread after all previously
+     * submitted commands have completed
+     * @param line
+     * @param lineNumber
+     * @return true if the command succeeded
+     */
+    public boolean runExclusive(String line, int lineNumber) {
+        drain();
+        return task.run(exclusiveLexer, line, lineNumber);
+    }
+
+    /**
+     * Wait until every worker has executed all the commands submitted so far
+     */
+    public void drain() {
+        Future<?>[] markers = new Future<?>[workers.length];
+        for (int i = 0; i < workers.length; i++)
+            markers[i] = workers[i].submit(() -> { });
+
+        for (Future<?> marker : markers) {
+            try {
+                marker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Replay Interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Replay Failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Wait for all submitted commands and stop the workers
+     */
+    @Override
+    public void close() {
+        try {
+            drain();
+        } finally {
+            for (ExecutorService worker : workers)
+                worker.shutdown();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.se310.store.command;
+
+import com.se310.store.model.CommandException;
+import com.se310.store.model.StoreException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DSL command template parsed and dispatched once and executed many times with bound parameters
+ * Parameters are written as ? tokens, for example add_basket_item ? product ? item_count ?.
+ * Keywords are resolved to their handler and literal tokens are parsed when the template is
+ * prepared, executing it only binds the parameters, so repeated commands skip tokenizing, keyword
+ * dispatch and enumeration lookups. Bound ints and enumeration constants reach the handler without
+ * being formatted and parsed again, the text of the command is only rendered when it is echoed or
+ * reported in a failure. Instances are not thread safe, each thread should prepare its own.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class PreparedCommand implements CommandArguments {
+
+    /**
+     * Executes a prepared command with its bound arguments
+     */
+    @FunctionalInterface
+    public interface Executor {
+        void execute(CommandDefinition command, CommandArguments arguments) throws CommandException, StoreException;
+    }
+
+    private static final String PARAMETER = "?";
+    private static final char PART_SEPARATOR = ':';
+
+    private final String template;
+    private final CommandDefinition command;
+    private final Executor executor;
+    //Token index of every parameter
+    private final int[] parameters;
+
+    //Value of every token, text is null for ints and enumeration constants bound without text
+    private final String[] text;
+    private final int[] ints;
+    private final boolean[] isInt;
+    private final Enum<?>[] enums;
+    private final String[][] parts;
+    private final boolean[] bound;
+
+    private PreparedCommand(String template, CommandDefinition command, Executor executor, int[] parameters,
+                            String[] text) {
+        this.template = template;
+        this.command = command;
+        this.executor = executor;
+        this.parameters = parameters;
+        this.text = text;
+        this.ints = new int[text.length];
+        this.isInt = new boolean[text.length];
+        this.enums = new Enum<?>[text.length];
+        this.parts = new String[text.length][];
+        this.bound = new boolean[parameters.length];
+
+        //Literal tokens are parsed once
+        for (int i = 0; i < text.length; i++) {
+            if (text[i] != null)
+                parse(i);
+        }
+    }
+
+    /**
+     * Parse a template and resolve its command
+     * @param table dispatch table of the commands
+     * @param template command text with ? for every parameter
+     * @param executor executes the command with its bound arguments
+     * @return
+     * @throws CommandException if the template is not a recognized command
+     */
+    public static PreparedCommand prepare(CommandTable table, String template, Executor executor)
+            throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize(template);
+        CommandDefinition command = table.lookup(lexer);
+        if (command == null)
+            throw new CommandException(template.trim().replaceAll(" +", " "), "Unrecognized Command");
+
+        String[] text = new String[lexer.tokenCount()];
+        List<Integer> parameters = new ArrayList<>();
+        for (int i = 0; i < text.length; i++) {
+            if (lexer.matches(i, PARAMETER))
+                parameters.add(i);
+            else
+                text[i] = lexer.token(i);
+        }
+        return new PreparedCommand(template, command, executor,
+                parameters.stream().mapToInt(Integer::intValue).toArray(), text);
+    }
+
+    /**
+     * Getter method for the command the template resolved to
+     * @return
+     */
+    public CommandDefinition getCommand() {
+        return command;
+    }
+
+    /**
+     * Number of ? parameters of the template
+     * @return
+     */
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    /**
+     * Bind a parameter to a String
+     * @param parameter position of the parameter starting at 0
+     * @param value
+     * @return this command for chaining
+     */
+    public PreparedCommand setString(int parameter, String value) {
+        int index = bind(parameter);
+        text[index] = value;
+        parse(index);
+        return this;
+    }
+
+    /**
+     * Bind a parameter to an int
+     * @param parameter position of the parameter starting at 0
+     * @param value
+     * @return this command for chaining
+     */
+    public PreparedCommand setInt(int parameter, int value) {
+        int index = bind(parameter);
+        text[index] = null;
+        ints[index] = value;
+        isInt[index] = true;
+        enums[index] = null;
+        parts[index] = null;
+        return this;
+    }
+
+    /**
+     * Bind a parameter to an enumeration constant
+     * @param parameter position of the parameter starting at 0
+     * @param value
+     * @return this command for chaining
+     */
+    public PreparedCommand setEnum(int parameter, Enum<?> value) {
+        int index = bind(parameter);
+        text[index] = null;
+        isInt[index] = false;
+        enums[index] = value;
+        parts[index] = null;
+        return this;
+    }
+
+    /**
+     * Execute the command with the parameters bound so far
+     * @throws CommandException if a parameter is not bound or the arguments are invalid
+     * @throws StoreException
+     */
+    public void execute() throws CommandException, StoreException {
+        for (int i = 0; i < bound.length; i++) {
+            if (!bound[i])
+                throw new CommandException(getLine(), "Missing Argument");
+        }
+        executor.execute(command, this);
+    }
+
+    /**
+     * Bind every parameter and execute the command. Integer and Enum values are bound without
+     * formatting, anything else is bound as its String form
+     * @param values one value per parameter
+     * @throws CommandException if the number of values does not match or the arguments are invalid
+     * @throws StoreException
+     */
+    public void execute(Object... values) throws CommandException, StoreException {
+        if (values.length != parameters.length)
+            throw new CommandException(getLine(), "Missing Argument");
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Integer value)
+                setInt(i, value);
+            else if (values[i] instanceof Enum<?> value)
+                setEnum(i, value);
+            else
+                setString(i, String.valueOf(values[i]));
+        }
+        execute();
+    }
+
+    /**
+     * Text of the command with the bound parameters, rendered on demand
+     * @return
+     */
+    @Override
+    public String getLine() {
+        StringBuilder line = new StringBuilder(template.length() + 16);
+        for (int i = 0; i < text.length; i++) {
+            if (i > 0)
+                line.append(' ');
+            String value = tokenText(i);
+            if (value == null)
+                line.append(PARAMETER);
+            else if (value.isEmpty() || value.indexOf(' ') >= 0)
+                line.append('"').append(value).append('"');
+            else
+                line.append(value);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public int tokenCount() {
+        return text.length;
+    }
+
+    @Override
+    public String token(int index) throws CommandException {
+        checkIndex(index);
+        String value = tokenText(index);
+        if (value == null)
+            throw new CommandException(getLine(), "Missing Argument");
+        return value;
+    }
+
+    @Override
+    public int intToken(int index) throws CommandException {
+        checkIndex(index);
+        if (!isInt[index])
+            throw new CommandException(getLine(), "Invalid Number");
+        return ints[index];
+    }
+
+    @Override
+    public double doubleToken(int index) throws CommandException {
+        checkIndex(index);
+        if (isInt[index])
+            return ints[index];
+        try {
+            return Double.parseDouble(token(index));
+        } catch (NumberFormatException e) {
+            throw new CommandException(getLine(), "Invalid Number");
+        }
+    }
+
+    @Override
+    public <E extends Enum<E>> E enumToken(int index, Class<E> type) throws CommandException {
+        checkIndex(index);
+        Enum<?> constant = enums[index];
+        if (constant != null && constant.getDeclaringClass() == type)
+            return type.cast(constant);
+        if (text[index] == null)
+            throw new CommandException(getLine(), "Invalid Value");
+
+        //Resolved once and kept until the token is bound again
+        for (E candidate : EnumConstants.of(type)) {
+            if (candidate.name().equals(text[index])) {
+                enums[index] = candidate;
+                return candidate;
+            }
+        }
+        throw new CommandException(getLine(), "Invalid Value");
+    }
+
+    @Override
+    public String part(int index, int part) throws CommandException {
+        checkIndex(index);
+        String[] split = parts[index];
+        if (split == null) {
+            split = split(token(index));
+            parts[index] = split;
+        }
+        if (part >= split.length)
+            throw new CommandException(getLine(), "Invalid Location");
+        return split[part];
+    }
+
+    private int bind(int parameter) {
+        if (parameter < 0 || parameter >= parameters.length)
+            throw new IndexOutOfBoundsException("Parameter " + parameter + " Does Not Exist");
+        bound[parameter] = true;
+        return parameters[parameter];
+    }
+
+    private void parse(int index) {
+        String value = text[index];
+        isInt[index] = isInt(value);
+        ints[index] = isInt[index] ? Integer.parseInt(value) : 0;
+        enums[index] = null;
+        parts[index] = null;
+    }
+
+    private String tokenText(int index) {
+        if (text[index] != null)
+            return text[index];
+        if (isInt[index])
+            return Integer.toString(ints[index]);
+        if (enums[index] != null)
+            return enums[index].name();
+        return null;
+    }
+
+    private void checkIndex(int index) throws CommandException {
+        if (index < 0 || index >= text.length)
+            throw new CommandException(getLine(), "Missing Argument");
+    }
+
+    private static String[] split(String value) {
+        List<String> split = new ArrayList<>(3);
+        int start = 0;
+        int separator;
+        while ((separator = value.indexOf(PART_SEPARATOR, start)) >= 0) {
+            split.add(value.substring(start, separator));
+            start = separator + 1;
+        }
+        split.add(value.substring(start));
+        return split.toArray(new String[0]);
+    }
+
+    private static boolean isInt(String value) {
+        int length = value.length();
+        int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (start == length || length - start > 10)
+            return false;
+        for (int i = start; i < length; i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9')
+                return false;
+        }
+        long parsed = Long.parseLong(value);
+        return parsed >= Integer.MIN_VALUE && parsed <= Integer.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedCommand{" +
+                "template='" + template + '\'' +
+                ", parameters=" + Arrays.toString(parameters) +
+                '}';
+    }
+}
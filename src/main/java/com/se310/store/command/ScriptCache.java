@@ -0,0 +1,143 @@
+package com.se310.store.command;
+
+import com.se310.store.output.OutputContext;
+import com.se310.store.output.OutputSink;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache of compiled DSL scripts kept next to their source
+ * The compiled form of script.txt is stored as script.txt.compiled and is reused as long as
+ * the SHA-256 hash of the source and the command table fingerprint are unchanged
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ScriptCache {
+
+    private static final String SUFFIX = ".compiled";
+
+    private final CommandTable table;
+    private final List<Class<? extends Enum<?>>> enumTypes;
+    //Destination of the warning about a compiled script that can not be cached
+    private final OutputSink output;
+
+    /**
+     * Constructor for the ScriptCache class reporting through the sink of the thread that loads
+     * the script
+     * @param table command table resolving opcodes
+     * @param enumTypes enumerations that arguments are resolved to
+     */
+    public ScriptCache(CommandTable table, List<Class<? extends Enum<?>>> enumTypes) {
+        this(table, enumTypes, null);
+    }
+
+    /**
+     * Constructor for the ScriptCache class
+     * @param table command table resolving opcodes
+     * @param enumTypes enumerations that arguments are resolved to
+     * @param output destination of the warning about a compiled script that can not be cached, null
+     *               for the sink of the thread that loads the script
+     */
+    public ScriptCache(CommandTable table, List<Class<? extends Enum<?>>> enumTypes, OutputSink output) {
+        this.table = table;
+        this.enumTypes = enumTypes;
+        this.output = output;
+    }
+
+    /**
+     * Location of the compiled form of a script
+     * @param source
+     * @return
+     */
+    public static Path compiledPath(Path source) {
+        return source.resolveSibling(source.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Load the compiled form of the script, compiling and caching it if it is missing or stale
+     * @param source
+     * @return
+     * @throws IOException if the source cannot be read
+     */
+    public CompiledScript load(Path source) throws IOException {
+        byte[] hash = hash(source);
+        Path compiled = compiledPath(source);
+
+        if (Files.isRegularFile(compiled)) {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(compiled))) {
+                CompiledScript script = CompiledScript.readFrom(input, enumTypes);
+                if (script != null && script.getFingerprint() == table.fingerprint()
+                        && Arrays.equals(script.getSourceHash(), hash))
+                    return script;
+            } catch (IOException e) {
+                //Unreadable or truncated cache entry, fall through and recompile
+            }
+        }
+
+        CompiledScript script = compile(source, hash);
+        store(script, compiled);
+        return script;
+    }
+
+    /**
+     * Compile a script without caching it
+     * @param source
+     * @param hash hash of the source
+     * @return
+     * @throws IOException
+     */
+    public CompiledScript compile(Path source, byte[] hash) throws IOException {
+        CompiledScript.Compiler compiler = new CompiledScript.Compiler(table, enumTypes);
+        try (InputStream input = Files.newInputStream(source)) {
+            ScriptReader.forEachCommand(input, compiler::add);
+        }
+        return compiler.build(hash);
+    }
+
+    /**
+     * SHA-256 hash of the source script
+     * @param source
+     * @return
+     * @throws IOException
+     */
+    public static byte[] hash(Path source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream input = new DigestInputStream(Files.newInputStream(source), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    private void store(CompiledScript script, Path compiled) {
+        //Caching is best effort, a read only directory only costs recompilation on the next run
+        try {
+            Path temp = Files.createTempFile(compiled.toAbsolutePath().getParent(), compiled.getFileName().toString(), ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                script.writeTo(output);
+            }
+            Files.move(temp, compiled, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            (output != null ? output : OutputContext.current())
+                    .write("Unable to cache compiled script: " + e.getMessage());
+        }
+    }
+}
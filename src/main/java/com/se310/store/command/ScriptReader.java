@@ -0,0 +1,65 @@
+package com.se310.store.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming reader of DSL scripts
+ * Reads lines one at a time through a fixed size buffer, so memory stays flat regardless of
+ * the size of the script, skips comments and empty lines and reports exact line numbers
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public final class ScriptReader {
+
+    //Size of the read buffer used when streaming scripts
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Consumer of a single command line of a script
+     */
+    @FunctionalInterface
+    public interface LineConsumer {
+
+        /**
+         * @param line       command text
+         * @param lineNumber line number in the script
+         */
+        void accept(String line, int lineNumber);
+    }
+
+    private ScriptReader() { }
+
+    /**
+     * Hand every command line of the script to the consumer with its exact line number
+     * @param input
+     * @param consumer
+     * @throws IOException
+     */
+    public static void forEachCommand(InputStream input, LineConsumer consumer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                READ_BUFFER_SIZE);
+
+        //Line numbers count every physical line, including comments and empty lines
+        String line;
+        for (int i = 1; (line = reader.readLine()) != null; i++) {
+            if (isCommand(line))
+                consumer.accept(line, i);
+        }
+    }
+
+    /**
+     * Filter out any empty lines and lines that start with #
+     * @param line
+     * @return
+     */
+    public static boolean isCommand(String line) {
+        String trimmed = line.trim();
+        return !trimmed.startsWith("#") && !trimmed.isEmpty();
+    }
+}
@@ -4,6 +4,7 @@ import com.se310.store.model.Customer;
 import com.se310.store.model.CustomerType;
 import com.se310.store.model.Inventory;
 import com.se310.store.model.InventoryLocation;
+import com.se310.store.model.InventoryTable;
 import com.se310.store.model.InventoryType;
 import com.se310.store.model.Product;
 import com.se310.store.model.Store;
@@ -20,6 +21,7 @@ import com.se310.store.model.Temperature;
 public class StoreFacade {
 
     private Store store; // The core store instance
+    private final InventoryTable inventoryTable = new InventoryTable(); // Holds the state of the store inventory
 
     // Creates a new Store and initializes its structure
     // Hides all the internal setup logic from the user, like a "facade" should!
@@ -52,6 +54,7 @@ public class StoreFacade {
         // Uses the parameters for entering where the location of the product goes
         InventoryLocation location = new InventoryLocation(storeId, aisleId, shelfId); 
         Inventory inventory = new Inventory(
+                inventoryTable,
                 product.getId(),
                 location,
                 100,    // capacity
@@ -0,0 +1,17 @@
+package com.se310.store.journal;
+
+/**
+ * Enumeration representing when a journaled mutation is acknowledged
+ * sync forces the journal to disk before every acknowledgement, group forces it every commit
+ * interval for all mutations that arrived in the meantime, async acknowledges immediately and
+ * writes the journal in the background
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public enum Durability {
+    sync,
+    group,
+    async
+}
@@ -0,0 +1,405 @@
+package com.se310.store.journal;
+
+import com.se310.store.model.StoreException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append only write ahead journal of StoreService mutations
+ * Every record holds the operation and its arguments, framed by its length and a CRC32 so that a
+ * record torn by a crash is detected and dropped on replay. Appending only encodes the record into
+ * an in memory buffer, writing and forcing the buffer to disk happens in commit according to the
+ * Durability, so the mutations that arrive while a force is in progress share the next one.
+ * Group commits are forced as soon as a mutation waits for them, async records are written at
+ * the latest one commit interval after they were appended.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class Journal implements AutoCloseable {
+
+    /**
+     * Applies a replayed record
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void apply(JournalOperation operation, String[] fields) throws StoreException;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 1024 * 1024;
+    private static final JournalOperation[] OPERATIONS = JournalOperation.values();
+
+    private final FileChannel channel;
+    private final Durability durability;
+
+    //Records appended but not written yet, guarded by this
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(BUFFER_SIZE);
+    private final DataOutputStream pendingData = new DataOutputStream(pending);
+    private final CRC32 checksum = new CRC32();
+    private long appended;
+    private long position;
+
+    //Sequence of the last record forced to disk and pending commit requests, guarded by flushLock
+    private final Object flushLock = new Object();
+    private long durable;
+    private boolean commitRequested;
+    private volatile IOException failure;
+
+    private final Thread committer;
+    private volatile boolean closed;
+
+    private Journal(FileChannel channel, Durability durability, long commitInterval, long position) {
+        this.channel = channel;
+        this.durability = durability;
+        this.position = position;
+
+        //Group and async journals are written by a background committer every commit interval
+        if (durability == Durability.sync) {
+            this.committer = null;
+        } else {
+            this.committer = new Thread(() -> commitPeriodically(commitInterval), "journal-committer");
+            this.committer.setDaemon(true);
+            this.committer.start();
+        }
+    }
+
+    /**
+     * Replay an existing journal and open it for appending. A torn record at the end of the journal
+     * is dropped
+     * @param file
+     * @param durability
+     * @param commitInterval maximum milliseconds records wait before they are written
+     * @param handler applies every replayed record
+     * @return
+     * @throws IOException if the journal can not be read or opened
+     */
+    public static Journal open(Path file, Durability durability, long commitInterval, RecordHandler handler)
+            throws IOException {
+        return open(file, durability, commitInterval, 0, handler);
+    }
+
+    /**
+     * Replay the records of an existing journal appended after a position and open it for appending.
+     * Used to replay the tail of the journal that is not covered by a snapshot
+     * @param file
+     * @param durability
+     * @param commitInterval maximum milliseconds records wait before they are written
+     * @param from position of the first record to replay
+     * @param handler applies every replayed record
+     * @return
+     * @throws IOException if the journal can not be read or opened
+     */
+    public static Journal open(Path file, Durability durability, long commitInterval, long from,
+                               RecordHandler handler) throws IOException {
+        if (commitInterval < 1 && durability != Durability.sync)
+            throw new IllegalArgumentException("Commit Interval Must Be Positive");
+
+        long valid = replay(file, from, handler);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(valid);
+        channel.position(valid);
+        return new Journal(channel, durability, commitInterval, valid);
+    }
+
+    /**
+     * Replay every intact record of the journal
+     * @param file
+     * @param handler
+     * @return length of the intact part of the journal
+     * @throws IOException if the journal can not be read or a record can not be replayed
+     */
+    public static long replay(Path file, RecordHandler handler) throws IOException {
+        return replay(file, 0, handler);
+    }
+
+    /**
+     * Replay every intact record of the journal appended after a position
+     * @param file
+     * @param from position of the first record to replay
+     * @param handler
+     * @return length of the intact part of the journal
+     * @throws IOException if the journal can not be read, ends before the position or a record can not
+     * be replayed
+     */
+    public static long replay(Path file, long from, RecordHandler handler) throws IOException {
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        //Records covered by a snapshot are forced before the snapshot is written
+        if (size < from)
+            throw new IOException("Journal Ends Before Snapshot Position: " + file);
+        if (size == 0)
+            return 0;
+
+        long valid = from;
+        try (InputStream input = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE))) {
+            input.skipNBytes(from);
+            CRC32 checksum = new CRC32();
+            while (true) {
+                byte[] body;
+                try {
+                    int length = data.readInt();
+                    int crc = data.readInt();
+                    if (length < 3 || length > MAX_RECORD_SIZE)
+                        break;
+                    body = new byte[length];
+                    data.readFully(body);
+
+                    checksum.reset();
+                    checksum.update(body);
+                    if ((int) checksum.getValue() != crc)
+                        break;
+                } catch (EOFException e) {
+                    //Torn record written while crashing
+                    break;
+                }
+
+                DataInputStream fields = new DataInputStream(new ByteArrayInputStream(body));
+                int ordinal = fields.readUnsignedByte();
+                if (ordinal >= OPERATIONS.length)
+                    break;
+                String[] values = new String[fields.readUnsignedShort()];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = fields.readUTF();
+
+                //Only mutations that took effect are journaled, so a record failing again means the
+                //state being replayed onto is not the state the journal was written against
+                try {
+                    handler.apply(OPERATIONS[ordinal], values);
+                } catch (StoreException e) {
+                    throw new IOException("Unable to Replay Journal Record at Position " + valid + ": "
+                            + OPERATIONS[ordinal] + " " + e.getMessage(), e);
+                }
+                valid += Integer.BYTES * 2 + body.length;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Encode a record, so that a mutation is only applied once it is known that it can be journaled
+     * @param operation
+     * @param fields
+     * @return the record to pass to append
+     * @throws StoreException if a field is null or the record is too large to be journaled
+     */
+    public static byte[] encode(JournalOperation operation, String... fields) throws StoreException {
+        if (fields.length > 0xFFFF)
+            throw new StoreException("Journal", "Journal Record Has Too Many Fields");
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        DataOutputStream recordData = new DataOutputStream(record);
+        try {
+            recordData.writeByte(operation.ordinal());
+            recordData.writeShort(fields.length);
+            for (String field : fields) {
+                if (field == null)
+                    throw new StoreException("Journal", "Journal Record Field Is Null");
+                //Fields longer than 64KB once encoded are rejected by writeUTF
+                recordData.writeUTF(field);
+            }
+        } catch (UTFDataFormatException e) {
+            throw new StoreException("Journal", "Journal Record Field Is Too Long");
+        } catch (IOException e) {
+            //In memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        if (record.size() > MAX_RECORD_SIZE)
+            throw new StoreException("Journal", "Journal Record Is Too Long");
+        return record.toByteArray();
+    }
+
+    /**
+     * Append a record to the journal buffer. Records are written in the order they were appended
+     * @param operation
+     * @param fields
+     * @return sequence of the record to pass to commit
+     * @throws IllegalArgumentException if the record can not be encoded
+     */
+    public long append(JournalOperation operation, String... fields) {
+        try {
+            return append(encode(operation, fields));
+        } catch (StoreException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Append a record encoded by encode to the journal buffer. Records are written in the order they
+     * were appended
+     * @param record
+     * @return sequence of the record to pass to commit
+     */
+    public synchronized long append(byte[] record) {
+        if (closed)
+            throw new IllegalStateException("Journal Closed");
+        try {
+            checksum.reset();
+            checksum.update(record);
+            pendingData.writeInt(record.length);
+            pendingData.writeInt((int) checksum.getValue());
+            pendingData.write(record);
+            position += Integer.BYTES * 2 + record.length;
+        } catch (IOException e) {
+            //In memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return ++appended;
+    }
+
+    /**
+     * Wait until the record is as durable as the Durability of the journal requires
+     * @param sequence
+     * @throws StoreException if the journal can not be written
+     */
+    public void commit(long sequence) throws StoreException {
+        try {
+            switch (durability) {
+                case sync -> flush(sequence, true);
+                case group -> awaitDurable(sequence);
+                case async -> {
+                    //Records of an async journal are written by the committer, whose failure is reported here
+                    if (failure != null)
+                        throw failure;
+                }
+            }
+        } catch (IOException e) {
+            throw new StoreException("Journal", "Journal Write Failed");
+        }
+    }
+
+    /**
+     * Position right after the last appended record. Records appended later start at or after it
+     * @return
+     */
+    public synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Write and force every record appended so far regardless of the Durability of the journal
+     * @throws IOException if the journal can not be written
+     */
+    public void force() throws IOException {
+        flush(Long.MAX_VALUE, true);
+    }
+
+    /**
+     * Write and force every appended record and stop the committer
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        if (committer != null) {
+            committer.interrupt();
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            flush(Long.MAX_VALUE, true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write the records appended so far and optionally force them to disk
+     * @param sequence record that has to be written, nothing is done if it is already durable
+     * @param force
+     * @throws IOException
+     */
+    private void flush(long sequence, boolean force) throws IOException {
+        synchronized (flushLock) {
+            if (failure != null)
+                throw failure;
+            if (force && durable >= sequence)
+                return;
+
+            byte[] data;
+            long upTo;
+            synchronized (this) {
+                data = pending.toByteArray();
+                pending.reset();
+                upTo = appended;
+            }
+            //Nothing appended since the last commit
+            if (data.length == 0 && (!force || durable == upTo))
+                return;
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                if (force) {
+                    channel.force(false);
+                    durable = upTo;
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    private void awaitDurable(long sequence) throws IOException {
+        synchronized (flushLock) {
+            while (durable < sequence) {
+                if (failure != null)
+                    throw failure;
+                //Wake the committer once, records appended while it forces are grouped into its next force
+                if (!commitRequested) {
+                    commitRequested = true;
+                    flushLock.notifyAll();
+                }
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Journal Commit Interrupted", e);
+                }
+            }
+        }
+    }
+
+    private void commitPeriodically(long commitInterval) {
+        while (!closed) {
+            try {
+                synchronized (flushLock) {
+                    if (!commitRequested)
+                        flushLock.wait(commitInterval);
+                    commitRequested = false;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush(Long.MAX_VALUE, durability == Durability.group);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+    }
+}
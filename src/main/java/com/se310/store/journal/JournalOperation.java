@@ -0,0 +1,26 @@
+package com.se310.store.journal;
+
+/**
+ * Enumeration representing the StoreService mutations recorded in the journal
+ * Operations are persisted by ordinal, new operations must only be appended at the end
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public enum JournalOperation {
+    provision_store,
+    provision_aisle,
+    provision_shelf,
+    provision_inventory,
+    update_inventory,
+    provision_product,
+    provision_customer,
+    update_customer,
+    provision_basket,
+    assign_basket,
+    add_basket_product,
+    remove_basket_product,
+    clear_basket,
+    provision_device
+}
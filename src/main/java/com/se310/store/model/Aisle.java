@@ -1,8 +1,13 @@
 package com.se310.store.model;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 /**
@@ -12,13 +17,21 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @since   2025-09-25
  */
-public class Aisle {
+public class Aisle implements PageRow {
 
     private String number;
     private String name;
     private String description;
     private AisleLocation aisleLocation;
-    private final Map<String, Shelf> shelfMap;
+    private final NavigableMap<String, Shelf> shelfMap;
+    //Inventory of every Product on the shelves of the Aisle in Shelf and Inventory id order, so that
+    //baskets find the slot of a Product without scanning the shelves
+    private final Map<String, Inventory[]> productIndex;
+
+    private static final Inventory[] NO_INVENTORY = new Inventory[0];
+    private static final Comparator<Inventory> SHELF_ORDER = Comparator
+            .comparing((Inventory inventory) -> inventory.getInventoryLocation().getShelfId())
+            .thenComparing(Inventory::getId);
 
     /**
      * Constructor for Aisle class
@@ -32,7 +45,8 @@ public class Aisle {
         this.name = name;
         this.description = description;
         this.aisleLocation = aisleLocation;
-        this.shelfMap = new HashMap<>();
+        this.shelfMap = new ConcurrentSkipListMap<>();
+        this.productIndex = new ConcurrentHashMap<>();
     }
 
     /**
@@ -101,6 +115,7 @@ public class Aisle {
 
     /**
      * Method for adding Shelf to the Aisle. If Shelf already exists in the Aisle throws StoreException
+     * Method is synchronized so that the check of the level and the addition are one step
      * @param id
      * @param name
      * @param level
@@ -109,7 +124,7 @@ public class Aisle {
      * @return
      * @throws StoreException
      */
-    public Shelf addShelf(String id, String name, ShelfLevel level, String description,
+    synchronized public Shelf addShelf(String id, String name, ShelfLevel level, String description,
                           Temperature temperature) throws StoreException {
         Shelf shelf = new Shelf(id, name, level, description, temperature );
 
@@ -126,10 +141,49 @@ public class Aisle {
         //If Shelf already exists throw and exception
         if(this.shelfMap.putIfAbsent(id,shelf) != null)
             throw new StoreException("Add Shelf", "Shelf Already Exists");
+        shelf.setAisle(this);
 
         return shelf;
     }
 
+    /**
+     * Method for adding Inventory placed on one of the Aisle shelves to the Product index
+     * Index entries are replaced rather than modified so that lookups never lock
+     * @param inventory
+     */
+    synchronized void indexInventory(Inventory inventory) {
+        Inventory[] slots = this.productIndex.getOrDefault(inventory.getProductId(), NO_INVENTORY);
+        Inventory[] indexed = Arrays.copyOf(slots, slots.length + 1);
+        indexed[slots.length] = inventory;
+        Arrays.sort(indexed, SHELF_ORDER);
+        this.productIndex.put(inventory.getProductId(), indexed);
+    }
+
+    /**
+     * Method for removing Inventory taken off one of the Aisle shelves from the Product index
+     * @param inventory
+     */
+    synchronized void unindexInventory(Inventory inventory) {
+        Inventory[] slots = this.productIndex.getOrDefault(inventory.getProductId(), NO_INVENTORY);
+        Inventory[] indexed = Arrays.stream(slots)
+                .filter(slot -> slot != inventory)
+                .toArray(Inventory[]::new);
+        if (indexed.length == 0)
+            this.productIndex.remove(inventory.getProductId());
+        else
+            this.productIndex.put(inventory.getProductId(), indexed);
+    }
+
+    /**
+     * Method for looking up the Inventory of a Product on the shelves of the Aisle
+     * The returned array is shared and must not be modified
+     * @param productId
+     * @return Inventory in Shelf and Inventory id order, empty if the Product is not in the Aisle
+     */
+    Inventory[] getProductInventory(String productId) {
+        return this.productIndex.getOrDefault(productId, NO_INVENTORY);
+    }
+
     /**
      * Get Shelf from the Aisle. If Aisle does not exist throw StoreException
      * @param shelfId
@@ -147,6 +201,31 @@ public class Aisle {
         return this.shelfMap;
     }
 
+    /**
+     * Method for returning a page of the Shelves in the Aisle in id order
+     * @param projection collection to page through
+     * @param after id the page starts after, null for the first page
+     * @param limit maximum number of entries on the page
+     * @return
+     * @throws StoreException if the Aisle does not have the projected collection
+     */
+    public Page<Shelf> page(Projection projection, String after, int limit) throws StoreException {
+        if (projection != Projection.shelves)
+            throw new StoreException("Show Aisle", "Projection Is Not Supported");
+        return Page.of(projection, shelfMap, after, limit);
+    }
+
+    @Override
+    public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("number", number);
+        row.put("name", name);
+        row.put("description", description);
+        row.put("aisleLocation", aisleLocation);
+        row.put("shelves", shelfMap.size());
+        return row;
+    }
+
     @Override
     public String toString() {
         return "Aisle{" +
@@ -1,4 +1,7 @@
 package com.se310.store.model;
+
+import com.se310.store.output.OutputContext;
+
 /**
  * Appliance class implementation representing Appliance Device in the Store
  *
@@ -28,7 +31,7 @@ public class Appliance extends Device{
      */
     @Override
     public void processEvent(String event) {
-        System.out.println("Processing Event : " + event);
+        OutputContext.current().result("Processing Event : ", event);
     }
 
     /**
@@ -37,6 +40,6 @@ public class Appliance extends Device{
      * @param command
      */
     public void processCommand(String command){
-        System.out.println("<<< " + "Processing Command : " + command);
+        OutputContext.current().result("<<< " + "Processing Command : ", command);
     }
 }
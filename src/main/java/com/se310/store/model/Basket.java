@@ -1,7 +1,9 @@
 package com.se310.store.model;
 
+import com.se310.store.output.OutputContext;
+import com.se310.store.strategy.InventoryUpdateStrategy;
+
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Basket class implementation representing Customer basket
@@ -10,12 +12,32 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @since   2025-09-25
  */
-public class Basket {
+public class Basket implements PageRow {
+
+    //Products taken off the shelf can not leave a negative count
+    private static final InventoryUpdateStrategy TAKE_FROM_SHELF = (inventory, updatedCount) -> {
+        if (updatedCount < 0) {
+            OutputContext.current().write("\u001B[31m" + "Error : " + inventory + "\u001B[0m");
+            throw new StoreException("Add Product", "There Is Not Enough Inventory on the Shelf");
+        }
+    };
+
+    //Products put back on the shelf can not exceed its capacity
+    private static final InventoryUpdateStrategy RETURN_TO_SHELF = (inventory, updatedCount) -> {
+        if (updatedCount > inventory.getCapacity()) {
+            OutputContext.current().write("\u001B[31m" + "Error : " + inventory + "\u001B[0m");
+            throw new StoreException("Remove Product", "There Is Not Enough Capacity on the Shelf");
+        }
+    };
+
+    //Products taken back off the shelf by a failed clear, StoreService keeps the Store locked while the
+    //Basket is cleared, so the units put back are still on the shelf
+    private static final InventoryUpdateStrategy TAKE_BACK = (inventory, updatedCount) -> { };
 
     private String id;
     private final Map<String, Integer> productMap;
-    private Customer customer;
-    private Store store;
+    private volatile Customer customer;
+    private volatile Store store;
 
     /**
      * Constructor for Basket class
@@ -67,37 +89,28 @@ public class Basket {
             throw new StoreException("Add Product", "Aisle Does Not Exist");
         }
 
-        //Get all inventory items from the shelves in the aisle where customer was last seen
-        List<Inventory> inventoryList = aisle.getShelfMap().values()
-                .stream()
-                .flatMap(shelf -> shelf.getInventoryMap().values().
-                        stream())
-                .filter(inventory -> productId.equals(inventory.getProductId()))
-                        .collect(Collectors.toList());
-
-        //If inventory list is empty that means product is not available to be put in the basket
-        if(inventoryList.isEmpty()){
-            System.out.println("\u001B[31m" + "Error : " + customer + "\u001B[0m");
+        //Get the inventory of the product on the shelves in the aisle where customer was last seen
+        Inventory[] inventories = aisle.getProductInventory(productId);
+
+        //If no inventory is found that means product is not available to be put in the basket
+        if(inventories.length == 0){
+            OutputContext.current().write("\u001B[31m" + "Error : " + customer + "\u001B[0m");
             throw new StoreException("Add Product", "Customer Is Not Near Product");
         }
 
-        //If inventory list is larger than one that means that there are multiple product are available
+        //If more than one inventory is found that means that there are multiple product are available
         //where customer was last seen
-        if(inventoryList.size() > 1){
-            System.out.println("\u001B[31m" + "Error : " + inventoryList + "\u001B[0m");
+        if(inventories.length > 1){
+            OutputContext.current().write("\u001B[31m" + "Error : " + Arrays.toString(inventories) + "\u001B[0m");
             throw new StoreException("Add Product", "There Are Several Products In the Aisle");
         }
 
         //If the count of the product on the shelf is smaller than the customer is trying to buy throw and exception
-        Inventory inventory = inventoryList.get(0);
-        if((inventory.getCount() - count) < 0){
-            System.out.println("\u001B[31m" + "Error : " + inventory + "\u001B[0m");
-            throw new StoreException("Add Product", "There Is Not Enough Inventory on the Shelf");
-        }
+        //Count is decremented atomically so that baskets sharing the shelf can not both take the last units
+        inventories[0].updateCount(-count, TAKE_FROM_SHELF);
 
-        //Put the product in the basket and decrement product on the shelf
+        //Put the product in the basket
         this.productMap.merge(productId, count, Integer::sum);
-        inventory.setCount(inventory.getCount() - count);
     }
 
     /**
@@ -119,6 +132,27 @@ public class Basket {
             throw new StoreException("Remove Product", "Trying To Remove More Quantity Than Exists");
         }
 
+        //If product capacity on the shelf is smaller than what the customer is trying to put back throw and exception
+        shelfInventory(productId).updateCount(count, RETURN_TO_SHELF);
+
+        //Remove the product from the basket
+        this.productMap.merge(productId, count, (a, b) -> a - b);
+
+        //if product count in the basket is 0 remove it from the basket completely
+        tempCount = this.productMap.get(productId);
+        if(tempCount == 0){
+            productMap.remove(productId);
+        }
+    }
+
+    /**
+     * Find the Inventory a Product is put back on, the only Inventory of the Product in the aisle
+     * where the Customer was last seen
+     * @param productId
+     * @return
+     * @throws StoreException if there is no such Inventory or more than one
+     */
+    private Inventory shelfInventory(String productId) throws StoreException {
         //Get location of the customer associated with this basket
         StoreLocation location = this.customer.getStoreLocation();
         //Get the aisle where the customer was last seen
@@ -129,43 +163,23 @@ public class Basket {
             throw new StoreException("Remove Product", "Aisle Does Not Exist");
         }
 
-        //Get all inventory items from the shelves in the aisle where customer was last seen
-        List<Inventory> inventoryList = aisle.getShelfMap().values()
-                .stream()
-                .flatMap(shelf -> shelf.getInventoryMap().values().
-                        stream())
-                .filter(inventory -> productId.equals(inventory.getProductId()))
-                .collect(Collectors.toList());
-
-        //If inventory list is empty that means product is not available to be put on the shelf
-        if(inventoryList.isEmpty()){
-            System.out.println("\u001B[31m" + "Error: " + customer + "\u001B[0m");
+        //Get the inventory of the product on the shelves in the aisle where customer was last seen
+        Inventory[] inventories = aisle.getProductInventory(productId);
+
+        //If no inventory is found that means product is not available to be put on the shelf
+        if(inventories.length == 0){
+            OutputContext.current().write("\u001B[31m" + "Error: " + customer + "\u001B[0m");
             throw new StoreException("Remove Product", "Customer Is Not Near Product");
         }
 
-        //If inventory list is larger than one that means that there are multiple product slots are available
+        //If more than one inventory is found that means that there are multiple product slots are available
         //on the shelves where customer was last seen
-        if(inventoryList.size() > 1){
-            System.out.println("\u001B[31m" + "Error : " + inventoryList + "\u001B[0m");
+        if(inventories.length > 1){
+            OutputContext.current().write("\u001B[31m" + "Error : " + Arrays.toString(inventories) + "\u001B[0m");
             throw new StoreException("Remove Product", "There Are Several Products In the Aisle");
         }
 
-        //If product capacity on the shelf is smaller than what the customer is trying to put back throw and exception
-        Inventory inventory = inventoryList.get(0);
-        if((inventory.getCount() + count) > inventory.getCapacity()){
-            System.out.println("\u001B[31m" + "Error : " + inventory + "\u001B[0m");
-            throw new StoreException("Remove Product", "There Is Not Enough Capacity on the Shelf");
-        }
-
-        //Remove the product in the basket and increment product on the shelf
-        this.productMap.merge(productId, count, (a, b) -> a - b);
-        inventory.setCount(inventory.getCount() + count);
-
-        //if product count in the basket is 0 remove it from the basket completely
-        tempCount = this.productMap.get(productId);
-        if(tempCount == 0){
-            productMap.remove(productId);
-        }
+        return inventories[0];
     }
 
     /**
@@ -174,16 +188,22 @@ public class Basket {
      */
     synchronized public void clearBasket() throws StoreException {
 
-        //Removal of the products can't occur in the lambda function since we would get a
-        //concurrent object modification exception
-        Set<String> keys = this.productMap.keySet();
-        List<Integer> values = new ArrayList<>(productMap.values());
-
-        //Remove all the products from the Product Map
-        int i = 0;
-        for (String key : keys) {
-            removeProduct(key, values.get(i));
-            i++;
+        //Every Product is matched with its Inventory before any is put back, so that a Product that
+        //can not be put back leaves the Basket and the shelves unchanged
+        List<String> keys = new ArrayList<>(this.productMap.keySet());
+        Inventory[] inventories = new Inventory[keys.size()];
+        for (int i = 0; i < inventories.length; i++)
+            inventories[i] = shelfInventory(keys.get(i));
+
+        //Put the products back on the shelves, taking back the ones already put back if a shelf is full
+        int returned = 0;
+        try {
+            for (; returned < inventories.length; returned++)
+                inventories[returned].updateCount(productMap.get(keys.get(returned)), RETURN_TO_SHELF);
+        } catch (StoreException e) {
+            for (int i = 0; i < returned; i++)
+                inventories[i].updateCount(-productMap.get(keys.get(i)), TAKE_BACK);
+            throw e;
         }
 
         this.productMap.clear();
@@ -193,6 +213,23 @@ public class Basket {
         this.customer = null;
     }
 
+    /**
+     * Copy of the Products in the Basket and their counts
+     * @return
+     */
+    synchronized Map<String, Integer> copyProducts() {
+        return new HashMap<>(this.productMap);
+    }
+
+    /**
+     * Put Product back into a restored Basket without taking it from the shelf again
+     * @param productId
+     * @param count
+     */
+    synchronized void restoreProduct(String productId, int count) {
+        this.productMap.put(productId, count);
+    }
+
     /**
      * Setter method for the Customer to establish a connection between Basket and the Store
      * @param store
@@ -224,8 +261,23 @@ public class Basket {
         return this.customer;
     }
 
+    /**
+     * Synchronized with the basket operations so that printing never observes a Product Map
+     * in the middle of an update
+     * @return
+     */
+    @Override
+    synchronized public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        Customer current = customer;
+        row.put("customerId", current == null ? null : current.getId());
+        row.put("products", productMap.size());
+        return row;
+    }
+
     @Override
-    public String toString() {
+    synchronized public String toString() {
         return "Basket{" +
                 "id='" + id + '\'' +
                 ", productMap=" + productMap +
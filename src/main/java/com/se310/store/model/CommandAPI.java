@@ -1,5 +1,7 @@
 package com.se310.store.model;
 
+import java.io.InputStream;
+
 /**
  * Command interface for managing script commands
  *
@@ -23,4 +25,34 @@ public interface CommandAPI {
      */
     void processCommandFile(String fileName);
 
+    /**
+     * Method for processing grouped CLI commands in a single file through its compiled form.
+     * The compiled form is cached next to the file and reused until the file changes
+     * @param fileName
+     */
+    void processCompiledCommandFile(String fileName);
+
+    /**
+     * Method for processing CLI commands read from a stream such as stdin or a pipe. Commands are
+     * executed as they arrive until the end of the stream
+     * @param input
+     */
+    void processCommandStream(InputStream input);
+
+    /**
+     * Method for processing grouped CLI commands in a single file in parallel. Commands are
+     * partitioned by Store, commands of the same Store keep their order and the final state
+     * is the same as with serial processing
+     * @param fileName
+     * @param workers number of worker threads
+     */
+    void processCommandFileParallel(String fileName, int workers);
+
+    /**
+     * Method for processing CLI commands read from a stream in parallel, partitioned by Store
+     * @param input
+     * @param workers number of worker threads
+     */
+    void processCommandStreamParallel(InputStream input, int workers);
+
 }
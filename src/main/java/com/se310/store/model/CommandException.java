@@ -1,8 +1,10 @@
 package com.se310.store.model;
 
 /**
- * CommandException class implementation designed display errors to the user while
+ * CommandException class implementation designed to display errors to the user while
  * processing commands
+ * Malformed commands are reported by line and reason only, so the exception does not capture
+ * a stack trace.
  *
  * @author  Sergey L. Sundukovskiy
  * @version 1.0
@@ -19,10 +21,21 @@ public class CommandException extends Exception{
      * @param reason
      */
     public CommandException(String command, String reason) {
+        //No suppression and no stack trace, the command and reason describe the failure
+        super(null, null, false, false);
         this.command = command;
         this.reason = reason;
     }
 
+    /**
+     * Message combining command and reason for logs, the CLI prints them separately
+     * @return
+     */
+    @Override
+    public String getMessage() {
+        return reason + ": " + command;
+    }
+
     /**
      * Getter method for command
      * @return
@@ -1,19 +1,38 @@
 package com.se310.store.model;
 
+import com.se310.store.command.CommandArguments;
+import com.se310.store.command.CommandDefinition;
+import com.se310.store.command.CommandHandler;
+import com.se310.store.command.CommandLexer;
+import com.se310.store.command.CommandTable;
+import com.se310.store.command.CompiledScript;
+import com.se310.store.command.PartitionOwners;
+import com.se310.store.command.PartitionOwners.Kind;
+import com.se310.store.command.PartitionRule;
+import com.se310.store.command.PartitionedReplay;
+import com.se310.store.command.PreparedCommand;
+import com.se310.store.command.ScriptCache;
+import com.se310.store.command.ScriptReader;
+import com.se310.store.output.AsyncOutputSink;
+import com.se310.store.output.ConsoleOutputSink;
+import com.se310.store.output.FlushPolicy;
+import com.se310.store.output.OutputContext;
+import com.se310.store.output.OutputSink;
+import com.se310.store.output.Verbosity;
 import com.se310.store.singleton.StoreService;
+import com.se310.store.stats.LatencyHistogram;
+import com.se310.store.stats.LatencyStats;
 
 // import for proxy pattern that only allows command execution with a valid token
 import com.se310.store.proxy.StoreServiceProxy;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * CommandProcessor class implementation for processing DSL commands
@@ -22,194 +41,494 @@ import java.util.regex.Pattern;
  * @version 1.0
  * @since   2025-09-25
  */
-public class CommandProcessor implements CommandAPI  {
+public class CommandProcessor implements CommandAPI, AutoCloseable {
 
     //StoreService storeService = new StoreService();
     //StoreServiceProxy storeService = StoreServiceProxy.getInstance(); // for proxy pattern   
     private static final String CLI_TOKEN = System.getProperty("store.token", "dev-token"); 
+    //Enumerations that compiled scripts resolve arguments to at compile time
+    private static final List<Class<? extends Enum<?>>> ARGUMENT_TYPES = List.of(AisleLocation.class,
+            ShelfLevel.class, Temperature.class, InventoryType.class, CustomerType.class, Projection.class);
     private final StoreServiceProxy storeService;
+    //Token presented to the StoreServiceProxy for every command
+    private final String token;
+    //Reusable tokenizer, avoids compiling a regex and allocating token lists for every line
+    private final CommandLexer tokens = new CommandLexer();
+    //Dispatch table resolving leading keywords such as "define store" to command handlers
+    private final CommandTable commands = new CommandTable();
+    //Compiled scripts cached next to their source
+    private final ScriptCache scriptCache;
+    //Destination of the DSL echo, command results and failures
+    private final OutputSink output;
+    //Sink created by this CommandProcessor and closed with it or at shutdown, null if the caller
+    //passed the sink
+    private OutputSink ownedOutput;
+    //Shutdown hook closing an owned AsyncOutputSink, null for sinks without a writer thread
+    private Thread outputShutdown;
+    //Latency histogram of every command by opcode, shared with the other CommandProcessors
+    private final List<LatencyHistogram> latencies = new ArrayList<>();
+
+    //Customers moving between Stores cross partitions, staying in the same Store does not
+    private static final PartitionRule CUSTOMER_MOVE = (args, owners) -> {
+        String customerId = args.token(2);
+        String storeId = args.part(4, 0);
+        if (storeId.equals(owners.ownerOf(Kind.customer, customerId)))
+            return storeId;
+        return owners.claimExclusively(Kind.customer, customerId, storeId);
+    };
+
+    //Baskets belong to the Store where their Customer currently is
+    private static final PartitionRule BASKET_ASSIGNMENT = (args, owners) ->
+            owners.claim(Kind.basket, args.token(2), owners.ownerOf(Kind.customer, args.token(4)));
 
     /**
-     * Constructor for the CommandProcessor class
+     * Constructor for the CommandProcessor class writing to the console, configured through the
+     * store.output.verbosity (quiet, results, echo) and store.output.flush (line, idle, manual)
+     * properties. Output is written synchronously unless a flush policy is given
      */
     public CommandProcessor() {
-        storeService = StoreServiceProxy.getInstance();
-        storeService.registerToken(CLI_TOKEN);
+        this(defaultOutput());
+        ownedOutput = output;
+        //Callers that never close still get the messages queued by an asynchronous sink, synchronous
+        //sinks have nothing queued and need no hook
+        if (ownedOutput instanceof AsyncOutputSink) {
+            outputShutdown = new Thread(ownedOutput::close, "output-shutdown");
+            Runtime.getRuntime().addShutdownHook(outputShutdown);
+        }
     }
 
-    public void processCommand(String commandBefore) throws CommandException, StoreException {
-
-        List<String> tokens = new ArrayList<>();
-        //Split the line into tokens between spaces and quotes
-        Matcher matcher = Pattern.compile("([^\"]\\S*|\".+?\")\\s*").matcher(commandBefore);
-        while (matcher.find())
-            tokens.add(matcher.group(1).replace("\"", ""));
-
-        System.out.println(">>> Processing DSL : " + commandBefore); 
-
-        String command = commandBefore.trim().replaceAll(" +", " ");
-
-        if (command.toLowerCase().contains("define store")){
-            storeService.provisionStore(tokens.get(2), tokens.get(4), tokens.get(6), CLI_TOKEN);
-        } else if(command.toLowerCase().contains("show store")){
-            System.out.println("<<< " + storeService.showStore(tokens.get(2),CLI_TOKEN));
-        } else if(command.toLowerCase().contains("define aisle")){
-
-            String[] location = tokens.get(2).split(":");
-            storeService.provisionAisle(location[0],location[1], tokens.get(4), tokens.get(6),
-                    AisleLocation.valueOf(tokens.get(8)),CLI_TOKEN);
-
-        } else if(command.toLowerCase().contains("show aisle")){
-
-            String[] location = tokens.get(2).split(":");
-            System.out.println("<<< " + storeService.showAisle(location[0],location[1],CLI_TOKEN));
-
-        } else if(command.toLowerCase().contains("define shelf")) {
-
-            String[] location = tokens.get(2).split(":");
-            storeService.provisionShelf(location[0],location[1],location[2], tokens.get(4), ShelfLevel.valueOf(tokens.get(6)),
-                    tokens.get(8), Temperature.valueOf(tokens.get(10)), CLI_TOKEN  );
-
-        } else if(command.toLowerCase().contains("show shelf")){
-
-            String[] location = tokens.get(2).split(":");
-            System.out.println ("<<< " + storeService.showShelf(location[0], location[1], location[2], CLI_TOKEN));
-
-        } else if(command.toLowerCase().contains("define product")) {
-
-            storeService.provisionProduct(tokens.get(2), tokens.get(4), tokens.get(6),
-                    tokens.get(8), tokens.get(10), Double.parseDouble(tokens.get(12)),
-                    Temperature.valueOf(tokens.get(14)),CLI_TOKEN);
-
-        } else if(command.toLowerCase().contains("show product")) {
-
-            Product product = storeService.showProduct(tokens.get(2), CLI_TOKEN);
-            System.out.println("<<< " + product);
-
-        } else if(command.toLowerCase().contains("define inventory")) {
-
-            String[] location = tokens.get(4).split(":");
-
-            storeService.provisionInventory(tokens.get(2), location[0], location[1],
-                    location[2], Integer.parseInt(tokens.get(6)), Integer.parseInt(tokens.get(8)),
-                    tokens.get(12), InventoryType.valueOf(tokens.get(10)), CLI_TOKEN);
-
-        } else if(command.toLowerCase().contains("show inventory")) {
-
-            System.out.println("<<< " + storeService.showInventory(tokens.get(2), CLI_TOKEN));
-
-        } else if(command.toLowerCase().contains("update inventory")) {
-
-            Inventory inventory = storeService.updateInventory(tokens.get(2),Integer.parseInt(tokens.get(4)), CLI_TOKEN );
-            System.out.println(inventory);
-
-        } else if(command.toLowerCase().contains("define customer")){
-
-            storeService.provisionCustomer(tokens.get(2), tokens.get(4), tokens.get(6),
-                    CustomerType.valueOf(tokens.get(8)), tokens.get(10), tokens.get(12), CLI_TOKEN);
-
-        } else if(command.toLowerCase().contains("update customer")){
-
-            String[] location = tokens.get(4).split(":");
-            Customer customer = storeService.updateCustomer(tokens.get(2), location[0], location[1], CLI_TOKEN);
-
-            System.out.println("<<< " + customer);
-
-        } else if(command.toLowerCase().contains("show customer")){
-
-            System.out.println(storeService.showCustomer(tokens.get(2),CLI_TOKEN));
+    /**
+     * Constructor for the CommandProcessor class using the CLI token
+     * @param output destination of the DSL echo, command results and failures
+     */
+    public CommandProcessor(OutputSink output) {
+        this(output, CLI_TOKEN);
+        storeService.registerToken(CLI_TOKEN);
+    }
 
-        } else if(command.toLowerCase().contains("define basket")){
+    /**
+     * Constructor for the CommandProcessor class executing commands on behalf of a token that the
+     * caller registers with the StoreServiceProxy
+     * @param output destination of the DSL echo, command results and failures
+     * @param token
+     */
+    public CommandProcessor(OutputSink output, String token) {
+        this.output = output;
+        this.token = token;
+        scriptCache = new ScriptCache(commands, ARGUMENT_TYPES, output);
+        storeService = StoreServiceProxy.getInstance();
+        registerCommands();
+    }
 
-            storeService.provisionBasket(tokens.get(2), CLI_TOKEN);
+    /**
+     * Flush the output and close the sink created by the default constructor, sinks passed by the
+     * caller stay open
+     */
+    @Override
+    public void close() {
+        if (ownedOutput == null) {
+            output.flush();
+            return;
+        }
+        ownedOutput.close();
+        if (outputShutdown == null)
+            return;
+        try {
+            Runtime.getRuntime().removeShutdownHook(outputShutdown);
+        } catch (IllegalStateException e) {
+            //Already shutting down, the hook closes the sink again and finds it closed
+        }
+        outputShutdown = null;
+    }
 
-        } else if(command.toLowerCase().contains("assign basket")){
+    private static OutputSink defaultOutput() {
+        Verbosity verbosity = Verbosity.valueOf(System.getProperty("store.output.verbosity", "echo"));
+        String flushPolicy = System.getProperty("store.output.flush");
+        if (flushPolicy == null)
+            return new ConsoleOutputSink(System.out, verbosity);
+        return new AsyncOutputSink(verbosity, FlushPolicy.valueOf(flushPolicy));
+    }
 
-            storeService.assignCustomerBasket(tokens.get(4), tokens.get(2), CLI_TOKEN);
+    /**
+     * Build the keyword dispatch table mapping every DSL command to its handler
+     */
+    private void registerCommands() {
+
+        define("define store", PartitionRule.location(2), args ->
+                storeService.provisionStore(args.token(2), args.token(4), args.token(6), token));
+
+        define("show store", PartitionRule.location(2), args -> {
+            if (args.tokenCount() > 3) {
+                PageQuery query = pageQuery(args, 3);
+                output.result("<<< ", query.select(storeService.showStore(args.token(2), query.projection(),
+                        query.after(), query.limit(), token)));
+            } else {
+                output.result("<<< ", storeService.showStore(args.token(2),token));
+            }
+        });
+
+        define("define aisle", PartitionRule.location(2), args ->
+                storeService.provisionAisle(args.part(2, 0), args.part(2, 1), args.token(4), args.token(6),
+                        args.enumToken(8, AisleLocation.class),token));
+
+        define("show aisle", PartitionRule.location(2), args -> {
+            if (args.tokenCount() > 3) {
+                PageQuery query = pageQuery(args, 3);
+                output.result("<<< ", query.select(storeService.showAisle(args.part(2, 0), args.part(2, 1),
+                        query.projection(), query.after(), query.limit(), token)));
+            } else {
+                output.result("<<< ", storeService.showAisle(args.part(2, 0), args.part(2, 1),token));
+            }
+        });
+
+        define("define shelf", PartitionRule.location(2), args ->
+                storeService.provisionShelf(args.part(2, 0), args.part(2, 1), args.part(2, 2), args.token(4),
+                        args.enumToken(6, ShelfLevel.class), args.token(8), args.enumToken(10, Temperature.class),
+                        token));
+
+        define("show shelf", PartitionRule.location(2), args -> {
+            if (args.tokenCount() > 3) {
+                PageQuery query = pageQuery(args, 3);
+                output.result("<<< ", query.select(storeService.showShelf(args.part(2, 0), args.part(2, 1),
+                        args.part(2, 2), query.projection(), query.after(), query.limit(), token)));
+            } else {
+                output.result("<<< ", storeService.showShelf(args.part(2, 0), args.part(2, 1),
+                        args.part(2, 2), token));
+            }
+        });
+
+        define("define product", PartitionRule.GLOBAL, args ->
+                storeService.provisionProduct(args.token(2), args.token(4), args.token(6),
+                        args.token(8), args.token(10), args.doubleToken(12),
+                        args.enumToken(14, Temperature.class),token));
+
+        define("show product", PartitionRule.GLOBAL, args -> {
+            Product product = storeService.showProduct(args.token(2), token);
+            output.result("<<< ", product);
+        });
+
+        define("define inventory", PartitionRule.defines(Kind.inventory, 2, PartitionRule.location(4)), args ->
+                storeService.provisionInventory(args.token(2), args.part(4, 0), args.part(4, 1),
+                        args.part(4, 2), args.intToken(6), args.intToken(8),
+                        args.token(12), args.enumToken(10, InventoryType.class), token));
+
+        define("show inventory", PartitionRule.owner(Kind.inventory, 2), args ->
+                output.result("<<< ", storeService.showInventory(args.token(2), token)));
+
+        define("update inventory", PartitionRule.owner(Kind.inventory, 2), args -> {
+            Inventory inventory = storeService.updateInventory(args.token(2),args.intToken(4), token );
+            output.result("", inventory);
+        });
+
+        define("define customer", PartitionRule.GLOBAL, args ->
+                storeService.provisionCustomer(args.token(2), args.token(4), args.token(6),
+                        args.enumToken(8, CustomerType.class), args.token(10), args.token(12), token));
+
+        define("update customer", CUSTOMER_MOVE, args -> {
+            Customer customer = storeService.updateCustomer(args.token(2), args.part(4, 0), args.part(4, 1),
+                    token);
+            output.result("<<< ", customer);
+        });
+
+        define("show customer", PartitionRule.owner(Kind.customer, 2), args ->
+                output.result("", storeService.showCustomer(args.token(2),token)));
+
+        define("define basket", PartitionRule.GLOBAL, args ->
+                storeService.provisionBasket(args.token(2), token));
+
+        define("assign basket", BASKET_ASSIGNMENT, args ->
+                storeService.assignCustomerBasket(args.token(4), args.token(2), token));
+
+        define("get_customer_basket", PartitionRule.owner(Kind.customer, 1), args -> {
+            Basket basket = storeService.getCustomerBasket(args.token(1), token);
+            output.result("<<< ", basket);
+        });
+
+        define("add_basket_item", PartitionRule.owner(Kind.basket, 1), args -> {
+            Basket basket = storeService.addBasketProduct(args.token(1), args.token(3),
+                    args.intToken(5), token);
+            output.result("<<< ", basket);
+        });
+
+        define("remove_basket_item", PartitionRule.owner(Kind.basket, 1), args -> {
+            Basket basket = storeService.removeBasketProduct(args.token(1), args.token(3),
+                    args.intToken(5), token);
+            output.result("", basket);
+        });
+
+        define("clear_basket", PartitionRule.owner(Kind.basket, 1), args -> {
+            Basket basket = storeService.clearBasket(args.token(1),token);
+            output.result("<<< ", basket);
+        });
+
+        define("show basket_items", PartitionRule.owner(Kind.basket, 2), args -> {
+            Basket basket = storeService.showBasket(args.token(2),token);
+            output.result("<<< ", basket);
+        });
+
+        define("define device", PartitionRule.defines(Kind.device, 2, PartitionRule.location(8)), args ->
+                storeService.provisionDevice(args.token(2), args.token(4),
+                        args.token(6), args.part(8, 0), args.part(8, 1), token));
+
+        define("show device", PartitionRule.owner(Kind.device, 2), args ->
+                output.result("<<< ", storeService.showDevice(args.token(2),token)));
+
+        define("create event", PartitionRule.owner(Kind.device, 2), args ->
+                storeService.raiseEvent(args.token(2), args.token(4) + " " + args.token(5),token));
+
+        define("create_event", PartitionRule.owner(Kind.device, 1), args ->
+                storeService.raiseEvent(args.token(1), args.token(3) + " " + args.token(4) + " " + args.token(5),
+                        token));
+
+        define("create command", PartitionRule.owner(Kind.device, 2), args ->
+                storeService.issueCommand(args.token(2), args.token(4) + " " + args.token(5),token));
+
+        define("show stats", PartitionRule.GLOBAL, args ->
+                output.result("<<< Latency Statistics\n", LatencyStats.getInstance().report()));
+
+        //Stock reports scan the Inventory of every Store, so they run after every partition caught up
+        define("show product_stock", PartitionRule.GLOBAL, args ->
+                output.result("<<< ", storeService.showProductStock(args.token(2), token)));
+
+        define("show low_stock", PartitionRule.GLOBAL, args ->
+                output.result("<<< ", storeService.showLowStock(args.intToken(2), token)));
+    }
 
-        } else if(command.toLowerCase().contains("get_customer_basket")){
+    /**
+     * Projection and page of a paginated show command
+     * @param projection
+     * @param after id the page starts after, null for the first page
+     * @param limit
+     * @param fields comma separated fields the rows are projected to, null for every field
+     */
+    private record PageQuery(Projection projection, String after, int limit, String fields) {
+
+        /**
+         * Project the rows of a page to the fields of the query
+         * @param page
+         * @return
+         * @throws StoreException if a field is not a field of the projection
+         */
+        Page<?> select(Page<?> page) throws StoreException {
+            return fields == null ? page : page.select(List.of(fields.split(",")));
+        }
+    }
 
-            Basket basket = storeService.getCustomerBasket(tokens.get(1), CLI_TOKEN);
-            System.out.println("<<< " + basket);
+    /**
+     * Parse the projection and the optional fields, limit and after clauses of a paginated show
+     * command such as show store s1 aisles fields number,name limit 50 after aisle_B3
+     * @param args
+     * @param index index of the projection token
+     * @return
+     * @throws CommandException if the clauses are malformed
+     */
+    private static PageQuery pageQuery(CommandArguments args, int index) throws CommandException {
+        Projection projection = args.enumToken(index, Projection.class);
+        String after = null;
+        int limit = Page.DEFAULT_LIMIT;
+        String fields = null;
+
+        for (int i = index + 1; i < args.tokenCount(); i += 2) {
+            String clause = args.token(i);
+            if (clause.equalsIgnoreCase("limit"))
+                limit = args.intToken(i + 1);
+            else if (clause.equalsIgnoreCase("after"))
+                after = args.token(i + 1);
+            else if (clause.equalsIgnoreCase("fields"))
+                fields = args.token(i + 1);
+            else
+                throw new CommandException(args.getLine(), "Invalid Argument");
+        }
+        return new PageQuery(projection, after, limit, fields);
+    }
 
-        } else if (command.toLowerCase().contains("add_basket_item")){
+    /**
+     * Register a command in the dispatch table
+     * @param phrase leading keywords of the command
+     * @param partition rule resolving the partition of the command for parallel replay
+     * @param handler
+     */
+    private void define(String phrase, PartitionRule partition, CommandHandler handler) {
+        commands.register(phrase, partition, handler);
+        latencies.add(LatencyStats.getInstance().histogram("Command", phrase));
+    }
 
-            Basket basket = storeService.addBasketProduct(tokens.get(1), tokens.get(3),
-                    Integer.parseInt(tokens.get(5)), CLI_TOKEN);
-            System.out.println("<<< " + basket);
+    /**
+     * Prepare a command template with ? in place of every parameter, for example
+     * add_basket_item ? product ? item_count ?. The template is tokenized and dispatched once,
+     * every execution only binds the parameters. Prepared commands belong to the calling thread
+     * @param template
+     * @return
+     * @throws CommandException if the template is not a recognized command
+     */
+    public PreparedCommand prepare(String template) throws CommandException {
+        return PreparedCommand.prepare(commands, template, this::executePrepared);
+    }
 
-        } else if (command.toLowerCase().contains("remove_basket_item")) {
+    private void executePrepared(CommandDefinition command, CommandArguments arguments)
+            throws CommandException, StoreException {
+        //The command text is only rendered when it is echoed
+        if (output.getVerbosity() == Verbosity.echo)
+            output.echo(arguments.getLine());
+        execute(command, arguments);
+    }
 
-            Basket basket = storeService.removeBasketProduct(tokens.get(1), tokens.get(3),
-                    Integer.parseInt(tokens.get(5)), CLI_TOKEN);
-            System.out.println(basket);
+    public void processCommand(String commandBefore) throws CommandException, StoreException {
+        processCommand(commandBefore, tokens);
+    }
 
-        } else if (command.toLowerCase().contains("clear_basket")){
+    private void processCommand(String commandBefore, CommandLexer lexer) throws CommandException, StoreException {
 
-            Basket basket = storeService.clearBasket(tokens.get(1),CLI_TOKEN);
-            System.out.println("<<< " + basket);
+        //Split the line into tokens between spaces and quotes
+        lexer.tokenize(commandBefore);
 
-        } else if (command.toLowerCase().contains("show basket_items")){
+        output.echo(commandBefore);
 
-            Basket basket = storeService.showBasket(tokens.get(2),CLI_TOKEN);
-            System.out.println("<<< " + basket);
+        //Resolve the leading keywords once through the dispatch table
+        execute(commands.lookup(lexer), lexer);
+    }
 
-        } else if (command.toLowerCase().contains("define device")){
+    private void execute(CommandDefinition command, CommandArguments arguments) throws CommandException, StoreException {
+        if (command == null) {
+            throw new CommandException(arguments.getLine().trim().replaceAll(" +", " "), "Unrecognized Command");
+        }
 
-            String[] location = tokens.get(8).split(":");
-            storeService.provisionDevice(tokens.get(2), tokens.get(4),
-                    tokens.get(6), location[0], location[1], CLI_TOKEN);
+        //Failed commands are timed as well, their latency is reported next to the failure count
+        LatencyHistogram latency = latencies.get(command.opcode());
+        long start = latency.start();
+        boolean success = false;
+        //Baskets and Devices reached by the command report through its sink
+        OutputSink previous = OutputContext.enter(output);
+        try {
+            command.handler().execute(arguments);
+            success = true;
+        } finally {
+            OutputContext.restore(previous);
+            latency.record(start, success);
+        }
+    }
 
-        } else if (command.toLowerCase().contains("show device")){
+    /**
+     * Process a single script line reporting failures to the console
+     * @param lexer lexer owned by the calling thread
+     * @param line
+     * @param lineNumber
+     * @return true if the command succeeded
+     */
+    private boolean processLine(CommandLexer lexer, String line, int lineNumber) {
+        try {
+            processCommand(line, lexer);
+            return true;
+        } catch (CommandException e) {
+            reportFailure(e, lineNumber);
+        } catch (StoreException e) {
+            reportFailure(e);
+        }
+        return false;
+    }
 
-            System.out.println("<<< " + storeService.showDevice(tokens.get(2),CLI_TOKEN));
+    /**
+     * Execute a single command of a compiled script reporting failures to the console
+     * @param lineNumber
+     * @param command
+     * @param arguments
+     */
+    private void processCompiled(int lineNumber, CommandDefinition command, CommandArguments arguments) {
+        //Compiled lines are rebuilt from their tokens, only when they are shown
+        if (output.getVerbosity() == Verbosity.echo)
+            output.echo(arguments.getLine());
+        try {
+            execute(command, arguments);
+        } catch (CommandException e) {
+            reportFailure(e, lineNumber);
+        } catch (StoreException e) {
+            reportFailure(e);
+        }
+    }
 
-        } else if (command.toLowerCase().contains("create event")){
+    private void reportFailure(CommandException e, int lineNumber) {
+        e.setLineNumber(lineNumber);
+        output.failure(e.getReason() + " for Command: " + e.getCommand() + " On Line Number: " + e.getLineNumber());
+    }
 
-            storeService.raiseEvent(tokens.get(2), tokens.get(4) + " " + tokens.get(5),CLI_TOKEN);
+    private void reportFailure(StoreException e) {
+        output.failure(e.getReason() + " for Command: " + e.getAction());
+    }
 
-        } else if (command.toLowerCase().contains("create_event")){
+    public void processCommandFile(String fileName) {
+        Path path = FileSystems.getDefault().getPath(Path.of(fileName).toAbsolutePath().toString());
 
-            storeService.raiseEvent(tokens.get(1), tokens.get(3) + " " + tokens.get(4) + " " + tokens.get(5),CLI_TOKEN);
+        //Stream the file through a fixed size buffer instead of holding all the lines on the heap
+        try (InputStream input = Files.newInputStream(path)) {
+            ScriptReader.forEachCommand(input, (line, lineNumber) -> processLine(tokens, line, lineNumber));
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            output.flush();
+        }
+    }
 
-        } else if (command.toLowerCase().contains("create command")){
+    public void processCommandStream(InputStream input) {
+        try {
+            ScriptReader.forEachCommand(input, (line, lineNumber) -> processLine(tokens, line, lineNumber));
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            output.flush();
+        }
+    }
 
-            storeService.issueCommand(tokens.get(2), tokens.get(4) + " " + tokens.get(5),CLI_TOKEN);
+    public void processCompiledCommandFile(String fileName) {
+        Path path = FileSystems.getDefault().getPath(Path.of(fileName).toAbsolutePath().toString());
 
-        } else {
-            throw new CommandException(command, "Unrecognized Command");
+        //Reuse the compiled form cached next to the script, compiling it only when the script changed
+        try {
+            CompiledScript script = scriptCache.load(path);
+            script.execute(commands, this::processCompiled);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            output.flush();
         }
     }
 
-    public void processCommandFile(String fileName) {
+    public void processCommandFileParallel(String fileName, int workers) {
         Path path = FileSystems.getDefault().getPath(Path.of(fileName).toAbsolutePath().toString());
-        List<String> tokens = new ArrayList<>();
 
-        //Process all the lines in the file
-        try (var stream = Files.lines(path)) {
-            tokens = stream
-                    .toList();
+        try (InputStream input = Files.newInputStream(path)) {
+            processCommandStreamParallel(input, workers);
         } catch (IOException e) {
             e.printStackTrace();
         }
+    }
 
-        Iterator<String> iterator = tokens.iterator();
-
-        //Filter out any empty lines and lines that start with #
-        for (int i = 0; iterator.hasNext(); i ++) {
-            String temp = iterator.next();
-            if(!temp.trim().startsWith("#") && !temp.trim().isEmpty()) {
-                try {
-                    processCommand(temp);
-                } catch (CommandException e) {
-                    e.setLineNumber(i + 1);
-                    System.out.println("\u001B[31m" + "Failed due to: " + e.getReason() + " for Command: " + e.getCommand()
-                            + " On Line Number: " + e.getLineNumber() + "\u001B[0m");
-                } catch (StoreException e) {
-                    System.out.println("\u001B[31m" + "Failed due to: " + e.getReason() + " for Command: " + e.getAction() + "\u001B[0m");
+    public void processCommandStreamParallel(InputStream input, int workers) {
+        PartitionOwners owners = new PartitionOwners();
+
+        try (PartitionedReplay replay = new PartitionedReplay(workers, this::processLine)) {
+            ScriptReader.forEachCommand(input, (line, lineNumber) -> {
+
+                //Find the Store partition of the command, unknown and cross partition commands run exclusively
+                String partition = null;
+                CommandDefinition command = commands.lookup(tokens.tokenize(line));
+                if (command != null) {
+                    try {
+                        partition = command.partition().route(tokens, owners);
+                    } catch (CommandException e) {
+                        partition = null;
+                    }
                 }
-            }
-        }
 
+                if (partition != null) {
+                    replay.submit(partition, line, lineNumber);
+                } else {
+                    owners.settle(replay.runExclusive(line, lineNumber));
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            output.flush();
+        }
     }
 }
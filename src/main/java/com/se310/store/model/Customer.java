@@ -1,6 +1,8 @@
 package com.se310.store.model;
 
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Customer class implementation representing Customer in the Store
@@ -9,7 +11,7 @@ import java.util.Date;
  * @version 1.0
  * @since   2025-09-25
  */
-public class Customer {
+public class Customer implements PageRow {
 
     private String id;
     private String firstName;
@@ -18,9 +20,11 @@ public class Customer {
     private String email;
     private String accountAddress;
     private CustomerAgeGroup ageGroup;
-    private StoreLocation storeLocation;
-    private Date lastSeen;
-    private Basket basket;
+    private volatile StoreLocation storeLocation;
+    private volatile Date lastSeen;
+    private volatile Basket basket;
+    //Store the Customer is in, maintained by Store.addCustomer and Store.removeCustomer
+    private volatile Store store;
 
     /**
      * Constructor for Customer class
@@ -185,6 +189,22 @@ public class Customer {
         this.lastSeen = lastSeen;
     }
 
+    /**
+     * Method for retrieving the Store the Customer is in
+     * @return
+     */
+    public Store getStore() {
+        return store;
+    }
+
+    /**
+     * Method for recording the Store the Customer is in
+     * @param store
+     */
+    void setStore(Store store) {
+        this.store = store;
+    }
+
     /**
      * Method for retrieving Customer's Basket
      * @return
@@ -201,6 +221,23 @@ public class Customer {
         this.basket = basket;
     }
 
+    @Override
+    public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("firstName", firstName);
+        row.put("lastName", lastName);
+        row.put("type", type);
+        row.put("email", email);
+        row.put("accountAddress", accountAddress);
+        row.put("ageGroup", ageGroup);
+        row.put("storeLocation", storeLocation);
+        row.put("lastSeen", lastSeen);
+        Basket current = basket;
+        row.put("basketId", current == null ? null : current.getId());
+        return row;
+    }
+
     @Override
     public String toString() {
         return "Customer{" +
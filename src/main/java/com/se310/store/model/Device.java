@@ -3,8 +3,9 @@ package com.se310.store.model;
 import com.se310.store.observer.Observable;
 import com.se310.store.observer.Observer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Abstract class representing Device in the Store
@@ -14,13 +15,14 @@ import java.util.List;
  * @version 1.0
  * @since   2025-09-25
  */
-public abstract class Device implements Observable {
+public abstract class Device implements Observable, PageRow {
 
     //TODO: Implement Observable interface
     
 
     //TODO: Implement Observer storage
-    private List<Observer> observers;
+    //Copy on write so that notifications from several connections never see a registration half done
+    private final CopyOnWriteArrayList<Observer> observers;
     private String id;
     private String name;
     private StoreLocation storeLocation;
@@ -29,8 +31,8 @@ public abstract class Device implements Observable {
     //TODO: Implement Observer registration
     @Override
     public void registerObserver(Observer o) {
-        if (o != null && !observers.contains(o)) {
-            observers.add(o);
+        if (o != null) {
+            observers.addIfAbsent(o);
         }
     }
     //TODO: Implement Observer removal
@@ -62,7 +64,7 @@ public abstract class Device implements Observable {
         this.name = name;
         this.storeLocation = storeLocation;
         this.type = type;
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -135,6 +137,16 @@ public abstract class Device implements Observable {
      */
     public abstract void processEvent(String event);
 
+    @Override
+    public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("storeLocation", storeLocation);
+        row.put("type", type);
+        return row;
+    }
+
     @Override
     public String toString() {
         return "Device{" +
@@ -4,26 +4,29 @@ import com.se310.store.strategy.InventoryUpdateStrategy;
 import com.se310.store.strategy.StandardInventoryUpdateStrategy;
 import com.se310.store.strategy.FlexibleInventoryUpdateStrategy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Inventory class implementation representing inventory on the shelf of the store
+ * The state of the Inventory is kept in a row of the InventoryTable, the Inventory is a view of it
  *
  * @author  Sergey L. Sundukovskiy
  * @version 1.0
  * @since   2025-09-25
  */
-public class Inventory {
+public class Inventory implements PageRow {
+
+    // added for strategy pattern, strategies keep no state and are shared by all Inventory
+    private static final InventoryUpdateStrategy standardStrategy = new StandardInventoryUpdateStrategy();
+    private static final InventoryUpdateStrategy flexibleStrategy = new FlexibleInventoryUpdateStrategy();
 
-    private String id;
-    private InventoryLocation inventoryLocation;
-    private int capacity;
-    private int count;
-    private String productId;
-    private InventoryType type;
-    // added for strategy pattern
-    private InventoryUpdateStrategy strategy;
+    private final InventoryTable table;
+    private final int row;
 
     /**
      * Constructor for the Inventory class
+     * @param table table holding the state of the Inventory
      * @param id
      * @param inventoryLocation
      * @param capacity
@@ -31,19 +34,10 @@ public class Inventory {
      * @param productId
      * @param type
      */
-    public Inventory(String id, InventoryLocation inventoryLocation, int capacity, int count, String productId, InventoryType type) {
-        this.id = id;
-        this.inventoryLocation = inventoryLocation;
-        this.capacity = capacity;
-        this.count = count;
-        this.productId = productId;
-        this.type = type;
-        // set strategy based on inventory type
-        if (type == InventoryType.standard) {
-            this.strategy = new StandardInventoryUpdateStrategy();
-        } else if (type == InventoryType.flexible) {
-            this.strategy = new FlexibleInventoryUpdateStrategy();
-        }
+    public Inventory(InventoryTable table, String id, InventoryLocation inventoryLocation, int capacity, int count,
+                     String productId, InventoryType type) {
+        this.table = table;
+        this.row = table.addRow(id, inventoryLocation, capacity, count, productId, type);
     }
 
     /**
@@ -51,7 +45,7 @@ public class Inventory {
      * @return
      */
     public String getId() {
-        return id;
+        return table.getId(row);
     }
 
     /**
@@ -59,7 +53,7 @@ public class Inventory {
      * @param id
      */
     public void setId(String id) {
-        this.id = id;
+        table.setId(row, id);
     }
 
     /**
@@ -67,7 +61,7 @@ public class Inventory {
      * @return
      */
     public InventoryLocation getInventoryLocation() {
-        return inventoryLocation;
+        return table.getLocation(row);
     }
 
     /**
@@ -75,7 +69,7 @@ public class Inventory {
      * @param inventoryLocation
      */
     public void setInventoryLocation(InventoryLocation inventoryLocation) {
-        this.inventoryLocation = inventoryLocation;
+        table.setLocation(row, inventoryLocation);
     }
 
     /**
@@ -83,7 +77,7 @@ public class Inventory {
      * @return
      */
     public int getCapacity() {
-        return capacity;
+        return table.getCapacity(row);
     }
 
     /**
@@ -91,7 +85,7 @@ public class Inventory {
      * @param capacity
      */
     public void setCapacity(int capacity) {
-        this.capacity = capacity;
+        table.setCapacity(row, capacity);
     }
 
     /**
@@ -99,7 +93,7 @@ public class Inventory {
      * @return
      */
     public int getCount() {
-        return count;
+        return table.getCount(row);
     }
 
     /**
@@ -107,7 +101,7 @@ public class Inventory {
      * @param count
      */
     public void setCount(int count) {
-        this.count = count;
+        table.setCount(row, count);
     }
 
     /**
@@ -115,7 +109,7 @@ public class Inventory {
      * @return
      */
     public String getProductId() {
-        return productId;
+        return table.getProductId(row);
     }
 
     /**
@@ -123,7 +117,7 @@ public class Inventory {
      * @param productId
      */
     public void setProductId(String productId) {
-        this.productId = productId;
+        table.setProductId(row, productId);
     }
 
     /**
@@ -131,34 +125,69 @@ public class Inventory {
      * @param addedCount
      */
     public void executeStrategy(int addedCount) throws StoreException {
+        // select strategy based on inventory type
+        InventoryType type = getType();
+        InventoryUpdateStrategy strategy = null;
+        if (type == InventoryType.standard) {
+            strategy = standardStrategy;
+        } else if (type == InventoryType.flexible) {
+            strategy = flexibleStrategy;
+        }
         if (strategy == null) {
             throw new StoreException(
                 "executeStrategy",
                 "No InventoryUpdateStrategy configured for this inventory."
             );
         }
-        strategy.updateQuantity(this, addedCount);
+        updateCount(addedCount, strategy);
     }
 
     /**
      * Method for updating (incrementing or decrementing) Inventory on the shelf of the store.
      * Throws StoreException if count does not stay within allowable bounds.
-     * Method is synchronized to avoid a race condition
+     * Count is changed atomically so concurrent updates are never lost
      * @param count
      * @throws StoreException
      */
-    synchronized public void updateInventory(int count) throws StoreException {
+    public void updateInventory(int count) throws StoreException {
         // Inventory is updated based on the strategy pattern configured for this inventory
         this.executeStrategy(count);
         
     }
 
+    /**
+     * Method for adding to the Inventory count once the strategy accepts the updated count. Count is
+     * changed with compare and set without holding a lock, if another update changed the count
+     * first the new updated count is checked again
+     * @param addedCount
+     * @param strategy bound check of the updated count
+     * @return the updated count
+     * @throws StoreException if the strategy rejects the updated count
+     */
+    public int updateCount(int addedCount, InventoryUpdateStrategy strategy) throws StoreException {
+        while (true) {
+            int currentCount = getCount();
+            int updatedCount = currentCount + addedCount;
+            strategy.checkQuantity(this, updatedCount);
+            if (table.compareAndSetCount(row, currentCount, updatedCount))
+                return updatedCount;
+        }
+    }
+
+    /**
+     * Setter method for whether the Inventory is on a Shelf, only Inventory on a Shelf is scanned
+     * @param shelved
+     */
+    void setShelved(boolean shelved) {
+        table.setShelved(row, shelved);
+    }
+
     /**
      * Getter method for Inventory type
      * @return The inventory type enum value
      */
     public InventoryType getType() {
-        return type;
+        return table.getType(row);
     }
 
     /**
@@ -167,18 +196,30 @@ public class Inventory {
      * @param type The inventory type to set. Accepts an {@code InventoryType} enumeration value.
      */
     public void setType(InventoryType type) {
-        this.type = type;
+        table.setType(row, type);
+    }
+
+    @Override
+    public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", getId());
+        row.put("inventoryLocation", getInventoryLocation());
+        row.put("capacity", getCapacity());
+        row.put("count", getCount());
+        row.put("productId", getProductId());
+        row.put("type", getType());
+        return row;
     }
 
     @Override
     public String toString() {
         return "Inventory{" +
-                "id='" + id + '\'' +
-                ", inventoryLocation=" + inventoryLocation +
-                ", capacity=" + capacity +
-                ", count=" + count +
-                ", productId='" + productId + '\'' +
-                ", type='" + type + '\'' +
+                "id='" + getId() + '\'' +
+                ", inventoryLocation=" + getInventoryLocation() +
+                ", capacity=" + getCapacity() +
+                ", count=" + getCount() +
+                ", productId='" + getProductId() + '\'' +
+                ", type='" + getType() + '\'' +
                 '}';
     }
 
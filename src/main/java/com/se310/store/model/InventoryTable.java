@@ -0,0 +1,233 @@
+package com.se310.store.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar table holding the state of the Inventory of one Store model, each Inventory is a view of
+ * one row. StoreService keeps the table of its model, so scans only see the Inventory it provisioned.
+ * Capacity, count, type and product of the rows sit in parallel primitive arrays, products are
+ * numbered through a dictionary, so scans over all Inventory such as totals per product or low
+ * stock reports read a few dense arrays instead of visiting an object per Inventory. Rows are kept
+ * in fixed size chunks that never move, so counts updated concurrently are never copied away.
+ * Only rows of Inventory on a Shelf are scanned. Rows are never reused: Inventory accessors read
+ * the row without touching the Inventory again, so a row freed while the Inventory is still being
+ * read would hand its count to another Inventory. Inventory taken off a Shelf keeps its row.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public final class InventoryTable {
+
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final InventoryType[] TYPES = InventoryType.values();
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int NO_PRODUCT = -1;
+
+    /**
+     * Columns of CHUNK_SIZE consecutive rows
+     */
+    private static final class Chunk {
+        private final String[] ids = new String[CHUNK_SIZE];
+        private final InventoryLocation[] locations = new InventoryLocation[CHUNK_SIZE];
+        private final int[] capacities = new int[CHUNK_SIZE];
+        private final int[] counts = new int[CHUNK_SIZE];
+        private final int[] products = new int[CHUNK_SIZE];
+        //Ordinal of the type plus one, zero for no type
+        private final byte[] types = new byte[CHUNK_SIZE];
+        private final boolean[] shelved = new boolean[CHUNK_SIZE];
+    }
+
+    private volatile Chunk[] chunks = new Chunk[16];
+    //Rows ever used, scans stop there
+    private volatile int size;
+
+    //Product dictionary, guarded by the table
+    private final Map<String, Integer> productNumbers = new HashMap<>();
+    private volatile String[] productIds = new String[64];
+
+    /**
+     * Constructor for an empty InventoryTable
+     */
+    public InventoryTable() {
+    }
+
+    /**
+     * Method for adding the row of a new Inventory
+     * @return number of the row
+     */
+    synchronized int addRow(String id, InventoryLocation location, int capacity, int count, String productId,
+                            InventoryType type) {
+        int row = size;
+        int index = row >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+        if (index == current.length) {
+            if (index == Integer.MAX_VALUE >>> CHUNK_BITS)
+                throw new IllegalStateException("Inventory Table Is Full");
+            current = Arrays.copyOf(current, current.length << 1);
+        }
+        if (current[index] == null)
+            current[index] = new Chunk();
+        chunks = current;
+
+        Chunk chunk = chunk(row);
+        int offset = row & CHUNK_MASK;
+        chunk.ids[offset] = id;
+        chunk.locations[offset] = location;
+        chunk.capacities[offset] = capacity;
+        chunk.counts[offset] = count;
+        chunk.products[offset] = numberOf(productId);
+        chunk.types[offset] = (byte) (type == null ? 0 : type.ordinal() + 1);
+        size = row + 1;
+        return row;
+    }
+
+    /**
+     * Number a product id, adding it to the dictionary if needed
+     * @param productId
+     * @return number of the product
+     */
+    private int numberOf(String productId) {
+        if (productId == null)
+            return NO_PRODUCT;
+        Integer number = productNumbers.get(productId);
+        if (number != null)
+            return number;
+
+        int next = productNumbers.size();
+        String[] current = productIds;
+        if (next == current.length)
+            current = Arrays.copyOf(current, current.length << 1);
+        current[next] = productId;
+        productIds = current;
+        productNumbers.put(productId, next);
+        return next;
+    }
+
+    private Chunk chunk(int row) {
+        return chunks[row >>> CHUNK_BITS];
+    }
+
+    String getId(int row) {
+        return chunk(row).ids[row & CHUNK_MASK];
+    }
+
+    void setId(int row, String id) {
+        chunk(row).ids[row & CHUNK_MASK] = id;
+    }
+
+    InventoryLocation getLocation(int row) {
+        return chunk(row).locations[row & CHUNK_MASK];
+    }
+
+    void setLocation(int row, InventoryLocation location) {
+        chunk(row).locations[row & CHUNK_MASK] = location;
+    }
+
+    int getCapacity(int row) {
+        return chunk(row).capacities[row & CHUNK_MASK];
+    }
+
+    void setCapacity(int row, int capacity) {
+        chunk(row).capacities[row & CHUNK_MASK] = capacity;
+    }
+
+    int getCount(int row) {
+        return (int) COUNTS.getVolatile(chunk(row).counts, row & CHUNK_MASK);
+    }
+
+    void setCount(int row, int count) {
+        COUNTS.setVolatile(chunk(row).counts, row & CHUNK_MASK, count);
+    }
+
+    boolean compareAndSetCount(int row, int expectedCount, int count) {
+        return COUNTS.compareAndSet(chunk(row).counts, row & CHUNK_MASK, expectedCount, count);
+    }
+
+    String getProductId(int row) {
+        int number = chunk(row).products[row & CHUNK_MASK];
+        return number == NO_PRODUCT ? null : productIds[number];
+    }
+
+    synchronized void setProductId(int row, String productId) {
+        chunk(row).products[row & CHUNK_MASK] = numberOf(productId);
+    }
+
+    InventoryType getType(int row) {
+        int type = chunk(row).types[row & CHUNK_MASK];
+        return type == 0 ? null : TYPES[type - 1];
+    }
+
+    void setType(int row, InventoryType type) {
+        chunk(row).types[row & CHUNK_MASK] = (byte) (type == null ? 0 : type.ordinal() + 1);
+    }
+
+    void setShelved(int row, boolean shelved) {
+        chunk(row).shelved[row & CHUNK_MASK] = shelved;
+    }
+
+    /**
+     * Method for totalling the count of a product on every Shelf
+     * @param productId
+     * @return
+     */
+    public long totalCount(String productId) {
+        Integer number;
+        synchronized (this) {
+            number = productNumbers.get(productId);
+        }
+        if (number == null)
+            return 0;
+
+        int product = number;
+        int rows = size;
+        Chunk[] current = chunks;
+        long total = 0;
+        for (int index = 0; index << CHUNK_BITS < rows; index++) {
+            Chunk chunk = current[index];
+            int end = Math.min(CHUNK_SIZE, rows - (index << CHUNK_BITS));
+            for (int offset = 0; offset < end; offset++) {
+                if (chunk.products[offset] == product && chunk.shelved[offset])
+                    total += chunk.counts[offset];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Method for listing Inventory on a Shelf whose count is below a share of its capacity
+     * @param percent share of the capacity in percent
+     * @return ids of the Inventory in row order
+     */
+    public List<String> lowStock(int percent) {
+        int rows = size;
+        Chunk[] current = chunks;
+        List<String> ids = new ArrayList<>();
+        for (int index = 0; index << CHUNK_BITS < rows; index++) {
+            Chunk chunk = current[index];
+            int end = Math.min(CHUNK_SIZE, rows - (index << CHUNK_BITS));
+            for (int offset = 0; offset < end; offset++) {
+                if (chunk.shelved[offset] && chunk.counts[offset] * 100L < chunk.capacities[offset] * (long) percent)
+                    ids.add(chunk.ids[offset]);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Getter method for the number of rows held by Inventory
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,104 @@
+package com.se310.store.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Page of a paginated show query
+ * Pages are cut from maps sorted by id, walking only the entries of the page, so the cost of a
+ * query is proportional to its limit and not to the size of the Store. Entries are rendered as
+ * rows of their own fields, projected to the selected fields, and never as their whole graph.
+ *
+ * @param projection collection the page was taken from
+ * @param items      entries of the page in id order
+ * @param next       id to pass as the cursor of the following page, null on the last page
+ * @param fields     fields of the rows, in the order they are rendered
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public record Page<T extends PageRow>(Projection projection, List<T> items, String next, List<String> fields) {
+
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Cut a page from a map sorted by id
+     * @param projection
+     * @param map
+     * @param after id the page starts after, null for the first page
+     * @param limit maximum number of entries on the page
+     * @return page with every field of the projection
+     */
+    public static <T extends PageRow> Page<T> of(Projection projection, NavigableMap<String, T> map, String after,
+                                                 int limit) {
+        NavigableMap<String, T> tail = after == null ? map : map.tailMap(after, false);
+        Iterator<Map.Entry<String, T>> entries = tail.entrySet().iterator();
+
+        List<T> items = new ArrayList<>(Math.min(limit, DEFAULT_LIMIT));
+        String last = null;
+        while (items.size() < limit && entries.hasNext()) {
+            Map.Entry<String, T> entry = entries.next();
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(projection, items, entries.hasNext() ? last : null, projection.getFields());
+    }
+
+    /**
+     * Project the rows of the page to some of their fields
+     * @param fields fields of the projection in the order they are rendered
+     * @return
+     * @throws StoreException if a field is not a field of the projection
+     */
+    public Page<T> select(List<String> fields) throws StoreException {
+        for (String field : fields) {
+            if (!projection.getFields().contains(field))
+                throw new StoreException("Show Page", "Field " + field + " Is Not Supported");
+        }
+        return new Page<>(projection, items, next, List.copyOf(fields));
+    }
+
+    /**
+     * Rows of the page holding the selected fields
+     * @return
+     */
+    public List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>(items.size());
+        for (T item : items)
+            rows.add(project(item.row()));
+        return rows;
+    }
+
+    private Map<String, Object> project(Map<String, Object> row) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields)
+            projected.put(field, row.get(field));
+        return projected;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Page{").append(projection).append("=[");
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(items.get(i).getClass().getSimpleName()).append('{');
+            String separator = "";
+            for (Map.Entry<String, Object> field : project(items.get(i).row()).entrySet()) {
+                builder.append(separator).append(field.getKey()).append('=');
+                if (field.getValue() instanceof String)
+                    builder.append('\'').append(field.getValue()).append('\'');
+                else
+                    builder.append(field.getValue());
+                separator = ", ";
+            }
+            builder.append('}');
+        }
+        return builder.append("], next=").append(next == null ? "null" : "'" + next + '\'').append('}').toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.se310.store.model;
+
+import java.util.Map;
+
+/**
+ * Interface of the entities listed on a Page
+ * A row holds the fields of the entity itself, collections it owns are given as their size, so
+ * rendering a row costs the same whatever the entity holds
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public interface PageRow {
+
+    /**
+     * Fields of the row in display order, named as in the fields of the Projection
+     * @return
+     */
+    Map<String, Object> row();
+}
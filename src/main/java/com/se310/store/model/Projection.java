@@ -0,0 +1,36 @@
+package com.se310.store.model;
+
+import java.util.List;
+
+/**
+ * Enumeration representing the collection a paginated show query returns
+ * Stores project aisles, inventory, devices, customers and baskets, Aisles project shelves
+ * and Shelves project inventory. Every collection lists the fields its rows may be projected to
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public enum Projection {
+    aisles("number", "name", "description", "aisleLocation", "shelves"),
+    shelves("id", "name", "level", "description", "temperature", "inventory"),
+    inventory("id", "inventoryLocation", "capacity", "count", "productId", "type"),
+    devices("id", "name", "storeLocation", "type"),
+    customers("id", "firstName", "lastName", "type", "email", "accountAddress", "ageGroup", "storeLocation",
+            "lastSeen", "basketId"),
+    baskets("id", "customerId", "products");
+
+    private final List<String> fields;
+
+    Projection(String... fields) {
+        this.fields = List.of(fields);
+    }
+
+    /**
+     * Getter method for the fields of the rows of the collection
+     * @return
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+}
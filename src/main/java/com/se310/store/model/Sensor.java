@@ -1,5 +1,7 @@
 package com.se310.store.model;
 
+import com.se310.store.output.OutputContext;
+
 /**
  * Sensor class implementation representing Sensor Device in the Store
  *
@@ -12,7 +14,7 @@ public class Sensor extends Device{
     //TODO: Implement Observer notification
      @Override
     public void processEvent(String event) {
-        System.out.println("<<< Processing Event : " + event);
+        OutputContext.current().result("<<< Processing Event : ", event);
         triggerEvent("event", event);
     }
 
@@ -1,7 +1,9 @@
 package com.se310.store.model;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Shelf class implementation representing shelf of the Aisle
@@ -10,14 +12,16 @@ import java.util.Map;
  * @version 1.0
  * @since   2025-09-25
  */
-public class Shelf {
+public class Shelf implements PageRow {
 
     private String id;
     private String name;
     private ShelfLevel level;
     private String description;
     private Temperature temperature;
-    private final Map<String, Inventory> inventoryMap;
+    private final NavigableMap<String, Inventory> inventoryMap;
+    //Aisle indexing the Inventory of the Shelf by Product
+    private volatile Aisle aisle;
 
     /**
      * Constructor for the Shelf class
@@ -33,7 +37,7 @@ public class Shelf {
         this.level = level;
         this.description = description;
         this.temperature = temperature;
-        this.inventoryMap = new HashMap<>();
+        this.inventoryMap = new ConcurrentSkipListMap<>();
     }
 
     /**
@@ -120,6 +124,7 @@ public class Shelf {
      * Method for adding Inventory to a particular Store Shelf. If Inventory already exist or
      * count is not within proper bounds throw and StoreException
      * count
+     * @param table table holding the state of the Inventory
      * @param inventoryId
      * @param storeId
      * @param aisleNumber
@@ -131,7 +136,7 @@ public class Shelf {
      * @return
      * @throws StoreException
      */
-    public Inventory addInventory(String inventoryId, String storeId, String aisleNumber,
+    public Inventory addInventory(InventoryTable table, String inventoryId, String storeId, String aisleNumber,
                                   String shelfId, int capacity, int count, String productId, InventoryType type) throws StoreException {
 
         //Check to see if count within proper bounds
@@ -139,16 +144,56 @@ public class Shelf {
             throw new StoreException("Add Inventory", "Inventory Is Smaller Than O " +
                     "or Larger Than Shelf Capacity");
 
+        //Rows of the InventoryTable are never reused, so no row is taken for Inventory that already exists
+        if(inventoryMap.containsKey(inventoryId))
+            throw new StoreException("Add Inventory", "Inventory Already Exists");
+
         InventoryLocation location = new InventoryLocation(storeId, aisleNumber, shelfId);
-        Inventory inventory = new Inventory(inventoryId, location, capacity, count, productId, type);
+        Inventory inventory = new Inventory(table, inventoryId, location, capacity, count, productId, type);
 
         //Make sure already does not exist in the store
         if(inventoryMap.putIfAbsent(inventoryId,inventory) != null)
             throw new StoreException("Add Inventory", "Inventory Already Exists");
+        inventory.setShelved(true);
+        if(aisle != null)
+            aisle.indexInventory(inventory);
 
         return inventory;
     }
 
+    /**
+     * Method for taking Inventory off the Shelf
+     * @param inventory
+     * @return true if the Inventory was on the Shelf
+     */
+    public boolean removeInventory(Inventory inventory) {
+        if(!inventoryMap.remove(inventory.getId(), inventory))
+            return false;
+        inventory.setShelved(false);
+        if(aisle != null)
+            aisle.unindexInventory(inventory);
+        return true;
+    }
+
+    /**
+     * Method for putting Inventory restored from a snapshot back on the Shelf
+     * @param inventory
+     */
+    void restoreInventory(Inventory inventory) {
+        inventoryMap.put(inventory.getId(), inventory);
+        inventory.setShelved(true);
+        if(aisle != null)
+            aisle.indexInventory(inventory);
+    }
+
+    /**
+     * Setter method for the Aisle the Shelf belongs to
+     * @param aisle
+     */
+    void setAisle(Aisle aisle) {
+        this.aisle = aisle;
+    }
+
     /**
      * Method for getting a Map of Inventory items that belong to the Store
      * @return
@@ -157,6 +202,32 @@ public class Shelf {
         return this.inventoryMap;
     }
 
+    /**
+     * Method for returning a page of the Inventory on the Shelf in id order
+     * @param projection collection to page through
+     * @param after id the page starts after, null for the first page
+     * @param limit maximum number of entries on the page
+     * @return
+     * @throws StoreException if the Shelf does not have the projected collection
+     */
+    public Page<Inventory> page(Projection projection, String after, int limit) throws StoreException {
+        if (projection != Projection.inventory)
+            throw new StoreException("Show Shelf", "Projection Is Not Supported");
+        return Page.of(projection, inventoryMap, after, limit);
+    }
+
+    @Override
+    public Map<String, Object> row() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("level", level);
+        row.put("description", description);
+        row.put("temperature", temperature);
+        row.put("inventory", inventoryMap.size());
+        return row;
+    }
+
     @Override
     public String toString() {
         return "Shelf{" +
@@ -1,6 +1,7 @@
 package com.se310.store.model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * Store class implementation representing store of the Store Model Service
@@ -14,11 +15,11 @@ public class Store {
     private String id;
     private String address;
     private String description;
-    private final Map<String, Aisle> aislesMap;
-    private final Map<String, Device> deviceMap;
-    private final Map<String, Customer> customerMap;
-    private final Map<String, Inventory> inventoryMap;
-    private final Map<String, Basket> basketMap; 
+    private final NavigableMap<String, Aisle> aislesMap;
+    private final NavigableMap<String, Device> deviceMap;
+    private final NavigableMap<String, Customer> customerMap;
+    private final NavigableMap<String, Inventory> inventoryMap;
+    private final NavigableMap<String, Basket> basketMap;
 
     /**
      * Constructor for the Store class
@@ -30,11 +31,13 @@ public class Store {
         this.id = id;
         this.address = address;
         this.description = description;
-        this.aislesMap = new HashMap<>();
-        this.deviceMap = new HashMap<>();
-        this.customerMap = new HashMap<>();
-        this.inventoryMap = new HashMap<>();
-        this.basketMap = new HashMap<>();
+        //Concurrent so that several connections can work with the same Store, sorted by id so
+        //that paginated show queries can resume after a given id
+        this.aislesMap = new ConcurrentSkipListMap<>();
+        this.deviceMap = new ConcurrentSkipListMap<>();
+        this.customerMap = new ConcurrentSkipListMap<>();
+        this.inventoryMap = new ConcurrentSkipListMap<>();
+        this.basketMap = new ConcurrentSkipListMap<>();
     }
 
     /**
@@ -145,6 +148,7 @@ public class Store {
         //Check to see if Customer already exists in the Store
         if(this.customerMap.putIfAbsent(customer.getId(), customer) != null)
             throw new StoreException("Add Customer", "Customer Already Exists");
+        customer.setStore(this);
     }
 
     /**
@@ -189,11 +193,70 @@ public class Store {
      */
     public void removeCustomer(Customer customer){
 
-        if(this.customerMap.get(customer.getId()) == null){
-            this.customerMap.remove(customer.getId());
+        if(this.customerMap.remove(customer.getId(), customer) && customer.getStore() == this){
+            customer.setStore(null);
         }
     }
 
+    /**
+     * Getter method for the Aisle Map of the Store
+     * @return
+     */
+    Map<String, Aisle> getAisleMap() {
+        return aislesMap;
+    }
+
+    /**
+     * Getter method for the Device Map of the Store
+     * @return
+     */
+    Map<String, Device> getDeviceMap() {
+        return deviceMap;
+    }
+
+    /**
+     * Getter method for the Customer Map of the Store
+     * @return
+     */
+    Map<String, Customer> getCustomerMap() {
+        return customerMap;
+    }
+
+    /**
+     * Getter method for the Inventory Map of the Store
+     * @return
+     */
+    Map<String, Inventory> getInventoryMap() {
+        return inventoryMap;
+    }
+
+    /**
+     * Getter method for the Basket Map of the Store
+     * @return
+     */
+    Map<String, Basket> getBasketMap() {
+        return basketMap;
+    }
+
+    /**
+     * Method for returning a page of one of the Store collections in id order
+     * @param projection collection to page through
+     * @param after id the page starts after, null for the first page
+     * @param limit maximum number of entries on the page
+     * @return
+     * @throws StoreException if the Store does not have the projected collection
+     */
+    public Page<?> page(Projection projection, String after, int limit) throws StoreException {
+        return switch (projection) {
+            case aisles -> Page.of(projection, aislesMap, after, limit);
+            case inventory -> Page.of(projection, inventoryMap, after, limit);
+            case devices -> Page.of(projection, deviceMap, after, limit);
+            case customers -> Page.of(projection, customerMap, after, limit);
+            case baskets -> Page.of(projection, basketMap, after, limit);
+            default -> throw new StoreException("Show Store", "Projection Is Not Supported");
+        };
+    }
+
     @Override
     public String toString() {
         return "Store{" +
@@ -1,7 +1,11 @@
 package com.se310.store.model;
 
 /**
- * StoreException class implementation designed display errors to the user while
+ * StoreException class implementation designed to display errors to the user while Store
+ * operations are processed
+ * Store exceptions report expected business failures such as a missing Product or an empty Shelf.
+ * A large share of basket operations legitimately fail, so the exception does not capture a stack
+ * trace that would never be shown and is as cheap to throw as a result code.
  *
  * @author  Sergey L. Sundukovskiy
  * @version 1.0
@@ -17,10 +21,21 @@ public class StoreException extends Exception{
      * @param reason
      */
     public StoreException(String action, String reason) {
+        //No suppression and no stack trace, the action and reason describe the failure
+        super(null, null, false, false);
         this.action = action;
         this.reason = reason;
     }
 
+    /**
+     * Message combining action and reason for logs, the CLI prints action and reason separately
+     * @return
+     */
+    @Override
+    public String getMessage() {
+        return action + ": " + reason;
+    }
+
     /**
      * Getter method for action
      * @return
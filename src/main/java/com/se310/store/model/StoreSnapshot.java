@@ -0,0 +1,912 @@
+package com.se310.store.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary image of the Store model used to restart without replaying the whole history
+ * The image holds the Products, Customers and Baskets followed by one section per Store with its
+ * Aisles, Shelves, Inventory and Devices. Strings are written once into a string table and
+ * referenced by number, numbers are written as varints. The image ends with sorted fixed size
+ * index tables locating the section of every Store and the Store holding every global Inventory,
+ * Device and Store Customer, so Stores can be faulted in one at a time on first access.
+ * The image records the journal position it covers, so a restart loads the image and replays
+ * only the journal records appended after it. Images are read through a memory mapped buffer.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class StoreSnapshot {
+
+    private static final int MAGIC = 0x53534e50;
+    private static final int VERSION = 2;
+    //Magic, version and journal position
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+    //Index position and CRC32 of everything before it
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    //String number and value of an index table entry
+    private static final int ENTRY_SIZE = Integer.BYTES * 2;
+
+    private static final Temperature[] TEMPERATURES = Temperature.values();
+    private static final AisleLocation[] AISLE_LOCATIONS = AisleLocation.values();
+    private static final ShelfLevel[] SHELF_LEVELS = ShelfLevel.values();
+    private static final InventoryType[] INVENTORY_TYPES = InventoryType.values();
+    private static final CustomerType[] CUSTOMER_TYPES = CustomerType.values();
+    private static final CustomerAgeGroup[] AGE_GROUPS = CustomerAgeGroup.values();
+
+    private static final int SENSOR = 0;
+    private static final int APPLIANCE = 1;
+
+    private final Map<String, Store> storeMap;
+    private final Map<String, Customer> customerMap;
+    private final Map<String, Product> productMap;
+    private final Map<String, Inventory> inventoryMap;
+    private final Map<String, Basket> basketMap;
+    private final Map<String, Device> deviceMap;
+    private final InventoryTable inventoryTable;
+
+    //Image of a lazily loaded snapshot while some of its Stores are not faulted in, guarded by this
+    private volatile Image pending;
+
+    /**
+     * Entry of an index table
+     */
+    private record IndexEntry(String id, int value) { }
+
+    /**
+     * Constructor for the StoreSnapshot class working on the maps of the Store model
+     * @param storeMap
+     * @param customerMap
+     * @param productMap
+     * @param inventoryMap
+     * @param basketMap
+     * @param deviceMap
+     * @param inventoryTable table holding the state of restored Inventory
+     */
+    public StoreSnapshot(Map<String, Store> storeMap, Map<String, Customer> customerMap,
+                         Map<String, Product> productMap, Map<String, Inventory> inventoryMap,
+                         Map<String, Basket> basketMap, Map<String, Device> deviceMap,
+                         InventoryTable inventoryTable) {
+        this.storeMap = storeMap;
+        this.customerMap = customerMap;
+        this.productMap = productMap;
+        this.inventoryMap = inventoryMap;
+        this.basketMap = basketMap;
+        this.deviceMap = deviceMap;
+        this.inventoryTable = inventoryTable;
+    }
+
+    /**
+     * Encode the Store model into an in memory image. The caller has to keep the model from
+     * changing while it is encoded and has to fault in every pending Store first, writing the
+     * image to disk can then happen in the background
+     * @param journalPosition journal position the image covers
+     * @return image
+     */
+    public byte[] capture(long journalPosition) {
+        if (pending != null)
+            throw new IllegalStateException("Snapshot Has Stores That Are Not Loaded");
+
+        Encoder body = new Encoder();
+
+        body.writeCount(productMap.size());
+        for (Product product : productMap.values())
+            writeProduct(body, product);
+
+        body.writeCount(customerMap.size());
+        for (Customer customer : customerMap.values())
+            writeCustomer(body, customer);
+
+        body.writeCount(basketMap.size());
+        for (Basket basket : basketMap.values())
+            writeBasket(body, basket);
+
+        //Stores are written last in id order, the index tables refer to them by their position in that order
+        List<Store> stores = new ArrayList<>(storeMap.values());
+        stores.sort(Comparator.comparing(Store::getId));
+        List<IndexEntry> storeIndex = new ArrayList<>(stores.size());
+        List<IndexEntry> inventoryIndex = new ArrayList<>();
+        List<IndexEntry> deviceIndex = new ArrayList<>();
+        List<IndexEntry> customerIndex = new ArrayList<>();
+        for (int entry = 0; entry < stores.size(); entry++) {
+            Store store = stores.get(entry);
+            storeIndex.add(new IndexEntry(store.getId(), body.size()));
+            writeStore(body, store, entry, inventoryIndex, deviceIndex, customerIndex);
+        }
+
+        return body.toImage(journalPosition, storeIndex, inventoryIndex, deviceIndex, customerIndex);
+    }
+
+    /**
+     * Write an image to a file. The image replaces the file only once it is completely on disk,
+     * so a crash while writing leaves the previous image in place
+     * @param file
+     * @param image
+     * @throws IOException
+     */
+    public static void write(Path file, byte[] image) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(image);
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Restore the whole Store model from an image file into the maps of this snapshot
+     * @param file
+     * @return journal position covered by the image
+     * @throws IOException if the image can not be read or is damaged
+     */
+    public long load(Path file) throws IOException {
+        return load(file, false);
+    }
+
+    /**
+     * Restore the Store model from an image file into the maps of this snapshot. Products,
+     * Customers and Baskets are always restored, lazily loaded Stores are only faulted in when
+     * they, their Inventory or their Devices are looked up
+     * @param file
+     * @param lazy keep the Stores in the image until they are accessed
+     * @return journal position covered by the image
+     * @throws IOException if the image can not be read or is damaged
+     */
+    public synchronized long load(Path file, boolean lazy) throws IOException {
+        if (!storeMap.isEmpty() || !customerMap.isEmpty() || !productMap.isEmpty() || pending != null)
+            throw new IllegalStateException("Store Model Already Populated");
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            Image image = Image.open(buffer);
+            Decoder body = image.decoder(image.bodyPosition);
+
+            int productCount = body.readCount();
+            for (int i = 0; i < productCount; i++) {
+                Product product = readProduct(body);
+                productMap.put(product.getId(), product);
+            }
+
+            //Basket and Customer reference each other, the links are restored once both are read
+            Map<Customer, String> customerBaskets = new HashMap<>();
+            int customerCount = body.readCount();
+            for (int i = 0; i < customerCount; i++) {
+                Customer customer = readCustomer(body, customerBaskets);
+                customerMap.put(customer.getId(), customer);
+            }
+
+            int basketCount = body.readCount();
+            for (int i = 0; i < basketCount; i++) {
+                Basket basket = readBasket(body, image);
+                basketMap.put(basket.getId(), basket);
+            }
+            customerBaskets.forEach((customer, basketId) -> customer.assignBasket(basketMap.get(basketId)));
+
+            if (image.storeCount == 0)
+                return image.journalPosition;
+            pending = image;
+            if (!lazy)
+                faultInAll();
+            return image.journalPosition;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot Is Damaged: " + file, e);
+        }
+    }
+
+    /**
+     * Check whether some Stores of a lazily loaded snapshot are not faulted in yet
+     * @return
+     */
+    public boolean isPending() {
+        return pending != null;
+    }
+
+    /**
+     * Fault in a Store of a lazily loaded snapshot
+     * @param storeId
+     * @return the Store, null if it does not exist
+     */
+    public synchronized Store faultInStore(String storeId) {
+        Image image = pending;
+        if (image != null) {
+            int entry = image.find(image.storeIndex, image.storeCount, storeId);
+            if (entry >= 0)
+                faultIn(image, entry);
+        }
+        return storeMap.get(storeId);
+    }
+
+    /**
+     * Fault in the Store holding an Inventory of a lazily loaded snapshot
+     * @param inventoryId
+     * @return the Inventory, null if it does not exist
+     */
+    public synchronized Inventory faultInInventory(String inventoryId) {
+        Image image = pending;
+        if (image != null) {
+            int entry = image.find(image.inventoryIndex, image.inventoryCount, inventoryId);
+            if (entry >= 0)
+                faultIn(image, image.value(image.inventoryIndex, entry));
+        }
+        return inventoryMap.get(inventoryId);
+    }
+
+    /**
+     * Fault in the Store holding a Device of a lazily loaded snapshot
+     * @param deviceId
+     * @return the Device, null if it does not exist
+     */
+    public synchronized Device faultInDevice(String deviceId) {
+        Image image = pending;
+        if (image != null) {
+            int entry = image.find(image.deviceIndex, image.deviceCount, deviceId);
+            if (entry >= 0)
+                faultIn(image, image.value(image.deviceIndex, entry));
+        }
+        return deviceMap.get(deviceId);
+    }
+
+    /**
+     * Fault in every Store of a lazily loaded snapshot the Customer belongs to
+     * @param customerId
+     */
+    public synchronized void faultInCustomerStores(String customerId) {
+        Image image = pending;
+        if (image == null)
+            return;
+        //A Customer may be listed by several Stores, the entries are adjacent
+        for (int entry = image.find(image.customerIndex, image.customerCount, customerId);
+             entry >= 0 && entry < image.customerCount && image.id(image.customerIndex, entry).equals(customerId);
+             entry++) {
+            faultIn(image, image.value(image.customerIndex, entry));
+        }
+    }
+
+    /**
+     * Fault in the Store a Basket of a lazily loaded snapshot is associated with
+     * @param basket
+     */
+    public synchronized void faultInBasketStore(Basket basket) {
+        Image image = pending;
+        if (image == null || basket.getStore() != null)
+            return;
+        String storeId = image.basketStores.get(basket);
+        if (storeId != null)
+            faultInStore(storeId);
+    }
+
+    /**
+     * Fault in every Store of a lazily loaded snapshot that is not loaded yet
+     */
+    public synchronized void faultInAll() {
+        Image image = pending;
+        if (image == null)
+            return;
+        for (int entry = 0; entry < image.storeCount; entry++)
+            faultIn(image, entry);
+    }
+
+    private void faultIn(Image image, int entry) {
+        if (image.loaded[entry])
+            return;
+
+        Store store = readStore(image.decoder(image.value(image.storeIndex, entry)));
+        storeMap.put(store.getId(), store);
+
+        //Baskets assigned again since the snapshot was loaded keep their new Store
+        List<Basket> baskets = image.basketsByStore.remove(store.getId());
+        if (baskets != null) {
+            for (Basket basket : baskets) {
+                image.basketStores.remove(basket);
+                if (basket.getStore() == null)
+                    basket.setStore(store);
+            }
+        }
+
+        image.loaded[entry] = true;
+        if (--image.unloaded == 0)
+            pending = null;
+    }
+
+    private static void writeProduct(Encoder out, Product product) {
+        out.writeString(product.getId());
+        out.writeString(product.getName());
+        out.writeString(product.getDescription());
+        out.writeString(product.getSize());
+        out.writeString(product.getCategory());
+        Double price = product.getPrice();
+        out.writeBoolean(price != null);
+        if (price != null)
+            out.writeDouble(price);
+        out.writeEnum(product.getTemperature());
+    }
+
+    private static Product readProduct(Decoder in) {
+        String id = in.readString();
+        String name = in.readString();
+        String description = in.readString();
+        String size = in.readString();
+        String category = in.readString();
+        Double price = in.readBoolean() ? in.readDouble() : null;
+        Temperature temperature = in.readEnum(TEMPERATURES);
+        return new Product(id, name, description, size, category, price, temperature);
+    }
+
+    private static void writeCustomer(Encoder out, Customer customer) {
+        out.writeString(customer.getId());
+        out.writeString(customer.getFirstName());
+        out.writeString(customer.getLastName());
+        out.writeEnum(customer.getType());
+        out.writeString(customer.getEmail());
+        out.writeString(customer.getAccountAddress());
+        out.writeEnum(customer.getAgeGroup());
+
+        StoreLocation location = customer.getStoreLocation();
+        out.writeBoolean(location != null);
+        if (location != null) {
+            out.writeString(location.getStoreId());
+            out.writeString(location.getAisleId());
+        }
+        Date lastSeen = customer.getLastSeen();
+        out.writeBoolean(lastSeen != null);
+        if (lastSeen != null)
+            out.writeLong(lastSeen.getTime());
+
+        Basket basket = customer.getBasket();
+        out.writeString(basket == null ? null : basket.getId());
+    }
+
+    private static Customer readCustomer(Decoder in, Map<Customer, String> customerBaskets) {
+        Customer customer = new Customer(in.readString(), in.readString(), in.readString(),
+                in.readEnum(CUSTOMER_TYPES), in.readString(), in.readString());
+        customer.setAgeGroup(in.readEnum(AGE_GROUPS));
+        if (in.readBoolean())
+            customer.setStoreLocation(new StoreLocation(in.readString(), in.readString()));
+        if (in.readBoolean())
+            customer.setLastSeen(new Date(in.readLong()));
+
+        String basketId = in.readString();
+        if (basketId != null)
+            customerBaskets.put(customer, basketId);
+        return customer;
+    }
+
+    private static void writeBasket(Encoder out, Basket basket) {
+        out.writeString(basket.getId());
+        Customer customer = basket.getCustomer();
+        out.writeString(customer == null ? null : customer.getId());
+        Store store = basket.getStore();
+        out.writeString(store == null ? null : store.getId());
+
+        Map<String, Integer> products = basket.copyProducts();
+        out.writeCount(products.size());
+        products.forEach((productId, count) -> {
+            out.writeString(productId);
+            out.writeInt(count);
+        });
+    }
+
+    private Basket readBasket(Decoder in, Image image) {
+        Basket basket = new Basket(in.readString());
+        String customerId = in.readString();
+        if (customerId != null)
+            basket.setCustomer(customerMap.get(customerId));
+        //The Store is set when it is faulted in
+        String storeId = in.readString();
+        if (storeId != null) {
+            image.basketsByStore.computeIfAbsent(storeId, id -> new ArrayList<>()).add(basket);
+            image.basketStores.put(basket, storeId);
+        }
+
+        int productCount = in.readCount();
+        for (int i = 0; i < productCount; i++)
+            basket.restoreProduct(in.readString(), in.readInt());
+        return basket;
+    }
+
+    private void writeStore(Encoder out, Store store, int entry, List<IndexEntry> inventoryIndex,
+                            List<IndexEntry> deviceIndex, List<IndexEntry> customerIndex) {
+        out.writeString(store.getId());
+        out.writeString(store.getAddress());
+        out.writeString(store.getDescription());
+
+        //Inventory is numbered in Shelf order, the Store and the global map refer to it by number
+        Map<Inventory, Integer> inventoryNumbers = new IdentityHashMap<>();
+        Map<String, Aisle> aisles = store.getAisleMap();
+        out.writeCount(aisles.size());
+        for (Aisle aisle : aisles.values()) {
+            out.writeString(aisle.getNumber());
+            out.writeString(aisle.getName());
+            out.writeString(aisle.getDescription());
+            out.writeEnum(aisle.getAisleLocation());
+
+            Map<String, Shelf> shelves = aisle.getShelfMap();
+            out.writeCount(shelves.size());
+            for (Shelf shelf : shelves.values()) {
+                out.writeString(shelf.getId());
+                out.writeString(shelf.getName());
+                out.writeEnum(shelf.getLevel());
+                out.writeString(shelf.getDescription());
+                out.writeEnum(shelf.getTemperature());
+
+                Map<String, Inventory> inventories = shelf.getInventoryMap();
+                out.writeCount(inventories.size());
+                for (Inventory inventory : inventories.values()) {
+                    inventoryNumbers.put(inventory, inventoryNumbers.size());
+                    writeInventory(out, inventory);
+                }
+            }
+        }
+
+        Map<String, Inventory> storeInventory = store.getInventoryMap();
+        out.writeCount(storeInventory.size());
+        for (Inventory inventory : storeInventory.values())
+            out.writeCount(inventoryNumber(inventoryNumbers, inventory));
+
+        List<Integer> globalInventory = new ArrayList<>();
+        inventoryNumbers.forEach((inventory, number) -> {
+            if (inventoryMap.get(inventory.getId()) == inventory) {
+                globalInventory.add(number);
+                inventoryIndex.add(new IndexEntry(inventory.getId(), entry));
+            }
+        });
+        globalInventory.sort(null);
+        out.writeCount(globalInventory.size());
+        for (int number : globalInventory)
+            out.writeCount(number);
+
+        Map<String, Device> devices = store.getDeviceMap();
+        out.writeCount(devices.size());
+        for (Device device : devices.values()) {
+            boolean global = deviceMap.get(device.getId()) == device;
+            out.writeCount(device instanceof Appliance ? APPLIANCE : SENSOR);
+            out.writeString(device.getId());
+            out.writeString(device.getName());
+            out.writeString(device.getStoreLocation().getStoreId());
+            out.writeString(device.getStoreLocation().getAisleId());
+            out.writeString(device.getType());
+            out.writeBoolean(global);
+            if (global)
+                deviceIndex.add(new IndexEntry(device.getId(), entry));
+        }
+
+        Map<String, Customer> customers = store.getCustomerMap();
+        out.writeCount(customers.size());
+        for (String customerId : customers.keySet()) {
+            out.writeString(customerId);
+            customerIndex.add(new IndexEntry(customerId, entry));
+        }
+
+        Map<String, Basket> baskets = store.getBasketMap();
+        out.writeCount(baskets.size());
+        for (String basketId : baskets.keySet())
+            out.writeString(basketId);
+    }
+
+    private Store readStore(Decoder in) {
+        Store store = new Store(in.readString(), in.readString(), in.readString());
+
+        List<Inventory> inventoryNumbers = new ArrayList<>();
+        int aisleCount = in.readCount();
+        for (int i = 0; i < aisleCount; i++) {
+            Aisle aisle = new Aisle(in.readString(), in.readString(), in.readString(), in.readEnum(AISLE_LOCATIONS));
+            store.getAisleMap().put(aisle.getNumber(), aisle);
+
+            int shelfCount = in.readCount();
+            for (int j = 0; j < shelfCount; j++) {
+                Shelf shelf = new Shelf(in.readString(), in.readString(), in.readEnum(SHELF_LEVELS),
+                        in.readString(), in.readEnum(TEMPERATURES));
+                aisle.getShelfMap().put(shelf.getId(), shelf);
+                shelf.setAisle(aisle);
+
+                int inventoryCount = in.readCount();
+                for (int k = 0; k < inventoryCount; k++) {
+                    Inventory inventory = readInventory(in);
+                    inventoryNumbers.add(inventory);
+                    shelf.restoreInventory(inventory);
+                }
+            }
+        }
+
+        int storeInventoryCount = in.readCount();
+        for (int i = 0; i < storeInventoryCount; i++) {
+            Inventory inventory = inventoryNumbers.get(in.readCount());
+            store.getInventoryMap().put(inventory.getId(), inventory);
+        }
+        //Inventory and Devices provisioned again after a lazy load keep their newer global entry
+        int globalInventoryCount = in.readCount();
+        for (int i = 0; i < globalInventoryCount; i++) {
+            Inventory inventory = inventoryNumbers.get(in.readCount());
+            inventoryMap.putIfAbsent(inventory.getId(), inventory);
+        }
+
+        int deviceCount = in.readCount();
+        for (int i = 0; i < deviceCount; i++) {
+            int kind = in.readCount();
+            String id = in.readString();
+            String name = in.readString();
+            StoreLocation location = new StoreLocation(in.readString(), in.readString());
+            String type = in.readString();
+            Device device = kind == APPLIANCE
+                    ? new Appliance(id, name, location, type)
+                    : new Sensor(id, name, location, type);
+            store.getDeviceMap().put(id, device);
+            if (in.readBoolean())
+                deviceMap.putIfAbsent(id, device);
+        }
+
+        int customerCount = in.readCount();
+        for (int i = 0; i < customerCount; i++) {
+            Customer customer = customerMap.get(in.readString());
+            store.getCustomerMap().put(customer.getId(), customer);
+            //Customer that entered another Store since the snapshot was taken stays there
+            if (customer.getStore() == null)
+                customer.setStore(store);
+        }
+        int basketCount = in.readCount();
+        for (int i = 0; i < basketCount; i++) {
+            String basketId = in.readString();
+            store.getBasketMap().put(basketId, basketMap.get(basketId));
+        }
+        return store;
+    }
+
+    private static void writeInventory(Encoder out, Inventory inventory) {
+        InventoryLocation location = inventory.getInventoryLocation();
+        out.writeString(inventory.getId());
+        out.writeString(location.getStoreId());
+        out.writeString(location.getAisleId());
+        out.writeString(location.getShelfId());
+        out.writeInt(inventory.getCapacity());
+        out.writeInt(inventory.getCount());
+        out.writeString(inventory.getProductId());
+        out.writeEnum(inventory.getType());
+    }
+
+    private Inventory readInventory(Decoder in) {
+        String id = in.readString();
+        InventoryLocation location = new InventoryLocation(in.readString(), in.readString(), in.readString());
+        int capacity = in.readInt();
+        int count = in.readInt();
+        return new Inventory(inventoryTable, id, location, capacity, count, in.readString(), in.readEnum(INVENTORY_TYPES));
+    }
+
+    private static int inventoryNumber(Map<Inventory, Integer> inventoryNumbers, Inventory inventory) {
+        Integer number = inventoryNumbers.get(inventory);
+        //Every Inventory is provisioned on a Shelf of its Store before it is referenced anywhere else
+        if (number == null)
+            throw new IllegalStateException("Inventory Is Not On A Shelf: " + inventory.getId());
+        return number;
+    }
+
+    /**
+     * Body of an image with its string table
+     */
+    private static final class Encoder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final List<String> stringTable = new ArrayList<>();
+
+        int size() {
+            return bytes.size();
+        }
+
+        int stringNumber(String value) {
+            Integer number = strings.get(value);
+            if (number == null) {
+                number = stringTable.size();
+                strings.put(value, number);
+                stringTable.add(value);
+            }
+            return number;
+        }
+
+        //Strings and enums are written as number plus one so that zero stands for null
+        void writeString(String value) {
+            writeCount(value == null ? 0 : stringNumber(value) + 1);
+        }
+
+        void writeEnum(Enum<?> value) {
+            writeCount(value == null ? 0 : value.ordinal() + 1);
+        }
+
+        void writeCount(int value) {
+            try {
+                writeVarInt(out, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeBoolean(boolean value) {
+            try {
+                out.writeBoolean(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeInt(int value) {
+            try {
+                out.writeInt(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeLong(long value) {
+            try {
+                out.writeLong(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeDouble(double value) {
+            try {
+                out.writeDouble(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Assemble the header, string table, body, index tables and trailer. Store index values
+         * are body offsets and are turned into image positions here
+         */
+        byte[] toImage(long journalPosition, List<IndexEntry> storeIndex, List<IndexEntry> inventoryIndex,
+                       List<IndexEntry> deviceIndex, List<IndexEntry> customerIndex) {
+            try {
+                ByteArrayOutputStream image = new ByteArrayOutputStream(bytes.size() + stringTable.size() * 16 + 64);
+                CRC32 checksum = new CRC32();
+                DataOutputStream data = new DataOutputStream(new CheckedOutputStream(image, checksum));
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeLong(journalPosition);
+
+                writeVarInt(data, stringTable.size());
+                for (String value : stringTable) {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(data, encoded.length);
+                    data.write(encoded);
+                }
+
+                int bodyPosition = image.size();
+                bytes.writeTo(data);
+
+                long indexPosition = image.size();
+                writeIndex(data, storeIndex, bodyPosition);
+                writeIndex(data, inventoryIndex, 0);
+                writeIndex(data, deviceIndex, 0);
+                writeIndex(data, customerIndex, 0);
+                data.writeLong(indexPosition);
+                data.writeInt((int) checksum.getValue());
+                return image.toByteArray();
+            } catch (IOException e) {
+                //In memory streams do not fail
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeIndex(DataOutputStream data, List<IndexEntry> index, int base) throws IOException {
+            index.sort(Comparator.comparing(IndexEntry::id).thenComparingInt(IndexEntry::value));
+            data.writeInt(index.size());
+            for (IndexEntry entry : index) {
+                data.writeInt(strings.get(entry.id()));
+                data.writeInt(base + entry.value());
+            }
+        }
+
+        private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    /**
+     * Mapped image with its string table and index tables. Strings are decoded on first use
+     */
+    private static final class Image {
+
+        private final ByteBuffer buffer;
+        private final long journalPosition;
+        private final int[] stringPositions;
+        private final String[] strings;
+        private final int bodyPosition;
+
+        private final int storeIndex;
+        private final int storeCount;
+        private final int inventoryIndex;
+        private final int inventoryCount;
+        private final int deviceIndex;
+        private final int deviceCount;
+        private final int customerIndex;
+        private final int customerCount;
+
+        //Stores faulted in so far and the Baskets waiting for their Store
+        private final boolean[] loaded;
+        private int unloaded;
+        private final Map<String, List<Basket>> basketsByStore = new HashMap<>();
+        private final Map<Basket, String> basketStores = new IdentityHashMap<>();
+
+        private Image(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.journalPosition = buffer.getLong(Integer.BYTES * 2);
+
+            //Only the positions of the strings are read up front
+            ByteBuffer table = buffer.duplicate().position(HEADER_SIZE);
+            this.stringPositions = new int[Decoder.readVarInt(table)];
+            this.strings = new String[stringPositions.length];
+            for (int i = 0; i < stringPositions.length; i++) {
+                stringPositions[i] = table.position();
+                int length = Decoder.readVarInt(table);
+                table.position(table.position() + length);
+            }
+            this.bodyPosition = table.position();
+
+            int position = Math.toIntExact(buffer.getLong(buffer.limit() - TRAILER_SIZE));
+            this.storeCount = buffer.getInt(position);
+            this.storeIndex = position + Integer.BYTES;
+            position = storeIndex + storeCount * ENTRY_SIZE;
+            this.inventoryCount = buffer.getInt(position);
+            this.inventoryIndex = position + Integer.BYTES;
+            position = inventoryIndex + inventoryCount * ENTRY_SIZE;
+            this.deviceCount = buffer.getInt(position);
+            this.deviceIndex = position + Integer.BYTES;
+            position = deviceIndex + deviceCount * ENTRY_SIZE;
+            this.customerCount = buffer.getInt(position);
+            this.customerIndex = position + Integer.BYTES;
+
+            this.loaded = new boolean[storeCount];
+            this.unloaded = storeCount;
+        }
+
+        static Image open(ByteBuffer buffer) throws IOException {
+            if (buffer.limit() < HEADER_SIZE + TRAILER_SIZE || buffer.getInt(0) != MAGIC)
+                throw new IOException("Not A Store Snapshot");
+            if (buffer.getInt(Integer.BYTES) != VERSION)
+                throw new IOException("Unsupported Snapshot Version");
+
+            int crcPosition = buffer.limit() - Integer.BYTES;
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate().position(0).limit(crcPosition));
+            if ((int) checksum.getValue() != buffer.getInt(crcPosition))
+                throw new IOException("Snapshot Checksum Mismatch");
+
+            return new Image(buffer);
+        }
+
+        Decoder decoder(int position) {
+            return new Decoder(this, buffer.duplicate().position(position));
+        }
+
+        String string(int number) {
+            String value = strings[number];
+            if (value == null) {
+                ByteBuffer encoded = buffer.duplicate().position(stringPositions[number]);
+                byte[] bytes = new byte[Decoder.readVarInt(encoded)];
+                encoded.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[number] = value;
+            }
+            return value;
+        }
+
+        String id(int table, int entry) {
+            return string(buffer.getInt(table + entry * ENTRY_SIZE));
+        }
+
+        int value(int table, int entry) {
+            return buffer.getInt(table + entry * ENTRY_SIZE + Integer.BYTES);
+        }
+
+        /**
+         * Binary search of an index table
+         * @return first entry with the id, -1 if there is none
+         */
+        int find(int table, int count, String id) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (id(table, middle).compareTo(id) < 0)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low < count && id(table, low).equals(id) ? low : -1;
+        }
+    }
+
+    /**
+     * Sequential reader of a part of an image
+     */
+    private static final class Decoder {
+
+        private final Image image;
+        private final ByteBuffer buffer;
+
+        private Decoder(Image image, ByteBuffer buffer) {
+            this.image = image;
+            this.buffer = buffer;
+        }
+
+        String readString() {
+            int number = readVarInt(buffer);
+            return number == 0 ? null : image.string(number - 1);
+        }
+
+        <E extends Enum<E>> E readEnum(E[] values) {
+            int number = readVarInt(buffer);
+            return number == 0 ? null : values[number - 1];
+        }
+
+        int readCount() {
+            return readVarInt(buffer);
+        }
+
+        boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        int readInt() {
+            return buffer.getInt();
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        double readDouble() {
+            return buffer.getDouble();
+        }
+
+        static int readVarInt(ByteBuffer buffer) {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte next = buffer.get();
+                value |= (next & 0x7F) << shift;
+                if (next >= 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("Malformed Varint");
+        }
+    }
+}
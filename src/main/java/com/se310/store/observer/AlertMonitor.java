@@ -1,5 +1,7 @@
 package com.se310.store.observer;
 
+import com.se310.store.output.OutputContext;
+
 /**
  * Concrete Observer that monitors for critical events and alerts
  *
@@ -17,7 +19,7 @@ public class AlertMonitor implements Observer {
         if (combined.contains("error") ||combined.contains("fail") || combined.contains("critical") || combined.contains("warning") ||
             combined.contains("overheat")||combined.contains("offline")||combined.contains("spill")||combined.contains("leak")||combined.contains("crash")) {
 
-            System.out.println("[ALERT] AlertMonitor received: eventType="+eventType +", message="+message);
+            OutputContext.current().write("[ALERT] AlertMonitor received: eventType="+eventType +", message="+message);
         }
     }
 
@@ -1,7 +1,9 @@
 package com.se310.store.observer;
 
-import java.util.HashMap;
+import com.se310.store.output.OutputContext;
+
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Observer implementation that collects statistics about
@@ -10,7 +12,8 @@ import java.util.Map;
  * This observer maintains two maps: one for event counts and
  * another for command counts. Each time an observable device
  * notifies observers, DeviceStatistics increments the relevant
- * counter and prints a running total for that device.
+ * counter and reports a running total for that device through the
+ * output of the command that raised the update.
  *
  * @author  Sergey L. Sundukovskiy
  * @version 1.0
@@ -28,8 +31,8 @@ public class DeviceStatistics implements Observer {
      * Default constructor initializes empty count maps.
      */
     public DeviceStatistics() {
-        this.eventCounts = new HashMap<>();
-        this.commandCounts = new HashMap<>();
+        this.eventCounts = new ConcurrentHashMap<>();
+        this.commandCounts = new ConcurrentHashMap<>();
     }
 
     /**
@@ -51,8 +54,9 @@ public class DeviceStatistics implements Observer {
         else if (type.contains("command")){
             commandCounts.merge(deviceId, 1, Integer::sum);
         }
-        System.out.println("Device: " + deviceId);
-        System.out.println("Event count: " + eventCounts.getOrDefault(deviceId, 0));
-        System.out.println("Command count: " + commandCounts.getOrDefault(deviceId, 0));
+        //One message, so that the lines of concurrent updates are not interleaved
+        OutputContext.current().write("Device: " + deviceId + "\n"
+                + "Event count: " + eventCounts.getOrDefault(deviceId, 0) + "\n"
+                + "Command count: " + commandCounts.getOrDefault(deviceId, 0));
     }
 }
\ No newline at end of file
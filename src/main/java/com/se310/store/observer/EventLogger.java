@@ -1,5 +1,7 @@
 package com.se310.store.observer;
 
+import com.se310.store.output.OutputContext;
+
 /**
  * Concrete Observer that logs device events to console
  *
@@ -15,6 +17,6 @@ public class EventLogger implements Observer {
         if (message == null && eventType == null){
             return;
         }
-        System.out.println("[EventLogger] Device "+deviceId +" | Event: "+eventType + " | Message: "+message);
+        OutputContext.current().write("[EventLogger] Device "+deviceId +" | Event: "+eventType + " | Message: "+message);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.se310.store.observer;
 
+import com.se310.store.output.OutputContext;
+
 /**
  * Concrete Observer that sends notifications to store management.
  * Implements Singleton pattern to ensure single notification instance per store.
@@ -41,9 +43,10 @@ public class StoreNotifier implements Observer {
      */
     @Override
     public synchronized void update(String deviceId, String eventType, String message) {
-        System.out.println("Store Management Notification");
-        System.out.println("Device ID: " + deviceId);
-        System.out.println("Event Type: " + eventType);
-        System.out.println("Message: " + message);
+        //One message, so that the lines of concurrent notifications are not interleaved
+        OutputContext.current().write("Store Management Notification\n"
+                + "Device ID: " + deviceId + "\n"
+                + "Event Type: " + eventType + "\n"
+                + "Message: " + message);
     }
 }
\ No newline at end of file
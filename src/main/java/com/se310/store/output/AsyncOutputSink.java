@@ -0,0 +1,187 @@
+package com.se310.store.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * OutputSink handing messages to a dedicated writer thread
+ * Command threads only enqueue formatted messages, the writer thread drains them in batches into
+ * a large buffer and flushes according to the FlushPolicy, so command processing never waits on
+ * the synchronized console stream. The queue is bounded, a producer that outruns the console
+ * waits for room instead of growing the heap. Messages of Baskets and Devices reach the sink
+ * through the OutputContext, messages printed directly to System.out are not ordered with it.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class AsyncOutputSink implements OutputSink {
+
+    private static final int QUEUE_CAPACITY = 16384;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Object CLOSE = new Object();
+
+    private final Verbosity verbosity;
+    private final FlushPolicy flushPolicy;
+    private final Writer writer;
+    //Holds messages, flush requests (CountDownLatch) and the CLOSE marker
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writerThread;
+    //Guards closed against producers still enqueuing
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for the AsyncOutputSink class writing to the console
+     * @param verbosity
+     * @param flushPolicy
+     */
+    public AsyncOutputSink(Verbosity verbosity, FlushPolicy flushPolicy) {
+        this(System.out, System.out.charset(), verbosity, flushPolicy);
+    }
+
+    /**
+     * Constructor for the AsyncOutputSink class
+     * @param out destination of the messages
+     * @param charset
+     * @param verbosity
+     * @param flushPolicy
+     */
+    public AsyncOutputSink(OutputStream out, Charset charset, Verbosity verbosity, FlushPolicy flushPolicy) {
+        this.verbosity = verbosity;
+        this.flushPolicy = flushPolicy;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, charset), BUFFER_SIZE);
+        this.writerThread = new Thread(this::drainQueue, "output-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public Verbosity getVerbosity() {
+        return verbosity;
+    }
+
+    @Override
+    public void write(String message) {
+        enqueue(message);
+    }
+
+    /**
+     * Wait until every message written so far has reached the destination
+     */
+    @Override
+    public void flush() {
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(flushed);
+        await(flushed);
+    }
+
+    /**
+     * Flush the remaining messages and stop the writer thread. Messages and flush requests enqueued
+     * before the sink is closed are written ahead of the CLOSE marker, later ones are rejected
+     */
+    @Override
+    public synchronized void close() {
+        closing.writeLock().lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        try {
+            queue.put(CLOSE);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Object element) {
+        //Producers check and enqueue under the read lock, so none of them enqueues behind CLOSE
+        closing.readLock().lock();
+        try {
+            if (closed)
+                throw new IllegalStateException("Output Sink Closed");
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Output Interrupted", e);
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            //A writer thread that stopped on an error no longer counts down flush requests
+            while (!latch.await(100, TimeUnit.MILLISECONDS)) {
+                if (!writerThread.isAlive())
+                    return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Output Interrupted", e);
+        }
+    }
+
+    private void drainQueue() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+
+                for (Object element : batch) {
+                    if (element == CLOSE) {
+                        writer.flush();
+                        return;
+                    } else if (element instanceof CountDownLatch flushed) {
+                        writer.flush();
+                        flushed.countDown();
+                    } else {
+                        writer.write((String) element);
+                        writer.write(System.lineSeparator());
+                        if (flushPolicy == FlushPolicy.line)
+                            writer.flush();
+                    }
+                }
+                batch.clear();
+
+                //Nothing else is waiting, push the batch out
+                if (flushPolicy == FlushPolicy.idle && queue.isEmpty())
+                    writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            //Refuse further messages and release anyone still waiting on a flush
+            closed = true;
+            for (Object element : batch) {
+                if (element instanceof CountDownLatch flushed)
+                    flushed.countDown();
+            }
+            queue.forEach(element -> {
+                if (element instanceof CountDownLatch flushed)
+                    flushed.countDown();
+            });
+            //Release producers waiting for room in a queue nobody drains anymore
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.se310.store.output;
+
+import java.io.PrintStream;
+
+/**
+ * OutputSink printing every message synchronously, interleaving in order with other console output
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ConsoleOutputSink implements OutputSink {
+
+    private final PrintStream out;
+    private final Verbosity verbosity;
+
+    /**
+     * Constructor for the ConsoleOutputSink class
+     * @param out
+     * @param verbosity
+     */
+    public ConsoleOutputSink(PrintStream out, Verbosity verbosity) {
+        this.out = out;
+        this.verbosity = verbosity;
+    }
+
+    @Override
+    public Verbosity getVerbosity() {
+        return verbosity;
+    }
+
+    @Override
+    public void write(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
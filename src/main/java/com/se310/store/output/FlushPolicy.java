@@ -0,0 +1,16 @@
+package com.se310.store.output;
+
+/**
+ * Enumeration representing when a buffered OutputSink pushes its buffer to the console
+ * line flushes after every message, idle flushes once no more messages are waiting and
+ * manual only flushes when the buffer is full or flush is called explicitly
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public enum FlushPolicy {
+    line,
+    idle,
+    manual
+}
@@ -0,0 +1,52 @@
+package com.se310.store.output;
+
+/**
+ * OutputSink of the command the current thread is executing
+ * Model classes such as Baskets and Devices report through the sink of the command that reached
+ * them, so their messages are ordered with the echo and the result of the command and reach the
+ * same destination, such as the connection of a CommandServer client. Threads that are not
+ * executing a command write to the console.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public final class OutputContext {
+
+    private static final ThreadLocal<OutputSink> current = new ThreadLocal<>();
+    private static final OutputSink console = new ConsoleOutputSink(System.out, Verbosity.echo);
+
+    private OutputContext() {
+    }
+
+    /**
+     * Getter method for the sink of the command the current thread is executing
+     * @return the sink of the command or the console
+     */
+    public static OutputSink current() {
+        OutputSink sink = current.get();
+        return sink != null ? sink : console;
+    }
+
+    /**
+     * Make a sink the sink of the current thread while it executes a command
+     * @param sink
+     * @return the previous sink of the thread, to pass to restore
+     */
+    public static OutputSink enter(OutputSink sink) {
+        OutputSink previous = current.get();
+        current.set(sink);
+        return previous;
+    }
+
+    /**
+     * Restore the sink the current thread had before enter
+     * @param previous
+     */
+    public static void restore(OutputSink previous) {
+        if (previous == null)
+            current.remove();
+        else
+            current.set(previous);
+    }
+}
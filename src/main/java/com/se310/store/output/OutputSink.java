@@ -0,0 +1,64 @@
+package com.se310.store.output;
+
+/**
+ * Destination of the output produced while processing DSL commands
+ * Messages are filtered by Verbosity before they are formatted, so quiet processing does not
+ * pay for building result strings. Results are formatted on the calling thread, which keeps
+ * asynchronous sinks from reading model objects while other commands modify them.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public interface OutputSink extends AutoCloseable {
+
+    /**
+     * Getter method for the verbosity of the sink
+     * @return
+     */
+    Verbosity getVerbosity();
+
+    /**
+     * Write a single formatted message
+     * @param message
+     */
+    void write(String message);
+
+    /**
+     * Push every message written so far to its destination
+     */
+    void flush();
+
+    /**
+     * Flush and release the sink
+     */
+    @Override
+    void close();
+
+    /**
+     * Echo the DSL command being processed
+     * @param command
+     */
+    default void echo(String command) {
+        if (getVerbosity() == Verbosity.echo)
+            write(">>> Processing DSL : " + command);
+    }
+
+    /**
+     * Show the result of a command
+     * @param prefix text preceding the result
+     * @param result
+     */
+    default void result(String prefix, Object result) {
+        if (getVerbosity() != Verbosity.quiet)
+            write(prefix + result);
+    }
+
+    /**
+     * Show the failure of a command
+     * @param message
+     */
+    default void failure(String message) {
+        write("\u001B[31m" + "Failed due to: " + message + "\u001B[0m");
+    }
+}
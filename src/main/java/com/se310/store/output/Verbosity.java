@@ -0,0 +1,15 @@
+package com.se310.store.output;
+
+/**
+ * Enumeration representing how much of the command processing an OutputSink shows
+ * Failures are always shown, results are shown unless quiet, the DSL echo only with echo
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public enum Verbosity {
+    quiet,
+    results,
+    echo
+}
@@ -0,0 +1,371 @@
+package com.se310.store.proxy;
+
+import com.se310.store.model.Aisle;
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.Customer;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.Device;
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Page;
+import com.se310.store.model.Product;
+import com.se310.store.model.Projection;
+import com.se310.store.model.Shelf;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Store;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Asynchronous front of the StoreServiceProxy returning a CompletableFuture for every operation
+ * Operations run on an executor, virtual threads by default, so event driven callers can pipeline
+ * many operations without blocking. Operations on the same entity run one at a time in the order
+ * they were submitted, so two edits of the same basket never reorder. Operations on different
+ * entities may run concurrently, callers compose the futures when one operation depends on the
+ * outcome of another, for example moving a customer before adding to the customer's basket.
+ * Provisioning aisles, shelves, inventory and devices is ordered with the other operations of
+ * their Store. Failed operations complete their future exceptionally with the StoreException.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class AsyncStoreServiceProxy implements AutoCloseable {
+
+    /**
+     * Invocation of the StoreServiceProxy
+     */
+    @FunctionalInterface
+    private interface Call<T> {
+        T execute() throws StoreException;
+    }
+
+    private final StoreServiceProxy proxy = StoreServiceProxy.getInstance();
+    private final Executor executor;
+    //Executor created by this proxy and closed with it
+    private final ExecutorService ownedExecutor;
+
+    //Last operation submitted for every entity with an operation in flight
+    private final Map<String, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+    //Serializes operations on several entities while they take their place behind every entity,
+    //two of them taking their places one entity at a time could each end up behind the other
+    private final Object ordering = new Object();
+
+    /**
+     * Constructor for the AsyncStoreServiceProxy class running every operation on its own virtual thread
+     */
+    public AsyncStoreServiceProxy() {
+        this.ownedExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = ownedExecutor;
+    }
+
+    /**
+     * Constructor for the AsyncStoreServiceProxy class
+     * @param executor runs the operations, it is not shut down when the proxy is closed
+     */
+    public AsyncStoreServiceProxy(Executor executor) {
+        this.ownedExecutor = null;
+        this.executor = executor;
+    }
+
+    /**
+     * Wait for the submitted operations and shut down the default executor
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null)
+            ownedExecutor.close();
+    }
+
+    /**
+     * Run a call after the operations previously submitted for its entities
+     * @param call
+     * @param entities keys of the entities the call works on such as basket:b1
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> submit(Call<T> call, String... entities) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?> previous;
+        if (entities.length == 1) {
+            previous = enqueue(entities[0], result);
+        } else {
+            CompletableFuture<?>[] pending = new CompletableFuture<?>[entities.length];
+            synchronized (ordering) {
+                for (int i = 0; i < entities.length; i++) {
+                    CompletableFuture<?> tail = enqueue(entities[i], result);
+                    pending[i] = tail != null ? tail : CompletableFuture.completedFuture(null);
+                }
+            }
+            previous = CompletableFuture.allOf(pending);
+        }
+
+        Runnable task = () -> run(call, result, entities);
+        if (previous == null || previous.isDone())
+            dispatch(task, result, entities);
+        else
+            previous.whenComplete((value, error) -> dispatch(task, result, entities));
+
+        //Callers completing their copy do not release the next operation early
+        return result.copy();
+    }
+
+    /**
+     * Make an operation the last one of an entity
+     * @param entity
+     * @param result future of the operation
+     * @return the operation it has to wait for, null if there is none in flight
+     */
+    private CompletableFuture<?> enqueue(String entity, CompletableFuture<?> result) {
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[1];
+        tails.compute(entity, (key, tail) -> {
+            previous[0] = tail == null || tail.isDone() ? null : tail;
+            return result;
+        });
+        return previous[0];
+    }
+
+    private <T> void dispatch(Runnable task, CompletableFuture<T> result, String[] entities) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            release(result, entities);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void run(Call<T> call, CompletableFuture<T> result, String[] entities) {
+        T value;
+        try {
+            value = call.execute();
+        } catch (Throwable e) {
+            release(result, entities);
+            result.completeExceptionally(e);
+            return;
+        }
+        release(result, entities);
+        result.complete(value);
+    }
+
+    /**
+     * Forget the operation if no other operation was submitted for its entities since
+     * @param result
+     * @param entities
+     */
+    private void release(CompletableFuture<?> result, String[] entities) {
+        for (String entity : entities)
+            tails.remove(entity, result);
+    }
+
+    private static String store(String storeId) {
+        return "store:" + storeId;
+    }
+
+    private static String inventory(String inventoryId) {
+        return "inventory:" + inventoryId;
+    }
+
+    private static String product(String productId) {
+        return "product:" + productId;
+    }
+
+    private static String customer(String customerId) {
+        return "customer:" + customerId;
+    }
+
+    private static String basket(String basketId) {
+        return "basket:" + basketId;
+    }
+
+    private static String device(String deviceId) {
+        return "device:" + deviceId;
+    }
+
+    /* ------------------------- Token management API ------------------------- */
+
+    /**
+     * Register a token, operations submitted afterward may use it
+     */
+    public void registerToken(String token) {
+        proxy.registerToken(token);
+    }
+
+    /**
+     * Revoke a previously registered token, operations still pending with it will fail
+     */
+    public void revokeToken(String token) {
+        proxy.revokeToken(token);
+    }
+
+    /* ---------------------- Asynchronous operations -------------------- */
+
+    public CompletableFuture<Store> provisionStore(String storeId, String name, String address, String token) {
+        return submit(() -> proxy.provisionStore(storeId, name, address, token), store(storeId));
+    }
+
+    public CompletableFuture<Store> showStore(String storeId, String token) {
+        return submit(() -> proxy.showStore(storeId, token), store(storeId));
+    }
+
+    public CompletableFuture<Page<?>> showStore(String storeId, Projection projection, String after, int limit,
+                                                String token) {
+        return submit(() -> proxy.showStore(storeId, projection, after, limit, token), store(storeId));
+    }
+
+    public CompletableFuture<Aisle> provisionAisle(String storeId, String aisleNumber, String name,
+                                                   String description, AisleLocation location, String token) {
+        return submit(() -> proxy.provisionAisle(storeId, aisleNumber, name, description, location, token),
+                store(storeId));
+    }
+
+    public CompletableFuture<Aisle> showAisle(String storeId, String aisleNumber, String token) {
+        return submit(() -> proxy.showAisle(storeId, aisleNumber, token), store(storeId));
+    }
+
+    public CompletableFuture<Page<Shelf>> showAisle(String storeId, String aisleNumber, Projection projection,
+                                                    String after, int limit, String token) {
+        return submit(() -> proxy.showAisle(storeId, aisleNumber, projection, after, limit, token), store(storeId));
+    }
+
+    public CompletableFuture<Shelf> provisionShelf(String storeId, String aisleNumber, String shelfId, String name,
+                                                   ShelfLevel level, String description, Temperature temperature,
+                                                   String token) {
+        return submit(() -> proxy.provisionShelf(storeId, aisleNumber, shelfId, name, level, description,
+                temperature, token), store(storeId));
+    }
+
+    public CompletableFuture<Shelf> showShelf(String storeId, String aisleNumber, String shelfId, String token) {
+        return submit(() -> proxy.showShelf(storeId, aisleNumber, shelfId, token), store(storeId));
+    }
+
+    public CompletableFuture<Page<Inventory>> showShelf(String storeId, String aisleNumber, String shelfId,
+                                                        Projection projection, String after, int limit,
+                                                        String token) {
+        return submit(() -> proxy.showShelf(storeId, aisleNumber, shelfId, projection, after, limit, token),
+                store(storeId));
+    }
+
+    public CompletableFuture<Inventory> provisionInventory(String inventoryId, String storeId, String aisleNumber,
+                                                           String shelfId, int capacity, int count,
+                                                           String productId, InventoryType type, String token) {
+        return submit(() -> proxy.provisionInventory(inventoryId, storeId, aisleNumber, shelfId, capacity, count,
+                productId, type, token), store(storeId), inventory(inventoryId));
+    }
+
+    public CompletableFuture<Inventory> showInventory(String inventoryId, String token) {
+        return submit(() -> proxy.showInventory(inventoryId, token), inventory(inventoryId));
+    }
+
+    public CompletableFuture<Inventory> updateInventory(String inventoryId, int count, String token) {
+        return submit(() -> proxy.updateInventory(inventoryId, count, token), inventory(inventoryId));
+    }
+
+    public CompletableFuture<Product> provisionProduct(String productId, String name, String description,
+                                                       String size, String category, double price,
+                                                       Temperature temperature, String token) {
+        return submit(() -> proxy.provisionProduct(productId, name, description, size, category, price,
+                temperature, token), product(productId));
+    }
+
+    public CompletableFuture<Product> showProduct(String productId, String token) {
+        return submit(() -> proxy.showProduct(productId, token), product(productId));
+    }
+
+    public CompletableFuture<Customer> provisionCustomer(String customerId, String firstName, String lastName,
+                                                         CustomerType type, String email, String address,
+                                                         String token) {
+        return submit(() -> proxy.provisionCustomer(customerId, firstName, lastName, type, email, address, token),
+                customer(customerId));
+    }
+
+    public CompletableFuture<Customer> updateCustomer(String customerId, String storeId, String aisleNumber,
+                                                      String token) {
+        return submit(() -> proxy.updateCustomer(customerId, storeId, aisleNumber, token), customer(customerId));
+    }
+
+    public CompletableFuture<Customer> showCustomer(String customerId, String token) {
+        return submit(() -> proxy.showCustomer(customerId, token), customer(customerId));
+    }
+
+    public CompletableFuture<Basket> provisionBasket(String basketId, String token) {
+        return submit(() -> proxy.provisionBasket(basketId, token), basket(basketId));
+    }
+
+    public CompletableFuture<Basket> assignCustomerBasket(String customerId, String basketId, String token) {
+        return submit(() -> proxy.assignCustomerBasket(customerId, basketId, token), customer(customerId),
+                basket(basketId));
+    }
+
+    public CompletableFuture<Basket> getCustomerBasket(String customerId, String token) {
+        return submit(() -> proxy.getCustomerBasket(customerId, token), customer(customerId));
+    }
+
+    /**
+     * Add a product to a basket after the operations submitted for the basket. The shelf Inventory
+     * the product is taken from is not part of the order: the StoreService holds the EntityLocks
+     * stripes of the basket, the product and the Store, and the Inventory changes its count with a
+     * compare and set, so adds and restocks of the same Inventory are never lost, they only run in
+     * either order. Callers that need a restock to land before an add compose the two futures
+     * @param basketId
+     * @param productId
+     * @param count
+     * @param token
+     * @return
+     */
+    public CompletableFuture<Basket> addBasketProduct(String basketId, String productId, int count, String token) {
+        return submit(() -> proxy.addBasketProduct(basketId, productId, count, token), basket(basketId));
+    }
+
+    /**
+     * Put a product back on the shelf after the operations submitted for the basket, ordered with
+     * the shelf Inventory as described for addBasketProduct
+     * @param basketId
+     * @param productId
+     * @param count
+     * @param token
+     * @return
+     */
+    public CompletableFuture<Basket> removeBasketProduct(String basketId, String productId, int count,
+                                                         String token) {
+        return submit(() -> proxy.removeBasketProduct(basketId, productId, count, token), basket(basketId));
+    }
+
+    public CompletableFuture<Basket> clearBasket(String basketId, String token) {
+        return submit(() -> proxy.clearBasket(basketId, token), basket(basketId));
+    }
+
+    public CompletableFuture<Basket> showBasket(String basketId, String token) {
+        return submit(() -> proxy.showBasket(basketId, token), basket(basketId));
+    }
+
+    public CompletableFuture<Device> provisionDevice(String deviceId, String name, String deviceType,
+                                                     String storeId, String aisleNumber, String token) {
+        return submit(() -> proxy.provisionDevice(deviceId, name, deviceType, storeId, aisleNumber, token),
+                store(storeId), device(deviceId));
+    }
+
+    public CompletableFuture<Device> showDevice(String deviceId, String token) {
+        return submit(() -> proxy.showDevice(deviceId, token), device(deviceId));
+    }
+
+    public CompletableFuture<Void> raiseEvent(String deviceId, String event, String token) {
+        return submit(() -> {
+            proxy.raiseEvent(deviceId, event, token);
+            return null;
+        }, device(deviceId));
+    }
+
+    public CompletableFuture<Void> issueCommand(String deviceId, String command, String token) {
+        return submit(() -> {
+            proxy.issueCommand(deviceId, command, token);
+            return null;
+        }, device(deviceId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.se310.store.proxy;
+
+import com.se310.store.model.StoreException;
+import com.se310.store.singleton.StoreService;
+
+/**
+ * Single operation of a batch submitted through StoreServiceProxy.executeBatch
+ * Operations of a batch are executed in the order they were submitted, the target and action
+ * name the operation in the failures reported for it.
+ *
+ * @param target entity the operation works on such as basket:b1
+ * @param action name of the operation reported in failures
+ * @param call   invocation of the StoreService
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public record Operation(String target, String action, Call call) {
+
+    /**
+     * Invocation of the StoreService on behalf of the batch token
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object execute(StoreService service, String token) throws StoreException;
+    }
+
+    /**
+     * Create a custom operation
+     * @param target
+     * @param action
+     * @param call
+     * @return
+     */
+    public static Operation of(String target, String action, Call call) {
+        return new Operation(target, action, call);
+    }
+
+    public static Operation addBasketProduct(String basketId, String productId, int count) {
+        return of("basket:" + basketId, "Add Basket Product",
+                (service, token) -> service.addBasketProduct(basketId, productId, count, token));
+    }
+
+    public static Operation removeBasketProduct(String basketId, String productId, int count) {
+        return of("basket:" + basketId, "Remove Basket Product",
+                (service, token) -> service.removeBasketProduct(basketId, productId, count, token));
+    }
+
+    public static Operation clearBasket(String basketId) {
+        return of("basket:" + basketId, "Clear Basket", (service, token) -> service.clearBasket(basketId, token));
+    }
+
+    public static Operation showBasket(String basketId) {
+        return of("basket:" + basketId, "Show Basket", (service, token) -> service.showBasket(basketId, token));
+    }
+
+    public static Operation updateInventory(String inventoryId, int count) {
+        return of("inventory:" + inventoryId, "Update Inventory",
+                (service, token) -> service.updateInventory(inventoryId, count, token));
+    }
+
+    public static Operation showInventory(String inventoryId) {
+        return of("inventory:" + inventoryId, "Show Inventory",
+                (service, token) -> service.showInventory(inventoryId, token));
+    }
+
+    public static Operation updateCustomer(String customerId, String storeId, String aisleNumber) {
+        return of("customer:" + customerId, "Update Customer",
+                (service, token) -> service.updateCustomer(customerId, storeId, aisleNumber, token));
+    }
+
+    public static Operation showCustomer(String customerId) {
+        return of("customer:" + customerId, "Show Customer",
+                (service, token) -> service.showCustomer(customerId, token));
+    }
+
+    public static Operation raiseEvent(String deviceId, String event) {
+        return of("device:" + deviceId, "Raise Event", (service, token) -> {
+            service.raiseEvent(deviceId, event, token);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.se310.store.proxy;
+
+import com.se310.store.model.StoreException;
+
+/**
+ * Outcome of a single Operation of a batch, either the value returned by the StoreService
+ * or the StoreException the operation failed with
+ *
+ * @param value returned value, null for operations without a result or on failure
+ * @param error failure of the operation, null on success
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public record OperationResult(Object value, StoreException error) {
+
+    public static OperationResult success(Object value) {
+        return new OperationResult(value, null);
+    }
+
+    public static OperationResult failure(StoreException error) {
+        return new OperationResult(null, error);
+    }
+
+    /**
+     * @return true if the operation succeeded
+     */
+    public boolean succeeded() {
+        return error == null;
+    }
+}
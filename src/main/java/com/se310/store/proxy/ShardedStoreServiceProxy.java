@@ -0,0 +1,574 @@
+package com.se310.store.proxy;
+
+import com.se310.store.model.Aisle;
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.Customer;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.Device;
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Page;
+import com.se310.store.model.Product;
+import com.se310.store.model.Projection;
+import com.se310.store.model.Shelf;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Store;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.StoreLocation;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * StoreServiceProxy front partitioning the Store model into shards keyed by Store id
+ * Every shard is owned by a single thread, operations on a Store and on the inventory, baskets,
+ * devices and customers it owns are routed to the shard of the Store and run there in the order
+ * they were submitted, so Stores on different shards never contend and multi-store workloads
+ * scale with the number of cores. Operations return a CompletableFuture.
+ * Global operations follow this protocol:
+ * - Products, customers and baskets are provisioned and looked up on the calling thread, the
+ *   global registries are concurrent and these entities do not belong to a Store yet
+ * - Customers, baskets, inventory and devices are routed to the Store owning them when the
+ *   operation is submitted, entities the shards have not seen are looked up in the model
+ * - A customer moving to a Store on another shard is moved by the shard of the Store the customer
+ *   leaves, after the operations already submitted there and together with the basket it clears.
+ *   Operations on the customer submitted afterward are handed to the shard of the Store entered
+ *   once the move is done, no shard ever waits for another. The StoreService holds the EntityLocks
+ *   stripes of the customer, both Stores and the basket while it moves the customer, so the Store
+ *   entered is not changed under its own shard.
+ * - A basket assigned to a customer in a Store on another shard is assigned once the operations
+ *   pending on the shard of its previous Store are done, operations on the basket or the customer
+ *   submitted afterward follow the assignment.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ShardedStoreServiceProxy implements AutoCloseable {
+
+    /**
+     * Invocation of the StoreServiceProxy
+     */
+    @FunctionalInterface
+    private interface Call<T> {
+        T execute() throws StoreException;
+    }
+
+    /**
+     * Look up of the Store owning an entity in the model
+     */
+    @FunctionalInterface
+    private interface OwnerLookup {
+        String storeId() throws StoreException;
+    }
+
+    private final StoreServiceProxy proxy = StoreServiceProxy.getInstance();
+    private final StoreService service = StoreService.getInstance();
+    private final ExecutorService[] shards;
+
+    //Store owning every entity as of the operations submitted so far
+    private final Map<String, String> inventoryOwners = new ConcurrentHashMap<>();
+    private final Map<String, String> customerOwners = new ConcurrentHashMap<>();
+    private final Map<String, String> basketOwners = new ConcurrentHashMap<>();
+    private final Map<String, String> deviceOwners = new ConcurrentHashMap<>();
+
+    //Last operation submitted on a customer or basket handed from one shard to another, until it is done
+    //operations on the entity follow it instead of going to the shard directly
+    private final Map<String, CompletableFuture<?>> customerHandoffs = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<?>> basketHandoffs = new ConcurrentHashMap<>();
+    //Serializes the registration of hand offs spanning a customer and its baskets
+    private final Object handoffs = new Object();
+
+    //Baskets assigned to every customer since it last changed Stores, a move of the customer clears
+    //the one it holds. Failed assignments are included, they only make moves wait a little longer
+    private final Map<String, Set<String>> customerBaskets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for the ShardedStoreServiceProxy class with a shard per available core
+     */
+    public ShardedStoreServiceProxy() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for the ShardedStoreServiceProxy class
+     * @param shardCount number of shards, each owned by its own thread
+     */
+    public ShardedStoreServiceProxy(int shardCount) {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("Shard Count Must Be Positive");
+
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String name = "store-shard-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+        }
+    }
+
+    /**
+     * Wait for the submitted operations and stop the shards
+     */
+    @Override
+    public void close() {
+        //Operations following a hand off are submitted to their shard once it is done
+        while (true) {
+            CompletableFuture<?> handoff = Stream.concat(customerHandoffs.values().stream(),
+                    basketHandoffs.values().stream()).filter(future -> !future.isDone()).findAny().orElse(null);
+            if (handoff == null)
+                break;
+            handoff.handle((value, error) -> null).join();
+        }
+        for (ExecutorService shard : shards)
+            shard.close();
+    }
+
+    /**
+     * Shard owning a Store
+     * @param storeId
+     * @return
+     */
+    private int shardOf(String storeId) {
+        return Math.floorMod(storeId.hashCode(), shards.length);
+    }
+
+    /**
+     * Run a call on the shard of a Store
+     * @param storeId
+     * @param call
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> submit(String storeId, Call<T> call) {
+        if (storeId == null)
+            return execute(call);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            shards[shardOf(storeId)].execute(() -> complete(result, call));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Run a global call on the calling thread
+     * @param call
+     * @return completed future
+     */
+    private static <T> CompletableFuture<T> execute(Call<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        complete(result, call);
+        return result;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Call<T> call) {
+        try {
+            result.complete(call.execute());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Run a call on the shard of a Store once an earlier operation is done, without blocking a shard
+     * @param previous operation to follow, null to submit the call right away
+     * @param storeId
+     * @param call
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> after(CompletableFuture<?> previous, String storeId, Call<T> call) {
+        if (previous == null)
+            return submit(storeId, call);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        previous.whenComplete((ignored, previousError) -> submit(storeId, call).whenComplete((value, error) -> {
+            if (error != null)
+                result.completeExceptionally(error);
+            else
+                result.complete(value);
+        }));
+        return result;
+    }
+
+    /**
+     * Make an operation the last one on a customer and baskets being handed off, later operations on
+     * them follow it until it is done
+     * @param customerId null if the operation is only about baskets
+     * @param basketIds
+     * @param operation submits the operation after the previous last ones, null if there are none
+     * @return future of the operation
+     */
+    private <T> CompletableFuture<T> handoff(String customerId, Collection<String> basketIds,
+                                             Function<CompletableFuture<?>, CompletableFuture<T>> operation) {
+        CompletableFuture<T> future;
+        synchronized (handoffs) {
+            Stream<CompletableFuture<?>> previous = basketIds.stream().map(basketHandoffs::get);
+            if (customerId != null)
+                previous = Stream.concat(Stream.of(customerHandoffs.get(customerId)), previous);
+            future = operation.apply(allOf(previous.toArray(CompletableFuture<?>[]::new)));
+
+            if (customerId != null)
+                customerHandoffs.put(customerId, future);
+            for (String basketId : basketIds)
+                basketHandoffs.put(basketId, future);
+        }
+        future.whenComplete((value, error) -> {
+            if (customerId != null)
+                customerHandoffs.remove(customerId, future);
+            for (String basketId : basketIds)
+                basketHandoffs.remove(basketId, future);
+        });
+        return future;
+    }
+
+    /**
+     * Future done once every given operation is done
+     * @param futures operations, null for none
+     * @return null if there is no operation
+     */
+    private static CompletableFuture<?> allOf(CompletableFuture<?>... futures) {
+        CompletableFuture<?>[] pending = Stream.of(futures).filter(future -> future != null)
+                .toArray(CompletableFuture<?>[]::new);
+        if (pending.length < 2)
+            return pending.length == 0 ? null : pending[0];
+        return CompletableFuture.allOf(pending);
+    }
+
+    /**
+     * Run a call on a customer on the shard of a Store, after the hand off of the customer if one is
+     * in progress
+     * @param customerId
+     * @param storeId
+     * @param call
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> routeCustomer(String customerId, String storeId, Call<T> call) {
+        if (!customerHandoffs.containsKey(customerId))
+            return submit(storeId, call);
+        return handoff(customerId, List.of(), previous -> after(previous, storeId, call));
+    }
+
+    /**
+     * Run a call on a basket on the shard of a Store, after the hand off of the basket if one is in
+     * progress
+     * @param basketId
+     * @param storeId
+     * @param call
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> routeBasket(String basketId, String storeId, Call<T> call) {
+        if (!basketHandoffs.containsKey(basketId))
+            return submit(storeId, call);
+        return handoff(null, List.of(basketId), previous -> after(previous, storeId, call));
+    }
+
+    /**
+     * Store owning an entity, looked up in the model the first time the entity is routed
+     * @param owners
+     * @param id
+     * @param lookup
+     * @return Store id or null if the entity does not belong to a Store
+     */
+    private static String ownerOf(Map<String, String> owners, String id, OwnerLookup lookup) {
+        String storeId = owners.get(id);
+        if (storeId != null)
+            return storeId;
+
+        try {
+            storeId = lookup.storeId();
+        } catch (StoreException | RuntimeException e) {
+            //Entities that do not exist fail on the calling thread
+            return null;
+        }
+        if (storeId == null)
+            return null;
+        String claimed = owners.putIfAbsent(id, storeId);
+        return claimed != null ? claimed : storeId;
+    }
+
+    /**
+     * Run the provisioning of an entity claimed for a Store, a failed provisioning gives the claim up
+     * @param owners
+     * @param id
+     * @param storeId Store the entity is provisioned in
+     * @param owner Store that already owned the entity, null if the claim succeeded
+     * @param call
+     * @return future completed with the result of the call
+     */
+    private <T> CompletableFuture<T> claimed(Map<String, String> owners, String id, String storeId, String owner,
+                                             Call<T> call) {
+        if (owner != null)
+            return submit(owner, call);
+
+        CompletableFuture<T> result = submit(storeId, call);
+        result.whenComplete((value, error) -> {
+            if (error != null)
+                owners.remove(id, storeId);
+        });
+        return result;
+    }
+
+    private static String storeOf(StoreLocation location) {
+        return location != null ? location.getStoreId() : null;
+    }
+
+    private String inventoryOwner(String inventoryId) {
+        return ownerOf(inventoryOwners, inventoryId,
+                () -> storeOf(service.showInventory(inventoryId, null).getInventoryLocation()));
+    }
+
+    private String customerOwner(String customerId) {
+        return ownerOf(customerOwners, customerId,
+                () -> storeOf(service.showCustomer(customerId, null).getStoreLocation()));
+    }
+
+    private String basketOwner(String basketId) {
+        return ownerOf(basketOwners, basketId, () -> {
+            Store store = service.showBasket(basketId, null).getStore();
+            return store != null ? store.getId() : null;
+        });
+    }
+
+    private String deviceOwner(String deviceId) {
+        return ownerOf(deviceOwners, deviceId,
+                () -> storeOf(service.showDevice(deviceId, null).getStoreLocation()));
+    }
+
+    /* ------------------------- Token management API ------------------------- */
+
+    /**
+     * Register a token, operations submitted afterward may use it
+     */
+    public void registerToken(String token) {
+        proxy.registerToken(token);
+    }
+
+    /**
+     * Revoke a previously registered token, operations still pending with it will fail
+     */
+    public void revokeToken(String token) {
+        proxy.revokeToken(token);
+    }
+
+    /* ------------------------- Store operations ------------------------- */
+
+    public CompletableFuture<Store> provisionStore(String storeId, String name, String address, String token) {
+        return submit(storeId, () -> proxy.provisionStore(storeId, name, address, token));
+    }
+
+    public CompletableFuture<Store> showStore(String storeId, String token) {
+        return submit(storeId, () -> proxy.showStore(storeId, token));
+    }
+
+    public CompletableFuture<Page<?>> showStore(String storeId, Projection projection, String after, int limit,
+                                                String token) {
+        return submit(storeId, () -> proxy.showStore(storeId, projection, after, limit, token));
+    }
+
+    public CompletableFuture<Aisle> provisionAisle(String storeId, String aisleNumber, String name,
+                                                   String description, AisleLocation location, String token) {
+        return submit(storeId, () -> proxy.provisionAisle(storeId, aisleNumber, name, description, location, token));
+    }
+
+    public CompletableFuture<Aisle> showAisle(String storeId, String aisleNumber, String token) {
+        return submit(storeId, () -> proxy.showAisle(storeId, aisleNumber, token));
+    }
+
+    public CompletableFuture<Page<Shelf>> showAisle(String storeId, String aisleNumber, Projection projection,
+                                                    String after, int limit, String token) {
+        return submit(storeId, () -> proxy.showAisle(storeId, aisleNumber, projection, after, limit, token));
+    }
+
+    public CompletableFuture<Shelf> provisionShelf(String storeId, String aisleNumber, String shelfId, String name,
+                                                   ShelfLevel level, String description, Temperature temperature,
+                                                   String token) {
+        return submit(storeId, () -> proxy.provisionShelf(storeId, aisleNumber, shelfId, name, level, description,
+                temperature, token));
+    }
+
+    public CompletableFuture<Shelf> showShelf(String storeId, String aisleNumber, String shelfId, String token) {
+        return submit(storeId, () -> proxy.showShelf(storeId, aisleNumber, shelfId, token));
+    }
+
+    public CompletableFuture<Page<Inventory>> showShelf(String storeId, String aisleNumber, String shelfId,
+                                                        Projection projection, String after, int limit,
+                                                        String token) {
+        return submit(storeId, () -> proxy.showShelf(storeId, aisleNumber, shelfId, projection, after, limit,
+                token));
+    }
+
+    /* ------------------------- Inventory operations ------------------------- */
+
+    public CompletableFuture<Inventory> provisionInventory(String inventoryId, String storeId, String aisleNumber,
+                                                           String shelfId, int capacity, int count,
+                                                           String productId, InventoryType type, String token) {
+        //Inventory already owned by another Store fails there as a duplicate
+        String owner = inventoryOwners.putIfAbsent(inventoryId, storeId);
+        return claimed(inventoryOwners, inventoryId, storeId, owner, () -> proxy.provisionInventory(inventoryId,
+                storeId, aisleNumber, shelfId, capacity, count, productId, type, token));
+    }
+
+    public CompletableFuture<Inventory> showInventory(String inventoryId, String token) {
+        return submit(inventoryOwner(inventoryId), () -> proxy.showInventory(inventoryId, token));
+    }
+
+    public CompletableFuture<Inventory> updateInventory(String inventoryId, int count, String token) {
+        return submit(inventoryOwner(inventoryId), () -> proxy.updateInventory(inventoryId, count, token));
+    }
+
+    /* ------------------------- Product operations ------------------------- */
+
+    public CompletableFuture<Product> provisionProduct(String productId, String name, String description,
+                                                       String size, String category, double price,
+                                                       Temperature temperature, String token) {
+        return execute(() -> proxy.provisionProduct(productId, name, description, size, category, price,
+                temperature, token));
+    }
+
+    public CompletableFuture<Product> showProduct(String productId, String token) {
+        return execute(() -> proxy.showProduct(productId, token));
+    }
+
+    /* ------------------------- Customer operations ------------------------- */
+
+    public CompletableFuture<Customer> provisionCustomer(String customerId, String firstName, String lastName,
+                                                         CustomerType type, String email, String address,
+                                                         String token) {
+        return execute(() -> proxy.provisionCustomer(customerId, firstName, lastName, type, email, address, token));
+    }
+
+    public CompletableFuture<Customer> updateCustomer(String customerId, String storeId, String aisleNumber,
+                                                      String token) {
+        Call<Customer> move = () -> proxy.updateCustomer(customerId, storeId, aisleNumber, token);
+        String current = customerOwner(customerId);
+
+        //A customer changing Stores clears its basket, operations on the basket follow the move
+        Set<String> baskets = storeId.equals(current) ? customerBaskets.get(customerId)
+                : customerBaskets.remove(customerId);
+        Collection<String> basketIds = baskets != null ? List.copyOf(baskets) : List.of();
+
+        //Operations on the customer submitted afterward are routed to the Store entered
+        customerOwners.put(customerId, storeId);
+        CompletableFuture<Customer> moved;
+        //Customer entering a Store or moving within the shard of the Store
+        if (current == null || shardOf(current) == shardOf(storeId)) {
+            if (!customerHandoffs.containsKey(customerId)
+                    && basketIds.stream().noneMatch(basketHandoffs::containsKey))
+                moved = submit(storeId, move);
+            else
+                moved = handoff(customerId, basketIds, previous -> after(previous, storeId, move));
+        } else {
+            //The Store the customer leaves moves the customer, operations on the customer submitted
+            //afterward follow the move on the shard of the Store entered
+            moved = handoff(customerId, basketIds, previous -> after(previous, current, move));
+        }
+
+        //A failed move leaves the customer where it was, holding its baskets
+        moved.whenComplete((customer, error) -> {
+            if (error == null)
+                return;
+            if (current == null)
+                customerOwners.remove(customerId, storeId);
+            else
+                customerOwners.replace(customerId, storeId, current);
+            if (baskets != null && !storeId.equals(current))
+                customerBaskets.computeIfAbsent(customerId, key -> ConcurrentHashMap.newKeySet()).addAll(baskets);
+        });
+        return moved;
+    }
+
+    public CompletableFuture<Customer> showCustomer(String customerId, String token) {
+        return routeCustomer(customerId, customerOwner(customerId),
+                () -> proxy.showCustomer(customerId, token));
+    }
+
+    /* ------------------------- Basket operations ------------------------- */
+
+    public CompletableFuture<Basket> provisionBasket(String basketId, String token) {
+        return execute(() -> proxy.provisionBasket(basketId, token));
+    }
+
+    public CompletableFuture<Basket> assignCustomerBasket(String customerId, String basketId, String token) {
+        Call<Basket> assign = () -> proxy.assignCustomerBasket(customerId, basketId, token);
+
+        //The Basket belongs to the Store the Customer is in
+        String storeId = customerOwner(customerId);
+        if (storeId == null)
+            return submit(null, assign);
+        String previous = basketOwners.put(basketId, storeId);
+        customerBaskets.computeIfAbsent(customerId, key -> ConcurrentHashMap.newKeySet()).add(basketId);
+
+        if ((previous == null || shardOf(previous) == shardOf(storeId))
+                && !customerHandoffs.containsKey(customerId) && !basketHandoffs.containsKey(basketId))
+            return submit(storeId, assign);
+
+        //Operations on the Basket still pending on the shard of its previous Store run first, the
+        //assignment is then the operation that later ones on the Customer and the Basket follow
+        CompletableFuture<?> drained = previous == null || shardOf(previous) == shardOf(storeId)
+                ? null : submit(previous, () -> null);
+        return handoff(customerId, List.of(basketId), last -> after(allOf(drained, last), storeId, assign));
+    }
+
+    public CompletableFuture<Basket> getCustomerBasket(String customerId, String token) {
+        return routeCustomer(customerId, customerOwner(customerId),
+                () -> proxy.getCustomerBasket(customerId, token));
+    }
+
+    public CompletableFuture<Basket> addBasketProduct(String basketId, String productId, int count, String token) {
+        return routeBasket(basketId, basketOwner(basketId),
+                () -> proxy.addBasketProduct(basketId, productId, count, token));
+    }
+
+    public CompletableFuture<Basket> removeBasketProduct(String basketId, String productId, int count,
+                                                         String token) {
+        return routeBasket(basketId, basketOwner(basketId),
+                () -> proxy.removeBasketProduct(basketId, productId, count, token));
+    }
+
+    public CompletableFuture<Basket> clearBasket(String basketId, String token) {
+        return routeBasket(basketId, basketOwner(basketId), () -> proxy.clearBasket(basketId, token));
+    }
+
+    public CompletableFuture<Basket> showBasket(String basketId, String token) {
+        return routeBasket(basketId, basketOwner(basketId), () -> proxy.showBasket(basketId, token));
+    }
+
+    /* ------------------------- Device operations ------------------------- */
+
+    public CompletableFuture<Device> provisionDevice(String deviceId, String name, String deviceType,
+                                                     String storeId, String aisleNumber, String token) {
+        //Device already owned by another Store fails there as a duplicate
+        String owner = deviceOwners.putIfAbsent(deviceId, storeId);
+        return claimed(deviceOwners, deviceId, storeId, owner, () -> proxy.provisionDevice(deviceId, name,
+                deviceType, storeId, aisleNumber, token));
+    }
+
+    public CompletableFuture<Device> showDevice(String deviceId, String token) {
+        return submit(deviceOwner(deviceId), () -> proxy.showDevice(deviceId, token));
+    }
+
+    public CompletableFuture<Void> raiseEvent(String deviceId, String event, String token) {
+        return submit(deviceOwner(deviceId), () -> {
+            proxy.raiseEvent(deviceId, event, token);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> issueCommand(String deviceId, String command, String token) {
+        return submit(deviceOwner(deviceId), () -> {
+            proxy.issueCommand(deviceId, command, token);
+            return null;
+        });
+    }
+}
@@ -1,10 +1,13 @@
 package com.se310.store.proxy;
 
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.se310.store.singleton.StoreService;
+import com.se310.store.stats.LatencyHistogram;
+import com.se310.store.stats.LatencyStats;
 import com.se310.store.model.*; 
 
 /**
@@ -21,7 +24,7 @@ public class StoreServiceProxy {
     //TODO: Implement Proxy Pattern allowing command execution only with a valid token
     
     // Make the proxy itself a singleton as well
-    private static StoreServiceProxy instance;
+    private static volatile StoreServiceProxy instance;
 
     /**
      * Accessor for the proxy singleton
@@ -46,8 +49,41 @@ public class StoreServiceProxy {
 
     private StoreServiceProxy() { } // private constructor
 
-    // Set of valid tokens
-    private final Set<String> validTokens = Collections.synchronizedSet(new HashSet<>());
+    //Latency of every proxied operation, authorization failures included
+    private static final LatencyHistogram PROVISION_STORE = latency("Provision Store");
+    private static final LatencyHistogram SHOW_STORE = latency("Show Store");
+    private static final LatencyHistogram SHOW_STORE_PAGE = latency("Show Store Page");
+    private static final LatencyHistogram PROVISION_AISLE = latency("Provision Aisle");
+    private static final LatencyHistogram SHOW_AISLE = latency("Show Aisle");
+    private static final LatencyHistogram SHOW_AISLE_PAGE = latency("Show Aisle Page");
+    private static final LatencyHistogram PROVISION_SHELF = latency("Provision Shelf");
+    private static final LatencyHistogram SHOW_SHELF = latency("Show Shelf");
+    private static final LatencyHistogram SHOW_SHELF_PAGE = latency("Show Shelf Page");
+    private static final LatencyHistogram PROVISION_INVENTORY = latency("Provision Inventory");
+    private static final LatencyHistogram SHOW_INVENTORY = latency("Show Inventory");
+    private static final LatencyHistogram UPDATE_INVENTORY = latency("Update Inventory");
+    private static final LatencyHistogram SHOW_PRODUCT_STOCK = latency("Show Product Stock");
+    private static final LatencyHistogram SHOW_LOW_STOCK = latency("Show Low Stock");
+    private static final LatencyHistogram PROVISION_PRODUCT = latency("Provision Product");
+    private static final LatencyHistogram SHOW_PRODUCT = latency("Show Product");
+    private static final LatencyHistogram PROVISION_CUSTOMER = latency("Provision Customer");
+    private static final LatencyHistogram UPDATE_CUSTOMER = latency("Update Customer");
+    private static final LatencyHistogram SHOW_CUSTOMER = latency("Show Customer");
+    private static final LatencyHistogram PROVISION_BASKET = latency("Provision Basket");
+    private static final LatencyHistogram ASSIGN_CUSTOMER_BASKET = latency("Assign Customer Basket");
+    private static final LatencyHistogram GET_CUSTOMER_BASKET = latency("Get Customer Basket");
+    private static final LatencyHistogram ADD_BASKET_PRODUCT = latency("Add Basket Product");
+    private static final LatencyHistogram REMOVE_BASKET_PRODUCT = latency("Remove Basket Product");
+    private static final LatencyHistogram CLEAR_BASKET = latency("Clear Basket");
+    private static final LatencyHistogram SHOW_BASKET = latency("Show Basket");
+    private static final LatencyHistogram PROVISION_DEVICE = latency("Provision Device");
+    private static final LatencyHistogram SHOW_DEVICE = latency("Show Device");
+    private static final LatencyHistogram RAISE_EVENT = latency("Raise Event");
+    private static final LatencyHistogram ISSUE_COMMAND = latency("Issue Command");
+    private static final LatencyHistogram EXECUTE_BATCH = latency("Execute Batch");
+
+    // Set of valid tokens, lock free reads since every proxied call checks it
+    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
 
 
     /* ------------------------- Token management API ------------------------- */
@@ -79,139 +115,368 @@ public class StoreServiceProxy {
         }
     }
 
+    private static LatencyHistogram latency(String operation) {
+        return LatencyStats.getInstance().histogram("Proxy", operation);
+    }
+
     /* ---------------------- Proxied operations -------------------- */
 
     public Store provisionStore(String storeId, String name, String address, String token)
             throws StoreException {
-        assertAuthorized(token, "Provision Store");
-        return real.provisionStore(storeId, name, address, token);
+        long start = PROVISION_STORE.start();
+        try {
+            assertAuthorized(token, "Provision Store");
+            return PROVISION_STORE.success(start, real.provisionStore(storeId, name, address, token));
+        } catch (StoreException e) {
+            throw PROVISION_STORE.failure(start, e);
+        }
     }
 
     public Store showStore(String storeId, String token) throws StoreException {
-        assertAuthorized(token, "Show Store");
-        return real.showStore(storeId, token);
+        long start = SHOW_STORE.start();
+        try {
+            assertAuthorized(token, "Show Store");
+            return SHOW_STORE.success(start, real.showStore(storeId, token));
+        } catch (StoreException e) {
+            throw SHOW_STORE.failure(start, e);
+        }
+    }
+
+    public Page<?> showStore(String storeId, Projection projection, String after, int limit, String token)
+            throws StoreException {
+        long start = SHOW_STORE_PAGE.start();
+        try {
+            assertAuthorized(token, "Show Store");
+            return SHOW_STORE_PAGE.success(start, real.showStore(storeId, projection, after, limit, token));
+        } catch (StoreException e) {
+            throw SHOW_STORE_PAGE.failure(start, e);
+        }
     }
 
     public Aisle provisionAisle(String storeId, String aisleNumber, String name, String description,
                                 AisleLocation location, String token) throws StoreException {
-        assertAuthorized(token, "Provision Aisle");
-        return real.provisionAisle(storeId, aisleNumber, name, description, location, token);
+        long start = PROVISION_AISLE.start();
+        try {
+            assertAuthorized(token, "Provision Aisle");
+            return PROVISION_AISLE.success(start,
+                    real.provisionAisle(storeId, aisleNumber, name, description, location, token));
+        } catch (StoreException e) {
+            throw PROVISION_AISLE.failure(start, e);
+        }
     }  
 
     public Aisle showAisle(String storeId,  String aisleNumber, String token) throws StoreException {
-        assertAuthorized(token, "Show Aisle");
-        return real.showAisle(storeId, aisleNumber, token);
+        long start = SHOW_AISLE.start();
+        try {
+            assertAuthorized(token, "Show Aisle");
+            return SHOW_AISLE.success(start, real.showAisle(storeId, aisleNumber, token));
+        } catch (StoreException e) {
+            throw SHOW_AISLE.failure(start, e);
+        }
+    }
+
+    public Page<Shelf> showAisle(String storeId, String aisleNumber, Projection projection, String after,
+                                 int limit, String token) throws StoreException {
+        long start = SHOW_AISLE_PAGE.start();
+        try {
+            assertAuthorized(token, "Show Aisle");
+            return SHOW_AISLE_PAGE.success(start,
+                    real.showAisle(storeId, aisleNumber, projection, after, limit, token));
+        } catch (StoreException e) {
+            throw SHOW_AISLE_PAGE.failure(start, e);
+        }
     }
 
     public Shelf provisionShelf(String storeId, String aisleNumber, String shelfId, String name,
                                 ShelfLevel level, String description, Temperature temperature, String token) throws StoreException {
-        assertAuthorized(token, "Provision Shelf");
-        return real.provisionShelf(storeId, aisleNumber, shelfId, name, level, description, temperature, token);
+        long start = PROVISION_SHELF.start();
+        try {
+            assertAuthorized(token, "Provision Shelf");
+            return PROVISION_SHELF.success(start,
+                    real.provisionShelf(storeId, aisleNumber, shelfId, name, level, description, temperature, token));
+        } catch (StoreException e) {
+            throw PROVISION_SHELF.failure(start, e);
+        }
     }
 
     public Shelf showShelf(String storeId, String aisleNumber, String shelfId, String token) throws StoreException {
-        assertAuthorized(token, "Show Shelf");
-        return real.showShelf(storeId, aisleNumber, shelfId, token);
+        long start = SHOW_SHELF.start();
+        try {
+            assertAuthorized(token, "Show Shelf");
+            return SHOW_SHELF.success(start, real.showShelf(storeId, aisleNumber, shelfId, token));
+        } catch (StoreException e) {
+            throw SHOW_SHELF.failure(start, e);
+        }
+    }
+
+    public Page<Inventory> showShelf(String storeId, String aisleNumber, String shelfId, Projection projection,
+                                     String after, int limit, String token) throws StoreException {
+        long start = SHOW_SHELF_PAGE.start();
+        try {
+            assertAuthorized(token, "Show Shelf");
+            return SHOW_SHELF_PAGE.success(start,
+                    real.showShelf(storeId, aisleNumber, shelfId, projection, after, limit, token));
+        } catch (StoreException e) {
+            throw SHOW_SHELF_PAGE.failure(start, e);
+        }
     }
 
     public Inventory provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
                                         int capacity, int count, String productId, InventoryType type, String token) throws StoreException {
-        assertAuthorized(token, "Provision Inventory");
-        return real.provisionInventory(inventoryId, storeId, aisleNumber, shelfId, capacity, count, productId, type, token);
+        long start = PROVISION_INVENTORY.start();
+        try {
+            assertAuthorized(token, "Provision Inventory");
+            return PROVISION_INVENTORY.success(start,
+                    real.provisionInventory(inventoryId, storeId, aisleNumber, shelfId, capacity, count, productId,
+                            type, token));
+        } catch (StoreException e) {
+            throw PROVISION_INVENTORY.failure(start, e);
+        }
     }
 
     public Inventory showInventory(String inventoryId, String token) throws StoreException {
-        assertAuthorized(token, "Show Inventory");
-        return real.showInventory(inventoryId, token);
+        long start = SHOW_INVENTORY.start();
+        try {
+            assertAuthorized(token, "Show Inventory");
+            return SHOW_INVENTORY.success(start, real.showInventory(inventoryId, token));
+        } catch (StoreException e) {
+            throw SHOW_INVENTORY.failure(start, e);
+        }
     }
 
     public Inventory updateInventory(String inventoryId, int count, String token) throws StoreException {
-        assertAuthorized(token, "Update Inventory");
-        return real.updateInventory(inventoryId, count, token);
+        long start = UPDATE_INVENTORY.start();
+        try {
+            assertAuthorized(token, "Update Inventory");
+            return UPDATE_INVENTORY.success(start, real.updateInventory(inventoryId, count, token));
+        } catch (StoreException e) {
+            throw UPDATE_INVENTORY.failure(start, e);
+        }
+    }
+
+    public long showProductStock(String productId, String token) throws StoreException {
+        long start = SHOW_PRODUCT_STOCK.start();
+        try {
+            assertAuthorized(token, "Show Product Stock");
+            return SHOW_PRODUCT_STOCK.success(start, real.showProductStock(productId, token));
+        } catch (StoreException e) {
+            throw SHOW_PRODUCT_STOCK.failure(start, e);
+        }
+    }
+
+    public List<String> showLowStock(int percent, String token) throws StoreException {
+        long start = SHOW_LOW_STOCK.start();
+        try {
+            assertAuthorized(token, "Show Low Stock");
+            return SHOW_LOW_STOCK.success(start, real.showLowStock(percent, token));
+        } catch (StoreException e) {
+            throw SHOW_LOW_STOCK.failure(start, e);
+        }
     }
 
     public Product provisionProduct(String productId, String name, String description, String size, String category,
                                     double price, Temperature temperature, String token) throws StoreException {
-        assertAuthorized(token, "Provision Product");
-        return real.provisionProduct(productId, name, description, size, category, price, temperature, token);
+        long start = PROVISION_PRODUCT.start();
+        try {
+            assertAuthorized(token, "Provision Product");
+            return PROVISION_PRODUCT.success(start,
+                    real.provisionProduct(productId, name, description, size, category, price, temperature, token));
+        } catch (StoreException e) {
+            throw PROVISION_PRODUCT.failure(start, e);
+        }
     }
 
     public Product showProduct(String productId, String token) throws StoreException {
-        assertAuthorized(token, "Show Product");
-        return real.showProduct(productId, token);
+        long start = SHOW_PRODUCT.start();
+        try {
+            assertAuthorized(token, "Show Product");
+            return SHOW_PRODUCT.success(start, real.showProduct(productId, token));
+        } catch (StoreException e) {
+            throw SHOW_PRODUCT.failure(start, e);
+        }
     }
 
     public Customer provisionCustomer(String customerId, String firstName, String lastName,
                                       CustomerType type, String email, String address, String token) throws StoreException {
-        assertAuthorized(token, "Provision Customer");
-        return real.provisionCustomer(customerId, firstName, lastName, type, email, address, token);
+        long start = PROVISION_CUSTOMER.start();
+        try {
+            assertAuthorized(token, "Provision Customer");
+            return PROVISION_CUSTOMER.success(start,
+                    real.provisionCustomer(customerId, firstName, lastName, type, email, address, token));
+        } catch (StoreException e) {
+            throw PROVISION_CUSTOMER.failure(start, e);
+        }
     }
 
     public Customer updateCustomer(String customerId, String storeId, String aisleNumber, String token) throws StoreException {
-        assertAuthorized(token, "Update Customer");
-        return real.updateCustomer(customerId, storeId, aisleNumber, token);
+        long start = UPDATE_CUSTOMER.start();
+        try {
+            assertAuthorized(token, "Update Customer");
+            return UPDATE_CUSTOMER.success(start, real.updateCustomer(customerId, storeId, aisleNumber, token));
+        } catch (StoreException e) {
+            throw UPDATE_CUSTOMER.failure(start, e);
+        }
     }
 
     public Customer showCustomer(String customerId, String token) throws StoreException {
-        assertAuthorized(token, "Show Customer");
-        return real.showCustomer(customerId, token);
+        long start = SHOW_CUSTOMER.start();
+        try {
+            assertAuthorized(token, "Show Customer");
+            return SHOW_CUSTOMER.success(start, real.showCustomer(customerId, token));
+        } catch (StoreException e) {
+            throw SHOW_CUSTOMER.failure(start, e);
+        }
     }
 
     public Basket provisionBasket(String basketId, String token) throws StoreException {
-        assertAuthorized(token, "Provision Basket");
-        return real.provisionBasket(basketId, token);
+        long start = PROVISION_BASKET.start();
+        try {
+            assertAuthorized(token, "Provision Basket");
+            return PROVISION_BASKET.success(start, real.provisionBasket(basketId, token));
+        } catch (StoreException e) {
+            throw PROVISION_BASKET.failure(start, e);
+        }
     }
 
     public Basket assignCustomerBasket(String customerId, String basketId, String token) throws StoreException {
-        assertAuthorized(token, "Assign Customer Basket");
-        return real.assignCustomerBasket(customerId, basketId, token);
+        long start = ASSIGN_CUSTOMER_BASKET.start();
+        try {
+            assertAuthorized(token, "Assign Customer Basket");
+            return ASSIGN_CUSTOMER_BASKET.success(start, real.assignCustomerBasket(customerId, basketId, token));
+        } catch (StoreException e) {
+            throw ASSIGN_CUSTOMER_BASKET.failure(start, e);
+        }
     }
 
     public Basket getCustomerBasket(String customerId, String token) throws StoreException {
-        assertAuthorized(token, "Get Customer Basket");
-        return real.getCustomerBasket(customerId, token);
+        long start = GET_CUSTOMER_BASKET.start();
+        try {
+            assertAuthorized(token, "Get Customer Basket");
+            return GET_CUSTOMER_BASKET.success(start, real.getCustomerBasket(customerId, token));
+        } catch (StoreException e) {
+            throw GET_CUSTOMER_BASKET.failure(start, e);
+        }
     }
 
     public Basket addBasketProduct(String basketId, String productId, int count, String token)
             throws StoreException {
-        assertAuthorized(token, "Add Basket Product");
-        return real.addBasketProduct(basketId, productId, count, token);
+        long start = ADD_BASKET_PRODUCT.start();
+        try {
+            assertAuthorized(token, "Add Basket Product");
+            return ADD_BASKET_PRODUCT.success(start, real.addBasketProduct(basketId, productId, count, token));
+        } catch (StoreException e) {
+            throw ADD_BASKET_PRODUCT.failure(start, e);
+        }
     }
 
     public Basket removeBasketProduct(String basketId, String productId, int count, String token) throws StoreException {
-        assertAuthorized(token, "Remove Basket Product");
-        return real.removeBasketProduct(basketId, productId, count, token);
+        long start = REMOVE_BASKET_PRODUCT.start();
+        try {
+            assertAuthorized(token, "Remove Basket Product");
+            return REMOVE_BASKET_PRODUCT.success(start, real.removeBasketProduct(basketId, productId, count, token));
+        } catch (StoreException e) {
+            throw REMOVE_BASKET_PRODUCT.failure(start, e);
+        }
     }
 
     public Basket clearBasket(String basketId, String token) throws StoreException {
-        assertAuthorized(token, "Clear Basket");
-        return real.clearBasket(basketId, token);
+        long start = CLEAR_BASKET.start();
+        try {
+            assertAuthorized(token, "Clear Basket");
+            return CLEAR_BASKET.success(start, real.clearBasket(basketId, token));
+        } catch (StoreException e) {
+            throw CLEAR_BASKET.failure(start, e);
+        }
     }
 
     public Basket showBasket(String basketId, String token) throws StoreException {
-        assertAuthorized(token, "Show Basket");
-        return real.showBasket(basketId, token);
+        long start = SHOW_BASKET.start();
+        try {
+            assertAuthorized(token, "Show Basket");
+            return SHOW_BASKET.success(start, real.showBasket(basketId, token));
+        } catch (StoreException e) {
+            throw SHOW_BASKET.failure(start, e);
+        }
     }
 
     public Device provisionDevice(String deviceId, String name, String deviceType, String storeId,
                                   String aisleNumber, String token) throws StoreException {
-        assertAuthorized(token, "Provision Device");
-        return real.provisionDevice(deviceId, name, deviceType, storeId, aisleNumber, token);
+        long start = PROVISION_DEVICE.start();
+        try {
+            assertAuthorized(token, "Provision Device");
+            return PROVISION_DEVICE.success(start,
+                    real.provisionDevice(deviceId, name, deviceType, storeId, aisleNumber, token));
+        } catch (StoreException e) {
+            throw PROVISION_DEVICE.failure(start, e);
+        }
     }
 
     public Device showDevice(String deviceId, String token) throws StoreException {
-        assertAuthorized(token, "Show Device");
-        return real.showDevice(deviceId, token);
+        long start = SHOW_DEVICE.start();
+        try {
+            assertAuthorized(token, "Show Device");
+            return SHOW_DEVICE.success(start, real.showDevice(deviceId, token));
+        } catch (StoreException e) {
+            throw SHOW_DEVICE.failure(start, e);
+        }
     }
 
     public void raiseEvent(String deviceId, String event, String token) throws StoreException {
-        assertAuthorized(token, "Raise Event");
-        real.raiseEvent(deviceId, event, token);
+        long start = RAISE_EVENT.start();
+        try {
+            assertAuthorized(token, "Raise Event");
+            real.raiseEvent(deviceId, event, token);
+            RAISE_EVENT.success(start);
+        } catch (StoreException e) {
+            throw RAISE_EVENT.failure(start, e);
+        }
     }
 
     public void issueCommand(String deviceId, String command, String token) throws StoreException {
-        assertAuthorized(token, "Issue Command");
-        real.issueCommand(deviceId, command, token);
+        long start = ISSUE_COMMAND.start();
+        try {
+            assertAuthorized(token, "Issue Command");
+            real.issueCommand(deviceId, command, token);
+            ISSUE_COMMAND.success(start);
+        } catch (StoreException e) {
+            throw ISSUE_COMMAND.failure(start, e);
+        }
+    }
+
+    /* ------------------------- Batch API ------------------------- */
+
+    /**
+     * Execute a burst of operations, such as the basket edits of a POS system, authorizing the
+     * token once for the whole batch. Operations run one after the other in submission order, so an
+     * operation sees the effects of every operation submitted before it, and a failing operation
+     * does not stop the rest of the batch.
+     * @param token
+     * @param operations
+     * @return result of every operation in the order of submission
+     * @throws StoreException if the token is not authorized
+     */
+    public List<OperationResult> executeBatch(String token, List<Operation> operations) throws StoreException {
+        long start = EXECUTE_BATCH.start();
+        try {
+            assertAuthorized(token, "Execute Batch");
+        } catch (StoreException e) {
+            throw EXECUTE_BATCH.failure(start, e);
+        }
+
+        OperationResult[] results = new OperationResult[operations.size()];
+        for (int i = 0; i < results.length; i++) {
+            Operation operation = operations.get(i);
+            try {
+                results[i] = OperationResult.success(operation.call().execute(real, token));
+            } catch (StoreException e) {
+                results[i] = OperationResult.failure(e);
+            } catch (RuntimeException e) {
+                //Unexpected failures are reported under the action of the operation as well
+                results[i] = OperationResult.failure(new StoreException(operation.action(),
+                        "Failed on " + operation.target() + ": " + e));
+            }
+        }
+        return EXECUTE_BATCH.success(start, Arrays.asList(results));
     }
 
 }
@@ -0,0 +1,309 @@
+package com.se310.store.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Registry of entities by id backing the StoreService registries
+ * Ids and entities sit directly in an open addressing table next to a byte array of hash tags, so
+ * every entity costs three array slots rather than a map node holding key, value, hash and next.
+ * The gain is memory, lookups cost about the same as in a ConcurrentHashMap. A lookup checks the
+ * tag before comparing the id, so colliding entries are skipped without loading them. Readers
+ * never lock, writers are serialized and publish an entry before its tag. Removed entries leave a
+ * tombstone that later insertions reuse, so a reader checks the id of a slot again after loading its
+ * entity and probes again if the slot was reused meanwhile. Entities are not numbered with int handles, every caller
+ * looks them up by their String id and a handle would add a dependent load to every lookup.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class IdRegistry<V> extends AbstractMap<String, V> {
+
+    private static final VarHandle TAGS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    //Tag of a slot whose entry was removed, tags of entries are odd
+    private static final byte TOMBSTONE = 2;
+
+    /**
+     * Open addressing table, replaced as a whole when it grows
+     */
+    private static final class Table {
+        //Tag of the entry in the same slot, zero when the slot was never used
+        private final byte[] tags;
+        private final String[] ids;
+        private final Object[] entities;
+        private final int shift;
+        private final int threshold;
+
+        private Table(int capacity) {
+            this.tags = new byte[capacity];
+            this.ids = new String[capacity];
+            this.entities = new Object[capacity];
+            this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            this.threshold = capacity - (capacity >>> 2);
+        }
+    }
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+    //Slots holding an entry or a tombstone, guarded by this
+    private int used;
+
+    private static int hash(String id) {
+        return id.hashCode() * 0x9E3779B9;
+    }
+
+    //Low bits of the hash, the slot index comes from the high bits
+    private static byte tag(int hash) {
+        return (byte) (hash | 1);
+    }
+
+    /**
+     * Find the slot of an id
+     * @param table
+     * @param id
+     * @param hash
+     * @return index of the slot holding the id or the complement of the free slot ending the probe
+     */
+    private static int find(Table table, String id, int hash) {
+        byte tag = tag(hash);
+        int mask = table.tags.length - 1;
+        for (int i = hash >>> table.shift; ; i = (i + 1) & mask) {
+            byte current = (byte) TAGS.getAcquire(table.tags, i);
+            if (current == 0)
+                return ~i;
+            if (current == tag && id.equals(SLOTS.getAcquire(table.ids, i)))
+                return i;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!(key instanceof String id))
+            return null;
+        int hash = hash(id);
+        while (true) {
+            Table current = table;
+            int slot = find(current, id, hash);
+            if (slot < 0)
+                return null;
+            V entity = (V) SLOTS.getAcquire(current.entities, slot);
+            //The id may have been removed and its tombstone reused for another id since the slot was
+            //found, the id is published before the entity so the entity belongs to the id read after it
+            if (id.equals(SLOTS.getAcquire(current.ids, slot)))
+                return entity;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized V put(String id, V value) {
+        return insert(id, value, true);
+    }
+
+    @Override
+    public synchronized V putIfAbsent(String id, V value) {
+        return insert(id, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V insert(String id, V value, boolean replace) {
+        Objects.requireNonNull(id);
+        Objects.requireNonNull(value);
+
+        int hash = hash(id);
+        Table current = table;
+        int slot = find(current, id, hash);
+        if (slot >= 0) {
+            V previous = (V) current.entities[slot];
+            if (replace)
+                SLOTS.setRelease(current.entities, slot, value);
+            return previous;
+        }
+
+        //Reuse the first tombstone of the probe, the id is known to be absent past it
+        slot = reusable(current, hash, ~slot);
+        if (current.tags[slot] == 0) {
+            if (used >= current.threshold) {
+                current = rehash(current);
+                slot = ~find(current, id, hash);
+            }
+            used++;
+        }
+        SLOTS.setRelease(current.ids, slot, id);
+        SLOTS.setRelease(current.entities, slot, value);
+        TAGS.setRelease(current.tags, slot, tag(hash));
+        size = size + 1;
+        return null;
+    }
+
+    /**
+     * First tombstone of the probe of a hash
+     * @param table
+     * @param hash
+     * @param free free slot ending the probe
+     * @return index of the tombstone or the free slot if there is none
+     */
+    private static int reusable(Table table, int hash, int free) {
+        int mask = table.tags.length - 1;
+        for (int i = hash >>> table.shift; i != free; i = (i + 1) & mask) {
+            if (table.tags[i] == TOMBSTONE)
+                return i;
+        }
+        return free;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (!(key instanceof String id))
+            return null;
+        Table current = table;
+        int slot = find(current, id, hash(id));
+        return slot < 0 ? null : delete(current, slot);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        if (!(key instanceof String id))
+            return false;
+        Table current = table;
+        int slot = find(current, id, hash(id));
+        if (slot < 0 || !Objects.equals(current.entities[slot], value))
+            return false;
+        delete(current, slot);
+        return true;
+    }
+
+    /**
+     * Replace the entry of a slot with a tombstone, readers probing past the slot still find the
+     * entries after it
+     * @param table
+     * @param slot
+     * @return the removed entity
+     */
+    @SuppressWarnings("unchecked")
+    private V delete(Table table, int slot) {
+        V previous = (V) table.entities[slot];
+        TAGS.setRelease(table.tags, slot, TOMBSTONE);
+        SLOTS.setRelease(table.entities, slot, null);
+        SLOTS.setRelease(table.ids, slot, null);
+        size = size - 1;
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(INITIAL_CAPACITY);
+        size = 0;
+        used = 0;
+    }
+
+    /**
+     * Copy every entry into a new table and publish it, the table doubles unless dropping the
+     * tombstones frees enough slots
+     * @param current
+     * @return the new table
+     */
+    private Table rehash(Table current) {
+        int capacity = current.tags.length;
+        if (size >= capacity >>> 1) {
+            if (capacity == MAXIMUM_CAPACITY)
+                throw new IllegalStateException("Registry Is Full");
+            capacity <<= 1;
+        }
+
+        Table rehashed = new Table(capacity);
+        int mask = capacity - 1;
+        for (int slot = 0; slot < current.tags.length; slot++) {
+            String id = current.ids[slot];
+            if (id == null)
+                continue;
+            int hash = hash(id);
+            int i = hash >>> rehashed.shift;
+            while (rehashed.tags[i] != 0)
+                i = (i + 1) & mask;
+            rehashed.ids[i] = id;
+            rehashed.entities[i] = current.entities[slot];
+            rehashed.tags[i] = tag(hash);
+        }
+        used = size;
+        table = rehashed;
+        return rehashed;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                Table current = table;
+                return new Iterator<>() {
+                    private Entry<String, V> next = advance(0);
+                    private Entry<String, V> last;
+                    private int slot;
+
+                    //Entries removed while iterating are skipped
+                    @SuppressWarnings("unchecked")
+                    private Entry<String, V> advance(int from) {
+                        for (slot = from; slot < current.tags.length; slot++) {
+                            String id = (String) SLOTS.getAcquire(current.ids, slot);
+                            V value = (V) SLOTS.getAcquire(current.entities, slot);
+                            //A reused slot may pair the id with the entity of another id
+                            if (id != null && value != null && id == SLOTS.getAcquire(current.ids, slot))
+                                return new SimpleImmutableEntry<>(id, value);
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        if (next == null)
+                            throw new NoSuchElementException();
+                        last = next;
+                        next = advance(slot + 1);
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null)
+                            throw new IllegalStateException();
+                        IdRegistry.this.remove(last.getKey(), last.getValue());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
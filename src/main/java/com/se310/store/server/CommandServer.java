@@ -0,0 +1,194 @@
+package com.se310.store.server;
+
+import com.se310.store.command.ScriptReader;
+import com.se310.store.model.CommandException;
+import com.se310.store.model.CommandProcessor;
+import com.se310.store.model.StoreException;
+import com.se310.store.output.ConsoleOutputSink;
+import com.se310.store.output.OutputSink;
+import com.se310.store.output.Verbosity;
+import com.se310.store.proxy.StoreServiceProxy;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TCP listener accepting newline delimited DSL commands in front of the StoreServiceProxy
+ * Every connection is served by its own virtual thread with its own CommandProcessor, so thousands
+ * of POS terminals and sensors can keep connections open without holding a platform thread each.
+ * A connection is issued a token that is registered with the StoreServiceProxy for as long as the
+ * connection is open. The output of every command is streamed back as it is produced and is
+ * terminated by an empty line, so clients can tell where one response ends.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 5310;
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final StoreServiceProxy storeService = StoreServiceProxy.getInstance();
+    private final Verbosity verbosity;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private volatile Thread acceptor;
+
+    /**
+     * Constructor for the CommandServer class listening on the loopback interface
+     * @param port port to listen on, 0 picks a free port
+     * @param verbosity verbosity of the responses
+     * @throws IOException if the port can not be bound
+     */
+    public CommandServer(int port, Verbosity verbosity) throws IOException {
+        this.verbosity = verbosity;
+        this.serverSocket = new ServerSocket();
+        this.serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+    }
+
+    /**
+     * Getter method for the port the server is listening on
+     * @return
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Start accepting connections on a background virtual thread
+     * @return this server for chaining
+     */
+    public CommandServer start() {
+        acceptor = Thread.ofVirtual().name("command-server").start(this::acceptConnections);
+        return this;
+    }
+
+    /**
+     * Stop accepting connections and close every open connection
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        for (Socket socket : connections)
+            closeQuietly(socket);
+
+        Thread thread = acceptor;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                Thread.ofVirtual().name("command-connection-" + connectionCount.incrementAndGet())
+                        .start(() -> serve(socket));
+            } catch (SocketException e) {
+                //Server socket was closed
+                return;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Execute the commands of a single connection until the client disconnects
+     * @param socket
+     */
+    private void serve(Socket socket) {
+        String token = UUID.randomUUID().toString();
+        storeService.registerToken(token);
+
+        try (socket;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+             PrintStream writer = new PrintStream(
+                     new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE), false, StandardCharsets.UTF_8)) {
+
+            OutputSink output = new ConsoleOutputSink(writer, verbosity);
+            CommandProcessor processor = new CommandProcessor(output, token);
+
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!ScriptReader.isCommand(line))
+                    continue;
+
+                try {
+                    processor.processCommand(line);
+                } catch (CommandException e) {
+                    e.setLineNumber(lineNumber);
+                    output.failure(e.getReason() + " for Command: " + e.getCommand()
+                            + " On Line Number: " + e.getLineNumber());
+                } catch (StoreException e) {
+                    output.failure(e.getReason() + " for Command: " + e.getAction());
+                }
+
+                //End of the response
+                writer.println();
+                writer.flush();
+                if (writer.checkError())
+                    break;
+            }
+        } catch (IOException e) {
+            //Client went away, nothing to report back
+        } finally {
+            storeService.revokeToken(token);
+            connections.remove(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //Already closed
+        }
+    }
+
+    /**
+     * Run the server until the JVM is stopped
+     * @param args optional port and verbosity (quiet, results, echo)
+     * @throws IOException if the port can not be bound
+     * @throws InterruptedException
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Verbosity verbosity = args.length > 1 ? Verbosity.valueOf(args[1]) : Verbosity.results;
+
+        CommandServer server = new CommandServer(port, verbosity).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println(">>> Command Server listening on port " + server.getPort());
+
+        //Virtual threads do not keep the JVM alive, wait for the acceptor to stop
+        server.acceptor.join();
+    }
+}
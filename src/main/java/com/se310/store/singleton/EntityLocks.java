@@ -0,0 +1,130 @@
+package com.se310.store.singleton;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks ordering the mutations of the StoreService entity by entity
+ * A mutation locks the stripes of every Store, Customer, Basket, Inventory, Product and Device it
+ * reads or changes, always in ascending stripe order so that mutations never deadlock. Mutations of
+ * unrelated entities run concurrently, mutations sharing an entity run one at a time and append
+ * their journal record while they hold it, so dependent mutations are journaled in the order in
+ * which they took effect.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+final class EntityLocks {
+
+    /**
+     * Entities a mutation works on, resolved again once their stripes are locked
+     */
+    @FunctionalInterface
+    interface Keys {
+        int[] stripes();
+    }
+
+    private static final int STRIPE_BITS = 10;
+
+    private static final int STORE = 1;
+    private static final int CUSTOMER = 2;
+    private static final int BASKET = 3;
+    private static final int INVENTORY = 4;
+    private static final int PRODUCT = 5;
+    private static final int DEVICE = 6;
+
+    private final ReentrantLock[] locks = new ReentrantLock[1 << STRIPE_BITS];
+
+    EntityLocks() {
+        for (int i = 0; i < locks.length; i++)
+            locks[i] = new ReentrantLock();
+    }
+
+    //No entity such as the Store of a Customer that is not in any Store, dropped by of
+    private static final int NONE = -1;
+
+    private static int stripe(int kind, String id) {
+        if (id == null)
+            return NONE;
+        int hash = (id.hashCode() * 31 + kind) * 0x9E3779B9;
+        return hash >>> (Integer.SIZE - STRIPE_BITS);
+    }
+
+    static int store(String storeId) {
+        return stripe(STORE, storeId);
+    }
+
+    static int customer(String customerId) {
+        return stripe(CUSTOMER, customerId);
+    }
+
+    static int basket(String basketId) {
+        return stripe(BASKET, basketId);
+    }
+
+    static int inventory(String inventoryId) {
+        return stripe(INVENTORY, inventoryId);
+    }
+
+    static int product(String productId) {
+        return stripe(PRODUCT, productId);
+    }
+
+    static int device(String deviceId) {
+        return stripe(DEVICE, deviceId);
+    }
+
+    /**
+     * Sort the stripes and drop duplicates and missing entities
+     * @param stripes
+     * @return stripes in locking order
+     */
+    static int[] of(int... stripes) {
+        Arrays.sort(stripes);
+        int unique = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (stripes[i] != NONE && (unique == 0 || stripes[unique - 1] != stripes[i]))
+                stripes[unique++] = stripes[i];
+        }
+        return unique == stripes.length ? stripes : Arrays.copyOf(stripes, unique);
+    }
+
+    /**
+     * Lock the stripes of the entities. Entities found through other entities, such as the Store
+     * a Customer is in, may change until they are locked, so the keys are resolved again under the
+     * locks and locking starts over if they changed
+     * @param keys
+     * @return locked stripes to pass to unlock
+     */
+    int[] lock(Keys keys) {
+        int[] stripes = keys.stripes();
+        while (true) {
+            for (int stripe : stripes)
+                locks[stripe].lock();
+            int[] resolved = keys.stripes();
+            if (Arrays.equals(stripes, resolved))
+                return stripes;
+            unlock(stripes);
+            stripes = resolved;
+        }
+    }
+
+    void unlock(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--)
+            locks[stripes[i]].unlock();
+    }
+
+    /**
+     * Lock every stripe, waiting for the mutations in progress and holding up new ones
+     */
+    void lockAll() {
+        for (ReentrantLock lock : locks)
+            lock.lock();
+    }
+
+    void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--)
+            locks[i].unlock();
+    }
+}
@@ -1,9 +1,17 @@
 package com.se310.store.singleton;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+import com.se310.store.journal.Durability;
+import com.se310.store.journal.Journal;
+import com.se310.store.journal.JournalOperation;
 import com.se310.store.model.*;
+import com.se310.store.registry.IdRegistry;
 
 /**
  * This is the main service of the system implementing ommand API for processing CLI commands and
@@ -16,7 +24,7 @@ import com.se310.store.model.*;
 public class StoreService {
 
     //TODO: Implement Thread Safe Double-Checked Locking Singleton Pattern
-    private static StoreService instance; // singleton instance
+    private static volatile StoreService instance; // singleton instance
     private StoreService() { } // private constructor
 
 
@@ -26,16 +34,23 @@ public class StoreService {
     private static final Map<String, Inventory> inventoryMap;
     private static final Map<String, Basket> basketMap;
     private static final Map<String, Device> deviceMap;
+    private static final InventoryTable inventoryTable;
+    private static final StoreSnapshot snapshot;
 
 
-    // Initialize maps
+    // Initialize maps, concurrent so that independent Stores can be served by separate threads
     static {
-        storeMap = new HashMap<>();
-        customerMap = new HashMap<>();
-        productMap = new HashMap<>();
-        inventoryMap = new HashMap<>();
-        basketMap = new HashMap<>();
-        deviceMap = new HashMap<>();
+        //Compact registries, lock free for readers
+        storeMap = new IdRegistry<>();
+        customerMap = new IdRegistry<>();
+        productMap = new IdRegistry<>();
+        inventoryMap = new IdRegistry<>();
+        basketMap = new IdRegistry<>();
+        deviceMap = new IdRegistry<>();
+        //Columnar state of the Inventory of the model, scanned by the stock reports
+        inventoryTable = new InventoryTable();
+        snapshot = new StoreSnapshot(storeMap, customerMap, productMap, inventoryMap, basketMap, deviceMap,
+                inventoryTable);
     }
 
     // Thread Safe Double-Checked Locking Singleton Accessor
@@ -46,6 +61,7 @@ public class StoreService {
                 result = instance;
                 if (result == null) {
                     result = new StoreService();
+                    result.openConfiguredJournal();
                     instance = result;
                 }
             }
@@ -53,47 +69,402 @@ public class StoreService {
         return result;
     }
 
+    //Journal of the mutations, null when state is kept in memory only
+    private volatile Journal journal;
+    //Set once a mutation took effect that the journal could not record
+    private volatile boolean journalFailed;
+    private final EntityLocks locks = new EntityLocks();
+
+    /**
+     * Mutation of the Store model recorded in the journal
+     */
+    @FunctionalInterface
+    private interface Mutation<T> {
+        T apply() throws StoreException;
+    }
+
+    /**
+     * Open the journal configured through the store.journal (path), store.journal.durability
+     * (sync, group, async) and store.journal.interval (maximum write delay in milliseconds) properties,
+     * starting from the snapshot configured through the store.snapshot (path) property if it exists.
+     * Stores of the snapshot are faulted in on first access if the store.snapshot.lazy property is true
+     */
+    private void openConfiguredJournal() {
+        String file = System.getProperty("store.journal");
+        String snapshotFile = System.getProperty("store.snapshot");
+        boolean lazy = Boolean.getBoolean("store.snapshot.lazy");
+        if (file == null && snapshotFile == null)
+            return;
+        try {
+            if (file == null) {
+                loadSnapshot(Path.of(snapshotFile), lazy);
+                return;
+            }
+            openJournal(Path.of(file), snapshotFile == null ? null : Path.of(snapshotFile), lazy,
+                    Durability.valueOf(System.getProperty("store.journal.durability", "group")),
+                    Long.getLong("store.journal.interval", 5));
+        } catch (IOException e) {
+            //Running on a partly restored state would journal mutations against the wrong state
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restore the state recorded in the journal and record every following mutation in it
+     * @param file
+     * @param durability
+     * @param commitInterval maximum milliseconds records wait before they are written
+     * @throws IOException if the journal can not be read or opened
+     */
+    public synchronized void openJournal(Path file, Durability durability, long commitInterval) throws IOException {
+        openJournal(file, null, false, durability, commitInterval);
+    }
+
+    /**
+     * Restore the state recorded in the snapshot, replay the journal records appended after the
+     * snapshot and record every following mutation in the journal
+     * @param file
+     * @param snapshotFile snapshot to start from, the whole journal is replayed if it is null or does not exist
+     * @param lazy fault in the Stores of the snapshot on first access
+     * @param durability
+     * @param commitInterval maximum milliseconds records wait before they are written
+     * @throws IOException if the snapshot or the journal can not be read or opened
+     */
+    public synchronized void openJournal(Path file, Path snapshotFile, boolean lazy, Durability durability,
+                                         long commitInterval) throws IOException {
+        if (journal != null)
+            throw new IllegalStateException("Journal Already Open");
+        long position = snapshotFile != null && Files.exists(snapshotFile) ? loadSnapshot(snapshotFile, lazy) : 0;
+        //Replayed mutations are not journaled again since the journal is attached after the replay
+        Journal opened = Journal.open(file, durability, commitInterval, position, this::replay);
+        locks.lockAll();
+        try {
+            journal = opened;
+        } finally {
+            locks.unlockAll();
+        }
+    }
+
+    /**
+     * Restore the state recorded in a snapshot into an empty Store model. A lazily loaded Store is
+     * read from the snapshot the first time it, its Inventory, its Devices or its Customers are used
+     * @param snapshotFile
+     * @param lazy fault in the Stores of the snapshot on first access
+     * @return journal position covered by the snapshot
+     * @throws IOException if the snapshot can not be read
+     */
+    public synchronized long loadSnapshot(Path snapshotFile, boolean lazy) throws IOException {
+        return snapshot.load(snapshotFile, lazy);
+    }
+
+    /**
+     * Write a snapshot of the Store model. Mutations wait only while the model is encoded in memory,
+     * forcing the journal it covers and writing the snapshot happen on a background thread
+     * @param snapshotFile
+     * @return completes with the snapshot file once it is on disk
+     */
+    public CompletableFuture<Path> writeSnapshot(Path snapshotFile) {
+        //Stores still in a lazily loaded snapshot are faulted in before writers are held up
+        snapshot.faultInAll();
+        Journal current;
+        byte[] image;
+        locks.lockAll();
+        try {
+            current = journal;
+            image = snapshot.capture(current == null ? 0 : current.position());
+        } finally {
+            locks.unlockAll();
+        }
+
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        Thread.ofVirtual().name("snapshot-writer").start(() -> {
+            try {
+                //The journal has to hold every record the snapshot covers before the snapshot replaces the old one
+                if (current != null)
+                    current.force();
+                StoreSnapshot.write(snapshotFile, image);
+                written.complete(snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                written.completeExceptionally(e);
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Write the remaining journal records to disk and stop journaling
+     * @throws IOException
+     */
+    public synchronized void closeJournal() throws IOException {
+        Journal current;
+        locks.lockAll();
+        try {
+            current = journal;
+            journal = null;
+        } finally {
+            locks.unlockAll();
+        }
+        if (current != null)
+            current.close();
+    }
+
+    /**
+     * Apply a mutation and record it in the journal. Mutations are applied and appended holding the
+     * locks of the entities they work on, so that mutations of the same entities are journaled in
+     * the order in which they took effect while mutations of other entities run concurrently.
+     * The record is encoded before the mutation is applied, so a mutation that can not be journaled
+     * leaves the model unchanged. Waiting for the record to become durable happens outside of the
+     * locks. Once a record that took effect fails to be appended or committed, the model holds
+     * changes the journal does not, so the service rejects every following mutation
+     * @param operation
+     * @param keys entities the mutation reads or changes
+     * @param mutation
+     * @param fields arguments of the mutation
+     * @return result of the mutation
+     * @throws StoreException if the mutation fails or can not be journaled
+     */
+    private <T> T journaled(JournalOperation operation, EntityLocks.Keys keys, Mutation<T> mutation,
+                            String... fields) throws StoreException {
+        checkJournal();
+        Journal current;
+        T result;
+        long sequence = 0;
+        int[] stripes = locks.lock(keys);
+        try {
+            current = journal;
+            byte[] record = current == null ? null : Journal.encode(operation, fields);
+            result = mutation.apply();
+            if (current != null) {
+                try {
+                    sequence = current.append(record);
+                } catch (RuntimeException e) {
+                    throw journalFailed();
+                }
+            }
+        } finally {
+            locks.unlock(stripes);
+        }
+        if (current != null) {
+            try {
+                current.commit(sequence);
+            } catch (StoreException e) {
+                throw journalFailed();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reject mutations once the journal failed to record a mutation that took effect
+     * @throws StoreException
+     */
+    private void checkJournal() throws StoreException {
+        if (journalFailed)
+            throw new StoreException("Journal", "Journal Failed, Store Service Accepts No Mutations");
+    }
+
+    private StoreException journalFailed() {
+        journalFailed = true;
+        return new StoreException("Journal", "Journal Write Failed, Store Service Accepts No Mutations");
+    }
+
+    private static String idOf(Store store) {
+        return store == null ? null : store.getId();
+    }
+
+    private static String storeIdOf(StoreLocation location) {
+        return location == null ? null : location.getStoreId();
+    }
+
+    /**
+     * Entities an update of an Inventory works on, the Inventory and the Store holding it
+     * @param inventoryId
+     * @return
+     */
+    private int[] inventoryKeys(String inventoryId) {
+        Inventory inventory = lookupInventory(inventoryId);
+        return EntityLocks.of(EntityLocks.inventory(inventoryId),
+                EntityLocks.store(inventory == null ? null : inventory.getInventoryLocation().getStoreId()));
+    }
+
+    /**
+     * Entities a move of a Customer works on, the Customer, the Stores it moves between and the
+     * Basket it clears on the way
+     * @param customerId
+     * @param storeId
+     * @return
+     */
+    private static int[] customerKeys(String customerId, String storeId) {
+        Customer customer = customerMap.get(customerId);
+        if (customer == null)
+            return EntityLocks.of(EntityLocks.customer(customerId), EntityLocks.store(storeId));
+        Basket basket = customer.getBasket();
+        return EntityLocks.of(EntityLocks.customer(customerId), EntityLocks.store(storeId),
+                EntityLocks.store(storeIdOf(customer.getStoreLocation())), EntityLocks.store(idOf(customer.getStore())),
+                EntityLocks.basket(basket == null ? null : basket.getId()),
+                EntityLocks.store(basket == null ? null : idOf(basket.getStore())));
+    }
+
+    /**
+     * Entities an assignment of a Basket works on, the Customer, the Basket, the Customer the Basket
+     * belonged to and their Stores
+     * @param customerId
+     * @param basketId
+     * @return
+     */
+    private static int[] assignmentKeys(String customerId, String basketId) {
+        Customer customer = customerMap.get(customerId);
+        Basket basket = basketMap.get(basketId);
+        Customer previous = basket == null ? null : basket.getCustomer();
+        return EntityLocks.of(EntityLocks.customer(customerId), EntityLocks.basket(basketId),
+                EntityLocks.store(customer == null ? null : storeIdOf(customer.getStoreLocation())),
+                EntityLocks.customer(previous == null ? null : previous.getId()),
+                EntityLocks.store(basket == null ? null : idOf(basket.getStore())));
+    }
+
+    /**
+     * Entities a change of a Basket works on, the Basket, the Product, the Customer of the Basket and
+     * the Store whose shelves it takes from
+     * @param basketId
+     * @param productId null when the change is not about one Product
+     * @return
+     */
+    private static int[] basketKeys(String basketId, String productId) {
+        Basket basket = basketMap.get(basketId);
+        Customer customer = basket == null ? null : basket.getCustomer();
+        return EntityLocks.of(EntityLocks.basket(basketId), EntityLocks.product(productId),
+                EntityLocks.customer(customer == null ? null : customer.getId()),
+                EntityLocks.store(customer == null ? null : storeIdOf(customer.getStoreLocation())),
+                EntityLocks.store(basket == null ? null : idOf(basket.getStore())));
+    }
+
+    /**
+     * Look up a Store, faulting it in from a lazily loaded snapshot
+     * @param storeId
+     * @return the Store, null if it does not exist
+     */
+    private Store lookupStore(String storeId) {
+        Store store = storeMap.get(storeId);
+        return store != null || !snapshot.isPending() ? store : snapshot.faultInStore(storeId);
+    }
+
+    /**
+     * Look up an Inventory, faulting its Store in from a lazily loaded snapshot
+     * @param inventoryId
+     * @return the Inventory, null if it does not exist
+     */
+    private Inventory lookupInventory(String inventoryId) {
+        Inventory inventory = inventoryMap.get(inventoryId);
+        return inventory != null || !snapshot.isPending() ? inventory : snapshot.faultInInventory(inventoryId);
+    }
+
+    /**
+     * Look up a Device, faulting its Store in from a lazily loaded snapshot
+     * @param deviceId
+     * @return the Device, null if it does not exist
+     */
+    private Device lookupDevice(String deviceId) {
+        Device device = deviceMap.get(deviceId);
+        return device != null || !snapshot.isPending() ? device : snapshot.faultInDevice(deviceId);
+    }
+
+    /**
+     * Look up a Basket, faulting its Store in from a lazily loaded snapshot
+     * @param basketId
+     * @return the Basket, null if it does not exist
+     */
+    private Basket lookupBasket(String basketId) {
+        return resolveBasket(basketMap.get(basketId));
+    }
+
+    private static Basket resolveBasket(Basket basket) {
+        if (basket != null && basket.getStore() == null && snapshot.isPending())
+            snapshot.faultInBasketStore(basket);
+        return basket;
+    }
+
+    /**
+     * Apply a mutation replayed from the journal
+     * @param operation
+     * @param fields
+     * @throws StoreException
+     */
+    private void replay(JournalOperation operation, String[] fields) throws StoreException {
+        switch (operation) {
+            case provision_store -> provisionStore(fields[0], fields[1], fields[2], null);
+            case provision_aisle -> provisionAisle(fields[0], fields[1], fields[2], fields[3],
+                    AisleLocation.valueOf(fields[4]), null);
+            case provision_shelf -> provisionShelf(fields[0], fields[1], fields[2], fields[3],
+                    ShelfLevel.valueOf(fields[4]), fields[5], Temperature.valueOf(fields[6]), null);
+            case provision_inventory -> provisionInventory(fields[0], fields[1], fields[2], fields[3],
+                    Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), fields[6],
+                    InventoryType.valueOf(fields[7]), null);
+            case update_inventory -> updateInventory(fields[0], Integer.parseInt(fields[1]), null);
+            case provision_product -> provisionProduct(fields[0], fields[1], fields[2], fields[3], fields[4],
+                    Double.parseDouble(fields[5]), Temperature.valueOf(fields[6]), null);
+            case provision_customer -> provisionCustomer(fields[0], fields[1], fields[2],
+                    CustomerType.valueOf(fields[3]), fields[4], fields[5], null);
+            case update_customer -> updateCustomer(fields[0], fields[1], fields[2], null);
+            case provision_basket -> provisionBasket(fields[0], null);
+            case assign_basket -> assignCustomerBasket(fields[0], fields[1], null);
+            case add_basket_product -> addBasketProduct(fields[0], fields[1], Integer.parseInt(fields[2]), null);
+            case remove_basket_product -> removeBasketProduct(fields[0], fields[1], Integer.parseInt(fields[2]), null);
+            case clear_basket -> clearBasket(fields[0], null);
+            case provision_device -> provisionDevice(fields[0], fields[1], fields[2], fields[3], fields[4], null);
+        }
+    }
+
 
     public Store provisionStore(String storeId, String name, String address, String token)
             throws StoreException {
+        return journaled(JournalOperation.provision_store, () -> EntityLocks.of(EntityLocks.store(storeId)), () -> {
 
-        Store store = new Store(storeId, name, address);
+            Store store = new Store(storeId, name, address);
 
-        //If Store already exists throw and exception
-        if (storeMap.putIfAbsent(storeId, store) != null) {
-            throw new StoreException("Provision Store", "Store Already Exists");
-        }
-        return store;
+            //If Store already exists throw and exception, it may still be in a lazily loaded snapshot
+            if (lookupStore(storeId) != null || storeMap.putIfAbsent(storeId, store) != null) {
+                throw new StoreException("Provision Store", "Store Already Exists");
+            }
+            return store;
+        }, storeId, name, address);
     }
 
     public Store showStore(String storeId, String token) throws StoreException {
 
         //If Store does not exist throw and exception
-        Store store = storeMap.get(storeId);
+        Store store = lookupStore(storeId);
         if(store == null)
             throw new StoreException("Show Store", "Store Does Not Exist");
 
         return store;
     }
 
+    public Page<?> showStore(String storeId, Projection projection, String after, int limit, String token)
+            throws StoreException {
+        checkPageLimit(limit, "Show Store");
+        return showStore(storeId, token).page(projection, after, limit);
+    }
+
     public Aisle provisionAisle(String storeId, String aisleNumber, String name, String description,
                                 AisleLocation location, String token) throws StoreException {
+        return journaled(JournalOperation.provision_aisle, () -> EntityLocks.of(EntityLocks.store(storeId)), () -> {
 
-        Store store = storeMap.get(storeId);
-        Aisle aisle;
+            Store store = lookupStore(storeId);
+            Aisle aisle;
 
-        //Check to see if Store already exists;
-        if(store == null){
-            throw new StoreException("Provision Aisle", "Store Does Not Exist");
-        } else {
-            aisle = store.addAisle(aisleNumber, name, description, location);
-        }
+            //Check to see if Store already exists;
+            if(store == null){
+                throw new StoreException("Provision Aisle", "Store Does Not Exist");
+            } else {
+                aisle = store.addAisle(aisleNumber, name, description, location);
+            }
 
-        return aisle;
+            return aisle;
+        }, storeId, aisleNumber, name, description, location.name());
     }
 
     public Aisle showAisle(String storeId, String aisleNumber, String token) throws StoreException {
-        Store store = storeMap.get(storeId);
+        Store store = lookupStore(storeId);
         Aisle aisle;
         //Check to see if Store exists
         if(store == null){
@@ -108,36 +479,44 @@ public class StoreService {
         return aisle;
     }
 
+    public Page<Shelf> showAisle(String storeId, String aisleNumber, Projection projection, String after,
+                                 int limit, String token) throws StoreException {
+        checkPageLimit(limit, "Show Aisle");
+        return showAisle(storeId, aisleNumber, token).page(projection, after, limit);
+    }
+
     public Shelf provisionShelf(String storeId, String aisleNumber, String shelfId, String name,
                                 ShelfLevel level, String description, Temperature temperature, String token) throws StoreException {
+        return journaled(JournalOperation.provision_shelf, () -> EntityLocks.of(EntityLocks.store(storeId)), () -> {
 
-        Store store = storeMap.get(storeId);
-        Shelf shelf;
+            Store store = lookupStore(storeId);
+            Shelf shelf;
 
-        //Check to see if Store exists
-        if(store == null){
-            throw new StoreException("Provision Shelf", "Store Does Not Exist");
-        } else {
-            Aisle aisle = store.getAisle(aisleNumber);
-            //Check to see if Aisle exists
-            if (aisle == null){
-                throw new StoreException("Provision Shelf", "Aisle Does Not Exist");
+            //Check to see if Store exists
+            if(store == null){
+                throw new StoreException("Provision Shelf", "Store Does Not Exist");
             } else {
-                shelf = aisle.getShelf(shelfId);
-                //Check to see if Shelf exists
-                if(shelf != null){
-                    throw new StoreException("Provision Shelf", "Shelf Already Exists");
-                }
+                Aisle aisle = store.getAisle(aisleNumber);
+                //Check to see if Aisle exists
+                if (aisle == null){
+                    throw new StoreException("Provision Shelf", "Aisle Does Not Exist");
+                } else {
+                    shelf = aisle.getShelf(shelfId);
+                    //Check to see if Shelf exists
+                    if(shelf != null){
+                        throw new StoreException("Provision Shelf", "Shelf Already Exists");
+                    }
 
-                //Add Shelf to the Aisle
-                shelf = aisle.addShelf(shelfId, name, level, description, temperature);
+                    //Add Shelf to the Aisle
+                    shelf = aisle.addShelf(shelfId, name, level, description, temperature);
+                }
             }
-        }
-        return shelf;
+            return shelf;
+        }, storeId, aisleNumber, shelfId, name, level.name(), description, temperature.name());
     }
 
     public Shelf showShelf(String storeId, String aisleNumber, String shelfId, String token) throws StoreException {
-        Store store = storeMap.get(storeId);
+        Store store = lookupStore(storeId);
         Shelf shelf;
 
         //Check to see if Store exists
@@ -159,81 +538,143 @@ public class StoreService {
         return shelf;
     }
 
+    public Page<Inventory> showShelf(String storeId, String aisleNumber, String shelfId, Projection projection,
+                                     String after, int limit, String token) throws StoreException {
+        checkPageLimit(limit, "Show Shelf");
+        return showShelf(storeId, aisleNumber, shelfId, token).page(projection, after, limit);
+    }
+
+    private static void checkPageLimit(int limit, String action) throws StoreException {
+        if (limit < 1)
+            throw new StoreException(action, "Page Limit Must Be Positive");
+    }
+
     public Inventory provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
                                         int capacity, int count, String productId, InventoryType type, String token) throws StoreException {
+        return journaled(JournalOperation.provision_inventory, () -> EntityLocks.of(EntityLocks.store(storeId),
+                EntityLocks.inventory(inventoryId), EntityLocks.product(productId)), () -> {
 
-        Store store = storeMap.get(storeId);
-        Product product = productMap.get(productId);
-        Inventory inventory;
+            Store store = lookupStore(storeId);
+            Product product = productMap.get(productId);
+            Inventory inventory;
 
-        //Check to see if Store exists
-        if(store == null){
-            throw new StoreException("Provision Inventory", "Store Does Not Exist");
-        } else {
-            //Check to see if Aisle exists
-            Aisle aisle = store.getAisle(aisleNumber);
-            if (aisle == null){
-                throw new StoreException("Provision Inventory", "Aisle Does Not Exist");
+            //Check to see if Store exists
+            if(store == null){
+                throw new StoreException("Provision Inventory", "Store Does Not Exist");
             } else {
-                //Check to see if Shelf exists
-                Shelf shelf = aisle.getShelf(shelfId);
-                if(shelf == null){
-                    throw new StoreException("Provision Inventory", "Shelf Does Not Exist");
-                } else if(product == null){
-                    //Check to see if Product exists
-                    throw new StoreException("Provision Inventory", "Product Does Not Exist");
-                } else if(!shelf.getTemperature().equals(product.getTemperature())){
-                    //Make sure that Product Temperature and Shelf Temperature are consistent
-                    throw new StoreException("Provision Inventory", "Product and Shelf Temperature " +
-                            "Is Not Consistent");
-                }
+                //Check to see if Aisle exists
+                Aisle aisle = store.getAisle(aisleNumber);
+                if (aisle == null){
+                    throw new StoreException("Provision Inventory", "Aisle Does Not Exist");
+                } else {
+                    //Check to see if Shelf exists
+                    Shelf shelf = aisle.getShelf(shelfId);
+                    if(shelf == null){
+                        throw new StoreException("Provision Inventory", "Shelf Does Not Exist");
+                    } else if(product == null){
+                        //Check to see if Product exists
+                        throw new StoreException("Provision Inventory", "Product Does Not Exist");
+                    } else if(!shelf.getTemperature().equals(product.getTemperature())){
+                        //Make sure that Product Temperature and Shelf Temperature are consistent
+                        throw new StoreException("Provision Inventory", "Product and Shelf Temperature " +
+                                "Is Not Consistent");
+                    }
+
+                    //Inventory of a lazily loaded snapshot is not in the global Inventory Map yet
+                    if (snapshot.isPending() && lookupInventory(inventoryId) != null)
+                        throw new StoreException("Provision Inventory", "Inventory Already Exists");
 
-                //Add Inventory to the Shelf
-                inventory = shelf.addInventory(inventoryId, storeId, aisleNumber, shelfId,
-                        capacity, count, productId, type);
+                    //Add Inventory to the Shelf
+                    inventory = shelf.addInventory(inventoryTable, inventoryId, storeId, aisleNumber, shelfId,
+                            capacity, count, productId, type);
 
-                //Add Inventory to the global Inventory Map
-                inventoryMap.put(inventoryId, inventory);
+                    //Add Inventory to the global Inventory Map, a concurrent provision of the same
+                    //Inventory on another Shelf may have won
+                    if (inventoryMap.putIfAbsent(inventoryId, inventory) != null) {
+                        shelf.removeInventory(inventory);
+                        throw new StoreException("Provision Inventory", "Inventory Already Exists");
+                    }
 
-                //Add Inventory to the Store
-                store.addInventory(inventory);
+                    //Add Inventory to the Store
+                    store.addInventory(inventory);
 
+                }
             }
-        }
 
-        return inventory;
+            return inventory;
+        }, inventoryId, storeId, aisleNumber, shelfId, Integer.toString(capacity),
+                Integer.toString(count), productId, type.name());
     }
 
     public Inventory showInventory(String inventoryId, String token) throws StoreException {
 
-        Inventory inventory = inventoryMap.get(inventoryId);
+        Inventory inventory = lookupInventory(inventoryId);
         //Check to see if Inventory exists
         if (inventory == null)
             throw new StoreException("Show Inventory", "Inventory Does Not Exist");
         return inventory;
     }
 
+    /**
+     * Method for totalling the count of a Product on the shelves of every Store
+     * @param productId
+     * @param token
+     * @return
+     * @throws StoreException
+     */
+    public long showProductStock(String productId, String token) throws StoreException {
+        //Check to see if Product exists
+        if (productMap.get(productId) == null)
+            throw new StoreException("Show Product Stock", "Product Does Not Exist");
+
+        //Inventory of Stores not faulted in yet has no row to scan
+        if (snapshot.isPending())
+            snapshot.faultInAll();
+        return inventoryTable.totalCount(productId);
+    }
+
+    /**
+     * Method for listing Inventory on the shelves of every Store whose count is below a share of its capacity
+     * @param percent share of the capacity in percent
+     * @param token
+     * @return ids of the Inventory
+     * @throws StoreException
+     */
+    public List<String> showLowStock(int percent, String token) throws StoreException {
+        if (percent < 0 || percent > 100)
+            throw new StoreException("Show Low Stock", "Percent Is Smaller Than 0 or Larger Than 100");
+
+        if (snapshot.isPending())
+            snapshot.faultInAll();
+        return inventoryTable.lowStock(percent);
+    }
+
     public Inventory updateInventory(String inventoryId, int count, String token) throws StoreException {
-        Inventory inventory = inventoryMap.get(inventoryId);
-        //Check to see if Inventory exists
-        if (inventory == null)
-            throw new StoreException("Update Inventory", "Inventory Does Not Exist");
+        return journaled(JournalOperation.update_inventory, () -> inventoryKeys(inventoryId), () -> {
+            Inventory inventory = lookupInventory(inventoryId);
+            //Check to see if Inventory exists
+            if (inventory == null)
+                throw new StoreException("Update Inventory", "Inventory Does Not Exist");
 
-        //Update Inventory count
-        inventory.updateInventory(count); 
+            //Update Inventory count
+            inventory.updateInventory(count); 
 
-        return inventory;
+            return inventory;
+        }, inventoryId, Integer.toString(count));
     }
 
     public Product provisionProduct(String productId, String name, String description, String size, String category,
                                     double price, Temperature temperature, String token) throws StoreException {
-        Product product = new Product(productId, name, description, size, category, price, temperature);
+        return journaled(JournalOperation.provision_product, () -> EntityLocks.of(EntityLocks.product(productId)), () -> {
+            Product product = new Product(productId, name, description, size, category, price, temperature);
 
-        //Check to see if Product already exists
-        if (productMap.putIfAbsent(productId, product) != null)
-            throw new StoreException("Provision Product", "Product Already Exists");
+            //Check to see if Product already exists
+            if (productMap.putIfAbsent(productId, product) != null)
+                throw new StoreException("Provision Product", "Product Already Exists");
 
-        return product;
+            return product;
+        }, productId, name, description, size, category, Double.toString(price),
+                temperature.name());
     }
 
     public Product showProduct(String productId, String token) throws StoreException {
@@ -248,66 +689,75 @@ public class StoreService {
     public Customer provisionCustomer(String customerId, String firstName, String lastName,
                                       CustomerType type, String email, String address, String token)
             throws StoreException {
+        return journaled(JournalOperation.provision_customer, () -> EntityLocks.of(EntityLocks.customer(customerId)),
+                () -> {
 
-        Customer customer = new Customer(customerId, firstName, lastName, type, email, address);
-        //Check to see if the Customer already exists
-        if(customerMap.putIfAbsent(customerId, customer) != null)
-            throw new StoreException("Provision Customer", "Customer Already Exists");
+            Customer customer = new Customer(customerId, firstName, lastName, type, email, address);
+            //Check to see if the Customer already exists
+            if(customerMap.putIfAbsent(customerId, customer) != null)
+                throw new StoreException("Provision Customer", "Customer Already Exists");
 
-        return customer;
+            return customer;
+        }, customerId, firstName, lastName, type.name(), email, address);
     }
 
     public Customer updateCustomer(String customerId, String storeId, String aisleNumber, String token)
             throws StoreException {
-        Store store = storeMap.get(storeId);
-        Customer customer;
+        return journaled(JournalOperation.update_customer, () -> customerKeys(customerId, storeId), () -> {
+            Store store = lookupStore(storeId);
+            Customer customer;
 
-        //Check to see if the Store exists
-        if(store == null){
-            throw new StoreException("Update Customer", "Store Does Not Exist");
-        } else {
-            //Check to see if Aisle exists
-            Aisle aisle = store.getAisle(aisleNumber);
-            if (aisle == null){
-                throw new StoreException("Update Customer", "Aisle Does Not Exist");
+            //Check to see if the Store exists
+            if(store == null){
+                throw new StoreException("Update Customer", "Store Does Not Exist");
             } else {
-                //Check to see if Customer exists
-                customer = customerMap.get(customerId);
-                if(customer == null){
-                    throw new StoreException("Update Customer", "Customer Does Not Exist");
+                //Check to see if Aisle exists
+                Aisle aisle = store.getAisle(aisleNumber);
+                if (aisle == null){
+                    throw new StoreException("Update Customer", "Aisle Does Not Exist");
+                } else {
+                    //Check to see if Customer exists
+                    customer = customerMap.get(customerId);
+                    if(customer == null){
+                        throw new StoreException("Update Customer", "Customer Does Not Exist");
+                    }
                 }
             }
-        }
-
-        //Check to see if Customer changing Stores
-        if(customer.getStoreLocation() != null && !customer.getStoreLocation().getStoreId().equals(storeId)){
-            //Check to see if Customer already exists in other Stores
-            Map<Store, Customer> customerStores  = storeMap.entrySet()
-                    .stream()
-                    .filter(tempStore -> (tempStore.getValue().getCustomer(customerId) != null && tempStore.getValue().getCustomer(customerId).getId().equals(customerId)))
-                    .collect(Collectors.toMap(Map.Entry::getValue, tempStore -> tempStore.getValue().
-                            getCustomer(customerId)));
-
-            //If Customer exist in other stores remove him/her
-            customerStores.forEach((key, value) -> key.removeCustomer(customer));
-
-            //Before Customer can change the Store he/she must clear the Basket
-            if(customer.getBasket() != null)
-                customer.getBasket().clearBasket();
-
-            //If the Customer moves to a different Store clear out the basket and the time seen
-            customer.assignBasket(null);
-            customer.setLastSeen(null);
-
-            //Add Customer to another store
-            store.addCustomer(customer);
-        } else {
 
-            customer.setStoreLocation(new StoreLocation(storeId, aisleNumber));
-            customer.setLastSeen(new Date(System.currentTimeMillis()));
-        }
+            //Moves of the same Customer from several connections are applied one at a time
+            synchronized (customer) {
+                //Check to see if Customer changing Stores
+                if(customer.getStoreLocation() != null && !customer.getStoreLocation().getStoreId().equals(storeId)){
+                    //Store of a lazily loaded snapshot the Customer is in has to be loaded first
+                    if (snapshot.isPending())
+                        snapshot.faultInCustomerStores(customerId);
+
+                    //Before Customer can change the Store he/she must clear the Basket, the Basket is
+                    //cleared first so that a Basket that can not be cleared leaves the Customer unchanged
+                    if(customer.getBasket() != null)
+                        resolveBasket(customer.getBasket()).clearBasket();
+
+                    //If Customer is in another Store remove him/her
+                    Store current = customer.getStore();
+                    if (current != null)
+                        current.removeCustomer(customer);
+
+                    //If the Customer moves to a different Store clear out the basket and the time seen
+                    customer.assignBasket(null);
+                    customer.setLastSeen(null);
+
+                    //Add Customer to another store
+                    store.addCustomer(customer);
+                    customer.setStoreLocation(new StoreLocation(storeId, aisleNumber));
+                } else {
+
+                    customer.setStoreLocation(new StoreLocation(storeId, aisleNumber));
+                    customer.setLastSeen(new Date(System.currentTimeMillis()));
+                }
+            }
 
-        return customer;
+            return customer;
+        }, customerId, storeId, aisleNumber);
     }
 
     public Customer showCustomer(String customerId, String token) throws StoreException {
@@ -321,43 +771,50 @@ public class StoreService {
     }
 
     public Basket provisionBasket(String basketId, String token) throws StoreException {
+        return journaled(JournalOperation.provision_basket, () -> EntityLocks.of(EntityLocks.basket(basketId)), () -> {
 
-        Basket basket = new Basket(basketId);
-        //Check if Basket already exists
-        if(basketMap.putIfAbsent(basketId, basket) != null)
-            throw new StoreException("Provision Basket", "Basket Already Exists");
+            Basket basket = new Basket(basketId);
+            //Check if Basket already exists
+            if(basketMap.putIfAbsent(basketId, basket) != null)
+                throw new StoreException("Provision Basket", "Basket Already Exists");
 
-        return basket;
+            return basket;
+        }, basketId);
     }
 
     public Basket assignCustomerBasket(String customerId, String basketId, String token) throws StoreException {
+        return journaled(JournalOperation.assign_basket, () -> assignmentKeys(customerId, basketId), () -> {
 
-        Customer customer = customerMap.get(customerId);
-        Basket basket = basketMap.get(basketId);
+            Customer customer = customerMap.get(customerId);
+            Basket basket = lookupBasket(basketId);
 
-        //Check to see Customer and the Basket already exist
-        if(customer == null){
-            throw new StoreException("Assign Customer Basket", "Customer Does Not Exist");
-        } else {
-            if (basket == null){
-                throw new StoreException("Assign Customer Basket", "Basket Does Not Exist");
+            //Check to see Customer and the Basket already exist
+            if(customer == null){
+                throw new StoreException("Assign Customer Basket", "Customer Does Not Exist");
+            } else {
+                if (basket == null){
+                    throw new StoreException("Assign Customer Basket", "Basket Does Not Exist");
+                }
             }
-        }
 
-        //Assign Basket to the Customer
-        customer.assignBasket(basket);
-        //Keep the global copy of all the baskets
-        basketMap.put(basketId, basket);
+            Store store = lookupStore(customer.getStoreLocation().getStoreId());
 
-        Store store = storeMap.get(customerMap.get(customerId).getStoreLocation().getStoreId());
+            //Assignments of the same Basket from several connections are applied one at a time
+            synchronized (basket) {
+                //Create bidirectional association between Store and the Basket, first since it is the
+                //only step that can fail
+                store.addBasket(basket);
+                basket.setStore(store);
 
-        //Associate basket with the customer
-        basket.setCustomer(customer);
-        //Create bidirectional association between Store and the Basket
-        basket.setStore(store);
-        store.addBasket(basket);
+                //Assign Basket to the Customer
+                customer.assignBasket(basket);
 
-        return basket;
+                //Associate basket with the customer
+                basket.setCustomer(customer);
+            }
+
+            return basket;
+        }, customerId, basketId);
     }
 
     public Basket getCustomerBasket(String customerId, String token) throws StoreException {
@@ -379,60 +836,66 @@ public class StoreService {
 
     public Basket addBasketProduct(String basketId, String productId, int count, String token)
             throws StoreException {
-        Basket basket = basketMap.get(basketId);
-        Product product = productMap.get(productId);
-
-        //Check to see if basket already exists product we are trying to add to the basket
-        //exists as well and basket has been assigned to the customer
-        if(basket == null){
-            throw new StoreException("Add Basket Product", "Basket Does Not Exist");
-        } else if(product == null){
-            throw new StoreException("Add Basket Product", "Product Does Not Exist");
-        } else if(basket.getCustomer() == null){
-            throw new StoreException("Add Basket Product", "Basket Has Not Being Assigned");
-        }
-        //Add a product to the basket
-        basket.addProduct(productId, count);
+        return journaled(JournalOperation.add_basket_product, () -> basketKeys(basketId, productId), () -> {
+            Basket basket = lookupBasket(basketId);
+            Product product = productMap.get(productId);
+
+            //Check to see if basket already exists product we are trying to add to the basket
+            //exists as well and basket has been assigned to the customer
+            if(basket == null){
+                throw new StoreException("Add Basket Product", "Basket Does Not Exist");
+            } else if(product == null){
+                throw new StoreException("Add Basket Product", "Product Does Not Exist");
+            } else if(basket.getCustomer() == null){
+                throw new StoreException("Add Basket Product", "Basket Has Not Being Assigned");
+            }
+            //Add a product to the basket
+            basket.addProduct(productId, count);
 
-        return basket;
+            return basket;
+        }, basketId, productId, Integer.toString(count));
     }
 
     public Basket removeBasketProduct(String basketId, String productId, int count, String token) throws StoreException {
-        Basket basket = basketMap.get(basketId);
-        Product product = productMap.get(productId);
-
-        //Check to see if basket already exists product we are trying to add to the basket
-        //exists as well and basket has been assigned to the customer
-        if(basket == null){
-            throw new StoreException("Remove Basket Product", "Basket Does Not Exist");
-        } else if(product == null){
-            throw new StoreException("Remove Basket Product", "Product Does Not Exist");
-        } else if(basket.getCustomer() == null){
-            throw new StoreException("Remove Basket Product", "Basket Has Not Being Assigned");
-        }
-        //Remove product from the basket
-        basket.removeProduct(productId, count);
+        return journaled(JournalOperation.remove_basket_product, () -> basketKeys(basketId, productId), () -> {
+            Basket basket = lookupBasket(basketId);
+            Product product = productMap.get(productId);
+
+            //Check to see if basket already exists product we are trying to add to the basket
+            //exists as well and basket has been assigned to the customer
+            if(basket == null){
+                throw new StoreException("Remove Basket Product", "Basket Does Not Exist");
+            } else if(product == null){
+                throw new StoreException("Remove Basket Product", "Product Does Not Exist");
+            } else if(basket.getCustomer() == null){
+                throw new StoreException("Remove Basket Product", "Basket Has Not Being Assigned");
+            }
+            //Remove product from the basket
+            basket.removeProduct(productId, count);
 
-        return basket;
+            return basket;
+        }, basketId, productId, Integer.toString(count));
     }
 
     public Basket clearBasket(String basketId, String token) throws StoreException {
+        return journaled(JournalOperation.clear_basket, () -> basketKeys(basketId, null), () -> {
 
-        Basket basket = basketMap.get(basketId);
+            Basket basket = lookupBasket(basketId);
 
-        //Check to see if basket already exists and basket has been assigned to the customer
-        if(basket == null){
-            throw new StoreException("Clear Basket", "Basket Does Not Exist");
-        } else if(basket.getCustomer() == null){
-            throw new StoreException("Clear Basket", "Basket Has Not Being Assigned");
-        }
-        basket.clearBasket();
+            //Check to see if basket already exists and basket has been assigned to the customer
+            if(basket == null){
+                throw new StoreException("Clear Basket", "Basket Does Not Exist");
+            } else if(basket.getCustomer() == null){
+                throw new StoreException("Clear Basket", "Basket Has Not Being Assigned");
+            }
+            basket.clearBasket();
 
-        return basket;
+            return basket;
+        }, basketId);
     }
 
     public Basket showBasket(String basketId, String token) throws StoreException {
-        Basket basket = basketMap.get(basketId);
+        Basket basket = lookupBasket(basketId);
 
         //Check to see if basket already exists and basket has been assigned to the customer
         if(basket == null){
@@ -446,53 +909,62 @@ public class StoreService {
 
     public Device provisionDevice(String deviceId, String name, String deviceType, String storeId,
                                   String aisleNumber, String token) throws StoreException {
+        return journaled(JournalOperation.provision_device, () -> EntityLocks.of(EntityLocks.device(deviceId),
+                EntityLocks.store(storeId)), () -> {
 
-        Store store = storeMap.get(storeId);
-        Device device;
-        StoreLocation storeLocation;
-
-        //Check to see if store exists
-        if(store == null){
-            throw new StoreException("Provision Device", "Store Does Not Exist");
-        } else {
+            Store store = lookupStore(storeId);
+            Device device;
+            StoreLocation storeLocation;
 
-            //Check to see if aisle exists
-            Aisle aisle = store.getAisle(aisleNumber);
-            if (aisle == null){
-                throw new StoreException("Provision Device", "Aisle Does Not Exist");
+            //Check to see if store exists
+            if(store == null){
+                throw new StoreException("Provision Device", "Store Does Not Exist");
             } else {
-                storeLocation = new StoreLocation(storeId, aisleNumber);
 
-                //Check to see if device already exists
-                device = deviceMap.get(deviceId);
-                if(device != null){
-                    throw new StoreException("Provision Device", "Device Already Exists");
-                }
+                //Check to see if aisle exists
+                Aisle aisle = store.getAisle(aisleNumber);
+                if (aisle == null){
+                    throw new StoreException("Provision Device", "Aisle Does Not Exist");
+                } else {
+                    storeLocation = new StoreLocation(storeId, aisleNumber);
+
+                    //Check to see if device already exists
+                    device = lookupDevice(deviceId);
+                    if(device != null){
+                        throw new StoreException("Provision Device", "Device Already Exists");
+                    }
 
-                //Determine wha type of device we are trying to add
-                for (SensorType sensor : SensorType.values()) {
-                    if (sensor.name().equals(deviceType)){
-                        device = new Sensor (deviceId, name, storeLocation, deviceType);
+                    //Determine wha type of device we are trying to add
+                    for (SensorType sensor : SensorType.values()) {
+                        if (sensor.name().equals(deviceType)){
+                            device = new Sensor (deviceId, name, storeLocation, deviceType);
+                        }
                     }
-                }
-                for (ApplianceType appliance : ApplianceType.values()) {
-                    if (appliance.name().equals(deviceType)){
-                        device = new Appliance(deviceId, name, storeLocation, deviceType);
+                    for (ApplianceType appliance : ApplianceType.values()) {
+                        if (appliance.name().equals(deviceType)){
+                            device = new Appliance(deviceId, name, storeLocation, deviceType);
+                        }
+                    }
+
+                    //Check to see if device type is supported
+                    if(device == null){
+                        throw new StoreException("Provision Device", "Device Type Does Not Exist");
                     }
-                }
 
-                //Add device to the global map
-                deviceMap.put(deviceId,device);
-                //Add device to the local store
-                store.addDevice(device);
+                    //Add device to the global map, a concurrent provision of the same device may have won
+                    if (deviceMap.putIfAbsent(deviceId, device) != null)
+                        throw new StoreException("Provision Device", "Device Already Exists");
+                    //Add device to the local store
+                    store.addDevice(device);
 
+                }
             }
-        }
-        return device;
+            return device;
+        }, deviceId, name, deviceType, storeId, aisleNumber);
     }
 
     public Device showDevice(String deviceId, String token) throws StoreException {
-        Device device = deviceMap.get(deviceId);
+        Device device = lookupDevice(deviceId);
 
         //Check to see if device exists
         if(device == null)
@@ -502,7 +974,7 @@ public class StoreService {
     }
 
     public void raiseEvent(String deviceId, String event, String token) throws StoreException {
-        Device device = deviceMap.get(deviceId);
+        Device device = lookupDevice(deviceId);
 
         //Check to see if a device exists
         if(device == null){
@@ -514,7 +986,7 @@ public class StoreService {
 
     public void issueCommand(String deviceId, String command, String token) throws StoreException {
 
-        Appliance appliance = (Appliance) deviceMap.get(deviceId);
+        Appliance appliance = (Appliance) lookupDevice(deviceId);
 
         //Check to see if the appliance exists
         if(appliance == null){
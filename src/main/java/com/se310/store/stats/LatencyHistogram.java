@@ -0,0 +1,235 @@
+package com.se310.store.stats;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed bucket log linear histogram of operation latencies in nanoseconds
+ * Every power of two is split into 16 linear sub buckets, so a recorded latency is reported within
+ * about 6% of its value over the whole range of a long while the histogram keeps a fixed array of
+ * 960 counters. Recording only increments counters, it does not allocate or lock and can be called
+ * from any number of threads. Success and failure counts are exact, latencies are timed for a random
+ * one in store.stats.sample operations on average (16 by default) because reading the clock twice
+ * costs as much as the cheapest commands. The sample rate is rounded down to a power of two, so that
+ * picking an operation is a mask of a random int: 10 times one in 8 operations, 1 and anything
+ * smaller times every operation. Operations are picked with the random generator of the calling
+ * thread, so sampling writes no shared state. Percentiles are read without stopping the writers and
+ * reflect the counts at the time of reading.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    //Start of an operation that is counted but not timed
+    private static final long UNTIMED = Long.MIN_VALUE;
+    //Sample rate rounded down to a power of two, minus one
+    private static final int SAMPLE_MASK = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger("store.stats.sample", 16))) - 1;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timed = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Constructor for the LatencyHistogram class
+     * @param name operation the latencies belong to
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Getter method for the operation name
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Start of an operation to pass to record, the clock is only read for operations that are timed
+     * @return
+     */
+    public long start() {
+        if (!LatencyStats.ENABLED || (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) != 0)
+            return UNTIMED;
+        return System.nanoTime();
+    }
+
+    /**
+     * Record an operation
+     * @param start value returned by start when the operation began
+     * @param success
+     */
+    public void record(long start, boolean success) {
+        if (!LatencyStats.ENABLED)
+            return;
+        (success ? successes : failures).incrementAndGet();
+        if (start == UNTIMED)
+            return;
+
+        long nanos = Math.max(0, System.nanoTime() - start);
+        buckets.incrementAndGet(bucketOf(nanos));
+        timed.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos))
+            max = maxNanos.get();
+    }
+
+    /**
+     * Record a successful operation and pass its result through
+     * @param start value returned by start when the operation began
+     * @param result
+     * @return result
+     */
+    public <T> T success(long start, T result) {
+        record(start, true);
+        return result;
+    }
+
+    /**
+     * Record a successful operation without a result
+     * @param start value returned by start when the operation began
+     */
+    public void success(long start) {
+        record(start, true);
+    }
+
+    /**
+     * Record a failed operation and pass its exception through to be rethrown
+     * @param start value returned by start when the operation began
+     * @param failure
+     * @return failure
+     */
+    public <E extends Throwable> E failure(long start, E failure) {
+        record(start, false);
+        return failure;
+    }
+
+    /**
+     * Number of successful operations
+     * @return
+     */
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    /**
+     * Number of failed operations
+     * @return
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Number of recorded operations
+     * @return
+     */
+    public long getCount() {
+        return successes.get() + failures.get();
+    }
+
+    /**
+     * Number of operations that were timed
+     * @return
+     */
+    public long getTimed() {
+        return timed.get();
+    }
+
+    /**
+     * Mean latency of the timed operations in nanoseconds
+     * @return
+     */
+    public long getMean() {
+        long count = timed.get();
+        return count == 0 ? 0 : totalNanos.get() / count;
+    }
+
+    /**
+     * Largest recorded latency in nanoseconds
+     * @return
+     */
+    public long getMax() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Latency in nanoseconds that the given fraction of the timed operations did not exceed, reported
+     * as the upper bound of its bucket
+     * @param fraction between 0 and 1, for example 0.99
+     * @return 0 if nothing was recorded
+     */
+    public long percentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(upperBoundOf(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Clear every counter
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        successes.set(0);
+        failures.set(0);
+        timed.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "name='" + name + '\'' +
+                ", count=" + getCount() +
+                ", failures=" + getFailures() +
+                ", p50=" + percentile(0.5) +
+                ", p99=" + percentile(0.99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
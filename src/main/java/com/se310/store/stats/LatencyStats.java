@@ -0,0 +1,112 @@
+package com.se310.store.stats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registry of the latency histograms of DSL commands and StoreServiceProxy operations
+ * Histograms are created once when their command or operation is set up and are shared by every
+ * CommandProcessor, so the report covers all connections of the process. Recording is enabled
+ * unless the store.stats property is false. When the store.stats.file property names a file the
+ * report is written to it when the JVM shuts down.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class LatencyStats {
+
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("store.stats", "true"));
+
+    private static final LatencyStats instance = new LatencyStats();
+
+    //Histograms by group and name, reported in that order
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    static {
+        String file = System.getProperty("store.stats.file");
+        if (ENABLED && file != null)
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.dumpQuietly(Path.of(file)),
+                    "stats-dump"));
+    }
+
+    private LatencyStats() { }
+
+    /**
+     * Accessor for the registry singleton
+     * @return
+     */
+    public static LatencyStats getInstance() {
+        return instance;
+    }
+
+    /**
+     * Histogram of an operation, created on first use
+     * @param group kind of the operation such as Command or Proxy
+     * @param name
+     * @return
+     */
+    public LatencyHistogram histogram(String group, String name) {
+        return histograms.computeIfAbsent(group + ": " + name, LatencyHistogram::new);
+    }
+
+    /**
+     * Clear every histogram and restart the throughput clock
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Table of the count, failures, timed operations, throughput and latency percentiles in
+     * microseconds of every operation that was recorded since the start or the last reset
+     * @return
+     */
+    public String report() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%-40s %10s %8s %10s %10s %9s %9s %9s %9s %9s %10s%n",
+                "Operation", "Count", "Failed", "Timed", "Ops/s", "Mean us", "p50 us", "p90 us", "p99 us", "p99.9 us",
+                "Max us"));
+        for (LatencyHistogram histogram : histograms.values()) {
+            long count = histogram.getCount();
+            if (count == 0)
+                continue;
+            report.append(String.format(Locale.ROOT,
+                    "%-40s %10d %8d %10d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %10.1f%n",
+                    histogram.getName(), count, histogram.getFailures(), histogram.getTimed(), count / seconds,
+                    micros(histogram.getMean()), micros(histogram.percentile(0.5)),
+                    micros(histogram.percentile(0.9)), micros(histogram.percentile(0.99)),
+                    micros(histogram.percentile(0.999)), micros(histogram.getMax())));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Write the report to a file, replacing its previous content
+     * @param file
+     * @throws IOException if the file can not be written
+     */
+    public void dump(Path file) throws IOException {
+        Files.writeString(file, report(), StandardCharsets.UTF_8);
+    }
+
+    private void dumpQuietly(Path file) {
+        try {
+            dump(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -18,7 +18,7 @@ public class FlexibleInventoryUpdateStrategy implements InventoryUpdateStrategy
     //TODO: Implement Strategy Pattern allowing 20% overcapacity for flexible inventory
     
     @Override
-    public void updateQuantity(Inventory inventory, int addedCount) throws StoreException {
+    public void checkQuantity(Inventory inventory, int updatedCount) throws StoreException {
         if (inventory == null) {
             throw new StoreException(
                 "updateQuantity",
@@ -37,9 +37,6 @@ public class FlexibleInventoryUpdateStrategy implements InventoryUpdateStrategy
 
     
         double flexibleCapacity = inventory.getCapacity() * 1.2; 
-        
-        int currentCount = inventory.getCount();
-        int updatedCount = currentCount + addedCount;
 
         if (updatedCount < 0) {
             throw new StoreException(
@@ -55,8 +52,5 @@ public class FlexibleInventoryUpdateStrategy implements InventoryUpdateStrategy
                 "Inventory count exceeds flexible capacity limit."
             );
         }
-
-        // Update the inventory count since all checks passed
-        inventory.setCount(updatedCount);
     }
 }
\ No newline at end of file
@@ -2,16 +2,17 @@ package com.se310.store.strategy;
 
 import com.se310.store.model.Inventory;
 import com.se310.store.model.StoreException;
-import com.se310.store.model.InventoryType;
 
 public interface InventoryUpdateStrategy {
 
     /**
-     * Set the absolute quantity for the given inventory (i.e. after recount).
+     * Check that the given inventory may hold the updated quantity. The check does not change the
+     * inventory, the inventory sets the quantity atomically once the check passes, so the check may
+     * run again when another update got there first.
      *
      * @param inventory 
-     * @param newQuantity 
-     * @throws StoreException 
+     * @param updatedQuantity 
+     * @throws StoreException if the updated quantity is out of bounds
      */
-    void updateQuantity(Inventory inventory, int newQuantity) throws StoreException;
-}
\ No newline at end of file
+    void checkQuantity(Inventory inventory, int updatedQuantity) throws StoreException;
+}
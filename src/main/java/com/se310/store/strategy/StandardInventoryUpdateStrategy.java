@@ -13,7 +13,7 @@ public class StandardInventoryUpdateStrategy implements InventoryUpdateStrategy
     //TODO: Implement Strategy Pattern making sure inventory stays in the acceptable bounds for standard products
 
     @Override
-    public void updateQuantity(Inventory inventory, int addedCount) throws StoreException {
+    public void checkQuantity(Inventory inventory, int updatedCount) throws StoreException {
         if (inventory == null) {
             throw new StoreException(
                 "updateQuantity",
@@ -31,8 +31,6 @@ public class StandardInventoryUpdateStrategy implements InventoryUpdateStrategy
         }
 
         int capacity = inventory.getCapacity();
-        int currentCount = inventory.getCount();
-        int updatedCount = currentCount + addedCount;
 
         // Business rule checks
         if (updatedCount < 0) {
@@ -48,8 +46,5 @@ public class StandardInventoryUpdateStrategy implements InventoryUpdateStrategy
                 "Inventory count exceeds capacity for STANDARD inventory."
             );
         }
-
-        // Update the inventory count since all checks passed
-        inventory.setCount(updatedCount);
     }
 }
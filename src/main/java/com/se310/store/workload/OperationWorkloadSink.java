@@ -0,0 +1,152 @@
+package com.se310.store.workload;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Temperature;
+import com.se310.store.proxy.Operation;
+
+import java.util.function.Consumer;
+
+/**
+ * WorkloadSink turning every operation into a StoreServiceProxy Operation
+ * Operations are handed over in generation order, so they can be executed one by one to drive the
+ * API directly or collected into batches for StoreServiceProxy.executeBatch. A batch only keeps the
+ * order of operations sharing a target, moves of a Customer and the basket edits that depend on
+ * them should go into separate batches.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class OperationWorkloadSink implements WorkloadSink {
+
+    private final Consumer<Operation> operations;
+
+    /**
+     * Constructor for the OperationWorkloadSink class
+     * @param operations receives every generated operation
+     */
+    public OperationWorkloadSink(Consumer<Operation> operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public void provisionStore(String storeId, String name, String address) {
+        operations.accept(Operation.of("store:" + storeId, "Provision Store",
+                (service, token) -> service.provisionStore(storeId, name, address, token)));
+    }
+
+    @Override
+    public void provisionAisle(String storeId, String aisleNumber, String name, String description,
+                               AisleLocation location) {
+        operations.accept(Operation.of("store:" + storeId, "Provision Aisle",
+                (service, token) -> service.provisionAisle(storeId, aisleNumber, name, description, location,
+                        token)));
+    }
+
+    @Override
+    public void provisionShelf(String storeId, String aisleNumber, String shelfId, String name, ShelfLevel level,
+                               String description, Temperature temperature) {
+        operations.accept(Operation.of("store:" + storeId, "Provision Shelf",
+                (service, token) -> service.provisionShelf(storeId, aisleNumber, shelfId, name, level, description,
+                        temperature, token)));
+    }
+
+    @Override
+    public void provisionProduct(String productId, String name, String description, String size, String category,
+                                 double price, Temperature temperature) {
+        operations.accept(Operation.of("product:" + productId, "Provision Product",
+                (service, token) -> service.provisionProduct(productId, name, description, size, category, price,
+                        temperature, token)));
+    }
+
+    @Override
+    public void provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
+                                   int capacity, int count, String productId, InventoryType type) {
+        operations.accept(Operation.of("inventory:" + inventoryId, "Provision Inventory",
+                (service, token) -> service.provisionInventory(inventoryId, storeId, aisleNumber, shelfId, capacity,
+                        count, productId, type, token)));
+    }
+
+    @Override
+    public void updateInventory(String inventoryId, int count) {
+        operations.accept(Operation.updateInventory(inventoryId, count));
+    }
+
+    @Override
+    public void showInventory(String inventoryId) {
+        operations.accept(Operation.showInventory(inventoryId));
+    }
+
+    @Override
+    public void provisionCustomer(String customerId, String firstName, String lastName, CustomerType type,
+                                  String email, String address) {
+        operations.accept(Operation.of("customer:" + customerId, "Provision Customer",
+                (service, token) -> service.provisionCustomer(customerId, firstName, lastName, type, email, address,
+                        token)));
+    }
+
+    @Override
+    public void updateCustomer(String customerId, String storeId, String aisleNumber) {
+        operations.accept(Operation.updateCustomer(customerId, storeId, aisleNumber));
+    }
+
+    @Override
+    public void showCustomer(String customerId) {
+        operations.accept(Operation.showCustomer(customerId));
+    }
+
+    @Override
+    public void provisionBasket(String basketId) {
+        operations.accept(Operation.of("basket:" + basketId, "Provision Basket",
+                (service, token) -> service.provisionBasket(basketId, token)));
+    }
+
+    @Override
+    public void assignCustomerBasket(String customerId, String basketId) {
+        operations.accept(Operation.of("basket:" + basketId, "Assign Customer Basket",
+                (service, token) -> service.assignCustomerBasket(customerId, basketId, token)));
+    }
+
+    @Override
+    public void addBasketProduct(String basketId, String productId, int count) {
+        operations.accept(Operation.addBasketProduct(basketId, productId, count));
+    }
+
+    @Override
+    public void removeBasketProduct(String basketId, String productId, int count) {
+        operations.accept(Operation.removeBasketProduct(basketId, productId, count));
+    }
+
+    @Override
+    public void clearBasket(String basketId) {
+        operations.accept(Operation.clearBasket(basketId));
+    }
+
+    @Override
+    public void showBasket(String basketId) {
+        operations.accept(Operation.showBasket(basketId));
+    }
+
+    @Override
+    public void provisionDevice(String deviceId, String name, String deviceType, String storeId, String aisleNumber) {
+        operations.accept(Operation.of("device:" + deviceId, "Provision Device",
+                (service, token) -> service.provisionDevice(deviceId, name, deviceType, storeId, aisleNumber,
+                        token)));
+    }
+
+    @Override
+    public void raiseEvent(String deviceId, String event) {
+        operations.accept(Operation.raiseEvent(deviceId, event));
+    }
+
+    @Override
+    public void issueCommand(String deviceId, String command) {
+        operations.accept(Operation.of("device:" + deviceId, "Issue Command", (service, token) -> {
+            service.issueCommand(deviceId, command, token);
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,175 @@
+package com.se310.store.workload;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Temperature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * WorkloadSink writing every operation as a line of a DSL script
+ * The script can be replayed with CommandProcessor.processCommandFile, compiled or streamed to
+ * the CommandServer. The caller owns the destination and is responsible for flushing it.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ScriptWorkloadSink implements WorkloadSink {
+
+    private final Appendable out;
+    private final StringBuilder line = new StringBuilder(160);
+
+    /**
+     * Constructor for the ScriptWorkloadSink class
+     * @param out destination of the script, typically a buffered Writer
+     */
+    public ScriptWorkloadSink(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Write a comment line, ignored when the script is replayed
+     * @param comment
+     */
+    public void comment(String comment) {
+        write("# " + comment);
+    }
+
+    @Override
+    public void provisionStore(String storeId, String name, String address) {
+        command("define store", storeId, "name", name, "address", address);
+    }
+
+    @Override
+    public void provisionAisle(String storeId, String aisleNumber, String name, String description,
+                               AisleLocation location) {
+        command("define aisle", storeId + ":" + aisleNumber, "name", name, "description", description,
+                "location", location.name());
+    }
+
+    @Override
+    public void provisionShelf(String storeId, String aisleNumber, String shelfId, String name, ShelfLevel level,
+                               String description, Temperature temperature) {
+        command("define shelf", storeId + ":" + aisleNumber + ":" + shelfId, "name", name, "level", level.name(),
+                "description", description, "temperature", temperature.name());
+    }
+
+    @Override
+    public void provisionProduct(String productId, String name, String description, String size, String category,
+                                 double price, Temperature temperature) {
+        command("define product", productId, "name", name, "description", description, "size", size,
+                "category", category, "unit_price", Double.toString(price), "temperature", temperature.name());
+    }
+
+    @Override
+    public void provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
+                                   int capacity, int count, String productId, InventoryType type) {
+        command("define inventory", inventoryId, "location", storeId + ":" + aisleNumber + ":" + shelfId,
+                "capacity", Integer.toString(capacity), "count", Integer.toString(count), "type", type.name(),
+                "product", productId);
+    }
+
+    @Override
+    public void updateInventory(String inventoryId, int count) {
+        command("update inventory", inventoryId, "update_count", Integer.toString(count));
+    }
+
+    @Override
+    public void showInventory(String inventoryId) {
+        command("show inventory", inventoryId);
+    }
+
+    @Override
+    public void provisionCustomer(String customerId, String firstName, String lastName, CustomerType type,
+                                  String email, String address) {
+        command("define customer", customerId, "first_name", firstName, "last_name", lastName, "type", type.name(),
+                "email_address", email, "account", address);
+    }
+
+    @Override
+    public void updateCustomer(String customerId, String storeId, String aisleNumber) {
+        command("update customer", customerId, "location", storeId + ":" + aisleNumber);
+    }
+
+    @Override
+    public void showCustomer(String customerId) {
+        command("show customer", customerId);
+    }
+
+    @Override
+    public void provisionBasket(String basketId) {
+        command("define basket", basketId);
+    }
+
+    @Override
+    public void assignCustomerBasket(String customerId, String basketId) {
+        command("assign basket", basketId, "customer", customerId);
+    }
+
+    @Override
+    public void addBasketProduct(String basketId, String productId, int count) {
+        command("add_basket_item", basketId, "product", productId, "item_count", Integer.toString(count));
+    }
+
+    @Override
+    public void removeBasketProduct(String basketId, String productId, int count) {
+        command("remove_basket_item", basketId, "product", productId, "item_count", Integer.toString(count));
+    }
+
+    @Override
+    public void clearBasket(String basketId) {
+        command("clear_basket", basketId);
+    }
+
+    @Override
+    public void showBasket(String basketId) {
+        command("show basket_items", basketId);
+    }
+
+    @Override
+    public void provisionDevice(String deviceId, String name, String deviceType, String storeId, String aisleNumber) {
+        command("define device", deviceId, "name", name, "type", deviceType, "location", storeId + ":" + aisleNumber);
+    }
+
+    @Override
+    public void raiseEvent(String deviceId, String event) {
+        //Sensor events of three words use the create_event form, appliance events of two words create event
+        String[] words = event.split(" ");
+        if (words.length == 3)
+            command("create_event", deviceId, "event", words[0], words[1], words[2]);
+        else
+            command("create event", deviceId, "event", words[0], words[1]);
+    }
+
+    @Override
+    public void issueCommand(String deviceId, String command) {
+        String[] words = command.split(" ");
+        command("create command", deviceId, "message", words[0], words[1]);
+    }
+
+    private void command(String keywords, String... arguments) {
+        line.setLength(0);
+        line.append(keywords);
+        for (String argument : arguments) {
+            line.append(' ');
+            //Arguments with spaces are quoted so they stay a single token
+            if (argument.isEmpty() || argument.indexOf(' ') >= 0)
+                line.append('"').append(argument).append('"');
+            else
+                line.append(argument);
+        }
+        write(line);
+    }
+
+    private void write(CharSequence text) {
+        try {
+            out.append(text).append(System.lineSeparator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,690 @@
+package com.se310.store.workload;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Temperature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of store scale workloads for throughput and scaling tests
+ * A workload provisions the products, the Stores with their aisles, one shelf per ShelfLevel in
+ * every aisle with its inventory and devices, and the customers, then runs a mix of customer
+ * moves, shopping sessions, device events, inventory updates and reads until the requested number
+ * of operations is reached. Customers enter their home Store and walk mostly to neighbouring
+ * aisles, a shopping session defines and assigns a basket, adds and returns products stocked in
+ * the aisle the customer is in and ends by clearing the basket or leaving with it. The generator
+ * tracks shelf counts so that regular operations are valid, failures come from guests trying to
+ * shop and from a configurable share of injected failures such as customers not near a product,
+ * overselling a shelf, overfilling inventory, unassigned baskets, unknown aisles and devices.
+ * The same seed and settings always produce the same workload.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class WorkloadGenerator {
+
+    private static final ShelfLevel[] LEVELS = ShelfLevel.values();
+    private static final int MAX_BASKET_ITEMS = 8;
+    private static final String[] SIZES = {"250g", "500g", "1kg", "2l", "6pk"};
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Grace", "Edsger", "Barbara", "Donald", "Frances",
+            "Ken", "Radia", "Niklaus"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Hopper", "Dijkstra", "Liskov", "Knuth",
+            "Allen", "Thompson", "Perlman", "Wirth"};
+
+    private final long seed;
+    private int stores = 10;
+    private int aislesPerStore = 12;
+    private int products = 400;
+    private int customers = 5000;
+    private long operations = 1_000_000;
+    private double guestShare = 0.05;
+    private double storeHopRate = 0;
+    private double failureRate = 0.02;
+
+    //Relative weights of the operation mix
+    private int customerMoves = 30;
+    private int basketChurn = 40;
+    private int deviceEvents = 15;
+    private int inventoryUpdates = 10;
+    private int reads = 5;
+
+    /**
+     * Constructor for the WorkloadGenerator class
+     * @param seed seed of the random choices, the same seed produces the same workload
+     */
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Number of Stores, 10 by default
+     * @param stores
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator stores(int stores) {
+        this.stores = positive(stores, "Stores");
+        return this;
+    }
+
+    /**
+     * Number of aisles in every Store, 12 by default. Every aisle has one shelf per ShelfLevel
+     * @param aislesPerStore
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator aislesPerStore(int aislesPerStore) {
+        this.aislesPerStore = positive(aislesPerStore, "Aisles");
+        return this;
+    }
+
+    /**
+     * Number of products, 400 by default. Every aisle stocks different products on its shelves
+     * @param products
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator products(int products) {
+        if (products < LEVELS.length)
+            throw new IllegalArgumentException("At Least " + LEVELS.length + " Products Are Required");
+        this.products = products;
+        return this;
+    }
+
+    /**
+     * Number of customers, 5000 by default
+     * @param customers
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator customers(int customers) {
+        this.customers = positive(customers, "Customers");
+        return this;
+    }
+
+    /**
+     * Total number of operations including provisioning, 1000000 by default. Provisioning is
+     * always generated completely even if it takes more operations
+     * @param operations
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator operations(long operations) {
+        if (operations < 0)
+            throw new IllegalArgumentException("Operations Must Not Be Negative");
+        this.operations = operations;
+        return this;
+    }
+
+    /**
+     * Share of the customers that are guests, 0.05 by default. Guests are not allowed to shop
+     * @param guestShare
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator guestShare(double guestShare) {
+        this.guestShare = fraction(guestShare, "Guest Share");
+        return this;
+    }
+
+    /**
+     * Chance that a customer without a basket moves to another Store instead of another aisle,
+     * 0 by default
+     * @param storeHopRate
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator storeHopRate(double storeHopRate) {
+        this.storeHopRate = fraction(storeHopRate, "Store Hop Rate");
+        return this;
+    }
+
+    /**
+     * Share of the operations that are injected failures, 0.02 by default
+     * @param failureRate
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator failureRate(double failureRate) {
+        this.failureRate = fraction(failureRate, "Failure Rate");
+        return this;
+    }
+
+    /**
+     * Relative weights of the operation mix, 30, 40, 15, 10 and 5 by default
+     * @param customerMoves customers entering Stores and walking between aisles
+     * @param basketChurn steps of shopping sessions
+     * @param deviceEvents device events and appliance commands
+     * @param inventoryUpdates restocking and shrinkage of shelves
+     * @param reads show commands
+     * @return this generator for chaining
+     */
+    public WorkloadGenerator mix(int customerMoves, int basketChurn, int deviceEvents, int inventoryUpdates,
+                                 int reads) {
+        if (customerMoves < 0 || basketChurn < 0 || deviceEvents < 0 || inventoryUpdates < 0 || reads < 0
+                || customerMoves + basketChurn + deviceEvents + inventoryUpdates + reads == 0)
+            throw new IllegalArgumentException("Invalid Operation Mix");
+        this.customerMoves = customerMoves;
+        this.basketChurn = basketChurn;
+        this.deviceEvents = deviceEvents;
+        this.inventoryUpdates = inventoryUpdates;
+        this.reads = reads;
+        return this;
+    }
+
+    /**
+     * Generate the workload
+     * @param sink receives every operation
+     * @return number of generated operations
+     */
+    public long generate(WorkloadSink sink) {
+        Run run = new Run(sink);
+        run.provision();
+        while (run.generated < operations)
+            run.step();
+        return run.generated;
+    }
+
+    /**
+     * Generate the workload as a DSL script
+     * @param file
+     * @return number of generated operations
+     * @throws IOException if the script can not be written
+     */
+    public long writeScript(Path file) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16)) {
+            ScriptWorkloadSink sink = new ScriptWorkloadSink(writer);
+            sink.comment("Generated workload, seed " + seed + ", " + stores + " stores, " + aislesPerStore
+                    + " aisles per store, " + products + " products, " + customers + " customers");
+            return generate(sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int positive(int value, String what) {
+        if (value < 1)
+            throw new IllegalArgumentException(what + " Must Be Positive");
+        return value;
+    }
+
+    private static double fraction(double value, String what) {
+        if (value < 0 || value > 1)
+            throw new IllegalArgumentException(what + " Must Be Between 0 and 1");
+        return value;
+    }
+
+    /**
+     * State of a single generation, the generator itself can be reused
+     */
+    private class Run {
+
+        private final WorkloadSink sink;
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private long generated;
+
+        private final Temperature[] productTemperature = new Temperature[products];
+
+        //Inventory of shelf i is on level i % levels of aisle i / levels counted across all Stores
+        private final int[] shelfProduct = new int[stores * aislesPerStore * LEVELS.length];
+        private final int[] capacity = new int[shelfProduct.length];
+        private final int[] count = new int[shelfProduct.length];
+
+        //Current Store and aisle of every customer, -1 until the customer enters a Store
+        private final int[] home = new int[customers];
+        private final int[] store = new int[customers];
+        private final int[] aisle = new int[customers];
+        private final boolean[] guest = new boolean[customers];
+        //Basket of every customer, -1 without a basket, and the shelves its products came from
+        private final int[] basket = new int[customers];
+        private final int[] items = new int[customers];
+        private final int[] itemShelf = new int[customers * MAX_BASKET_ITEMS];
+        private final int[] itemCount = new int[customers * MAX_BASKET_ITEMS];
+        private int baskets;
+        private int clearedBasket = -1;
+
+        private Run(WorkloadSink sink) {
+            this.sink = sink;
+            Arrays.fill(store, -1);
+            Arrays.fill(basket, -1);
+        }
+
+        private void provision() {
+            for (int p = 0; p < products; p++)
+                provisionProduct(p);
+            for (int s = 0; s < stores; s++)
+                provisionStore(s);
+            for (int c = 0; c < customers; c++)
+                provisionCustomer(c);
+        }
+
+        private void provisionProduct(int p) {
+            int pick = random.nextInt(100);
+            Temperature temperature;
+            String category;
+            if (pick < 60) {
+                temperature = Temperature.ambient;
+                category = pick < 40 ? "Food" : pick < 50 ? "Beverage" : "Household";
+            } else if (pick < 80) {
+                temperature = Temperature.refrigerated;
+                category = "Dairy";
+            } else if (pick < 92) {
+                temperature = Temperature.frozen;
+                category = "Frozen";
+            } else if (pick < 96) {
+                temperature = Temperature.warm;
+                category = "Bakery";
+            } else {
+                temperature = Temperature.hot;
+                category = "Deli";
+            }
+            productTemperature[p] = temperature;
+            double price = (99 + random.nextInt(4900)) / 100.0;
+            sink.provisionProduct(product(p), "Product_" + p, category + "_item_" + p,
+                    SIZES[random.nextInt(SIZES.length)], category, price, temperature);
+            generated++;
+        }
+
+        private void provisionStore(int s) {
+            String storeId = store(s);
+            sink.provisionStore(storeId, "Store_" + s, (100 + s) + " Main Street, Orange, CA 92866");
+            generated++;
+
+            for (int a = 0; a < aislesPerStore; a++) {
+                String aisleNumber = aisle(a);
+                AisleLocation location = random.nextInt(8) == 0 ? AisleLocation.store_room : AisleLocation.floor;
+                sink.provisionAisle(storeId, aisleNumber, "Aisle_" + a, "Aisle " + a + " of " + storeId, location);
+                generated++;
+
+                //Products of an aisle are distinct, otherwise customers could not tell which shelf to use
+                int first = shelf(s, a, 0);
+                for (int l = 0; l < LEVELS.length; l++) {
+                    int shelf = first + l;
+                    int p;
+                    do {
+                        p = random.nextInt(products);
+                    } while (stockedBefore(first, shelf, p));
+                    shelfProduct[shelf] = p;
+                    capacity[shelf] = 200 + 50 * random.nextInt(37);
+                    count[shelf] = capacity[shelf] / 2 + random.nextInt(capacity[shelf] / 2 + 1);
+
+                    ShelfLevel level = LEVELS[l];
+                    sink.provisionShelf(storeId, aisleNumber, shelfId(l), "Shelf_" + level.name(), level,
+                            "Shelf " + level.name() + " of aisle " + a, productTemperature[p]);
+                    InventoryType type = random.nextInt(5) == 0 ? InventoryType.flexible : InventoryType.standard;
+                    sink.provisionInventory(inventory(shelf), storeId, aisleNumber, shelfId(l), capacity[shelf],
+                            count[shelf], product(p), type);
+                    generated += 2;
+                }
+
+                sink.provisionDevice(camera(s, a), "Camera_" + s + "_" + a, "camera", storeId, aisleNumber);
+                sink.provisionDevice(microphone(s, a), "Microphone_" + s + "_" + a, "microphone", storeId,
+                        aisleNumber);
+                generated += 2;
+            }
+
+            sink.provisionDevice(appliance("robot", s), "Robot_" + s, "robot", storeId, aisle(0));
+            sink.provisionDevice(appliance("speaker", s), "Speaker_" + s, "speaker", storeId, aisle(0));
+            sink.provisionDevice(appliance("turnstile", s), "Turnstile_" + s, "turnstile", storeId, aisle(0));
+            generated += 3;
+        }
+
+        private boolean stockedBefore(int first, int shelf, int p) {
+            for (int i = first; i < shelf; i++) {
+                if (shelfProduct[i] == p)
+                    return true;
+            }
+            return false;
+        }
+
+        private void provisionCustomer(int c) {
+            home[c] = random.nextInt(stores);
+            guest[c] = random.nextDouble() < guestShare;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            sink.provisionCustomer(customer(c), firstName, lastName,
+                    guest[c] ? CustomerType.guest : CustomerType.registered,
+                    customer(c) + "@example.com", customer(c));
+            generated++;
+        }
+
+        private void step() {
+            if (random.nextDouble() < failureRate) {
+                injectFailure();
+                return;
+            }
+
+            int pick = random.nextInt(customerMoves + basketChurn + deviceEvents + inventoryUpdates + reads);
+            if ((pick -= customerMoves) < 0)
+                moveCustomer(random.nextInt(customers));
+            else if ((pick -= basketChurn) < 0)
+                shop(random.nextInt(customers));
+            else if ((pick -= deviceEvents) < 0)
+                deviceEvent();
+            else if ((pick -= inventoryUpdates) < 0)
+                updateInventory(random.nextInt(shelfProduct.length));
+            else
+                read();
+        }
+
+        private void moveCustomer(int c) {
+            int next;
+            if (store[c] < 0) {
+                //Entering the home Store
+                store[c] = home[c];
+                next = random.nextInt(aislesPerStore);
+            } else if (basket[c] < 0 && stores > 1 && random.nextDouble() < storeHopRate) {
+                int other = random.nextInt(stores - 1);
+                store[c] = other < store[c] ? other : other + 1;
+                next = random.nextInt(aislesPerStore);
+            } else if (random.nextInt(5) == 0) {
+                next = random.nextInt(aislesPerStore);
+            } else {
+                //Neighbouring aisle
+                next = Math.floorMod(aisle[c] + (random.nextBoolean() ? 1 : -1), aislesPerStore);
+            }
+            aisle[c] = next;
+            sink.updateCustomer(customer(c), store(store[c]), aisle(next));
+            generated++;
+        }
+
+        private void shop(int c) {
+            if (store[c] < 0) {
+                moveCustomer(c);
+                return;
+            }
+            if (basket[c] < 0) {
+                basket[c] = baskets++;
+                items[c] = 0;
+                sink.provisionBasket(basket(basket[c]));
+                sink.assignCustomerBasket(customer(c), basket(basket[c]));
+                generated += 2;
+                return;
+            }
+
+            int pick = random.nextInt(100);
+            if (pick < 65)
+                addItem(c);
+            else if (pick < 80)
+                returnItem(c);
+            else
+                endSession(c);
+        }
+
+        private void addItem(int c) {
+            int shelf = shelf(store[c], aisle[c], random.nextInt(LEVELS.length));
+            int units = 1 + random.nextInt(4);
+
+            //Guests are turned away without touching the shelf
+            if (guest[c]) {
+                sink.addBasketProduct(basket(basket[c]), product(shelfProduct[shelf]), units);
+                generated++;
+                return;
+            }
+            if (count[shelf] < units) {
+                restock(shelf);
+                return;
+            }
+            int item = findItem(c, shelf);
+            if (item < 0) {
+                if (items[c] == MAX_BASKET_ITEMS) {
+                    endSession(c);
+                    return;
+                }
+                item = c * MAX_BASKET_ITEMS + items[c]++;
+                itemShelf[item] = shelf;
+                itemCount[item] = 0;
+            }
+            itemCount[item] += units;
+            count[shelf] -= units;
+            sink.addBasketProduct(basket(basket[c]), product(shelfProduct[shelf]), units);
+            generated++;
+        }
+
+        private void returnItem(int c) {
+            //Products can only be put back on a shelf of the aisle the customer is in
+            int first = c * MAX_BASKET_ITEMS;
+            for (int item = first; item < first + items[c]; item++) {
+                int shelf = itemShelf[item];
+                if (nearShelf(c, shelf) && count[shelf] < capacity[shelf]) {
+                    int units = 1 + random.nextInt(Math.min(itemCount[item], capacity[shelf] - count[shelf]));
+                    itemCount[item] -= units;
+                    count[shelf] += units;
+                    sink.removeBasketProduct(basket(basket[c]), product(shelfProduct[shelf]), units);
+                    generated++;
+                    if (itemCount[item] == 0)
+                        removeItem(c, item);
+                    return;
+                }
+            }
+            moveCustomer(c);
+        }
+
+        private void endSession(int c) {
+            //Clearing puts every product back, which is only possible from the aisle they came from
+            int first = c * MAX_BASKET_ITEMS;
+            boolean clearable = true;
+            for (int item = first; item < first + items[c] && clearable; item++) {
+                int shelf = itemShelf[item];
+                clearable = nearShelf(c, shelf) && count[shelf] + itemCount[item] <= capacity[shelf];
+            }
+
+            if (clearable) {
+                for (int item = first; item < first + items[c]; item++)
+                    count[itemShelf[item]] += itemCount[item];
+                sink.clearBasket(basket(basket[c]));
+                generated++;
+                clearedBasket = basket[c];
+            }
+            //Otherwise the customer leaves with the products and takes a new basket next time
+            basket[c] = -1;
+            items[c] = 0;
+        }
+
+        private int findItem(int c, int shelf) {
+            int first = c * MAX_BASKET_ITEMS;
+            for (int item = first; item < first + items[c]; item++) {
+                if (itemShelf[item] == shelf)
+                    return item;
+            }
+            return -1;
+        }
+
+        private void removeItem(int c, int item) {
+            int last = c * MAX_BASKET_ITEMS + --items[c];
+            itemShelf[item] = itemShelf[last];
+            itemCount[item] = itemCount[last];
+        }
+
+        private boolean nearShelf(int c, int shelf) {
+            return shelf / LEVELS.length == store[c] * aislesPerStore + aisle[c];
+        }
+
+        private void deviceEvent() {
+            int s = random.nextInt(stores);
+            int a = random.nextInt(aislesPerStore);
+            String location = store(s) + ":" + aisle(a);
+            String someone = customer(random.nextInt(customers));
+
+            switch (random.nextInt(5)) {
+                case 0 -> sink.raiseEvent(camera(s, a), "customer_seen " + someone + " " + aisle(a));
+                case 1 -> sink.raiseEvent(microphone(s, a), "customer_asked_question " + someone + " "
+                        + product(shelfProduct[shelf(s, a, random.nextInt(LEVELS.length))]));
+                case 2 -> {
+                    if (random.nextBoolean())
+                        sink.raiseEvent(appliance("robot", s), "SPILLED_MILK " + location);
+                    else
+                        sink.issueCommand(appliance("robot", s), "CLEAN_FLOOR " + location);
+                }
+                case 3 -> {
+                    if (random.nextBoolean())
+                        sink.raiseEvent(appliance("speaker", s), "ANNOUNCEMENT_DONE " + store(s));
+                    else
+                        sink.issueCommand(appliance("speaker", s), "ANNOUNCE " + location);
+                }
+                default -> {
+                    if (random.nextBoolean())
+                        sink.raiseEvent(appliance("turnstile", s), "CUSTOMER_ENTERED " + someone);
+                    else
+                        sink.issueCommand(appliance("turnstile", s), "COUNT_VISITORS " + store(s));
+                }
+            }
+            generated++;
+        }
+
+        private void updateInventory(int shelf) {
+            if (count[shelf] < capacity[shelf] / 4) {
+                restock(shelf);
+                return;
+            }
+            //Shrinkage and sales recorded at the register
+            int units = 1 + random.nextInt(Math.min(5, count[shelf]));
+            count[shelf] -= units;
+            sink.updateInventory(inventory(shelf), -units);
+            generated++;
+        }
+
+        private void restock(int shelf) {
+            int units = Math.max(1, capacity[shelf] - count[shelf] - random.nextInt(capacity[shelf] / 10 + 1));
+            units = Math.min(units, capacity[shelf] - count[shelf]);
+            count[shelf] += units;
+            sink.updateInventory(inventory(shelf), units);
+            generated++;
+        }
+
+        private void read() {
+            int pick = random.nextInt(3);
+            int c = random.nextInt(customers);
+            if (pick == 0)
+                sink.showCustomer(customer(c));
+            else if (pick == 1 && basket[c] >= 0)
+                sink.showBasket(basket(basket[c]));
+            else
+                sink.showInventory(inventory(random.nextInt(shelfProduct.length)));
+            generated++;
+        }
+
+        private void injectFailure() {
+            int c = random.nextInt(customers);
+            boolean shopping = store[c] >= 0 && basket[c] >= 0 && !guest[c];
+
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    //Customer not near the product
+                    int shelf = random.nextInt(shelfProduct.length);
+                    if (shopping && !stockedNear(c, shelfProduct[shelf])) {
+                        sink.addBasketProduct(basket(basket[c]), product(shelfProduct[shelf]), 1);
+                        break;
+                    }
+                    unknownDevice();
+                }
+                case 1 -> {
+                    //More units than the shelf holds
+                    if (shopping) {
+                        int shelf = shelf(store[c], aisle[c], random.nextInt(LEVELS.length));
+                        sink.addBasketProduct(basket(basket[c]), product(shelfProduct[shelf]),
+                                count[shelf] + 1 + random.nextInt(10));
+                        break;
+                    }
+                    unknownDevice();
+                }
+                case 2 -> {
+                    //Deliveries beyond the capacity even of flexible inventory
+                    int shelf = random.nextInt(shelfProduct.length);
+                    sink.updateInventory(inventory(shelf), 2 * capacity[shelf] - count[shelf]);
+                }
+                case 3 -> {
+                    if (clearedBasket >= 0) {
+                        sink.addBasketProduct(basket(clearedBasket), product(random.nextInt(products)), 1);
+                        break;
+                    }
+                    unknownDevice();
+                }
+                case 4 -> sink.updateCustomer(customer(c), store(home[c]), "aisle_closed");
+                default -> unknownDevice();
+            }
+            generated++;
+        }
+
+        private boolean stockedNear(int c, int p) {
+            int first = shelf(store[c], aisle[c], 0);
+            return stockedBefore(first, first + LEVELS.length, p);
+        }
+
+        private void unknownDevice() {
+            sink.raiseEvent("sensor_unknown_" + random.nextInt(1000), "customer_seen unknown aisle_unknown");
+        }
+
+        private int shelf(int s, int a, int level) {
+            return (s * aislesPerStore + a) * LEVELS.length + level;
+        }
+
+        private String inventory(int shelf) {
+            int aisleIndex = shelf / LEVELS.length;
+            return "inv_" + aisleIndex / aislesPerStore + "_" + aisleIndex % aislesPerStore + "_"
+                    + LEVELS[shelf % LEVELS.length].name();
+        }
+    }
+
+    private static String store(int s) {
+        return "store_" + s;
+    }
+
+    private static String aisle(int a) {
+        return "aisle_" + a;
+    }
+
+    private static String shelfId(int level) {
+        return "shelf_" + LEVELS[level].name();
+    }
+
+    private static String product(int p) {
+        return "prod_" + p;
+    }
+
+    private static String customer(int c) {
+        return "cust_" + c;
+    }
+
+    private static String basket(int b) {
+        return "basket_" + b;
+    }
+
+    private static String camera(int s, int a) {
+        return "cam_" + s + "_" + a;
+    }
+
+    private static String microphone(int s, int a) {
+        return "mic_" + s + "_" + a;
+    }
+
+    private static String appliance(String type, int s) {
+        return type + "_" + s;
+    }
+
+    /**
+     * Write a generated workload script
+     * @param args script file, optional number of operations, Stores, customers and seed
+     * @throws IOException if the script can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: WorkloadGenerator <script> [operations] [stores] [customers] [seed]");
+            return;
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(args.length > 4 ? Long.parseLong(args[4]) : 310);
+        if (args.length > 1)
+            generator.operations(Long.parseLong(args[1]));
+        if (args.length > 2)
+            generator.stores(Integer.parseInt(args[2]));
+        if (args.length > 3)
+            generator.customers(Integer.parseInt(args[3]));
+
+        long generated = generator.writeScript(Path.of(args[0]));
+        System.out.println(">>> Generated " + generated + " operations into " + args[0]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.se310.store.workload;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Temperature;
+
+/**
+ * Destination of the operations produced by the WorkloadGenerator
+ * Every method mirrors the StoreService operation of the same name, so a workload can be written
+ * out as a DSL script or turned into calls against the API without the generator knowing which.
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public interface WorkloadSink {
+
+    void provisionStore(String storeId, String name, String address);
+
+    void provisionAisle(String storeId, String aisleNumber, String name, String description,
+                        AisleLocation location);
+
+    void provisionShelf(String storeId, String aisleNumber, String shelfId, String name, ShelfLevel level,
+                        String description, Temperature temperature);
+
+    void provisionProduct(String productId, String name, String description, String size, String category,
+                          double price, Temperature temperature);
+
+    void provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
+                            int capacity, int count, String productId, InventoryType type);
+
+    void updateInventory(String inventoryId, int count);
+
+    void showInventory(String inventoryId);
+
+    void provisionCustomer(String customerId, String firstName, String lastName, CustomerType type,
+                           String email, String address);
+
+    void updateCustomer(String customerId, String storeId, String aisleNumber);
+
+    void showCustomer(String customerId);
+
+    void provisionBasket(String basketId);
+
+    void assignCustomerBasket(String customerId, String basketId);
+
+    void addBasketProduct(String basketId, String productId, int count);
+
+    void removeBasketProduct(String basketId, String productId, int count);
+
+    void clearBasket(String basketId);
+
+    void showBasket(String basketId);
+
+    void provisionDevice(String deviceId, String name, String deviceType, String storeId, String aisleNumber);
+
+    /**
+     * Raise a device event of two or three words
+     * @param deviceId
+     * @param event
+     */
+    void raiseEvent(String deviceId, String event);
+
+    /**
+     * Issue a command of two words to an appliance
+     * @param deviceId
+     * @param command
+     */
+    void issueCommand(String deviceId, String command);
+}
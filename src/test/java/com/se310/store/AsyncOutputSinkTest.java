@@ -0,0 +1,81 @@
+package com.se310.store;
+
+import com.se310.store.output.AsyncOutputSink;
+import com.se310.store.output.FlushPolicy;
+import com.se310.store.output.Verbosity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the AsyncOutputSink writing DSL output on a dedicated thread
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class AsyncOutputSinkTest {
+
+    private static AsyncOutputSink newSink(ByteArrayOutputStream out) {
+        return new AsyncOutputSink(out, StandardCharsets.UTF_8, Verbosity.echo, FlushPolicy.idle);
+    }
+
+    private static long lines(ByteArrayOutputStream out) {
+        return out.toString(StandardCharsets.UTF_8).lines().count();
+    }
+
+    @Test
+    public void testFlushWritesEveryMessage() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncOutputSink sink = newSink(out);
+        for (int i = 0; i < 1000; i++)
+            sink.write("message " + i);
+        sink.flush();
+        assertEquals(1000, lines(out));
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("message 0" + System.lineSeparator()));
+        sink.close();
+    }
+
+    @Test
+    public void testClosedSinkRejectsMessages() {
+        AsyncOutputSink sink = newSink(new ByteArrayOutputStream());
+        sink.close();
+        sink.close();
+        assertThrows(IllegalStateException.class, () -> sink.write("late"));
+        assertThrows(IllegalStateException.class, sink::flush);
+    }
+
+    @Test
+    public void testMessagesAcceptedBeforeCloseAreWritten() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            AsyncOutputSink sink = newSink(out);
+            AtomicInteger accepted = new AtomicInteger();
+            Thread[] writers = new Thread[4];
+            for (int w = 0; w < writers.length; w++) {
+                writers[w] = new Thread(() -> {
+                    //Every message is either rejected or written, none is lost behind the close
+                    try {
+                        for (int i = 0; i < 5000; i++) {
+                            sink.write("message " + i);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        //Sink closed
+                    }
+                });
+                writers[w].start();
+            }
+            Thread.sleep(1);
+            sink.close();
+            for (Thread writer : writers)
+                writer.join();
+
+            assertEquals(accepted.get(), lines(out));
+        }
+    }
+}
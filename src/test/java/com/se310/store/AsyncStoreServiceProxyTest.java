@@ -0,0 +1,100 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.proxy.AsyncStoreServiceProxy;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the AsyncStoreServiceProxy ordering the operations submitted for a basket
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class AsyncStoreServiceProxyTest {
+
+    private static final String TOKEN = "test-token";
+
+    //StoreService is shared by every test of the run, so the ids of this test are unique to it
+    private static final String STORE = "async_store";
+    private static final String PRODUCT = "async_prod";
+    private static final String INVENTORY = "async_inv";
+    private static final String CUSTOMER = "async_cust";
+
+    @Test
+    public void testInterleavedBasketOperationsRunInSubmissionOrder() throws StoreException {
+        StoreService service = StoreService.getInstance();
+        service.provisionStore(STORE, "Async", "1 Async Street", TOKEN);
+        service.provisionAisle(STORE, "aisle", "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+        service.provisionShelf(STORE, "aisle", "shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient,
+                TOKEN);
+        service.provisionProduct(PRODUCT, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+        service.provisionInventory(INVENTORY, STORE, "aisle", "shelf", 100, 100, PRODUCT, InventoryType.standard,
+                TOKEN);
+
+        try (AsyncStoreServiceProxy async = new AsyncStoreServiceProxy()) {
+            async.registerToken(TOKEN);
+            async.provisionCustomer(CUSTOMER, "Async", "Shopper", CustomerType.registered, "async@example.com",
+                    "address", TOKEN).join();
+            async.updateCustomer(CUSTOMER, STORE, "aisle", TOKEN).join();
+            //Every operation is submitted before any of them is waited for, each one is valid only if the
+            //ones submitted before it for the basket already ran
+            Random random = new Random(310);
+            List<CompletableFuture<Basket>> operations = new ArrayList<>();
+            String basket = null;
+            int baskets = 0;
+            int inBasket = 0;
+            for (int i = 0; i < 2000; i++) {
+                int choice = random.nextInt(10);
+                if (basket == null) {
+                    //A cleared basket leaves the customer and the Store keeps it, so the next one is a new basket
+                    basket = "async_basket_" + baskets++;
+                    operations.add(async.provisionBasket(basket, TOKEN));
+                    operations.add(async.assignCustomerBasket(CUSTOMER, basket, TOKEN));
+                } else if (choice < 5 && inBasket < 60) {
+                    int count = 1 + random.nextInt(5);
+                    operations.add(async.addBasketProduct(basket, PRODUCT, count, TOKEN));
+                    inBasket += count;
+                } else if (choice < 9 && inBasket > 0) {
+                    int count = 1 + random.nextInt(inBasket);
+                    operations.add(async.removeBasketProduct(basket, PRODUCT, count, TOKEN));
+                    inBasket -= count;
+                } else if (choice == 9) {
+                    //Operations of different baskets are not ordered with each other, so the next basket
+                    //is assigned to the customer once the cleared one has left it
+                    operations.add(async.clearBasket(basket, TOKEN));
+                    operations.forEach(CompletableFuture::join);
+                    operations.clear();
+                    inBasket = 0;
+                    basket = null;
+                }
+            }
+            if (basket == null) {
+                basket = "async_basket_" + baskets++;
+                operations.add(async.provisionBasket(basket, TOKEN));
+                operations.add(async.assignCustomerBasket(CUSTOMER, basket, TOKEN));
+            }
+            CompletableFuture<Basket> shown = async.showBasket(basket, TOKEN);
+            operations.forEach(CompletableFuture::join);
+
+            assertTrue(baskets > 1);
+            String products = inBasket == 0 ? "{}" : "{" + PRODUCT + "=" + inBasket + "}";
+            assertTrue(shown.join().toString().contains("productMap=" + products));
+            assertEquals(100 - inBasket, service.showInventory(INVENTORY, TOKEN).getCount());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.proxy.Operation;
+import com.se310.store.proxy.OperationResult;
+import com.se310.store.proxy.StoreServiceProxy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for batches executed through the StoreServiceProxy
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class BatchTest {
+
+    private static final String TOKEN = "test-token";
+
+    //StoreService is shared by every test of the run, so the ids of this test are unique to it
+    private static final String STORE = "batch_store";
+    private static final String PRODUCT = "batch_prod";
+    private static final String INVENTORY = "batch_inv";
+    private static final String BASKET = "batch_basket";
+
+    private static StoreServiceProxy proxy;
+
+    @BeforeAll
+    public static void provision() throws StoreException {
+        proxy = StoreServiceProxy.getInstance();
+        proxy.registerToken(TOKEN);
+        proxy.provisionStore(STORE, "Batch", "1 Batch Street", TOKEN);
+        proxy.provisionAisle(STORE, "aisle", "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+        proxy.provisionShelf(STORE, "aisle", "shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient,
+                TOKEN);
+        proxy.provisionProduct(PRODUCT, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+        proxy.provisionInventory(INVENTORY, STORE, "aisle", "shelf", 100, 10, PRODUCT, InventoryType.standard,
+                TOKEN);
+        proxy.provisionCustomer("batch_cust", "Batch", "Shopper", CustomerType.registered, "batch@example.com",
+                "address", TOKEN);
+        proxy.updateCustomer("batch_cust", STORE, "aisle", TOKEN);
+        proxy.provisionBasket(BASKET, TOKEN);
+        proxy.assignCustomerBasket("batch_cust", BASKET, TOKEN);
+    }
+
+    @Test
+    public void testOperationsRunInSubmissionOrder() throws StoreException {
+        //The shelf is empty when the basket takes from it, even though a restock of it follows
+        List<OperationResult> results = proxy.executeBatch(TOKEN, List.of(
+                Operation.updateInventory(INVENTORY, -10),
+                Operation.addBasketProduct(BASKET, PRODUCT, 1),
+                Operation.updateInventory(INVENTORY, 10),
+                Operation.addBasketProduct(BASKET, PRODUCT, 2),
+                Operation.removeBasketProduct(BASKET, PRODUCT, 2)));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).succeeded());
+        assertFalse(results.get(1).succeeded());
+        assertTrue(results.get(2).succeeded());
+        assertTrue(results.get(3).succeeded());
+        assertTrue(results.get(4).succeeded());
+        assertEquals(10, proxy.showInventory(INVENTORY, TOKEN).getCount());
+    }
+
+    @Test
+    public void testUnexpectedFailureIsReported() throws StoreException {
+        List<OperationResult> results = proxy.executeBatch(TOKEN, List.of(
+                Operation.of("basket:" + BASKET, "Audit Basket", (service, token) -> {
+                    throw new IllegalStateException("audit unavailable");
+                }),
+                Operation.showInventory(INVENTORY)));
+
+        assertFalse(results.get(0).succeeded());
+        assertTrue(results.get(0).error().getMessage().startsWith("Audit Basket: "));
+        assertTrue(results.get(0).error().getMessage().contains("audit unavailable"));
+        assertTrue(results.get(1).succeeded(), "A failing operation does not stop the batch");
+    }
+
+    @Test
+    public void testUnauthorizedBatchIsRejected() {
+        assertThrows(StoreException.class, () -> proxy.executeBatch("batch-unknown-token",
+                List.of(Operation.showInventory(INVENTORY))));
+    }
+}
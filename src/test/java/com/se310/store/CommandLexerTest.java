@@ -0,0 +1,121 @@
+package com.se310.store;
+
+import com.se310.store.command.CommandLexer;
+import com.se310.store.model.CommandException;
+import com.se310.store.model.Temperature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the CommandLexer tokenizing DSL lines
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandLexerTest {
+
+    @Test
+    public void testWhitespaceSeparatesTokens() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("  define  store\tstore_123 name Chapman ");
+
+        assertEquals(5, lexer.tokenCount());
+        assertEquals("define", lexer.token(0));
+        assertEquals("store", lexer.token(1));
+        assertEquals("store_123", lexer.token(2));
+        assertEquals("Chapman", lexer.token(4));
+        assertEquals("  define  store\tstore_123 name Chapman ", lexer.getLine());
+    }
+
+    @Test
+    public void testQuotedTokensKeepWhitespaceWithoutQuotes() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("address \"One University Drive, Orange\" \"\" next");
+
+        assertEquals(4, lexer.tokenCount());
+        assertEquals("One University Drive, Orange", lexer.token(1));
+        assertEquals("", lexer.token(2));
+        assertEquals("next", lexer.token(3));
+    }
+
+    @Test
+    public void testUnterminatedQuoteRunsToEndOfLine() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("event \"where is the detergent?");
+
+        assertEquals(2, lexer.tokenCount());
+        assertEquals("where is the detergent?", lexer.token(1));
+    }
+
+    @Test
+    public void testStrayQuotesAreStripped() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("name ab\"c s\"1:a\"2");
+
+        assertEquals("abc", lexer.token(1));
+        assertEquals("s1:a2", lexer.token(2));
+        assertEquals("a2", lexer.part(2, 1));
+        assertFalse(lexer.matches(1, "abc"), "Tokens with stray quotes are never keywords");
+    }
+
+    @Test
+    public void testReusedLexerForgetsPreviousLine() throws CommandException {
+        CommandLexer lexer = new CommandLexer();
+        lexer.tokenize("one two three four five six seven eight nine ten eleven twelve thirteen fourteen "
+                + "fifteen sixteen seventeen");
+        assertEquals(17, lexer.tokenCount());
+        assertEquals("seventeen", lexer.token(16));
+
+        lexer.tokenize("show store s1");
+        assertEquals(3, lexer.tokenCount());
+        assertEquals("s1", lexer.token(2));
+        assertThrows(CommandException.class, () -> lexer.token(3));
+    }
+
+    @Test
+    public void testKeywordsMatchCaseInsensitively() {
+        CommandLexer lexer = new CommandLexer().tokenize("DEFINE Store s1");
+
+        assertTrue(lexer.matches(0, "define"));
+        assertTrue(lexer.matches(1, "store"));
+        assertFalse(lexer.matches(1, "stor"));
+        assertFalse(lexer.matches(3, "s1"));
+    }
+
+    @Test
+    public void testIntTokens() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("42 -7 +3 2147483647 2147483648 12a \"\"");
+
+        assertEquals(42, lexer.intToken(0));
+        assertEquals(-7, lexer.intToken(1));
+        assertEquals(3, lexer.intToken(2));
+        assertEquals(Integer.MAX_VALUE, lexer.intToken(3));
+        assertThrows(CommandException.class, () -> lexer.intToken(4));
+        assertThrows(CommandException.class, () -> lexer.intToken(5));
+        assertThrows(CommandException.class, () -> lexer.intToken(6));
+        assertThrows(CommandException.class, () -> lexer.intToken(7));
+    }
+
+    @Test
+    public void testDoubleAndEnumTokens() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("21.55 frozen Frozen warm");
+
+        assertEquals(21.55, lexer.doubleToken(0));
+        assertEquals(Temperature.frozen, lexer.enumToken(1, Temperature.class));
+        assertThrows(CommandException.class, () -> lexer.enumToken(2, Temperature.class),
+                "Constants are matched like valueOf, case sensitively");
+        assertEquals(Temperature.warm, lexer.enumToken(3, Temperature.class));
+        assertThrows(CommandException.class, () -> lexer.doubleToken(1));
+    }
+
+    @Test
+    public void testLocationParts() throws CommandException {
+        CommandLexer lexer = new CommandLexer().tokenize("show shelf store_123:aisle_A1:shelf_q1 store_9");
+
+        assertEquals(3, lexer.partCount(2));
+        assertEquals("store_123", lexer.part(2, 0));
+        assertEquals("aisle_A1", lexer.part(2, 1));
+        assertEquals("shelf_q1", lexer.part(2, 2));
+        assertThrows(CommandException.class, () -> lexer.part(2, 3));
+        assertEquals(1, lexer.partCount(3));
+        assertEquals("store_9", lexer.part(3, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.se310.store;
+
+import com.se310.store.output.Verbosity;
+import com.se310.store.server.CommandServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the CommandServer executing DSL commands sent over loopback connections
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandServerTest {
+
+    //StoreService is shared by every test of the run, so the ids of this test are unique to it
+    private static final String STORE = "server_store";
+
+    private CommandServer server;
+
+    /**
+     * Client connection of a test, reading one response per command
+     */
+    private static final class Client implements AutoCloseable {
+
+        private final Socket socket;
+        private final PrintStream writer;
+        private final BufferedReader reader;
+
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            writer = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        private void send(String line) {
+            writer.println(line);
+        }
+
+        /**
+         * Read the lines of the next response up to the empty line terminating it
+         * @return
+         */
+        private List<String> response() throws IOException {
+            List<String> lines = new ArrayList<>();
+            String line;
+            while (!(line = reader.readLine()).isEmpty())
+                lines.add(line);
+            return lines;
+        }
+
+        private List<String> execute(String command) throws IOException {
+            send(command);
+            return response();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new CommandServer(0, Verbosity.results).start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testResponsesAreTerminatedByEmptyLine() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            //Definitions show no result, their response is the empty line alone
+            assertTrue(client.execute("define store " + STORE + " name Server address \"1 Server Street\"").isEmpty());
+
+            //Comments and blank lines get no response, so the next response belongs to the next command
+            client.send("# comment");
+            client.send("");
+            List<String> shown = client.execute("show store " + STORE);
+            assertEquals(1, shown.size());
+            assertTrue(shown.get(0).startsWith("<<< "));
+            assertTrue(shown.get(0).contains(STORE));
+
+            List<String> failed = client.execute("show store server_missing");
+            assertEquals(1, failed.size());
+            assertTrue(failed.get(0).contains("Failed due to: "));
+
+            List<String> unknown = client.execute("unknown command");
+            assertEquals(1, unknown.size());
+            assertTrue(unknown.get(0).contains("On Line Number: 6"));
+        }
+    }
+
+    @Test
+    public void testTokensAreRevokedPerConnection() throws IOException {
+        try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+            assertTrue(first.execute("define product server_prod name Product description Product size 1l "
+                    + "category Food unit_price 1 temperature ambient").isEmpty());
+            assertTrue(second.execute("show product server_prod").get(0).startsWith("<<< "));
+
+            //The token of the closed connection is revoked, the token of the open one stays valid
+            first.close();
+            for (int i = 0; i < 20; i++) {
+                List<String> shown = second.execute("show product server_prod");
+                assertEquals(1, shown.size());
+                assertTrue(shown.get(0).startsWith("<<< "), shown.get(0));
+            }
+        }
+
+        //Every new connection is issued a token of its own
+        try (Client third = new Client(server.getPort())) {
+            assertTrue(third.execute("show product server_prod").get(0).startsWith("<<< "));
+        }
+    }
+}
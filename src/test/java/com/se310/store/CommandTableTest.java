@@ -0,0 +1,109 @@
+package com.se310.store;
+
+import com.se310.store.command.CommandDefinition;
+import com.se310.store.command.CommandHandler;
+import com.se310.store.command.CommandLexer;
+import com.se310.store.command.CommandTable;
+import com.se310.store.command.PartitionRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the CommandTable dispatching DSL commands through the KeywordTrie
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CommandTableTest {
+
+    private static final CommandHandler NOTHING = arguments -> { };
+
+    private CommandTable table;
+    private CommandDefinition define;
+    private CommandDefinition defineStore;
+    private CommandDefinition defineStoreAisle;
+    private CommandDefinition show;
+
+    @BeforeEach
+    public void setUp() {
+        table = new CommandTable();
+        define = table.register("define", PartitionRule.GLOBAL, NOTHING);
+        defineStore = table.register("define store", PartitionRule.GLOBAL, NOTHING);
+        defineStoreAisle = table.register("define  store aisle", PartitionRule.GLOBAL, NOTHING);
+        show = table.register("show store", PartitionRule.GLOBAL, NOTHING);
+    }
+
+    private CommandDefinition lookup(String line) {
+        return table.lookup(new CommandLexer().tokenize(line));
+    }
+
+    @Test
+    public void testLongestPhraseWins() {
+        assertSame(defineStore, lookup("define store s1 name Chapman"));
+        assertSame(defineStoreAisle, lookup("define store aisle s1:a1"));
+        assertSame(define, lookup("define product p1"));
+        assertSame(define, lookup("define"));
+        assertSame(show, lookup("show store s1"));
+    }
+
+    @Test
+    public void testKeywordsAreCaseInsensitive() {
+        assertSame(defineStore, lookup("DEFINE Store s1"));
+        assertSame(defineStoreAisle, lookup("Define STORE aIsLe s1:a1"));
+    }
+
+    @Test
+    public void testUnknownCommands() {
+        assertNull(lookup("show aisle s1:a1"));
+        assertNull(lookup("remove store s1"));
+        assertNull(lookup(""));
+        assertNull(lookup("sh\"ow store s1"), "Tokens with stray quotes never match keywords");
+    }
+
+    @Test
+    public void testDuplicatePhraseIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> table.register("Define  Store", PartitionRule.GLOBAL, NOTHING));
+    }
+
+    @Test
+    public void testOpcodesFollowRegistrationOrder() {
+        assertEquals(0, define.opcode());
+        assertEquals(3, show.opcode());
+        assertSame(defineStoreAisle, table.byOpcode(2));
+        assertNull(table.byOpcode(4));
+        assertNull(table.byOpcode(-1));
+    }
+
+    @Test
+    public void testManyKeywordsResolve() {
+        CommandDefinition[] definitions = new CommandDefinition[200];
+        for (int i = 0; i < definitions.length; i++)
+            definitions[i] = table.register("command_" + i + " sub", PartitionRule.GLOBAL, NOTHING);
+
+        for (int i = 0; i < definitions.length; i++)
+            assertSame(definitions[i], lookup("COMMAND_" + i + " sub arg"));
+        assertSame(defineStore, lookup("define store s1"));
+        assertNull(lookup("command_200 sub"));
+    }
+
+    @Test
+    public void testFingerprintTracksOpcodes() {
+        CommandTable reordered = new CommandTable();
+        reordered.register("define store", PartitionRule.GLOBAL, NOTHING);
+        reordered.register("define", PartitionRule.GLOBAL, NOTHING);
+        reordered.register("define  store aisle", PartitionRule.GLOBAL, NOTHING);
+        reordered.register("show store", PartitionRule.GLOBAL, NOTHING);
+        assertNotEquals(table.fingerprint(), reordered.fingerprint());
+
+        CommandTable same = new CommandTable();
+        same.register("define", PartitionRule.GLOBAL, NOTHING);
+        same.register("define store", PartitionRule.GLOBAL, NOTHING);
+        same.register("define  store aisle", PartitionRule.GLOBAL, NOTHING);
+        same.register("show store", PartitionRule.GLOBAL, NOTHING);
+        assertEquals(table.fingerprint(), same.fingerprint());
+    }
+}
@@ -0,0 +1,217 @@
+package com.se310.store;
+
+import com.se310.store.command.CommandArguments;
+import com.se310.store.command.CommandDefinition;
+import com.se310.store.command.CommandLexer;
+import com.se310.store.command.CommandTable;
+import com.se310.store.command.CompiledScript;
+import com.se310.store.command.PartitionRule;
+import com.se310.store.command.ScriptCache;
+import com.se310.store.command.ScriptReader;
+import com.se310.store.model.CommandException;
+import com.se310.store.model.Temperature;
+import com.se310.store.output.ConsoleOutputSink;
+import com.se310.store.output.Verbosity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for CompiledScript and the ScriptCache keeping compiled scripts next to their source
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class CompiledScriptTest {
+
+    private static final List<Class<? extends Enum<?>>> ENUM_TYPES = List.of(Temperature.class);
+
+    private static final String SCRIPT = String.join("\n",
+            "# Store Definition",
+            "define store store_123 name Chapman address \"One University Drive, Orange\"",
+            "",
+            "define  shelf store_123:aisle_A1:shelf_q1 name  shelf_1 level high temperature frozen",
+            "define inventory inv_u21 location store_123:aisle_A1:shelf_q1 capacity 1500 count -1000",
+            "  show   store   store_123",
+            "unknown command 12 \"quoted \"\"  empty\"",
+            "define store store\"_9 name x\"y price 3.25",
+            "show store \"trailing quote");
+
+    @TempDir
+    Path directory;
+
+    private CommandTable table;
+    private Path source;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        table = new CommandTable();
+        table.register("define store", PartitionRule.GLOBAL, arguments -> { });
+        table.register("define shelf", PartitionRule.GLOBAL, arguments -> { });
+        table.register("define inventory", PartitionRule.GLOBAL, arguments -> { });
+        table.register("show store", PartitionRule.GLOBAL, arguments -> { });
+        source = directory.resolve("store.script");
+        Files.writeString(source, SCRIPT);
+    }
+
+    /**
+     * Command as seen through CommandArguments, rendered the same way for text and compiled scripts
+     */
+    private record Command(int lineNumber, CommandDefinition definition, String line, List<String> tokens) {
+    }
+
+    private static Command describe(int lineNumber, CommandDefinition definition, CommandArguments arguments) {
+        List<String> tokens = new ArrayList<>();
+        try {
+            for (int i = 0; i < arguments.tokenCount(); i++) {
+                String token = arguments.token(i);
+                StringBuilder parts = new StringBuilder(token);
+                int partCount = token.split(":", -1).length;
+                for (int p = 0; p < partCount; p++)
+                    parts.append('|').append(arguments.part(i, p));
+                tokens.add(parts.toString());
+            }
+        } catch (CommandException e) {
+            fail(e);
+        }
+        return new Command(lineNumber, definition, arguments.getLine(), tokens);
+    }
+
+    private List<Command> lex() throws IOException {
+        List<Command> commands = new ArrayList<>();
+        CommandLexer lexer = new CommandLexer();
+        try (InputStream input = Files.newInputStream(source)) {
+            ScriptReader.forEachCommand(input, (line, lineNumber) -> {
+                lexer.tokenize(line);
+                commands.add(describe(lineNumber, table.lookup(lexer), lexer));
+            });
+        }
+        return commands;
+    }
+
+    private List<Command> visit(CompiledScript script) {
+        List<Command> commands = new ArrayList<>();
+        script.execute(table, (lineNumber, command, arguments) ->
+                commands.add(describe(lineNumber, command, arguments)));
+        return commands;
+    }
+
+    @Test
+    public void testCompiledScriptMatchesLexer() throws IOException {
+        List<Command> expected = lex();
+        CompiledScript script = new ScriptCache(table, ENUM_TYPES).load(source);
+
+        assertEquals(7, script.getRecordCount());
+        assertEquals(expected, visit(script));
+        assertNull(expected.get(4).definition(), "Unrecognized commands are kept for error reporting");
+        assertEquals(2, expected.get(0).lineNumber());
+        assertEquals(9, expected.get(6).lineNumber());
+    }
+
+    @Test
+    public void testTypedArguments() throws IOException {
+        CompiledScript script = new ScriptCache(table, ENUM_TYPES).load(source);
+        List<Object> values = new ArrayList<>();
+        script.execute(table, (lineNumber, command, arguments) -> {
+            try {
+                if (lineNumber == 4)
+                    values.add(arguments.enumToken(8, Temperature.class));
+                if (lineNumber == 5) {
+                    values.add(arguments.intToken(6));
+                    values.add(arguments.intToken(8));
+                    assertThrows(CommandException.class, () -> arguments.intToken(2));
+                }
+                if (lineNumber == 8)
+                    values.add(arguments.doubleToken(6));
+            } catch (CommandException e) {
+                fail(e);
+            }
+        });
+        assertEquals(List.of(Temperature.frozen, 1500, -1000, 3.25), values);
+    }
+
+    @Test
+    public void testSerializedFormRoundTrips() throws IOException {
+        CompiledScript script = new ScriptCache(table, ENUM_TYPES).compile(source, ScriptCache.hash(source));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        script.writeTo(output);
+
+        CompiledScript read = CompiledScript.readFrom(new ByteArrayInputStream(output.toByteArray()), ENUM_TYPES);
+        assertNotNull(read);
+        assertEquals(script.getFingerprint(), read.getFingerprint());
+        assertArrayEquals(script.getSourceHash(), read.getSourceHash());
+        assertEquals(visit(script), visit(read));
+    }
+
+    @Test
+    public void testCacheIsReusedUntilSourceChanges() throws IOException {
+        ScriptCache cache = new ScriptCache(table, ENUM_TYPES);
+        Path compiled = ScriptCache.compiledPath(source);
+        cache.load(source);
+        assertTrue(Files.isRegularFile(compiled));
+
+        //A reused cache entry is not rewritten
+        FileTime written = FileTime.fromMillis(1_000_000L);
+        Files.setLastModifiedTime(compiled, written);
+        assertEquals(lex(), visit(cache.load(source)));
+        assertEquals(written, Files.getLastModifiedTime(compiled));
+
+        Files.writeString(source, "show store store_9\n");
+        CompiledScript script = cache.load(source);
+        assertEquals(1, script.getRecordCount());
+        assertEquals(lex(), visit(script));
+        assertNotEquals(written, Files.getLastModifiedTime(compiled));
+    }
+
+    @Test
+    public void testCacheIsRecompiledForChangedCommandTable() throws IOException {
+        new ScriptCache(table, ENUM_TYPES).load(source);
+
+        table.register("unknown command", PartitionRule.GLOBAL, arguments -> { });
+        CompiledScript script = new ScriptCache(table, ENUM_TYPES).load(source);
+        assertEquals(table.fingerprint(), script.getFingerprint());
+        assertNotNull(visit(script).get(4).definition());
+    }
+
+    @Test
+    public void testCorruptCacheIsRecompiled() throws IOException {
+        Path compiled = ScriptCache.compiledPath(source);
+        new ScriptCache(table, ENUM_TYPES).load(source);
+        byte[] bytes = Files.readAllBytes(compiled);
+        Files.write(compiled, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertEquals(lex(), visit(new ScriptCache(table, ENUM_TYPES).load(source)));
+        assertArrayEquals(bytes, Files.readAllBytes(compiled));
+    }
+
+    @Test
+    public void testUncachedScriptIsReportedToSink() throws IOException {
+        //A non empty directory in place of the cache entry can not be replaced
+        Path compiled = ScriptCache.compiledPath(source);
+        Files.createDirectories(compiled.resolve("entry"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ConsoleOutputSink sink = new ConsoleOutputSink(new PrintStream(output, true, StandardCharsets.UTF_8),
+                Verbosity.quiet);
+
+        assertEquals(lex(), visit(new ScriptCache(table, ENUM_TYPES, sink).load(source)));
+        sink.flush();
+        assertTrue(output.toString(StandardCharsets.UTF_8).startsWith("Unable to cache compiled script: "));
+        assertTrue(Files.isDirectory(compiled));
+    }
+}
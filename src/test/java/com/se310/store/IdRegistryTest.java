@@ -0,0 +1,197 @@
+package com.se310.store;
+
+import com.se310.store.registry.IdRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the IdRegistry backing the StoreService registries
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class IdRegistryTest {
+
+    @Test
+    public void testGrowsAndKeepsEveryEntry() {
+        IdRegistry<Integer> registry = new IdRegistry<>();
+        for (int i = 0; i < 100_000; i++)
+            assertNull(registry.put("inv_" + i, i));
+
+        assertEquals(100_000, registry.size());
+        for (int i = 0; i < 100_000; i++)
+            assertEquals(i, registry.get("inv_" + i));
+        assertNull(registry.get("inv_100000"));
+        assertNull(registry.get(42), "Only String ids are registered");
+    }
+
+    @Test
+    public void testPutAndPutIfAbsent() {
+        IdRegistry<String> registry = new IdRegistry<>();
+        assertNull(registry.putIfAbsent("store_123", "first"));
+        assertEquals("first", registry.putIfAbsent("store_123", "second"));
+        assertEquals("first", registry.get("store_123"));
+
+        assertEquals("first", registry.put("store_123", "third"));
+        assertEquals("third", registry.get("store_123"));
+        assertEquals(1, registry.size());
+        assertThrows(NullPointerException.class, () -> registry.put("store_9", null));
+        assertThrows(NullPointerException.class, () -> registry.put(null, "value"));
+    }
+
+    @Test
+    public void testRemoveLeavesOtherEntriesReachable() {
+        IdRegistry<Integer> registry = new IdRegistry<>();
+        for (int i = 0; i < 1000; i++)
+            registry.put("cust_" + i, i);
+
+        //Entries probing past a removed slot are still found
+        for (int i = 0; i < 1000; i += 2)
+            assertEquals(i, registry.remove("cust_" + i));
+        assertEquals(500, registry.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i % 2 == 0 ? null : i, registry.get("cust_" + i));
+
+        assertNull(registry.remove("cust_0"));
+        assertFalse(registry.remove("cust_1", 2), "Conditional removal checks the value");
+        assertTrue(registry.remove("cust_1", 1));
+        assertFalse(registry.containsKey("cust_1"));
+
+        //Removed ids can be registered again
+        assertNull(registry.putIfAbsent("cust_0", -1));
+        assertEquals(-1, registry.get("cust_0"));
+    }
+
+    @Test
+    public void testChurnMatchesHashMap() {
+        IdRegistry<Integer> registry = new IdRegistry<>();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(310);
+
+        //Repeated inserts and removals of a bounded id set fill the table with tombstones
+        for (int i = 0; i < 200_000; i++) {
+            String id = "basket_" + random.nextInt(2000);
+            if (random.nextBoolean())
+                assertEquals(expected.put(id, i), registry.put(id, i));
+            else
+                assertEquals(expected.remove(id), registry.remove(id));
+        }
+        assertEquals(expected, registry);
+        assertEquals(expected.size(), registry.size());
+    }
+
+    @Test
+    public void testIteratorVisitsAndRemovesEntries() {
+        IdRegistry<Integer> registry = new IdRegistry<>();
+        for (int i = 0; i < 100; i++)
+            registry.put("dev_" + i, i);
+
+        Map<String, Integer> visited = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : registry.entrySet())
+            visited.put(entry.getKey(), entry.getValue());
+        assertEquals(registry, visited);
+
+        Iterator<Map.Entry<String, Integer>> iterator = registry.entrySet().iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 10 != 0)
+                iterator.remove();
+        }
+        assertEquals(10, registry.size());
+        assertEquals(50, registry.get("dev_50"));
+        assertNull(registry.get("dev_51"));
+
+        registry.clear();
+        assertTrue(registry.isEmpty());
+        assertFalse(registry.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testReadersSeeEntriesWhileRegistryGrows() throws InterruptedException {
+        IdRegistry<Integer> registry = new IdRegistry<>();
+        int entries = 200_000;
+        for (int i = 0; i < 100; i++)
+            registry.put("stable_" + i, i);
+
+        AtomicInteger published = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                Random random = new Random();
+                while (published.get() < entries && failures.isEmpty()) {
+                    //Entries registered before the writer started survive every rehash
+                    int stable = random.nextInt(100);
+                    if (!Integer.valueOf(stable).equals(registry.get("stable_" + stable)))
+                        failures.add("stable_" + stable);
+
+                    //Entries the writer has published are visible
+                    int bound = published.get();
+                    if (bound > 0) {
+                        int id = random.nextInt(bound);
+                        if (!Integer.valueOf(id).equals(registry.get("inv_" + id)))
+                            failures.add("inv_" + id);
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int i = 0; i < entries; i++) {
+            registry.put("inv_" + i, i);
+            published.set(i + 1);
+        }
+        for (Thread reader : readers)
+            reader.join();
+
+        assertTrue(failures.isEmpty(), () -> "Entries not found: " + failures);
+        assertEquals(entries + 100, registry.size());
+    }
+
+    @Test
+    public void testReadersNeverSeeEntityOfReusedSlot() throws InterruptedException {
+        IdRegistry<String> registry = new IdRegistry<>();
+        int ids = 8;
+        AtomicInteger rounds = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                Random random = new Random();
+                while (rounds.get() < 200_000 && failures.isEmpty()) {
+                    //An id maps to its own entity or to nothing, never to the entity of another id
+                    String id = "basket_" + random.nextInt(ids);
+                    String entity = registry.get(id);
+                    if (entity != null && !entity.startsWith(id + ":"))
+                        failures.add(id + " -> " + entity);
+                }
+            });
+            readers[r].start();
+        }
+
+        //Removing an id and registering another one reuses the tombstone of the first
+        Random random = new Random(310);
+        for (int i = 0; i < 200_000; i++) {
+            String removed = "basket_" + random.nextInt(ids);
+            String added = "basket_" + random.nextInt(ids);
+            registry.remove(removed);
+            registry.put(added, added + ":" + i);
+            rounds.set(i + 1);
+        }
+        for (Thread reader : readers)
+            reader.join();
+
+        assertTrue(failures.isEmpty(), () -> "Entities of other ids: " + failures);
+        for (Map.Entry<String, String> entry : registry.entrySet())
+            assertTrue(entry.getValue().startsWith(entry.getKey() + ":"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryTable;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Shelf;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for concurrent updates of Inventory counts
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class InventoryConcurrencyTest {
+
+    private static final String TOKEN = "test-token";
+    private static final int THREADS = 8;
+    private static final int UPDATES = 20_000;
+
+    private static Inventory newInventory(String id, int capacity, int count) throws StoreException {
+        Shelf shelf = new Shelf(id + "_shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient);
+        return shelf.addInventory(new InventoryTable(), id, "store", "aisle", shelf.getId(), capacity, count, id + "_prod",
+                InventoryType.standard);
+    }
+
+    /**
+     * Run a task on every thread at once
+     * @param task
+     * @return results of the task in thread order
+     */
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+                futures.add(executor.submit(task));
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures)
+                results.add(future.get());
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentUpdatesAreNotLost() throws Exception {
+        Inventory inventory = newInventory("cas_inv_1", THREADS * UPDATES * 3, 0);
+
+        runConcurrently(() -> {
+            for (int i = 0; i < UPDATES; i++) {
+                inventory.updateInventory(3);
+                inventory.updateInventory(-1);
+            }
+            return null;
+        });
+        assertEquals(THREADS * UPDATES * 2, inventory.getCount());
+    }
+
+    @Test
+    public void testBoundIsEnforcedUnderContention() throws Exception {
+        int capacity = 5000;
+        Inventory inventory = newInventory("cas_inv_2", capacity, 1000);
+
+        //Only the updates that fit under the capacity succeed, and none of them is lost
+        List<Integer> accepted = runConcurrently(() -> {
+            int count = 0;
+            for (int i = 0; i < UPDATES; i++) {
+                try {
+                    inventory.updateInventory(1);
+                    count++;
+                } catch (StoreException e) {
+                    //Inventory is full
+                }
+            }
+            return count;
+        });
+        assertEquals(capacity - 1000, accepted.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(capacity, inventory.getCount());
+
+        List<Integer> taken = runConcurrently(() -> {
+            int count = 0;
+            for (int i = 0; i < UPDATES; i++) {
+                try {
+                    inventory.updateInventory(-2);
+                    count++;
+                } catch (StoreException e) {
+                    //Inventory is empty
+                }
+            }
+            return count;
+        });
+        assertEquals(capacity / 2, taken.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, inventory.getCount());
+    }
+
+    @Test
+    public void testBasketsAndRestocksKeepCount() throws Exception {
+        StoreService service = StoreService.getInstance();
+        String store = "cas_store";
+        String aisle = "aisle";
+        String product = "cas_prod";
+        String inventory = "cas_inv_3";
+        service.provisionStore(store, "Concurrency", "1 Concurrency Street", TOKEN);
+        service.provisionAisle(store, aisle, "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+        service.provisionShelf(store, aisle, "shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient, TOKEN);
+        service.provisionProduct(product, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+        service.provisionInventory(inventory, store, aisle, "shelf", 1000, 500, product, InventoryType.standard,
+                TOKEN);
+
+        String[] baskets = new String[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            String customer = "cas_cust_" + i;
+            baskets[i] = "cas_basket_" + i;
+            service.provisionCustomer(customer, "Concurrent", "Shopper", CustomerType.registered,
+                    "shopper@example.com", "address", TOKEN);
+            service.updateCustomer(customer, store, aisle, TOKEN);
+            service.provisionBasket(baskets[i], TOKEN);
+            service.assignCustomerBasket(customer, baskets[i], TOKEN);
+        }
+
+        //Every thread takes a unit into its basket, restocks it, returns it and takes the restock back
+        AtomicInteger next = new AtomicInteger();
+        runConcurrently(() -> {
+            String basket = baskets[next.getAndIncrement()];
+            for (int i = 0; i < UPDATES / 10; i++) {
+                service.addBasketProduct(basket, product, 1, TOKEN);
+                service.updateInventory(inventory, 1, TOKEN);
+                service.removeBasketProduct(basket, product, 1, TOKEN);
+                service.updateInventory(inventory, -1, TOKEN);
+            }
+            return null;
+        });
+        assertEquals(500, service.showInventory(inventory, TOKEN).getCount());
+        for (String basket : baskets)
+            assertEquals(0, service.showBasket(basket, TOKEN).row().get("products"));
+    }
+}
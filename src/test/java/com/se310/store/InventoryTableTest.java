@@ -0,0 +1,145 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryTable;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Product;
+import com.se310.store.model.Shelf;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the columnar InventoryTable scans
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class InventoryTableTest {
+
+    private static final String TOKEN = "test-token";
+
+    private final InventoryTable table = new InventoryTable();
+    private final Shelf shelf = new Shelf("shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient);
+
+    private Inventory addInventory(String id, int capacity, int count, String productId) throws StoreException {
+        return shelf.addInventory(table, id, "store", "aisle", shelf.getId(), capacity, count, productId,
+                InventoryType.standard);
+    }
+
+    @Test
+    public void testTotalCountSumsProductOverShelves() throws StoreException {
+        addInventory("inv_1", 100, 10, "milk");
+        addInventory("inv_2", 100, 25, "milk");
+        addInventory("inv_3", 100, 40, "bread");
+        Shelf other = new Shelf("other", "Other", ShelfLevel.low, "Other", Temperature.ambient);
+        other.addInventory(table, "inv_4", "store_2", "aisle", other.getId(), 50, 5, "milk", InventoryType.standard);
+
+        assertEquals(40, table.totalCount("milk"));
+        assertEquals(40, table.totalCount("bread"));
+        assertEquals(0, table.totalCount("unknown"));
+    }
+
+    @Test
+    public void testScansFollowCountUpdates() throws StoreException {
+        Inventory milk = addInventory("inv_1", 100, 10, "milk");
+        Inventory bread = addInventory("inv_2", 100, 90, "bread");
+        assertTrue(table.lowStock(20).contains("inv_1"));
+        assertFalse(table.lowStock(20).contains("inv_2"));
+
+        milk.updateInventory(50);
+        bread.updateInventory(-85);
+        assertEquals(60, table.totalCount("milk"));
+        assertEquals(5, table.totalCount("bread"));
+        List<String> low = table.lowStock(20);
+        assertFalse(low.contains("inv_1"));
+        assertTrue(low.contains("inv_2"));
+
+        //Counts rejected by the strategy leave the table unchanged
+        assertThrows(StoreException.class, () -> bread.updateInventory(-6));
+        assertEquals(5, table.totalCount("bread"));
+    }
+
+    @Test
+    public void testLowStockThresholdIsExclusive() throws StoreException {
+        addInventory("inv_1", 200, 49, "milk");
+        addInventory("inv_2", 200, 50, "milk");
+        addInventory("inv_3", 3, 0, "milk");
+
+        List<String> low = table.lowStock(25);
+        assertTrue(low.contains("inv_1"));
+        assertFalse(low.contains("inv_2"));
+        assertTrue(low.contains("inv_3"));
+        assertFalse(table.lowStock(0).contains("inv_3"));
+    }
+
+    @Test
+    public void testRemovedInventoryIsNotScanned() throws StoreException {
+        Inventory removed = addInventory("inv_1", 100, 5, "milk");
+        addInventory("inv_2", 100, 30, "milk");
+
+        assertTrue(shelf.removeInventory(removed));
+        assertFalse(shelf.removeInventory(removed));
+        assertEquals(30, table.totalCount("milk"));
+        assertFalse(table.lowStock(50).contains("inv_1"));
+
+        //Removed Inventory keeps its own state
+        assertEquals(5, removed.getCount());
+        assertEquals("milk", removed.getProductId());
+    }
+
+    @Test
+    public void testRowsFollowInventoryState() throws StoreException {
+        Inventory inventory = addInventory("inv_1", 100, 5, "milk");
+        inventory.setProductId("bread");
+        inventory.setCapacity(10);
+        assertEquals(0, table.totalCount("milk"));
+        assertEquals(5, table.totalCount("bread"));
+        assertTrue(table.lowStock(51).contains("inv_1"));
+        assertFalse(table.lowStock(50).contains("inv_1"));
+    }
+
+    @Test
+    public void testTablesAreIndependent() throws StoreException {
+        addInventory("inv_1", 100, 10, "milk");
+        InventoryTable other = new InventoryTable();
+        new Shelf("shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient)
+                .addInventory(other, "inv_1", "store", "aisle", "shelf", 100, 70, "milk", InventoryType.standard);
+
+        assertEquals(10, table.totalCount("milk"));
+        assertEquals(70, other.totalCount("milk"));
+        assertEquals(1, other.size());
+    }
+
+    @Test
+    public void testStoreServiceReportsStock() throws StoreException {
+        //StoreService is shared by every test of the run, so the ids of this test are unique to it
+        StoreService service = StoreService.getInstance();
+        service.provisionStore("table_store", "Stock", "1 Stock Street", TOKEN);
+        service.provisionAisle("table_store", "aisle", "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+        service.provisionShelf("table_store", "aisle", "shelf", "Shelf", ShelfLevel.medium, "Shelf",
+                Temperature.ambient, TOKEN);
+        Product product = service.provisionProduct("table_prod", "Product", "Product", "1l", "Food", 1,
+                Temperature.ambient, TOKEN);
+        service.provisionInventory("table_inv_1", "table_store", "aisle", "shelf", 100, 5, product.getId(),
+                InventoryType.standard, TOKEN);
+        service.provisionInventory("table_inv_2", "table_store", "aisle", "shelf", 100, 60, product.getId(),
+                InventoryType.standard, TOKEN);
+
+        assertEquals(65, service.showProductStock("table_prod", TOKEN));
+        List<String> low = service.showLowStock(10, TOKEN);
+        assertTrue(low.contains("table_inv_1"));
+        assertFalse(low.contains("table_inv_2"));
+
+        assertThrows(StoreException.class, () -> service.showProductStock("table_missing", TOKEN));
+        assertThrows(StoreException.class, () -> service.showLowStock(101, TOKEN));
+    }
+}
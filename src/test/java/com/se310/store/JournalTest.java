@@ -0,0 +1,233 @@
+package com.se310.store;
+
+import com.se310.store.journal.Durability;
+import com.se310.store.journal.Journal;
+import com.se310.store.journal.JournalOperation;
+import com.se310.store.model.StoreException;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the Journal of StoreService mutations
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<String> replayed = new ArrayList<>();
+
+    private void record(JournalOperation operation, String[] fields) {
+        replayed.add(operation + " " + String.join(",", fields));
+    }
+
+    private Journal open(Path file, Durability durability) throws IOException {
+        return Journal.open(file, durability, 5, this::record);
+    }
+
+    private static void appendAndCommit(Journal journal, JournalOperation operation, String... fields)
+            throws StoreException {
+        journal.commit(journal.append(operation, fields));
+    }
+
+    @Test
+    public void testRecordsReplayInAppendOrder() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        try (Journal journal = open(file, Durability.sync)) {
+            assertEquals(0, journal.position());
+            appendAndCommit(journal, JournalOperation.provision_store, "store_123", "Chapman", "One University Drive");
+            appendAndCommit(journal, JournalOperation.update_inventory, "inv_u21", "-3");
+            appendAndCommit(journal, JournalOperation.clear_basket);
+            appendAndCommit(journal, JournalOperation.provision_customer, "cust_1", "Ünïcødé", "");
+            assertEquals(Files.size(file), journal.position());
+        }
+        assertTrue(replayed.isEmpty(), "A new journal has nothing to replay");
+
+        assertEquals(Files.size(file), Journal.replay(file, this::record));
+        assertEquals(List.of(
+                "provision_store store_123,Chapman,One University Drive",
+                "update_inventory inv_u21,-3",
+                "clear_basket ",
+                "provision_customer cust_1,Ünïcødé,"), replayed);
+    }
+
+    @Test
+    public void testReopenedJournalAppendsAfterReplay() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        try (Journal journal = open(file, Durability.sync)) {
+            appendAndCommit(journal, JournalOperation.provision_store, "store_1");
+        }
+        try (Journal journal = open(file, Durability.sync)) {
+            assertEquals(List.of("provision_store store_1"), replayed);
+            appendAndCommit(journal, JournalOperation.provision_store, "store_2");
+        }
+
+        replayed.clear();
+        Journal.replay(file, this::record);
+        assertEquals(List.of("provision_store store_1", "provision_store store_2"), replayed);
+    }
+
+    @Test
+    public void testGroupCommitWritesEveryRecord() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        try (Journal journal = open(file, Durability.group)) {
+            long sequence = 0;
+            for (int i = 0; i < 1000; i++)
+                sequence = journal.append(JournalOperation.update_inventory, "inv_" + i, "1");
+            journal.commit(sequence);
+            assertEquals(Files.size(file), journal.position());
+        }
+
+        Journal.replay(file, this::record);
+        assertEquals(1000, replayed.size());
+        assertEquals("update_inventory inv_999,1", replayed.get(999));
+    }
+
+    @Test
+    public void testAsyncRecordsAreWrittenOnClose() throws IOException {
+        Path file = directory.resolve("store.journal");
+        try (Journal journal = Journal.open(file, Durability.async, 60_000, this::record)) {
+            for (int i = 0; i < 10; i++)
+                journal.append(JournalOperation.provision_product, "prod_" + i);
+        }
+
+        Journal.replay(file, this::record);
+        assertEquals(10, replayed.size());
+    }
+
+    @Test
+    public void testTornTailIsDropped() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        long intact;
+        try (Journal journal = open(file, Durability.sync)) {
+            appendAndCommit(journal, JournalOperation.provision_store, "store_1");
+            intact = journal.position();
+            appendAndCommit(journal, JournalOperation.provision_store, "store_2");
+        }
+
+        //Cut the last record in half as a crash while writing it would
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, (int) (intact + (bytes.length - intact) / 2)));
+
+        assertEquals(intact, Journal.replay(file, this::record));
+        assertEquals(List.of("provision_store store_1"), replayed);
+
+        //Opening drops the torn record so that new records follow the intact ones
+        replayed.clear();
+        try (Journal journal = open(file, Durability.sync)) {
+            assertEquals(intact, Files.size(file));
+            appendAndCommit(journal, JournalOperation.provision_store, "store_3");
+        }
+        replayed.clear();
+        Journal.replay(file, this::record);
+        assertEquals(List.of("provision_store store_1", "provision_store store_3"), replayed);
+    }
+
+    @Test
+    public void testCorruptTailIsDropped() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        long intact;
+        try (Journal journal = open(file, Durability.sync)) {
+            appendAndCommit(journal, JournalOperation.provision_store, "store_1");
+            intact = journal.position();
+            appendAndCommit(journal, JournalOperation.provision_store, "store_2");
+        }
+
+        //Flip a byte of the last record so its checksum no longer matches
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(file, bytes);
+        assertEquals(intact, Journal.replay(file, this::record));
+        assertEquals(List.of("provision_store store_1"), replayed);
+
+        //Garbage after the intact records is dropped as well
+        Files.write(file, Arrays.copyOf(bytes, (int) intact));
+        Files.write(file, new byte[] {0x7F, 0x7F, 0x7F, 0x7F, 1, 2, 3}, StandardOpenOption.APPEND);
+        replayed.clear();
+        assertEquals(intact, Journal.replay(file, this::record));
+        assertEquals(List.of("provision_store store_1"), replayed);
+    }
+
+    @Test
+    public void testReplayFromPosition() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        long snapshot;
+        try (Journal journal = open(file, Durability.sync)) {
+            appendAndCommit(journal, JournalOperation.provision_store, "store_1");
+            snapshot = journal.position();
+            appendAndCommit(journal, JournalOperation.provision_store, "store_2");
+        }
+
+        assertEquals(Files.size(file), Journal.replay(file, snapshot, this::record));
+        assertEquals(List.of("provision_store store_2"), replayed);
+        assertThrows(IOException.class, () -> Journal.replay(file, Files.size(file) + 1, this::record));
+    }
+
+    @Test
+    public void testFailingRecordFailsReplay() throws IOException, StoreException {
+        Path file = directory.resolve("store.journal");
+        try (Journal journal = open(file, Durability.sync)) {
+            appendAndCommit(journal, JournalOperation.provision_store, "store_1");
+        }
+
+        assertThrows(IOException.class, () -> Journal.replay(file, (operation, fields) -> {
+            throw new StoreException("Provision Store", "Store Already Exists");
+        }));
+        assertThrows(IOException.class, () -> Journal.open(file, Durability.sync, 5, (operation, fields) -> {
+            throw new StoreException("Provision Store", "Store Already Exists");
+        }));
+    }
+
+    @Test
+    public void testClosedJournalRejectsAppends() throws IOException {
+        Journal journal = open(directory.resolve("store.journal"), Durability.sync);
+        journal.close();
+        assertThrows(IllegalStateException.class, () -> journal.append(JournalOperation.clear_basket, "b1"));
+    }
+
+    @Test
+    public void testUnencodableRecordsAreRejected() {
+        String tooLong = "x".repeat(70_000);
+        assertThrows(StoreException.class, () -> Journal.encode(JournalOperation.provision_store, "store_1", null));
+        assertThrows(StoreException.class, () -> Journal.encode(JournalOperation.provision_store, tooLong));
+        assertDoesNotThrow(() -> Journal.encode(JournalOperation.provision_store, "x".repeat(60_000)));
+    }
+
+    @Test
+    public void testUnjournaledMutationIsNotApplied() throws IOException, StoreException {
+        //StoreService is shared by every test of the run, so the ids of this test are unique to it
+        StoreService service = StoreService.getInstance();
+        Path file = directory.resolve("service.journal");
+        service.openJournal(file, Durability.sync, 5);
+        try {
+            service.provisionStore("journal_store_1", "Chapman", "One University Drive", "test-token");
+            assertThrows(StoreException.class, () -> service.provisionStore("journal_store_2",
+                    "x".repeat(70_000), "One University Drive", "test-token"));
+            assertThrows(StoreException.class, () -> service.showStore("journal_store_2", "test-token"));
+
+            //The service keeps accepting mutations that can be journaled
+            service.provisionStore("journal_store_3", "Chapman", "One University Drive", "test-token");
+        } finally {
+            service.closeJournal();
+        }
+
+        Journal.replay(file, this::record);
+        assertEquals(List.of("provision_store journal_store_1,Chapman,One University Drive",
+                "provision_store journal_store_3,Chapman,One University Drive"), replayed);
+    }
+}
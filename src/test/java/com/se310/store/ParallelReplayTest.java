@@ -0,0 +1,260 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.CommandProcessor;
+import com.se310.store.model.Customer;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Projection;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.output.ConsoleOutputSink;
+import com.se310.store.output.Verbosity;
+import com.se310.store.singleton.StoreService;
+import com.se310.store.workload.ScriptWorkloadSink;
+import com.se310.store.workload.WorkloadGenerator;
+import com.se310.store.workload.WorkloadSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the parallel replay of DSL scripts partitioned by Store
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ParallelReplayTest {
+
+    private static final String TOKEN = "test-token";
+
+    /**
+     * WorkloadSink writing a script whose ids carry a prefix, so that the same workload can be replayed
+     * more than once into the StoreService shared by every test of the run. Remembers the ids it wrote
+     */
+    private static final class PrefixedSink implements WorkloadSink {
+
+        private final String prefix;
+        private final ScriptWorkloadSink script;
+        private final Set<String> stores = new LinkedHashSet<>();
+        private final Set<String> inventories = new LinkedHashSet<>();
+        private final Set<String> customers = new LinkedHashSet<>();
+        private final Set<String> baskets = new LinkedHashSet<>();
+
+        private PrefixedSink(String prefix, StringBuilder out) {
+            this.prefix = prefix;
+            this.script = new ScriptWorkloadSink(out);
+        }
+
+        private String id(String id) {
+            return prefix + id;
+        }
+
+        @Override
+        public void provisionStore(String storeId, String name, String address) {
+            stores.add(id(storeId));
+            script.provisionStore(id(storeId), name, address);
+        }
+
+        @Override
+        public void provisionAisle(String storeId, String aisleNumber, String name, String description,
+                                   AisleLocation location) {
+            script.provisionAisle(id(storeId), aisleNumber, name, description, location);
+        }
+
+        @Override
+        public void provisionShelf(String storeId, String aisleNumber, String shelfId, String name, ShelfLevel level,
+                                   String description, Temperature temperature) {
+            script.provisionShelf(id(storeId), aisleNumber, shelfId, name, level, description, temperature);
+        }
+
+        @Override
+        public void provisionProduct(String productId, String name, String description, String size,
+                                     String category, double price, Temperature temperature) {
+            script.provisionProduct(id(productId), name, description, size, category, price, temperature);
+        }
+
+        @Override
+        public void provisionInventory(String inventoryId, String storeId, String aisleNumber, String shelfId,
+                                       int capacity, int count, String productId, InventoryType type) {
+            inventories.add(id(inventoryId));
+            script.provisionInventory(id(inventoryId), id(storeId), aisleNumber, shelfId, capacity, count,
+                    id(productId), type);
+        }
+
+        @Override
+        public void updateInventory(String inventoryId, int count) {
+            script.updateInventory(id(inventoryId), count);
+        }
+
+        @Override
+        public void showInventory(String inventoryId) {
+            script.showInventory(id(inventoryId));
+        }
+
+        @Override
+        public void provisionCustomer(String customerId, String firstName, String lastName, CustomerType type,
+                                      String email, String address) {
+            customers.add(id(customerId));
+            script.provisionCustomer(id(customerId), firstName, lastName, type, email, address);
+        }
+
+        @Override
+        public void updateCustomer(String customerId, String storeId, String aisleNumber) {
+            script.updateCustomer(id(customerId), id(storeId), aisleNumber);
+        }
+
+        @Override
+        public void showCustomer(String customerId) {
+            script.showCustomer(id(customerId));
+        }
+
+        @Override
+        public void provisionBasket(String basketId) {
+            baskets.add(id(basketId));
+            script.provisionBasket(id(basketId));
+        }
+
+        @Override
+        public void assignCustomerBasket(String customerId, String basketId) {
+            script.assignCustomerBasket(id(customerId), id(basketId));
+        }
+
+        @Override
+        public void addBasketProduct(String basketId, String productId, int count) {
+            script.addBasketProduct(id(basketId), id(productId), count);
+        }
+
+        @Override
+        public void removeBasketProduct(String basketId, String productId, int count) {
+            script.removeBasketProduct(id(basketId), id(productId), count);
+        }
+
+        @Override
+        public void clearBasket(String basketId) {
+            script.clearBasket(id(basketId));
+        }
+
+        @Override
+        public void showBasket(String basketId) {
+            script.showBasket(id(basketId));
+        }
+
+        @Override
+        public void provisionDevice(String deviceId, String name, String deviceType, String storeId,
+                                    String aisleNumber) {
+            script.provisionDevice(id(deviceId), name, deviceType, id(storeId), aisleNumber);
+        }
+
+        @Override
+        public void raiseEvent(String deviceId, String event) {
+            script.raiseEvent(id(deviceId), event);
+        }
+
+        @Override
+        public void issueCommand(String deviceId, String command) {
+            script.issueCommand(id(deviceId), command);
+        }
+
+        /**
+         * State of every entity the script provisioned with the prefix taken out. Collections are listed
+         * in id order and the time Customers were last seen is left out, so that replays of the same
+         * workload under different prefixes compare equal
+         * @return
+         */
+        private List<String> state() {
+            StoreService service = StoreService.getInstance();
+            List<String> customerFields = new ArrayList<>(Projection.customers.getFields());
+            customerFields.remove("lastSeen");
+            List<String> state = new ArrayList<>();
+            for (String store : stores) {
+                state.add(describe(() -> service.showStore(store, Projection.inventory, null, 100_000, TOKEN)));
+                state.add(describe(() -> service.showStore(store, Projection.customers, null, 100_000, TOKEN)
+                        .select(customerFields)));
+                state.add(describe(() -> service.showStore(store, Projection.baskets, null, 100_000, TOKEN)));
+            }
+            for (String inventory : inventories)
+                state.add(describe(() -> service.showInventory(inventory, TOKEN)));
+            for (String customer : customers) {
+                state.add(describe(() -> {
+                    Customer found = service.showCustomer(customer, TOKEN);
+                    Basket basket = found.getBasket();
+                    return customer + " " + found.getStoreLocation() + " " + (basket == null ? null : basket.getId());
+                }));
+            }
+            for (String basket : baskets)
+                state.add(sortProducts(describe(() -> service.showBasket(basket, TOKEN))));
+            state.replaceAll(entity -> entity.replace(prefix, ""));
+            return state;
+        }
+    }
+
+    //Products of a Basket are kept in a hash map whose order depends on the product ids
+    private static final Pattern PRODUCTS = Pattern.compile("productMap=\\{([^}]*)}");
+
+    private static String sortProducts(String basket) {
+        Matcher matcher = PRODUCTS.matcher(basket);
+        if (!matcher.find() || matcher.group(1).isEmpty())
+            return basket;
+        List<String> products = new ArrayList<>(List.of(matcher.group(1).split(", ")));
+        Collections.sort(products);
+        return basket.substring(0, matcher.start(1)) + String.join(", ", products) + basket.substring(matcher.end(1));
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        Object find() throws StoreException;
+    }
+
+    private static String describe(Lookup lookup) {
+        try {
+            return String.valueOf(lookup.find());
+        } catch (StoreException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static List<String> replay(String prefix, int workers) {
+        WorkloadGenerator generator = new WorkloadGenerator(310).stores(4).aislesPerStore(3).products(30)
+                .customers(200).operations(20_000).storeHopRate(0.1);
+        StringBuilder script = new StringBuilder();
+        PrefixedSink sink = new PrefixedSink(prefix, script);
+        generator.generate(sink);
+
+        CommandProcessor processor = new CommandProcessor(
+                new ConsoleOutputSink(new PrintStream(OutputStream.nullOutputStream()), Verbosity.quiet));
+        ByteArrayInputStream input = new ByteArrayInputStream(script.toString().getBytes(StandardCharsets.UTF_8));
+        if (workers == 0)
+            processor.processCommandStream(input);
+        else
+            processor.processCommandStreamParallel(input, workers);
+        processor.close();
+        return sink.state();
+    }
+
+    @Test
+    public void testParallelReplayMatchesSerialReplay() {
+        List<String> serial = replay("serial_", 0);
+        List<String> parallel = replay("parallel_", 4);
+
+        assertFalse(serial.isEmpty());
+        assertEquals(serial.size(), parallel.size());
+        for (int i = 0; i < serial.size(); i++)
+            assertEquals(serial.get(i), parallel.get(i));
+    }
+}
@@ -0,0 +1,112 @@
+package com.se310.store;
+
+import com.se310.store.command.CommandArguments;
+import com.se310.store.command.CommandDefinition;
+import com.se310.store.command.CommandTable;
+import com.se310.store.command.PartitionRule;
+import com.se310.store.command.PreparedCommand;
+import com.se310.store.model.CommandException;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for PreparedCommand templates executed with bound parameters
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class PreparedCommandTest {
+
+    private CommandTable table;
+    //Command phrase and rendered line of every execution
+    private final List<String> executed = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        table = new CommandTable();
+        table.register("add_basket_item", PartitionRule.GLOBAL, arguments -> { });
+        table.register("define shelf", PartitionRule.GLOBAL, arguments -> { });
+    }
+
+    private PreparedCommand prepare(String template) throws CommandException {
+        return PreparedCommand.prepare(table, template, this::record);
+    }
+
+    private void record(CommandDefinition command, CommandArguments arguments) {
+        executed.add(command.phrase() + " | " + arguments.getLine());
+    }
+
+    @Test
+    public void testPrepareResolvesCommand() throws CommandException {
+        PreparedCommand prepared = prepare("add_basket_item ? product  ? item_count ?");
+
+        assertEquals("add_basket_item", prepared.getCommand().phrase());
+        assertEquals(3, prepared.parameterCount());
+        assertEquals(6, prepared.tokenCount());
+        assertEquals("add_basket_item ? product ? item_count ?", prepared.getLine());
+        assertThrows(CommandException.class, () -> prepare("remove_basket_item ? product ?"));
+    }
+
+    @Test
+    public void testBoundParametersAreExecuted() throws CommandException, StoreException {
+        PreparedCommand prepared = prepare("add_basket_item ? product ? item_count ?");
+
+        prepared.setString(0, "b1").setString(1, "p1").setString(2, "5").execute();
+        assertEquals("b1", prepared.token(1));
+        assertEquals("p1", prepared.token(3));
+        assertEquals(5, prepared.intToken(5));
+
+        //Parameters keep their values until they are bound again
+        prepared.setString(1, "milk and bread").execute();
+        prepared.execute("b2", "p2", 7);
+        assertEquals(List.of("add_basket_item | add_basket_item b1 product p1 item_count 5",
+                "add_basket_item | add_basket_item b1 product \"milk and bread\" item_count 5",
+                "add_basket_item | add_basket_item b2 product p2 item_count 7"), executed);
+    }
+
+    @Test
+    public void testUnboundParametersAreRejected() throws CommandException {
+        PreparedCommand prepared = prepare("add_basket_item ? product ? item_count ?");
+
+        prepared.setString(0, "b1").setInt(2, 5);
+        assertThrows(CommandException.class, prepared::execute);
+        assertThrows(CommandException.class, () -> prepared.token(3));
+        assertThrows(CommandException.class, () -> prepared.execute("b1", "p1"));
+        assertThrows(IndexOutOfBoundsException.class, () -> prepared.setString(3, "extra"));
+        assertTrue(executed.isEmpty(), "Commands with unbound parameters never reach the handler");
+    }
+
+    @Test
+    public void testIntsAndEnumsBindWithoutText() throws CommandException, StoreException {
+        PreparedCommand prepared = prepare("define shelf ? level ? temperature ? count ?");
+
+        prepared.setString(0, "s1:a1:shelf_q1").setEnum(1, ShelfLevel.high).setEnum(2, Temperature.frozen)
+                .setInt(3, -3).execute();
+        assertEquals("shelf_q1", prepared.part(2, 2));
+        assertEquals(ShelfLevel.high, prepared.enumToken(4, ShelfLevel.class));
+        assertEquals(Temperature.frozen, prepared.enumToken(6, Temperature.class));
+        assertEquals(-3, prepared.intToken(8));
+        assertEquals(-3.0, prepared.doubleToken(8));
+        assertEquals("-3", prepared.token(8));
+        assertEquals("define shelf s1:a1:shelf_q1 level high temperature frozen count -3", prepared.getLine());
+
+        //Values bound without text are not converted to other types
+        assertThrows(CommandException.class, () -> prepared.enumToken(6, ShelfLevel.class));
+        assertThrows(CommandException.class, () -> prepared.intToken(6));
+
+        //Binding text again replaces the int or enumeration constant
+        prepared.setString(2, "ambient").setString(3, "x");
+        assertEquals(Temperature.ambient, prepared.enumToken(6, Temperature.class));
+        assertThrows(CommandException.class, () -> prepared.intToken(8));
+        assertEquals(1, executed.size());
+    }
+}
@@ -0,0 +1,166 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.proxy.ShardedStoreServiceProxy;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for the ShardedStoreServiceProxy routing operations to the shards of their Stores
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class ShardedStoreServiceProxyTest {
+
+    private static final String TOKEN = "test-token";
+    private static final int SHARDS = 4;
+
+    //StoreService is shared by every test of the run, so the ids of this test are unique to it
+    private static final String PRODUCT = "shard_prod";
+    private static final String AISLE = "aisle";
+    private static String storeA;
+    private static String storeB;
+    private static String storeC;
+
+    private ShardedStoreServiceProxy sharded;
+
+    private static int shardOf(String storeId) {
+        return Math.floorMod(storeId.hashCode(), SHARDS);
+    }
+
+    private static String inventory(String storeId) {
+        return storeId + "_inv";
+    }
+
+    @BeforeAll
+    public static void provision() throws StoreException {
+        //Stores A and C share a shard, Store B is on another one
+        for (int i = 0; storeB == null || storeC == null; i++) {
+            String storeId = "shard_store_" + i;
+            if (storeA == null)
+                storeA = storeId;
+            else if (storeB == null && shardOf(storeId) != shardOf(storeA))
+                storeB = storeId;
+            else if (storeC == null && shardOf(storeId) == shardOf(storeA))
+                storeC = storeId;
+        }
+
+        StoreService service = StoreService.getInstance();
+        service.provisionProduct(PRODUCT, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+        for (String storeId : List.of(storeA, storeB, storeC)) {
+            service.provisionStore(storeId, "Shard", "1 Shard Street", TOKEN);
+            service.provisionAisle(storeId, AISLE, "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+            service.provisionShelf(storeId, AISLE, "shelf", "Shelf", ShelfLevel.medium, "Shelf",
+                    Temperature.ambient, TOKEN);
+            service.provisionInventory(inventory(storeId), storeId, AISLE, "shelf", 100, 100, PRODUCT,
+                    InventoryType.standard, TOKEN);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        sharded = new ShardedStoreServiceProxy(SHARDS);
+        sharded.registerToken(TOKEN);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sharded.close();
+    }
+
+    private static int count(String storeId) throws StoreException {
+        return StoreService.getInstance().showInventory(inventory(storeId), TOKEN).getCount();
+    }
+
+    @Test
+    public void testCrossShardMoveHandsOffBasket() throws StoreException {
+        String customer = "shard_cust_1";
+        sharded.provisionCustomer(customer, "Sharded", "Shopper", CustomerType.registered, "shard@example.com",
+                "address", TOKEN).join();
+        for (int i = 0; i < 22; i++)
+            sharded.provisionBasket("shard_basket_1_" + i, TOKEN).join();
+
+        //Every operation is submitted before any of them is waited for
+        List<CompletableFuture<?>> operations = new ArrayList<>();
+        operations.add(sharded.updateCustomer(customer, storeA, AISLE, TOKEN));
+        operations.add(sharded.assignCustomerBasket(customer, "shard_basket_1_0", TOKEN));
+        for (int i = 0; i < 10; i++)
+            operations.add(sharded.addBasketProduct("shard_basket_1_0", PRODUCT, 1, TOKEN));
+        //Leaving Store A returns the products of the basket to its shelf
+        operations.add(sharded.updateCustomer(customer, storeB, AISLE, TOKEN));
+        operations.add(sharded.assignCustomerBasket(customer, "shard_basket_1_1", TOKEN));
+        for (int i = 0; i < 4; i++)
+            operations.add(sharded.addBasketProduct("shard_basket_1_1", PRODUCT, 1, TOKEN));
+        CompletableFuture<Basket> shown = sharded.showBasket("shard_basket_1_1", TOKEN);
+        operations.forEach(CompletableFuture::join);
+
+        assertEquals(100, count(storeA));
+        assertEquals(96, count(storeB));
+        assertEquals(storeB, shown.join().getStore().getId());
+        assertEquals(1, shown.join().row().get("products"));
+        assertEquals(storeB, sharded.showCustomer(customer, TOKEN).join().getStoreLocation().getStoreId());
+
+        //Moving back and forth keeps every operation in submission order
+        List<CompletableFuture<?>> moves = new ArrayList<>();
+        for (int i = 2; i < 22; i++) {
+            String basket = "shard_basket_1_" + i;
+            moves.add(sharded.updateCustomer(customer, i % 2 == 0 ? storeA : storeB, AISLE, TOKEN));
+            moves.add(sharded.assignCustomerBasket(customer, basket, TOKEN));
+            moves.add(sharded.addBasketProduct(basket, PRODUCT, 2, TOKEN));
+        }
+        moves.forEach(CompletableFuture::join);
+        assertEquals(100, count(storeA));
+        assertEquals(98, count(storeB));
+    }
+
+    @Test
+    public void testFailedMoveKeepsCustomerOnItsShard() throws StoreException {
+        String customer = "shard_cust_2";
+        String basket = "shard_basket_2";
+        sharded.provisionCustomer(customer, "Sharded", "Shopper", CustomerType.registered, "shard@example.com",
+                "address", TOKEN).join();
+        sharded.provisionBasket(basket, TOKEN).join();
+
+        //A failed first entry leaves the customer without a Store
+        CompletableFuture<?> entry = sharded.updateCustomer(customer, storeA, "aisle_missing", TOKEN);
+        assertThrows(CompletionException.class, entry::join);
+        assertNull(sharded.showCustomer(customer, TOKEN).join().getStoreLocation());
+
+        sharded.updateCustomer(customer, storeA, AISLE, TOKEN).join();
+        sharded.assignCustomerBasket(customer, basket, TOKEN).join();
+        sharded.addBasketProduct(basket, PRODUCT, 5, TOKEN).join();
+
+        //Failed moves on the same shard and across shards leave the customer and its basket in Store A
+        CompletableFuture<?> sameShard = sharded.updateCustomer(customer, storeC, "aisle_missing", TOKEN);
+        CompletableFuture<?> crossShard = sharded.updateCustomer(customer, storeB, "aisle_missing", TOKEN);
+        CompletableFuture<Basket> added = sharded.addBasketProduct(basket, PRODUCT, 1, TOKEN);
+        assertThrows(CompletionException.class, sameShard::join);
+        assertThrows(CompletionException.class, crossShard::join);
+        added.join();
+        assertEquals(94, count(storeA));
+        assertEquals(storeA, sharded.showCustomer(customer, TOKEN).join().getStoreLocation().getStoreId());
+
+        //The basket is still cleared once a move succeeds
+        sharded.updateCustomer(customer, storeC, AISLE, TOKEN).join();
+        assertEquals(100, count(storeA));
+        assertEquals(storeC, sharded.showCustomer(customer, TOKEN).join().getStoreLocation().getStoreId());
+    }
+}
@@ -0,0 +1,175 @@
+package com.se310.store;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.Customer;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.Device;
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryTable;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.Product;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Store;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.StoreSnapshot;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Class for binary snapshots of the Store model
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+public class StoreSnapshotTest {
+
+    private static final String TOKEN = "test-token";
+
+    //StoreService is shared by every test of the run, so the ids of this test are unique to it
+    private static final String STORE = "snapshot_store";
+    private static final String OTHER_STORE = "snapshot_store_2";
+    private static final String AISLE = "aisle_A1";
+    private static final String SHELF = "shelf_q1";
+    private static final String PRODUCT = "snapshot_prod";
+    private static final String INVENTORY = "snapshot_inv";
+    private static final String OTHER_INVENTORY = "snapshot_inv_2";
+    private static final String CUSTOMER = "snapshot_cust";
+    private static final String BASKET = "snapshot_basket";
+    private static final String DEVICE = "snapshot_cam";
+
+    @TempDir
+    static Path directory;
+
+    private static Path snapshotFile;
+
+    private final Map<String, Store> storeMap = new HashMap<>();
+    private final Map<String, Customer> customerMap = new HashMap<>();
+    private final Map<String, Product> productMap = new HashMap<>();
+    private final Map<String, Inventory> inventoryMap = new HashMap<>();
+    private final Map<String, Basket> basketMap = new HashMap<>();
+    private final Map<String, Device> deviceMap = new HashMap<>();
+    private final StoreSnapshot snapshot = new StoreSnapshot(storeMap, customerMap, productMap, inventoryMap,
+            basketMap, deviceMap, new InventoryTable());
+
+    @BeforeAll
+    public static void provision() throws StoreException {
+        StoreService service = StoreService.getInstance();
+        service.provisionProduct(PRODUCT, "Milk", "Whole Milk", "1 gal", "Dairy", 4.25, Temperature.refrigerated,
+                TOKEN);
+        for (String store : new String[] {STORE, OTHER_STORE}) {
+            service.provisionStore(store, "Chapman", "One University Drive, Orange", TOKEN);
+            service.provisionAisle(store, AISLE, "Dairy", "Dairy Aisle", AisleLocation.floor, TOKEN);
+            service.provisionShelf(store, AISLE, SHELF, "Milk Shelf", ShelfLevel.high, "Milk", Temperature.refrigerated,
+                    TOKEN);
+        }
+        service.provisionInventory(INVENTORY, STORE, AISLE, SHELF, 100, 40, PRODUCT, InventoryType.standard, TOKEN);
+        service.provisionInventory(OTHER_INVENTORY, OTHER_STORE, AISLE, SHELF, 50, 50, PRODUCT,
+                InventoryType.standard, TOKEN);
+        service.provisionCustomer(CUSTOMER, "Sergey", "Sundukovskiy", CustomerType.registered, "ss@chapman.edu",
+                "One University Drive", TOKEN);
+        service.updateCustomer(CUSTOMER, STORE, AISLE, TOKEN);
+        service.provisionBasket(BASKET, TOKEN);
+        service.assignCustomerBasket(CUSTOMER, BASKET, TOKEN);
+        service.addBasketProduct(BASKET, PRODUCT, 3, TOKEN);
+        service.provisionDevice(DEVICE, "Camera", "camera", STORE, AISLE, TOKEN);
+
+        snapshotFile = StoreService.getInstance().writeSnapshot(directory.resolve("store.snapshot")).join();
+    }
+
+    private static void assertRestored(Object expected, Object restored) {
+        assertNotNull(restored);
+        assertNotSame(expected, restored);
+        assertEquals(expected.toString(), restored.toString());
+    }
+
+    @Test
+    public void testEagerLoadRestoresModel() throws IOException, StoreException {
+        StoreService service = StoreService.getInstance();
+        snapshot.load(snapshotFile);
+
+        assertFalse(snapshot.isPending());
+        assertRestored(service.showStore(STORE, TOKEN), storeMap.get(STORE));
+        assertRestored(service.showStore(OTHER_STORE, TOKEN), storeMap.get(OTHER_STORE));
+        assertRestored(service.showProduct(PRODUCT, TOKEN), productMap.get(PRODUCT));
+        assertRestored(service.showInventory(INVENTORY, TOKEN), inventoryMap.get(INVENTORY));
+        assertRestored(service.showCustomer(CUSTOMER, TOKEN), customerMap.get(CUSTOMER));
+        assertRestored(service.showBasket(BASKET, TOKEN), basketMap.get(BASKET));
+        assertRestored(service.showDevice(DEVICE, TOKEN), deviceMap.get(DEVICE));
+
+        //References between restored entities point at restored entities
+        assertSame(basketMap.get(BASKET), customerMap.get(CUSTOMER).getBasket());
+        assertEquals(37, inventoryMap.get(INVENTORY).getCount());
+    }
+
+    @Test
+    public void testLazyLoadFaultsInStores() throws IOException, StoreException {
+        StoreService service = StoreService.getInstance();
+        snapshot.load(snapshotFile, true);
+
+        //Products, Customers and Baskets are restored right away
+        assertTrue(snapshot.isPending());
+        assertRestored(service.showProduct(PRODUCT, TOKEN), productMap.get(PRODUCT));
+        assertRestored(service.showBasket(BASKET, TOKEN), basketMap.get(BASKET));
+        assertNull(storeMap.get(STORE));
+        assertNull(inventoryMap.get(INVENTORY));
+
+        assertRestored(service.showInventory(INVENTORY, TOKEN), snapshot.faultInInventory(INVENTORY));
+        assertNotNull(storeMap.get(STORE), "Faulting in an Inventory faults in its Store");
+        assertNull(storeMap.get(OTHER_STORE));
+        assertRestored(service.showDevice(DEVICE, TOKEN), snapshot.faultInDevice(DEVICE));
+
+        assertRestored(service.showStore(OTHER_STORE, TOKEN), snapshot.faultInStore(OTHER_STORE));
+        assertSame(storeMap.get(STORE), snapshot.faultInStore(STORE), "A Store is faulted in only once");
+        assertNull(snapshot.faultInStore("snapshot_missing"));
+
+        snapshot.faultInAll();
+        assertFalse(snapshot.isPending());
+        assertRestored(service.showStore(STORE, TOKEN), storeMap.get(STORE));
+        assertRestored(service.showCustomer(CUSTOMER, TOKEN), customerMap.get(CUSTOMER));
+    }
+
+    @Test
+    public void testRestoredModelRoundTrips() throws IOException {
+        assertEquals(0, snapshot.load(snapshotFile), "Snapshots written without a journal cover no records");
+        Path copy = directory.resolve("copy.snapshot");
+        StoreSnapshot.write(copy, snapshot.capture(42));
+
+        Map<String, Store> stores = new HashMap<>();
+        Map<String, Basket> baskets = new HashMap<>();
+        StoreSnapshot restored = new StoreSnapshot(stores, new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                baskets, new HashMap<>(), new InventoryTable());
+        assertEquals(42, restored.load(copy));
+        assertRestored(storeMap.get(STORE), stores.get(STORE));
+        assertRestored(basketMap.get(BASKET), baskets.get(BASKET));
+    }
+
+    @Test
+    public void testPopulatedModelIsNotOverwritten() throws IOException {
+        snapshot.load(snapshotFile);
+        assertThrows(IllegalStateException.class, () -> snapshot.load(snapshotFile, true));
+    }
+
+    @Test
+    public void testDamagedSnapshotIsRejected() throws IOException {
+        byte[] image = Files.readAllBytes(snapshotFile);
+        image[image.length / 2] ^= 0x5A;
+        Path damaged = directory.resolve("damaged.snapshot");
+        StoreSnapshot.write(damaged, image);
+
+        assertThrows(IOException.class, () -> snapshot.load(damaged));
+        assertTrue(storeMap.isEmpty());
+    }
+}
@@ -0,0 +1,112 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Basket;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of Basket.addProduct and Basket.removeProduct, which look the product up among all
+ * the inventory of the aisle the customer is in and move units between the shelf and the basket.
+ * The aisle is stocked with inventoryPerAisle products, every thread shops with its own customer
+ * and basket from the same shelf
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=BasketBenchmark -Djmh.threads=4
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BasketBenchmark {
+
+    private static final String STORE = "basket_bench";
+    private static final String AISLE = "aisle_1";
+    private static final String TOKEN = "bench-token";
+    //Units kept in every basket so that removals never run out
+    private static final int REFILL = 50_000_000;
+
+    /**
+     * Aisle stocked with one inventory per product spread over its shelves
+     */
+    @State(Scope.Benchmark)
+    public static class StockedAisle {
+
+        @Param({"3", "30", "300"})
+        public int inventoryPerAisle;
+
+        private final AtomicInteger customers = new AtomicInteger();
+        private String productId;
+
+        @Setup(Level.Trial)
+        public void setUp() throws StoreException {
+            StoreService service = StoreService.getInstance();
+            service.provisionStore(STORE, "Basket Bench", "1 Bench Street", TOKEN);
+            service.provisionAisle(STORE, AISLE, "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+            for (ShelfLevel level : ShelfLevel.values())
+                service.provisionShelf(STORE, AISLE, level.name(), level.name(), level, "Shelf",
+                        Temperature.ambient, TOKEN);
+
+            //Baskets take the last product, every lookup filters all the inventory of the aisle
+            for (int i = 0; i < inventoryPerAisle; i++) {
+                String product = "basket_prod_" + i;
+                service.provisionProduct(product, product, product, "1l", "Food", 1, Temperature.ambient, TOKEN);
+                service.provisionInventory("basket_inv_" + i, STORE, AISLE,
+                        ShelfLevel.values()[i % ShelfLevel.values().length].name(), Integer.MAX_VALUE,
+                        1_500_000_000, product, InventoryType.standard, TOKEN);
+                productId = product;
+            }
+        }
+    }
+
+    private Basket basket;
+    private String productId;
+    private int held;
+
+    @Setup(Level.Trial)
+    public void setUp(StockedAisle aisle) throws StoreException {
+        StoreService service = StoreService.getInstance();
+        String customerId = "basket_cust_" + aisle.customers.getAndIncrement();
+        service.provisionCustomer(customerId, "Bench", "Shopper", CustomerType.registered, "bench@example.com",
+                "bench", TOKEN);
+        service.updateCustomer(customerId, STORE, AISLE, TOKEN);
+        service.provisionBasket("basket_" + customerId, TOKEN);
+        basket = service.assignCustomerBasket(customerId, "basket_" + customerId, TOKEN);
+        productId = aisle.productId;
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() throws StoreException {
+        //Keep the basket between REFILL and 3 * REFILL units so both benchmarks can keep going
+        if (held < REFILL) {
+            basket.addProduct(productId, REFILL);
+            held += REFILL;
+        } else if (held > 3 * REFILL) {
+            basket.removeProduct(productId, held - REFILL);
+            held = REFILL;
+        }
+    }
+
+    @Benchmark
+    public Basket addProduct() throws StoreException {
+        basket.addProduct(productId, 1);
+        held++;
+        return basket;
+    }
+
+    @Benchmark
+    public Basket removeProduct() throws StoreException {
+        basket.removeProduct(productId, 1);
+        held--;
+        return basket;
+    }
+}
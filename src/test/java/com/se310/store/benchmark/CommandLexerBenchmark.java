@@ -0,0 +1,77 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.command.CommandLexer;
+import com.se310.store.model.CommandException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JMH comparison of the original regex based DSL tokenizer against the reusable CommandLexer
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=CommandLexerBenchmark
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandLexerBenchmark {
+
+    private static final String[] LINES = {
+            "define  store  store_123 name Chapman address \"One University Drive, Orange, CA 92866\"",
+            "define  shelf  store_123:aisle_A1:shelf_q1  name  Shelf_Q1  level  high  description  Shelf_Q1_desc  temperature  frozen",
+            "define  inventory  inv_u21  location  store_123:aisle_A1:shelf_q1  capacity  1500  count  1000  type standard product  prod10",
+            "add_basket_item b1 product prod10 item_count 2",
+            "create_event  mic_A1  event  custmer_asked_question cust_S2 \"where can I find the milk?\""
+    };
+
+    //Index of the location token on each line, -1 if the line does not have one
+    private static final int[] LOCATION_TOKEN = {-1, 2, 4, -1, -1};
+
+    private final CommandLexer lexer = new CommandLexer();
+
+    @Benchmark
+    public void regexTokenizer(Blackhole blackhole) {
+        for (int l = 0; l < LINES.length; l++) {
+            //Original CommandProcessor path: compile, collect, strip quotes, split locations
+            List<String> tokens = new ArrayList<>();
+            Matcher matcher = Pattern.compile("([^\"]\\S*|\".+?\")\\s*").matcher(LINES[l]);
+            while (matcher.find())
+                tokens.add(matcher.group(1).replace("\"", ""));
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i == LOCATION_TOKEN[l])
+                    blackhole.consume(tokens.get(i).split(":"));
+                else
+                    blackhole.consume(tokens.get(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public void lexerTokenizer(Blackhole blackhole) throws CommandException {
+        for (int l = 0; l < LINES.length; l++) {
+            lexer.tokenize(LINES[l]);
+            for (int i = 0; i < lexer.tokenCount(); i++) {
+                if (i == LOCATION_TOKEN[l]) {
+                    for (int p = 0; p < lexer.partCount(i); p++)
+                        blackhole.consume(lexer.part(i, p));
+                } else {
+                    blackhole.consume(lexer.token(i));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void lexerTokenizeOnly(Blackhole blackhole) {
+        for (String line : LINES)
+            blackhole.consume(lexer.tokenize(line).tokenCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.CommandException;
+import com.se310.store.model.CommandProcessor;
+import com.se310.store.model.StoreException;
+import com.se310.store.output.ConsoleOutputSink;
+import com.se310.store.output.Verbosity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of CommandProcessor.processCommand covering tokenizing, keyword dispatch, argument
+ * parsing and the StoreService call of a read and a write command. Every thread has its own
+ * CommandProcessor and inventory in a shared Store
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=CommandProcessorBenchmark -Djmh.threads=1
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandProcessorBenchmark {
+
+    /**
+     * Store and product shared by every thread
+     */
+    @State(Scope.Benchmark)
+    public static class SharedStore {
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws CommandException, StoreException {
+            CommandProcessor processor = quietProcessor();
+            processor.processCommand("define store bench_store name Bench address \"1 Bench Street\"");
+            processor.processCommand("define product bench_prod name Milk description Milk size 1l "
+                    + "category Dairy unit_price 2.5 temperature ambient");
+        }
+    }
+
+    private CommandProcessor processor;
+    private String increment;
+    private String decrement;
+    private String show;
+
+    @Setup(Level.Trial)
+    public void setUp(SharedStore store) throws CommandException, StoreException {
+        processor = quietProcessor();
+
+        //An aisle holds one shelf per level, every thread stocks a shelf in its own aisle
+        String aisle = "bench_store:aisle_" + store.threads.getAndIncrement();
+        String inventoryId = "inv_" + aisle.replace(':', '_');
+        processor.processCommand("define aisle " + aisle + " name Aisle description Aisle location floor");
+        processor.processCommand("define shelf " + aisle + ":shelf_1 name Shelf level medium description Shelf "
+                + "temperature ambient");
+        processor.processCommand("define inventory " + inventoryId + " location " + aisle + ":shelf_1 "
+                + "capacity 1000 count 500 type standard product bench_prod");
+
+        increment = "update inventory " + inventoryId + " update_count 1";
+        decrement = "update inventory " + inventoryId + " update_count -1";
+        show = "show inventory " + inventoryId;
+    }
+
+    private static CommandProcessor quietProcessor() {
+        return new CommandProcessor(new ConsoleOutputSink(new PrintStream(OutputStream.nullOutputStream()),
+                Verbosity.quiet));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void updateInventory() throws CommandException, StoreException {
+        processor.processCommand(increment);
+        processor.processCommand(decrement);
+    }
+
+    @Benchmark
+    public void showInventory() throws CommandException, StoreException {
+        processor.processCommand(show);
+    }
+}
@@ -0,0 +1,56 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.Sensor;
+import com.se310.store.model.StoreLocation;
+import com.se310.store.observer.Observer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Device.notifyObservers fan-out to a growing number of observers. Observers
+ * only count the notifications so the cost of the dispatch itself is measured
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=DeviceObserverBenchmark -Djmh.threads=1
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeviceObserverBenchmark {
+
+    /**
+     * Observer counting the notifications it receives
+     */
+    private static class CountingObserver implements Observer {
+        private int notifications;
+
+        @Override
+        public void update(String deviceId, String eventType, String message) {
+            notifications++;
+        }
+    }
+
+    @Param({"1", "8", "64"})
+    public int observers;
+
+    private Sensor sensor;
+    private CountingObserver last;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sensor = new Sensor("bench_cam", "Camera", new StoreLocation("bench_store", "aisle_1"), "camera");
+        for (int i = 0; i < observers; i++) {
+            last = new CountingObserver();
+            sensor.registerObserver(last);
+        }
+    }
+
+    @Benchmark
+    public int notifyObservers() {
+        sensor.notifyObservers("event", "customer_seen cust_1 aisle_1");
+        return last.notifications;
+    }
+}
@@ -0,0 +1,79 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryLocation;
+import com.se310.store.model.InventoryTable;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.StoreException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of Inventory.updateInventory under the standard and the flexible update strategy,
+ * for accepted updates and for updates rejected for exceeding the capacity. Inventory is shared by
+ * every thread when shared is true, otherwise every thread updates its own
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=InventoryBenchmark -Djmh.threads=4
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryBenchmark {
+
+    private static final int CAPACITY = 1000;
+
+    /**
+     * Inventory updated by every thread
+     */
+    @State(Scope.Benchmark)
+    public static class SharedInventory {
+
+        @Param({"standard", "flexible"})
+        public InventoryType type;
+
+        private Inventory inventory;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            inventory = newInventory(type);
+        }
+    }
+
+    @Param({"false", "true"})
+    public boolean shared;
+
+    private Inventory inventory;
+
+    @Setup(Level.Trial)
+    public void setUp(SharedInventory sharedInventory) {
+        inventory = shared ? sharedInventory.inventory : newInventory(sharedInventory.type);
+    }
+
+    private static Inventory newInventory(InventoryType type) {
+        //Every Inventory has a table of its own, so counts of unshared Inventory never share a cache line
+        return new Inventory(new InventoryTable(), "bench_inv", new InventoryLocation("bench_store", "aisle_1", "shelf_1"), CAPACITY,
+                CAPACITY / 2, "bench_prod", type);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public Inventory updateInventory() throws StoreException {
+        inventory.updateInventory(1);
+        inventory.updateInventory(-1);
+        return inventory;
+    }
+
+    @Benchmark
+    public void rejectedUpdate(Blackhole blackhole) {
+        try {
+            inventory.updateInventory(2 * CAPACITY);
+        } catch (StoreException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.Inventory;
+import com.se310.store.model.InventoryTable;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.Shelf;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of a scan over all Inventory totalling the count of one product, either walking the
+ * Inventory objects one by one or reading the columns of the InventoryTable
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=InventoryScanBenchmark
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryScanBenchmark {
+
+    private static final int PRODUCTS = 100;
+    private static final String PRODUCT = "scan_prod_7";
+
+    @Param({"100000", "1000000"})
+    public int inventories;
+
+    private final InventoryTable table = new InventoryTable();
+    private final List<Inventory> inventoryList = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws StoreException {
+        Shelf shelf = new Shelf("scan_shelf", "Shelf", ShelfLevel.medium, "Shelf", Temperature.ambient);
+        for (int i = 0; i < inventories; i++) {
+            inventoryList.add(shelf.addInventory(table, "scan_inv_" + i, "scan_store", "scan_aisle", "scan_shelf",
+                    1000, i % 1000, "scan_prod_" + i % PRODUCTS, InventoryType.values()[i % 2]));
+        }
+    }
+
+    @Benchmark
+    public long objectScan() {
+        long total = 0;
+        for (Inventory inventory : inventoryList) {
+            if (PRODUCT.equals(inventory.getProductId()))
+                total += inventory.getCount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long tableScan() {
+        return table.totalCount(PRODUCT);
+    }
+}
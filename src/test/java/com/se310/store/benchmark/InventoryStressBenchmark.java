@@ -0,0 +1,93 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH stress benchmark of one Inventory updated by every thread at once. Every thread has a
+ * Customer with a Basket in the aisle of the Inventory, takes a unit of the product into the
+ * Basket, restocks a unit, puts the unit back and takes the restocked unit away again, so every
+ * invocation leaves the count unchanged. The trial fails if the count has drifted once all threads
+ * are done, which is what a lost update between baskets and restocks would do
+ * Run with: for t in 2 4 8 16; do mvn -Pjmh verify -DskipTests
+ *           -Djmh.includes=InventoryStressBenchmark -Djmh.threads=$t; done
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InventoryStressBenchmark {
+
+    private static final String STORE = "stress_store";
+    private static final String AISLE = "stress_aisle";
+    private static final String INVENTORY = "stress_inv";
+    private static final String PRODUCT = "stress_prod";
+    private static final String TOKEN = "bench-token";
+    private static final int CAPACITY = 1_000_000;
+    private static final int COUNT = CAPACITY / 2;
+    private static final int OPERATIONS = 4;
+
+    /**
+     * Inventory updated by every thread
+     */
+    @State(Scope.Benchmark)
+    public static class SharedInventory {
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws StoreException {
+            StoreService service = StoreService.getInstance();
+            service.provisionStore(STORE, "Stress", "1 Stress Street", TOKEN);
+            service.provisionAisle(STORE, AISLE, "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+            service.provisionShelf(STORE, AISLE, "shelf", "Shelf", ShelfLevel.medium, "Shelf",
+                    Temperature.ambient, TOKEN);
+            service.provisionProduct(PRODUCT, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+            service.provisionInventory(INVENTORY, STORE, AISLE, "shelf", CAPACITY, COUNT, PRODUCT,
+                    InventoryType.standard, TOKEN);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws StoreException {
+            int count = StoreService.getInstance().showInventory(INVENTORY, TOKEN).getCount();
+            if (count != COUNT)
+                throw new IllegalStateException("Lost Inventory Updates, Count Is " + count + " Instead of " + COUNT);
+        }
+    }
+
+    private final StoreService service = StoreService.getInstance();
+    private String basketId;
+
+    @Setup(Level.Trial)
+    public void setUp(SharedInventory shared) throws StoreException {
+        int thread = shared.threads.getAndIncrement();
+        String customerId = "stress_cust_" + thread;
+        basketId = "stress_basket_" + thread;
+        service.provisionCustomer(customerId, "Stress", "Shopper", CustomerType.registered, "stress@example.com",
+                "stress", TOKEN);
+        service.updateCustomer(customerId, STORE, AISLE, TOKEN);
+        service.provisionBasket(basketId, TOKEN);
+        service.assignCustomerBasket(customerId, basketId, TOKEN);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void basketsAndRestocks() throws StoreException {
+        service.addBasketProduct(basketId, PRODUCT, 1, TOKEN);
+        service.updateInventory(INVENTORY, 1, TOKEN);
+        service.removeBasketProduct(basketId, PRODUCT, 1, TOKEN);
+        service.updateInventory(INVENTORY, -1, TOKEN);
+    }
+}
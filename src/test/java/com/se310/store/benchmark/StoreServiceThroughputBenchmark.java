@@ -0,0 +1,119 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.InventoryType;
+import com.se310.store.model.ShelfLevel;
+import com.se310.store.model.StoreException;
+import com.se310.store.model.Temperature;
+import com.se310.store.singleton.StoreService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of the throughput of StoreService with several command streams in one JVM. Every
+ * thread runs a mix of customer moves, basket edits, inventory updates and show queries, either in
+ * a Store of its own or, for the sharedStore benchmark, in an aisle of its own of a Store shared by
+ * every thread. Run once per thread count to see how the registries scale
+ * Run with: for t in 1 2 4 8 16 32; do mvn -Pjmh verify -DskipTests
+ *           -Djmh.includes=StoreServiceThroughputBenchmark -Djmh.threads=$t; done
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StoreServiceThroughputBenchmark {
+
+    private static final String SHARED_STORE = "throughput_shared";
+    private static final String TOKEN = "bench-token";
+    private static final int OPERATIONS = 7;
+
+    /**
+     * Store shared by every thread
+     */
+    @State(Scope.Benchmark)
+    public static class SharedStore {
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws StoreException {
+            StoreService.getInstance().provisionStore(SHARED_STORE, "Shared", "1 Bench Street", TOKEN);
+        }
+    }
+
+    /**
+     * Customer shopping in an aisle stocked with one product
+     */
+    private static class Shopper {
+        private final String customerId;
+        private final String storeId;
+        private final String aisleNumber;
+        private final String basketId;
+        private final String inventoryId;
+        private final String productId;
+
+        private Shopper(String storeId, String prefix) throws StoreException {
+            StoreService service = StoreService.getInstance();
+            this.storeId = storeId;
+            this.customerId = prefix + "_cust";
+            this.aisleNumber = prefix + "_aisle";
+            this.basketId = prefix + "_basket";
+            this.inventoryId = prefix + "_inv";
+            this.productId = prefix + "_prod";
+
+            service.provisionAisle(storeId, aisleNumber, "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+            service.provisionShelf(storeId, aisleNumber, "shelf", "Shelf", ShelfLevel.medium, "Shelf",
+                    Temperature.ambient, TOKEN);
+            service.provisionProduct(productId, "Product", "Product", "1l", "Food", 1, Temperature.ambient, TOKEN);
+            service.provisionInventory(inventoryId, storeId, aisleNumber, "shelf", 1_000_000, 500_000, productId,
+                    InventoryType.standard, TOKEN);
+            service.provisionCustomer(customerId, "Bench", "Shopper", CustomerType.registered, "bench@example.com",
+                    "bench", TOKEN);
+            service.updateCustomer(customerId, storeId, aisleNumber, TOKEN);
+            service.provisionBasket(basketId, TOKEN);
+            service.assignCustomerBasket(customerId, basketId, TOKEN);
+        }
+
+        private void shop(StoreService service, Blackhole blackhole) throws StoreException {
+            blackhole.consume(service.updateCustomer(customerId, storeId, aisleNumber, TOKEN));
+            blackhole.consume(service.addBasketProduct(basketId, productId, 1, TOKEN));
+            blackhole.consume(service.removeBasketProduct(basketId, productId, 1, TOKEN));
+            blackhole.consume(service.updateInventory(inventoryId, 1, TOKEN));
+            blackhole.consume(service.updateInventory(inventoryId, -1, TOKEN));
+            blackhole.consume(service.showInventory(inventoryId, TOKEN));
+            blackhole.consume(service.showBasket(basketId, TOKEN));
+        }
+    }
+
+    private final StoreService service = StoreService.getInstance();
+    private Shopper ownStore;
+    private Shopper sharedStore;
+
+    @Setup(Level.Trial)
+    public void setUp(SharedStore shared) throws StoreException {
+        int thread = shared.threads.getAndIncrement();
+        String storeId = "throughput_" + thread;
+        service.provisionStore(storeId, "Store " + thread, thread + " Bench Street", TOKEN);
+        ownStore = new Shopper(storeId, storeId);
+        sharedStore = new Shopper(SHARED_STORE, SHARED_STORE + "_" + thread);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void ownStore(Blackhole blackhole) throws StoreException {
+        ownStore.shop(service, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void sharedStore(Blackhole blackhole) throws StoreException {
+        sharedStore.shop(service, blackhole);
+    }
+}
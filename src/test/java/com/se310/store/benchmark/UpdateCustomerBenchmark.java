@@ -0,0 +1,103 @@
+package com.se310.store.benchmark;
+
+import com.se310.store.model.AisleLocation;
+import com.se310.store.model.Customer;
+import com.se310.store.model.CustomerType;
+import com.se310.store.model.StoreException;
+import com.se310.store.singleton.StoreService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of StoreService.updateCustomer with customers spread over many Stores. Moves within
+ * a Store look up the Store, the aisle and the customer, moves to another Store also take the
+ * customer out of the Store the customer is in. Every thread moves its own customer
+ * Run with: mvn -Pjmh verify -DskipTests -Djmh.includes=UpdateCustomerBenchmark -Djmh.threads=4
+ *
+ * @author  Sergey L. Sundukovskiy
+ * @version 1.0
+ * @since   2025-09-25
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UpdateCustomerBenchmark {
+
+    private static final String TOKEN = "bench-token";
+    private static final int AISLES = 4;
+
+    /**
+     * Stores with their aisles and a customer in every Store
+     */
+    @State(Scope.Benchmark)
+    public static class Stores {
+
+        @Param({"10", "100", "1000"})
+        public int stores;
+
+        private final AtomicInteger threads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws StoreException {
+            StoreService service = StoreService.getInstance();
+            for (int s = 0; s < stores; s++) {
+                service.provisionStore(store(s), "Store " + s, s + " Bench Street", TOKEN);
+                for (int a = 0; a < AISLES; a++)
+                    service.provisionAisle(store(s), aisle(a), "Aisle", "Aisle", AisleLocation.floor, TOKEN);
+
+                //Bystanders make the Stores hold customers like a live system does
+                String customerId = "bystander_" + s;
+                service.provisionCustomer(customerId, "Bench", "Bystander", CustomerType.registered,
+                        "bystander@example.com", "bench", TOKEN);
+                service.updateCustomer(customerId, store(s), aisle(0), TOKEN);
+            }
+        }
+    }
+
+    private final StoreService service = StoreService.getInstance();
+    private final SplittableRandom random = new SplittableRandom(310);
+    private int stores;
+    private String customerId;
+    private int store;
+    private int aisle;
+
+    @Setup(Level.Trial)
+    public void setUp(Stores shared) throws StoreException {
+        int thread = shared.threads.getAndIncrement();
+        stores = shared.stores;
+        store = thread % stores;
+        customerId = "mover_" + thread;
+        service.provisionCustomer(customerId, "Bench", "Mover", CustomerType.registered, "mover@example.com",
+                "bench", TOKEN);
+        service.updateCustomer(customerId, store(store), aisle(aisle), TOKEN);
+    }
+
+    @Benchmark
+    public Customer moveWithinStore() throws StoreException {
+        aisle = (aisle + 1) % AISLES;
+        return service.updateCustomer(customerId, store(store), aisle(aisle), TOKEN);
+    }
+
+    @Benchmark
+    public void moveAcrossStores(Blackhole blackhole) {
+        //Failed moves are measured as well
+        store = (store + 1 + random.nextInt(Math.max(1, stores - 1))) % stores;
+        try {
+            blackhole.consume(service.updateCustomer(customerId, store(store), aisle(0), TOKEN));
+        } catch (StoreException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    private static String store(int s) {
+        return "customer_bench_" + s;
+    }
+
+    private static String aisle(int a) {
+        return "aisle_" + a;
+    }
+}